@@ -40,7 +40,7 @@ public class AuthFilter extends AbstractGatewayFilterFactory<AuthFilter.Config>
             // Validate token with Auth Service
             return webClientBuilder.build()
                     .post()
-                    .uri("lb://AUTH-SERVICE/auth/api/auth/validate")
+                    .uri("lb://AUTH-SERVICE/auth/auth/validate-token")
                     .header("Authorization", "Bearer " + token)
                     .retrieve()
                     .bodyToMono(Object.class)
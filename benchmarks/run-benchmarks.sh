@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Runs the JMH suites and writes machine-readable results to benchmarks/results/<timestamp>.json.
+# With BASELINE set, compares the run against that earlier result file and exits non-zero
+# when any benchmark regressed by more than THRESHOLD percent.
+#
+#   mvn -B -pl benchmarks -am package
+#   benchmarks/run-benchmarks.sh                                  # all suites
+#   INCLUDE=PremiumCalculator benchmarks/run-benchmarks.sh        # suites matching a regex
+#   BASELINE=benchmarks/results/<earlier>.json benchmarks/run-benchmarks.sh
+#
+# Compare on the same machine with nothing else running; JMH_ARGS is passed through
+# (e.g. JMH_ARGS="-f 1 -wi 1 -i 2" for a quick smoke run).
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+JAR=${JAR:-$ROOT/benchmarks/target/benchmarks.jar}
+INCLUDE=${INCLUDE:-}
+JMH_ARGS=${JMH_ARGS:-}
+THRESHOLD=${THRESHOLD:-5}
+RESULTS_DIR=${RESULTS_DIR:-$ROOT/benchmarks/results}
+RESULT=${RESULT:-$RESULTS_DIR/$(date +%Y%m%d-%H%M%S).json}
+
+mkdir -p "$RESULTS_DIR"
+
+# shellcheck disable=SC2086
+java -jar "$JAR" $JMH_ARGS -rf json -rff "$RESULT" $INCLUDE
+echo "Results written to $RESULT"
+
+if [[ -n "${BASELINE:-}" ]]; then
+    java -cp "$JAR" com.togglecover.benchmarks.BenchmarkComparison "$BASELINE" "$RESULT" --threshold="$THRESHOLD"
+fi
@@ -0,0 +1,132 @@
+package com.togglecover.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (-rf json) and exits with status 1 when any benchmark
+ * got worse by more than the threshold. Differences that fall inside the combined error
+ * of both runs are reported as noise rather than regressions.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.togglecover.benchmarks.BenchmarkComparison
+ * baseline.json current.json [--threshold=5]}
+ */
+public final class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 5.0;
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> files = new ArrayList<>();
+        double threshold = DEFAULT_THRESHOLD_PERCENT;
+        for (String arg : args) {
+            if (arg.startsWith("--threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--threshold=".length()));
+            } else {
+                files.add(arg);
+            }
+        }
+        if (files.size() != 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [--threshold=percent]");
+            System.exit(2);
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Result> baseline = read(mapper, Path.of(files.get(0)));
+        Map<String, Result> current = read(mapper, Path.of(files.get(1)));
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s  %s%n", "benchmark", "baseline", "current", "change", "verdict");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-80s %14s %14s %9s  %s%n", entry.getKey(), "-", now.format(), "-", "NEW");
+                continue;
+            }
+            if (!before.unit.equals(now.unit)) {
+                System.out.printf("%-80s %14s %14s %9s  %s%n", entry.getKey(), before.format(), now.format(), "-",
+                        "UNIT CHANGED");
+                continue;
+            }
+
+            double change = (now.score - before.score) / before.score * 100.0;
+            // Throughput is better when higher, every other mode reports time per operation
+            double worsening = now.higherIsBetter() ? -change : change;
+            boolean beyondNoise = Math.abs(now.score - before.score) > before.error + now.error;
+
+            String verdict;
+            if (worsening > threshold && beyondNoise) {
+                verdict = "REGRESSION";
+                regressions++;
+            } else if (worsening < -threshold && beyondNoise) {
+                verdict = "improved";
+            } else {
+                verdict = "ok";
+            }
+            System.out.printf("%-80s %14s %14s %+8.1f%%  %s%n",
+                    entry.getKey(), before.format(), now.format(), change, verdict);
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.printf("%-80s %14s %14s %9s  %s%n", missing, baseline.get(missing).format(), "-", "-",
+                        "MISSING");
+            }
+        }
+
+        System.out.printf("%n%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static Map<String, Result> read(ObjectMapper mapper, Path file) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        for (JsonNode run : mapper.readTree(file.toFile())) {
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0.0);
+            Result result = new Result(
+                    run.path("mode").asText(),
+                    metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0.0 : error,
+                    metric.path("scoreUnit").asText());
+            results.put(key(run), result);
+        }
+        return results;
+    }
+
+    /**
+     * Benchmark method plus its @Param values, e.g. PremiumCalculatorBenchmark.calculateDailyPremium{location=Nagpur}
+     */
+    private static String key(JsonNode run) {
+        String name = run.path("benchmark").asText().replace("com.togglecover.benchmarks.", "");
+        Map<String, String> params = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = run.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        String mode = run.path("mode").asText();
+        return params.isEmpty() ? name + " [" + mode + "]" : name + params + " [" + mode + "]";
+    }
+
+    private record Result(String mode, double score, double error, String unit) {
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        String format() {
+            return String.format("%.3f %s", score, unit);
+        }
+    }
+}
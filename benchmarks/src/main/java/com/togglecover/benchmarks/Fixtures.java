@@ -0,0 +1,89 @@
+package com.togglecover.benchmarks;
+
+import com.togglecover.insurance.model.entity.InsurancePlan;
+import com.togglecover.insurance.model.entity.Policy;
+import com.togglecover.insurance.service.InsuranceMetrics;
+import com.togglecover.insurance.service.PremiumCalculatorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Objects under test wired by hand, with the defaults from insurance-service's
+ * application.properties, so benchmarks measure the code rather than Spring startup
+ */
+final class Fixtures {
+
+    static final String JWT_SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+    static final long JWT_EXPIRATION_MS = 86_400_000L;
+
+    private Fixtures() {
+    }
+
+    static PremiumCalculatorService premiumCalculator() {
+        // Metrics stay on, as in the service, so their recording cost is part of the score
+        PremiumCalculatorService calculator = new PremiumCalculatorService(
+                new InsuranceMetrics(new SimpleMeterRegistry()));
+        set(calculator, "baseDailyPremium", 5.0);
+        set(calculator, "weatherThresholdTemperature", 35.0);
+        set(calculator, "weatherRiskMultiplier", 1.5);
+        set(calculator, "highRiskZones", List.of("Mumbai", "Chennai", "Delhi", "Bangalore", "Pune", "Hyderabad"));
+        return calculator;
+    }
+
+    static List<InsurancePlan> plans(int count) {
+        List<InsurancePlan> plans = new ArrayList<>(count);
+        String[] coverageTypes = {"ACCIDENT", "HEALTH", "COMPREHENSIVE"};
+        for (int i = 0; i < count; i++) {
+            InsurancePlan plan = new InsurancePlan();
+            plan.setId((long) i + 1);
+            plan.setPlanCode(String.format("PLAN%02d", i + 1));
+            plan.setPlanName("Plan " + (i + 1));
+            plan.setDailyPremium(BigDecimal.valueOf(5 + i * 2.5).setScale(2));
+            plan.setCoverageAmount(BigDecimal.valueOf(100_000L * (i + 1)));
+            plan.setCoverageType(coverageTypes[i % coverageTypes.length]);
+            plan.setMinAge(18);
+            plan.setMaxAge(60);
+            plan.setIsActive(true);
+            plans.add(plan);
+        }
+        return plans;
+    }
+
+    static Policy policy() {
+        Policy policy = new Policy();
+        policy.setId(42L);
+        policy.setPolicyNumber("POL2026101900042");
+        policy.setUserId(1001L);
+        policy.setPlan(plans(1).get(0));
+        policy.setStartDate(LocalDate.now().minusMonths(2));
+        policy.setEndDate(LocalDate.now().plusMonths(10));
+        policy.setStatus("ACTIVE");
+        policy.setTotalPremiumPaid(new BigDecimal("310.50"));
+        policy.setTotalClaims(1);
+        policy.setTotalClaimsAmount(new BigDecimal("12000.00"));
+        policy.setWalletBalance(new BigDecimal("489.50"));
+        policy.setAutoRenew(true);
+        policy.setCreatedAt(LocalDateTime.now().minusMonths(2));
+        policy.setUpdatedAt(LocalDateTime.now());
+        return policy;
+    }
+
+    /**
+     * Sets an @Value-injected field the way Spring would
+     */
+    static void set(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName + " on " + target.getClass().getName(), e);
+        }
+    }
+}
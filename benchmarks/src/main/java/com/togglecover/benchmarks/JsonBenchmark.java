@@ -0,0 +1,79 @@
+package com.togglecover.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.togglecover.common.models.ApiResponse;
+import com.togglecover.common.utils.JsonUtils;
+import com.togglecover.insurance.model.dto.PlanComparisonDTO;
+import com.togglecover.insurance.model.dto.PolicyDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonUtils round trips of a policy, and ApiResponse envelopes written with an
+ * ObjectMapper configured like the services' (Spring defaults, ISO dates)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PolicyDTO policy;
+    private String policyJson;
+    private ApiResponse<PolicyDTO> policyResponse;
+    private ApiResponse<List<PlanComparisonDTO>> comparisonResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        PolicyMappingBenchmark mapping = new PolicyMappingBenchmark();
+        mapping.setUp();
+        policy = mapping.handWrittenMapping();
+        policyJson = JsonUtils.toJson(policy);
+        policyResponse = ApiResponse.success(policy);
+
+        PlanComparisonBenchmark comparison = new PlanComparisonBenchmark();
+        comparison.setUp();
+        comparisonResponse = ApiResponse.success(comparison.compareTwentyPlans());
+    }
+
+    @Benchmark
+    public String jsonUtilsToJson() {
+        return JsonUtils.toJson(policy);
+    }
+
+    @Benchmark
+    public PolicyDTO jsonUtilsFromJson() {
+        return JsonUtils.fromJson(policyJson, PolicyDTO.class);
+    }
+
+    @Benchmark
+    public byte[] apiResponseWithPolicy() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(policyResponse);
+    }
+
+    @Benchmark
+    public byte[] apiResponseWithTwentyPlanComparisons() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(comparisonResponse);
+    }
+}
@@ -0,0 +1,149 @@
+package com.togglecover.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.togglecover.insurance.model.entity.InsurancePlan;
+import com.togglecover.insurance.model.entity.Policy;
+import com.togglecover.insurance.repository.InsurancePlanRepository;
+import com.togglecover.insurance.repository.PolicyRepository;
+import com.togglecover.insurance.service.InsurancePlanService;
+import com.togglecover.insurance.service.PolicyService;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The policy list and plan catalogue endpoints from service call to response bytes: the
+ * List of DTOs written by Spring's Jackson converter. "default" uses the Boot-configured
+ * mapper, "tuned" the same mapper with the common-utils Blackbird module. Repositories are
+ * in-memory stand-ins, so database time is left out; mapping through ModelMapper is part
+ * of both.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonListEndpointBenchmark {
+
+    private static final long USER_ID = 1001L;
+    private static final int PLANS = 20;
+
+    @Param({"default", "tuned"})
+    public String json;
+
+    /**
+     * A rider's policy history, and an admin listing
+     */
+    @Param({"12", "500"})
+    public int policies;
+
+    private PolicyService policyService;
+    private InsurancePlanService planService;
+    private MappingJackson2HttpMessageConverter converter;
+    private final BufferedOutputMessage response = new BufferedOutputMessage();
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("tuned".equals(json)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        converter = new MappingJackson2HttpMessageConverter(builder.build());
+
+        List<Policy> userPolicies = new ArrayList<>(policies);
+        List<InsurancePlan> plans = Fixtures.plans(PLANS);
+        for (int i = 0; i < policies; i++) {
+            Policy policy = Fixtures.policy();
+            policy.setId((long) i + 1);
+            policy.setPolicyNumber(String.format("POL20261019%05d", i + 1));
+            policy.setPlan(plans.get(i % PLANS));
+            policy.setWalletBalance(BigDecimal.valueOf(50_000 + i * 37L, 2));
+            userPolicies.add(policy);
+        }
+        policyService = new PolicyService(inMemory(PolicyRepository.class, "findByUserId", userPolicies),
+                null, null, null, new ModelMapper());
+        planService = new InsurancePlanService(inMemory(InsurancePlanRepository.class, "findByIsActive", plans),
+                Fixtures.premiumCalculator(), new ModelMapper());
+    }
+
+    @Benchmark
+    public int policyList() throws IOException {
+        response.reset();
+        converter.write(policyService.getPoliciesByUser(USER_ID), MediaType.APPLICATION_JSON, response);
+        return response.body.size();
+    }
+
+    @Benchmark
+    public int planCatalogue() throws IOException {
+        response.reset();
+        converter.write(planService.getAllActivePlans(), MediaType.APPLICATION_JSON, response);
+        return response.body.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R inMemory(Class<R> repository, String finder, List<?> rows) {
+        return (R) Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (proxy, method, args) -> {
+                    if (method.getName().equals(finder)) {
+                        return new ArrayList<>(rows);
+                    }
+                    return switch (method.getName()) {
+                        case "toString" -> "InMemory" + repository.getSimpleName();
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+
+    /**
+     * A response whose body buffer is kept between invocations, as a servlet's is
+     */
+    private static final class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256 * 1024);
+
+        void reset() {
+            headers.clear();
+            body.reset();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
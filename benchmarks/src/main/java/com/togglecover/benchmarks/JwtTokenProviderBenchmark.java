@@ -0,0 +1,51 @@
+package com.togglecover.benchmarks;
+
+import com.togglecover.common.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and validation as done by auth-service on every login and token check
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private final Map<String, Object> claims = Map.of("userId", 1001L, "email", "rider1001@example.com");
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        Fixtures.set(tokenProvider, "jwtSecret", Fixtures.JWT_SECRET);
+        Fixtures.set(tokenProvider, "jwtExpiration", Fixtures.JWT_EXPIRATION_MS);
+        token = tokenProvider.generateToken("rider1001", "USER", claims);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken("rider1001", "USER", claims);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+}
@@ -0,0 +1,154 @@
+package com.togglecover.benchmarks;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.core.joran.spi.JoranException;
+import com.togglecover.insurance.service.PremiumCalculatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.logback.LogbackLoggingSystem;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Log statements of one coverage activation, from concurrent callers, under the default
+ * (dev) logging setup versus the prod profile. Dev writes patterned lines synchronously to
+ * a file with insurance DEBUG and Hibernate SQL logging on, as application.properties does;
+ * prod is togglecover/logback-prod.xml with application-prod.properties' levels and sampling.
+ * Both write to a file in a temporary directory so the comparison is not skewed by a terminal.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String DEV_CONFIG = """
+            <configuration>
+              <appender name="FILE" class="ch.qos.logback.core.FileAppender">
+                <file>${LOG_FILE}</file>
+                <encoder>
+                  <pattern>%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n</pattern>
+                </encoder>
+              </appender>
+              <logger name="com.togglecover.insurance" level="DEBUG"/>
+              <logger name="org.hibernate.SQL" level="DEBUG"/>
+              <root level="INFO">
+                <appender-ref ref="FILE"/>
+              </root>
+            </configuration>
+            """;
+
+    private static final Logger COVERAGE_LOG =
+            LoggerFactory.getLogger("com.togglecover.insurance.service.CoverageService");
+    private static final Logger SQL_LOG = LoggerFactory.getLogger("org.hibernate.SQL");
+
+    @Param({"dev", "prod"})
+    public String profile;
+
+    private final BigDecimal basePremium = new BigDecimal("12.50");
+    private final Double temperature = 41.5;
+    private final String policyNumber = "POL-1A2B3C4D";
+    private final LocalDate coverageDate = LocalDate.now();
+
+    private PremiumCalculatorService calculator;
+    private Path logDir;
+    private PrintStream originalOut;
+    private Runnable shutdown;
+
+    @Setup
+    public void setUp() throws IOException, JoranException {
+        calculator = Fixtures.premiumCalculator();
+        logDir = Files.createTempDirectory("logging-benchmark");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        if ("dev".equals(profile)) {
+            context.reset();
+            context.putProperty("LOG_FILE", logDir.resolve("insurance-service.log").toString());
+            JoranConfigurator configurator = new JoranConfigurator();
+            configurator.setContext(context);
+            configurator.doConfigure(new ByteArrayInputStream(DEV_CONFIG.getBytes(StandardCharsets.UTF_8)));
+            shutdown = context::stop;
+            return;
+        }
+
+        // The prod appender writes to stdout, which the fork would otherwise relay to the JMH host
+        originalOut = System.out;
+        System.setOut(new PrintStream(new FileOutputStream(logDir.resolve("stdout.log").toFile()), false,
+                StandardCharsets.UTF_8));
+
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("application-prod", Map.of(
+                "spring.application.name", "INSURANCE-SERVICE",
+                "togglecover.logging.sampling", "com.togglecover.insurance.service.CoverageService=100,"
+                        + "com.togglecover.insurance.service.PolicyService=10")));
+        LogbackLoggingSystem loggingSystem = new LogbackLoggingSystem(getClass().getClassLoader());
+        loggingSystem.beforeInitialize();
+        loggingSystem.initialize(new LoggingInitializationContext(environment),
+                "classpath:togglecover/logback-prod.xml", null);
+        loggingSystem.setLogLevel("com.togglecover.insurance", LogLevel.INFO);
+        loggingSystem.setLogLevel("org.hibernate.SQL", LogLevel.WARN);
+        shutdown = loggingSystem.getShutdownHandler();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        shutdown.run();
+        if (originalOut != null) {
+            System.out.close();
+            System.setOut(originalOut);
+        }
+        try (Stream<Path> files = Files.walk(logDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * What an activation logs: the premium calculation (guarded debug), the statements
+     * Hibernate logs on org.hibernate.SQL and CoverageService's activation line
+     */
+    @Benchmark
+    public BigDecimal activateCoverage() {
+        BigDecimal premium = calculator.calculateDailyPremium(basePremium, temperature, "Mumbai Andheri", "ZEPTO");
+        SQL_LOG.debug("select p1_0.id,p1_0.policy_number,p1_0.wallet_balance from policies p1_0 "
+                + "where p1_0.policy_number=? for update");
+        SQL_LOG.debug("insert into coverage_records (coverage_date,policy_id,premium_amount,status) "
+                + "values (?,?,?,?)");
+        SQL_LOG.debug("update policies set wallet_balance=?,updated_at=? where id=?");
+        COVERAGE_LOG.info("Coverage activated for policy: {} on date: {}. Premium charged: {}",
+                policyNumber, coverageDate, premium);
+        return premium;
+    }
+}
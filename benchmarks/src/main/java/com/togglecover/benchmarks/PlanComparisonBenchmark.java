@@ -0,0 +1,78 @@
+package com.togglecover.benchmarks;
+
+import com.togglecover.insurance.model.dto.PlanComparisonDTO;
+import com.togglecover.insurance.model.entity.InsurancePlan;
+import com.togglecover.insurance.repository.InsurancePlanRepository;
+import com.togglecover.insurance.service.InsurancePlanService;
+import com.togglecover.insurance.service.PremiumCalculatorService;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InsurancePlanService.comparePlans for the plan picker's maximum of 20 plans, which has
+ * a 1 ms budget, against pricing each plan with its own calculateDailyPremium call.
+ * The repository is an in-memory stand-in, so only the pricing work is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PlanComparisonBenchmark {
+
+    private static final int PLANS = 20;
+
+    private InsurancePlanService planService;
+    private PremiumCalculatorService calculator;
+    private List<InsurancePlan> plans;
+    private List<String> planCodes;
+
+    @Setup
+    public void setUp() {
+        calculator = Fixtures.premiumCalculator();
+        plans = Fixtures.plans(PLANS);
+        planCodes = plans.stream().map(InsurancePlan::getPlanCode).toList();
+
+        InsurancePlanRepository repository = (InsurancePlanRepository) Proxy.newProxyInstance(
+                InsurancePlanRepository.class.getClassLoader(),
+                new Class<?>[]{InsurancePlanRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByPlanCodeInAndIsActive", "findByIsActive" -> new ArrayList<>(plans);
+                    case "toString" -> "InMemoryInsurancePlanRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        planService = new InsurancePlanService(repository, calculator, new ModelMapper());
+    }
+
+    @Benchmark
+    public List<PlanComparisonDTO> compareTwentyPlans() {
+        return planService.comparePlans(planCodes, 41.5, "Mumbai Andheri", "ZEPTO");
+    }
+
+    @Benchmark
+    public List<BigDecimal> priceTwentyPlansSeparately() {
+        List<BigDecimal> premiums = new ArrayList<>(PLANS);
+        for (InsurancePlan plan : plans) {
+            premiums.add(calculator.calculateDailyPremium(plan.getDailyPremium(), 41.5, "Mumbai Andheri", "ZEPTO"));
+        }
+        return premiums;
+    }
+}
@@ -0,0 +1,76 @@
+package com.togglecover.benchmarks;
+
+import com.togglecover.insurance.service.PremiumCalculatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily premium pricing and each of the risk multipliers it combines
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PremiumCalculatorBenchmark {
+
+    // A high-risk zone, a discounted residential area and a location matching no rule
+    @Param({"Mumbai Andheri", "Pune Residential Colony", "Nagpur"})
+    public String location;
+
+    @Param({"ZEPTO", "SWIGGY"})
+    public String gigPlatform;
+
+    private final BigDecimal basePremium = new BigDecimal("12.50");
+    private final Double temperature = 41.5;
+
+    private PremiumCalculatorService calculator;
+
+    @Setup
+    public void setUp() {
+        calculator = Fixtures.premiumCalculator();
+    }
+
+    @Benchmark
+    public BigDecimal calculateDailyPremium() {
+        return calculator.calculateDailyPremium(basePremium, temperature, location, gigPlatform);
+    }
+
+    @Benchmark
+    public BigDecimal calculateRiskMultiplier() {
+        return calculator.calculateRiskMultiplier(temperature, location, gigPlatform);
+    }
+
+    @Benchmark
+    public BigDecimal weatherRiskMultiplier() {
+        return calculator.calculateWeatherRiskMultiplier(temperature, location);
+    }
+
+    @Benchmark
+    public BigDecimal locationRiskMultiplier() {
+        return calculator.calculateLocationRiskMultiplier(location);
+    }
+
+    @Benchmark
+    public BigDecimal gigPlatformRiskMultiplier() {
+        return calculator.calculateGigPlatformRiskMultiplier(gigPlatform);
+    }
+
+    @Benchmark
+    public BigDecimal timeOfDayMultiplier() {
+        return calculator.calculateTimeOfDayMultiplier();
+    }
+}
@@ -0,0 +1,103 @@
+package com.togglecover.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.togglecover.client.UserValidationResponse;
+import com.togglecover.common.utils.JsonUtils;
+import com.togglecover.insurance.model.dto.TokenValidationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The internal validation responses (insurance to auth, auth to user) encoded and decoded
+ * as JSON versus CBOR. Both mappers come from JsonUtils with the same settings, so only
+ * the format differs. The encoded size of each payload is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectWriter tokenWriter;
+    private ObjectReader tokenReader;
+    private ObjectWriter userWriter;
+    private ObjectReader userReader;
+    private TokenValidationResponse tokenResponse;
+    private UserValidationResponse userResponse;
+    private byte[] tokenBytes;
+    private byte[] userBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper mapper = "cbor".equals(format) ? JsonUtils.newCborMapper() : JsonUtils.newObjectMapper();
+        tokenWriter = mapper.writerFor(TokenValidationResponse.class);
+        tokenReader = mapper.readerFor(TokenValidationResponse.class);
+        userWriter = mapper.writerFor(UserValidationResponse.class);
+        userReader = mapper.readerFor(UserValidationResponse.class);
+
+        tokenResponse = new TokenValidationResponse();
+        tokenResponse.setValid(true);
+        tokenResponse.setUsername("rider.ravi.kumar@togglecover.in");
+        tokenResponse.setRole("RIDER");
+        tokenResponse.setUserId(1_048_576L);
+        tokenResponse.setMessage("Token is valid");
+
+        userResponse = new UserValidationResponse();
+        userResponse.setValid(true);
+        userResponse.setUserId(1_048_576L);
+        userResponse.setUsername("ravi.kumar");
+        userResponse.setEmail("rider.ravi.kumar@togglecover.in");
+        userResponse.setRole("RIDER");
+        userResponse.setMessage("Credentials are valid");
+
+        tokenBytes = tokenWriter.writeValueAsBytes(tokenResponse);
+        userBytes = userWriter.writeValueAsBytes(userResponse);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportSizes() {
+        System.out.printf("%n%s payload bytes: TokenValidationResponse=%d UserValidationResponse=%d%n",
+                format, tokenBytes.length, userBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeTokenValidation() throws IOException {
+        return tokenWriter.writeValueAsBytes(tokenResponse);
+    }
+
+    @Benchmark
+    public TokenValidationResponse decodeTokenValidation() throws IOException {
+        return tokenReader.readValue(tokenBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeUserValidation() throws IOException {
+        return userWriter.writeValueAsBytes(userResponse);
+    }
+
+    @Benchmark
+    public UserValidationResponse decodeUserValidation() throws IOException {
+        return userReader.readValue(userBytes);
+    }
+}
@@ -1,10 +1,12 @@
 package com.togglecover.common.security;
 
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,14 +18,29 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final Meter.MeterProvider<Timer> verificationTimer;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                   UserDetailsService userDetailsService,
+                                   MeterRegistry meterRegistry) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.verificationTimer = Timer.builder("security.jwt.verification")
+                .description("Bearer token verification including the user lookup")
+                .serviceLevelObjectives(Duration.ofNanos(50_000), Duration.ofNanos(100_000),
+                        Duration.ofNanos(250_000), Duration.ofNanos(500_000), Duration.ofMillis(1),
+                        Duration.ofMillis(5), Duration.ofMillis(10))
+                .withRegistry(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -34,8 +51,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Get JWT token from request header
         String jwt = getJwtFromRequest(request);
 
+        if (StringUtils.hasText(jwt)) {
+            long start = System.nanoTime();
+            boolean authenticated = false;
+            try {
+                authenticated = authenticate(jwt, request);
+            } finally {
+                verificationTimer.withTags("outcome", authenticated ? "authenticated" : "rejected")
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private boolean authenticate(String jwt, HttpServletRequest request) {
         // Validate token
-        if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
+        if (jwtTokenProvider.validateToken(jwt)) {
 
             // Extract username from token
             String username = jwtTokenProvider.extractUsername(jwt);
@@ -58,10 +90,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
                 log.debug("Authenticated user: {} for URI: {}", username, request.getRequestURI());
+                return true;
             }
         }
-
-        chain.doFilter(request, response);
+        return false;
     }
 
     private String getJwtFromRequest(HttpServletRequest request) {
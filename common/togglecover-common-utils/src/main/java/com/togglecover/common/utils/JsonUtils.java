@@ -1,22 +1,68 @@
 package com.togglecover.common.utils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.togglecover.common.utils.json.JsonCodecs;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * JSON outside Spring MVC, written the way the services' own ObjectMapper writes it
+ * (ISO dates, unknown properties ignored) with Blackbird accessors and a cached reader
+ * and writer per type.
+ */
 @Slf4j
 public class JsonUtils {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonCodecs codecs = new JsonCodecs(newObjectMapper());
 
-    static {
-        objectMapper.registerModule(new JavaTimeModule());
+    /**
+     * A mapper with the shared settings, for code that needs one of its own
+     */
+    public static ObjectMapper newObjectMapper() {
+        return configure(JsonMapper.builder());
+    }
+
+    /**
+     * A CBOR mapper with the same settings, so a DTO reads back the same from either format
+     */
+    public static CBORMapper newCborMapper() {
+        return configure(CBORMapper.builder());
+    }
+
+    private static <M extends ObjectMapper, B extends MapperBuilder<M, B>> M configure(B builder) {
+        return builder
+                .addModule(new JavaTimeModule())
+                .addModule(new BlackbirdModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+                .build();
+    }
+
+    public static ObjectWriter writerFor(Class<?> type) {
+        return codecs.writerFor(type);
+    }
+
+    public static ObjectReader readerFor(Class<?> type) {
+        return codecs.readerFor(type);
     }
 
     public static String toJson(Object object) {
+        if (object == null) {
+            return "null";
+        }
         try {
-            return objectMapper.writeValueAsString(object);
+            return codecs.writerFor(object.getClass()).writeValueAsString(object);
         } catch (JsonProcessingException e) {
             log.error("Error converting object to JSON", e);
             return null;
@@ -25,10 +71,10 @@ public class JsonUtils {
 
     public static <T> T fromJson(String json, Class<T> clazz) {
         try {
-            return objectMapper.readValue(json, clazz);
+            return codecs.readerFor(clazz).readValue(json);
         } catch (JsonProcessingException e) {
             log.error("Error converting JSON to object", e);
             return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package com.togglecover.common.utils.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces Spring Boot's single DataSource when togglecover.datasource.replicas.urls is
+ * set: the writer pool is built from spring.datasource.* as Boot would build it, and each
+ * replica url gets a pool with the writer's settings, read-only connections and a pool name
+ * of its own (so its hikaricp.* meters are tagged separately). The routing DataSource in
+ * front of them is the one JPA, JDBC templates and Flyway use.
+ */
+@Slf4j
+@AutoConfiguration(before = DataSourceAutoConfiguration.class,
+        afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnClass({HikariDataSource.class, LazyConnectionDataSourceProxy.class})
+@ConditionalOnProperty(name = "togglecover.datasource.replicas.urls")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaRoutingAutoConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource writerDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    ReplicaRoutingDataSource dataSource(
+            HikariDataSource writerDataSource,
+            @Value("${togglecover.datasource.replicas.urls}") List<String> urls,
+            ObjectProvider<MetricsTrackerFactory> replicaMetricsTrackerFactory) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            writerDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(url.trim());
+            replica.setPoolName(writerDataSource.getPoolName() + "-replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            replicaMetricsTrackerFactory.ifAvailable(replica::setMetricsTrackerFactory);
+            replicas.add(replica);
+        }
+        log.info("Routing read-only transactions of pool '{}' to {} replica(s), {} connections each",
+                writerDataSource.getPoolName(), replicas.size(), writerDataSource.getMaximumPoolSize());
+        return new ReplicaRoutingDataSource(writerDataSource, replicas);
+    }
+
+    /**
+     * Replica pools are not beans, so Boot's pool metrics binder does not see them
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class ReplicaMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        MetricsTrackerFactory replicaMetricsTrackerFactory(MeterRegistry meterRegistry) {
+            return new MicrometerMetricsTrackerFactory(meterRegistry);
+        }
+    }
+}
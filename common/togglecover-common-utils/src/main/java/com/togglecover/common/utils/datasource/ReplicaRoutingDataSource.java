@@ -0,0 +1,74 @@
+package com.togglecover.common.utils.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to replica pools and everything else to the writer.
+ * Connections are handed out lazily, so the physical connection is only fetched at the
+ * first statement, after the transaction manager has marked it read-only; a transaction
+ * started with {@code @Transactional(readOnly = true)} then gets a replica connection,
+ * taken from the replicas in turn. With no replicas every connection comes from the writer.
+ * <p>
+ * Replicas lag the writer: a read-only transaction may not see a write committed just
+ * before it, so reads that must see their own writes belong in a read-write transaction.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final HikariDataSource writer;
+    private final List<HikariDataSource> replicas;
+
+    public ReplicaRoutingDataSource(HikariDataSource writer, List<HikariDataSource> replicas) {
+        super(writer);
+        this.writer = writer;
+        this.replicas = List.copyOf(replicas);
+        if (!this.replicas.isEmpty()) {
+            setReadOnlyDataSource(new RoundRobin(this.replicas));
+        }
+    }
+
+    public HikariDataSource getWriter() {
+        return writer;
+    }
+
+    public List<HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Closes the replica pools; the writer is a bean of its own and closed with the context
+     */
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private static final class RoundRobin extends AbstractRoutingDataSource {
+
+        private final int size;
+        private final AtomicInteger next = new AtomicInteger();
+
+        RoundRobin(List<HikariDataSource> replicas) {
+            Map<Object, Object> targets = new HashMap<>();
+            for (int i = 0; i < replicas.size(); i++) {
+                targets.put(i, replicas.get(i));
+            }
+            this.size = replicas.size();
+            setTargetDataSources(targets);
+            setLenientFallback(false);
+            afterPropertiesSet();
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return Math.floorMod(next.getAndIncrement(), size);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.togglecover.common.utils.json;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.togglecover.common.utils.JsonUtils;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+/**
+ * CBOR (application/cbor) as a binary alternative to JSON for internal calls. Spring adds
+ * a CBOR converter after the JSON one whenever jackson-dataformat-cbor is present; this
+ * bean replaces it in place in Boot's HttpMessageConverters with one using the shared
+ * mapper settings. The same converters serve controllers and decode Feign responses, so
+ * a Feign method that declares produces/consumes = application/cbor talks CBOR, while
+ * clients that accept JSON or anything still get JSON.
+ */
+@AutoConfiguration
+@ConditionalOnClass({CBORMapper.class, MappingJackson2CborHttpMessageConverter.class})
+@ConditionalOnProperty(name = "togglecover.wire.cbor.enabled", havingValue = "true", matchIfMissing = true)
+public class CborAutoConfiguration {
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(JsonUtils.newCborMapper());
+    }
+}
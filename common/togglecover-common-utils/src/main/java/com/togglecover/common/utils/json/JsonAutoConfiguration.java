@@ -0,0 +1,26 @@
+package com.togglecover.common.utils.json;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Jackson setup shared by every service. Spring Boot registers Module beans with the
+ * ObjectMapper it builds, so each service's mapper gets Blackbird, which replaces
+ * reflective getter/setter/constructor calls with generated lambdas.
+ */
+@AutoConfiguration(after = JacksonAutoConfiguration.class)
+@ConditionalOnClass({ObjectMapper.class, BlackbirdModule.class})
+@ConditionalOnProperty(name = "togglecover.json.tuned", havingValue = "true", matchIfMissing = true)
+public class JsonAutoConfiguration {
+
+    @Bean
+    Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,47 @@
+package com.togglecover.common.utils.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * One ObjectReader and ObjectWriter per type over a shared ObjectMapper. A reader or
+ * writer built for a type resolves its root (de)serializer once; the mapper's own
+ * readValue/writeValue look it up again on every call. Writers do not flush after each
+ * value, so values written one by one into a generator go out in full buffers.
+ */
+public final class JsonCodecs {
+
+    private final ObjectMapper objectMapper;
+
+    private final ClassValue<ObjectWriter> writers = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+    };
+
+    private final ClassValue<ObjectReader> readers = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return objectMapper.readerFor(type);
+        }
+    };
+
+    public JsonCodecs(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    public ObjectWriter writerFor(Class<?> type) {
+        return writers.get(type);
+    }
+
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.get(type);
+    }
+}
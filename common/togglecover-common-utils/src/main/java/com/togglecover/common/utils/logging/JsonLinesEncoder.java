@@ -0,0 +1,110 @@
+package com.togglecover.common.utils.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Writes each event as one JSON object per line:
+ * {@code {"@timestamp":...,"level":...,"service":...,"logger":...,"thread":...,"message":...}}
+ * plus MDC entries and the stack trace when present. The line is built in one reused
+ * buffer; under an AsyncAppender only the appender's worker thread encodes.
+ */
+public class JsonLinesEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private String service = "";
+
+    public void setService(String service) {
+        this.service = service != null ? service : "";
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder line = buffers.get();
+        line.setLength(0);
+
+        line.append("{\"@timestamp\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(event.getTimeStamp()), line);
+        line.append("\",\"level\":\"").append(event.getLevel().toString()).append('"');
+        if (!service.isEmpty()) {
+            field(line, "service", service);
+        }
+        field(line, "logger", event.getLoggerName());
+        field(line, "thread", event.getThreadName());
+        field(line, "message", event.getFormattedMessage());
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                field(line, entry.getKey(), entry.getValue());
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            field(line, "exception", ThrowableProxyUtil.asString(throwable));
+        }
+        line.append("}\n");
+
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        // A long stack trace should not pin a large buffer for the life of the thread
+        if (line.capacity() > MAX_RETAINED_CAPACITY) {
+            buffers.remove();
+        }
+        return bytes;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private static void field(StringBuilder line, String name, String value) {
+        line.append(",\"");
+        escape(line, name);
+        line.append("\":");
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        escape(line, value);
+        line.append('"');
+    }
+
+    private static void escape(StringBuilder line, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
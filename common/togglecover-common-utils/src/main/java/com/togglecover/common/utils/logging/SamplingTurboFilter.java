@@ -0,0 +1,101 @@
+package com.togglecover.common.utils.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in N INFO (and lower) events per configured logger, e.g.
+ * {@code rates=com.togglecover.insurance.service.CoverageService=100,com.togglecover.service.AuthService=10}.
+ * A rule applies to the named logger and its children, the most specific rule wins.
+ * WARN and ERROR events, events with an exception and isXxxEnabled() checks are never
+ * sampled. Turbo filters run before the message is formatted, so dropped events cost
+ * a map lookup and a counter increment.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final Rule NO_RULE = new Rule("", 1);
+
+    private final Map<String, Rule> rulesByLogger = new ConcurrentHashMap<>();
+    private List<Rule> rules = List.of();
+    private String rates = "";
+
+    public void setRates(String rates) {
+        this.rates = rates != null ? rates : "";
+    }
+
+    @Override
+    public void start() {
+        List<Rule> parsed = new ArrayList<>();
+        for (String entry : rates.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int eq = trimmed.lastIndexOf('=');
+            if (eq <= 0) {
+                addError("Ignoring sampling rule without '=': " + trimmed);
+                continue;
+            }
+            try {
+                long every = Long.parseLong(trimmed.substring(eq + 1).trim());
+                if (every > 1) {
+                    parsed.add(new Rule(trimmed.substring(0, eq).trim(), every));
+                }
+            } catch (NumberFormatException e) {
+                addError("Ignoring sampling rule with a non-numeric rate: " + trimmed);
+            }
+        }
+        parsed.sort(Comparator.comparingInt((Rule rule) -> rule.prefix.length()).reversed());
+        rules = List.copyOf(parsed);
+        rulesByLogger.clear();
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (rules.isEmpty() || format == null || t != null || level == null
+                || level.toInt() > Level.INFO_INT) {
+            return FilterReply.NEUTRAL;
+        }
+        // Only events the logger would write take a sample slot
+        if (level.toInt() < logger.getEffectiveLevel().toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        Rule rule = rulesByLogger.computeIfAbsent(logger.getName(), this::match);
+        if (rule == NO_RULE) {
+            return FilterReply.NEUTRAL;
+        }
+        return rule.counter.getAndIncrement() % rule.every == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Rule match(String loggerName) {
+        for (Rule rule : rules) {
+            if (loggerName.equals(rule.prefix) || loggerName.startsWith(rule.prefix + ".")) {
+                return rule;
+            }
+        }
+        return NO_RULE;
+    }
+
+    private static final class Rule {
+        final String prefix;
+        final long every;
+        final AtomicLong counter = new AtomicLong();
+
+        Rule(String prefix, long every) {
+            this.prefix = prefix;
+            this.every = every;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.togglecover.common.utils.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Pool sizing for every service with a HikariCP DataSource, and latency histograms for
+ * the pool meters Spring Boot binds (hikaricp.connections.acquire, .usage, .creation)
+ * so saturation shows up as acquire-time buckets next to hikaricp.connections.pending.
+ */
+@AutoConfiguration
+@ConditionalOnClass(HikariDataSource.class)
+public class HikariPoolAutoConfiguration {
+
+    @Bean
+    static HikariPoolSizer hikariPoolSizer(
+            Environment environment,
+            @Value("${togglecover.datasource.pool.database-cores:0}") int databaseCores,
+            @Value("${togglecover.datasource.pool.effective-spindles:1}") int effectiveSpindles,
+            @Value("${togglecover.threads.max-pool-size:50}") int maxPoolSize) {
+        return new HikariPoolSizer(databaseCores, effectiveSpindles, maxPoolSize,
+                environment.containsProperty("spring.datasource.hikari.maximum-pool-size"),
+                environment.containsProperty("spring.datasource.hikari.minimum-idle"));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterFilter.class)
+    static class PoolMetricsConfiguration {
+
+        @Bean
+        MeterFilter hikariPoolHistograms() {
+            return new MeterFilter() {
+                @Override
+                public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                    if (!id.getName().startsWith("hikaricp.connections.")) {
+                        return config;
+                    }
+                    return DistributionStatisticConfig.builder()
+                            .serviceLevelObjectives(
+                                    millis(1), millis(5), millis(10), millis(50), millis(100),
+                                    millis(500), millis(1000), millis(2000), millis(5000))
+                            .build()
+                            .merge(config);
+                }
+            };
+        }
+
+        private static double millis(long ms) {
+            return (double) Duration.ofMillis(ms).toNanos();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.togglecover.common.utils.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Sizes HikariCP pools from the database's capacity rather than from client concurrency:
+ * {@code connections = database cores * 2 + effective spindles} (the PostgreSQL/HikariCP
+ * rule of thumb), capped at togglecover.threads.max-pool-size. The pool is kept at a
+ * fixed size, so a burst never waits on connection creation. Settings made explicitly
+ * through spring.datasource.hikari.* (e.g. maximum-pool-size) are left alone.
+ * <p>
+ * Database cores of 0 (DB_CORES unset) means this machine's cores, which is right for
+ * in-process H2; for a remote server set it to the database host's core count.
+ */
+@Slf4j
+public class HikariPoolSizer implements BeanPostProcessor {
+
+    private final int databaseCores;
+    private final int effectiveSpindles;
+    private final int maxPoolSize;
+    private final boolean sizeConfigured;
+    private final boolean minimumIdleConfigured;
+
+    public HikariPoolSizer(int databaseCores, int effectiveSpindles, int maxPoolSize,
+                           boolean sizeConfigured, boolean minimumIdleConfigured) {
+        this.databaseCores = databaseCores > 0 ? databaseCores : Runtime.getRuntime().availableProcessors();
+        this.effectiveSpindles = Math.max(0, effectiveSpindles);
+        this.maxPoolSize = maxPoolSize;
+        this.sizeConfigured = sizeConfigured;
+        this.minimumIdleConfigured = minimumIdleConfigured;
+    }
+
+    /**
+     * Pool size for the configured database capacity
+     */
+    public int poolSize() {
+        return Math.max(2, Math.min(maxPoolSize, databaseCores * 2 + effectiveSpindles));
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof HikariDataSource dataSource) {
+            if (!sizeConfigured) {
+                dataSource.setMaximumPoolSize(poolSize());
+            }
+            if (!minimumIdleConfigured) {
+                dataSource.setMinimumIdle(dataSource.getMaximumPoolSize());
+            }
+            log.info("Connection pool '{}': {} connections ({}), min idle {}, connection timeout {} ms, "
+                            + "leak detection {} ms",
+                    dataSource.getPoolName() != null ? dataSource.getPoolName() : beanName,
+                    dataSource.getMaximumPoolSize(),
+                    sizeConfigured ? "configured" : databaseCores + " cores * 2 + " + effectiveSpindles + " spindles",
+                    dataSource.getMinimumIdle(), dataSource.getConnectionTimeout(),
+                    dataSource.getLeakDetectionThreshold());
+        }
+        return bean;
+    }
+}
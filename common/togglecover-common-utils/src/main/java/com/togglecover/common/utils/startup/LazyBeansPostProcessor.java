@@ -0,0 +1,56 @@
+package com.togglecover.common.utils.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.List;
+
+/**
+ * Marks the beans of selected packages lazy, so tooling nobody calls on the request path
+ * (springdoc's OpenAPI scanning and Swagger UI) is built on its first use instead of during
+ * startup. Unlike spring.main.lazy-initialization it leaves controllers, repositories,
+ * pools and filters eager, so the first real request does not pay for the whole context.
+ */
+@Slf4j
+public class LazyBeansPostProcessor implements BeanFactoryPostProcessor {
+
+    private final List<String> packages;
+
+    public LazyBeansPostProcessor(List<String> packages) {
+        this.packages = List.copyOf(packages);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        int marked = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.isLazyInit() || definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                continue;
+            }
+            String declaringClass = declaringClass(definition);
+            if (declaringClass != null && packages.stream().anyMatch(declaringClass::startsWith)) {
+                definition.setLazyInit(true);
+                marked++;
+            }
+        }
+        log.info("Deferred {} beans from {} until first use", marked, packages);
+    }
+
+    /**
+     * The bean's class, or for a @Bean method the configuration class declaring it
+     */
+    private static String declaringClass(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getDeclaringClassName();
+            }
+        }
+        return definition.getBeanClassName();
+    }
+}
@@ -0,0 +1,30 @@
+package com.togglecover.common.utils.startup;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Defers non-hot beans when togglecover.startup.lazy.enabled is set, as the fast-start
+ * profile does. The packages default to springdoc and Swagger and can be replaced with
+ * togglecover.startup.lazy.packages.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "togglecover.startup.lazy.enabled", havingValue = "true")
+public class StartupAutoConfiguration {
+
+    private static final List<String> DEFAULT_PACKAGES = List.of("org.springdoc.", "io.swagger.");
+
+    @Bean
+    static LazyBeansPostProcessor lazyBeansPostProcessor(Environment environment) {
+        List<String> packages = Binder.get(environment)
+                .bind("togglecover.startup.lazy.packages", Bindable.listOf(String.class))
+                .orElse(DEFAULT_PACKAGES);
+        return new LazyBeansPostProcessor(packages);
+    }
+}
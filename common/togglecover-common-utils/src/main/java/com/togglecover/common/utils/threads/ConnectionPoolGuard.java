@@ -0,0 +1,51 @@
+package com.togglecover.common.utils.threads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Enforces pool settings that matter once request threads are virtual. Tomcat then no
+ * longer caps concurrency at its 200 platform threads, so every in-flight request may
+ * wait on the JDBC pool: the pool becomes the real concurrency limit, and its wait time
+ * decides how long a request can sit in that queue. A pool larger than the database
+ * allows per instance, or a wait longer than the limit, fails startup.
+ */
+@Slf4j
+public class ConnectionPoolGuard implements BeanPostProcessor {
+
+    private final int maxPoolSize;
+    private final long maxConnectionWaitMs;
+
+    public ConnectionPoolGuard(int maxPoolSize, long maxConnectionWaitMs) {
+        this.maxPoolSize = maxPoolSize;
+        this.maxConnectionWaitMs = maxConnectionWaitMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof HikariDataSource dataSource) {
+            check(beanName, dataSource);
+        }
+        return bean;
+    }
+
+    private void check(String beanName, HikariDataSource dataSource) {
+        int poolSize = dataSource.getMaximumPoolSize();
+        long wait = dataSource.getConnectionTimeout();
+        if (poolSize > maxPoolSize) {
+            throw new IllegalStateException("DataSource '" + beanName + "' has maximum-pool-size " + poolSize
+                    + ", above togglecover.threads.max-pool-size=" + maxPoolSize
+                    + ". With virtual threads the pool is the concurrency limit; size it to what the database"
+                    + " accepts per instance, not to the number of clients.");
+        }
+        if (wait > maxConnectionWaitMs) {
+            throw new IllegalStateException("DataSource '" + beanName + "' has connection-timeout " + wait
+                    + " ms, above togglecover.threads.max-connection-wait-ms=" + maxConnectionWaitMs
+                    + ". With virtual threads a long wait lets requests pile up on the pool instead of failing fast.");
+        }
+        log.info("Virtual threads: DataSource '{}' allows {} concurrent JDBC users, waiting at most {} ms",
+                beanName, poolSize, wait);
+    }
+}
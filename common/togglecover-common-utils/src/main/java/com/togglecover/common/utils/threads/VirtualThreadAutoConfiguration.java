@@ -0,0 +1,54 @@
+package com.togglecover.common.utils.threads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Safeguards applied to every service that runs with spring.threads.virtual.enabled=true:
+ * pool settings are checked at startup and pinned virtual threads are reported.
+ * <p>
+ * Services switch the thread model with VIRTUAL_THREADS=true, which runs requests,
+ * {@code @Scheduled} and {@code @Async} work on virtual threads. Concurrency is then no
+ * longer bounded by a request thread pool but by server.tomcat.max-connections and the
+ * JDBC pool, so the pool is checked against togglecover.threads.max-pool-size and
+ * togglecover.threads.max-connection-wait-ms by {@link ConnectionPoolGuard}.
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HikariDataSource.class)
+    static class PoolGuardConfiguration {
+
+        @Bean
+        static ConnectionPoolGuard connectionPoolGuard(
+                @Value("${togglecover.threads.max-pool-size:50}") int maxPoolSize,
+                @Value("${togglecover.threads.max-connection-wait-ms:3000}") long maxConnectionWaitMs) {
+            return new ConnectionPoolGuard(maxPoolSize, maxConnectionWaitMs);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(name = "togglecover.threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    static class PinningMonitorConfiguration {
+
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+                MeterRegistry meterRegistry,
+                @Value("${togglecover.threads.pinning-monitor.threshold-ms:20}") long thresholdMs) {
+            return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs), meterRegistry);
+        }
+    }
+}
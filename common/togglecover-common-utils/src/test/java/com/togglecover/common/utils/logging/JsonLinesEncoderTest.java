@@ -0,0 +1,109 @@
+package com.togglecover.common.utils.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Every event becomes exactly one line of valid JSON, whatever its message, MDC values
+ * or stack trace contain
+ */
+public class JsonLinesEncoderTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LoggerContext context;
+    private JsonLinesEncoder encoder;
+
+    @BeforeMethod
+    public void setUp() {
+        context = new LoggerContext();
+        encoder = new JsonLinesEncoder();
+        encoder.setContext(context);
+        encoder.setService("insurance-service");
+        encoder.start();
+    }
+
+    @Test
+    public void writesTheStandardFields() throws Exception {
+        LoggingEvent event = event("Coverage activated for policy {}", null, "POL-1");
+        event.setTimeStamp(1_700_000_000_123L);
+
+        JsonNode json = MAPPER.readTree(encode(event));
+
+        assertEquals(json.get("@timestamp").asText(), "2023-11-14T22:13:20.123Z");
+        assertEquals(json.get("level").asText(), "INFO");
+        assertEquals(json.get("service").asText(), "insurance-service");
+        assertEquals(json.get("logger").asText(), "com.togglecover.insurance.service.CoverageService");
+        assertEquals(json.get("thread").asText(), Thread.currentThread().getName());
+        assertEquals(json.get("message").asText(), "Coverage activated for policy POL-1");
+        assertFalse(json.has("exception"));
+    }
+
+    @Test
+    public void escapesQuotesBackslashesAndControlCharacters() throws Exception {
+        String message = "say \"hi\" C:\\tmp\nnext\r\tline \u0001\u001f end ₹ ✓";
+        String line = encode(event(message, null));
+
+        assertTrue(line.contains("say \\\"hi\\\" C:\\\\tmp\\nnext\\r\\tline \\u0001\\u001f end ₹ ✓"), line);
+        assertEquals(line.indexOf('\n'), line.length() - 1, "one line per event");
+        assertEquals(MAPPER.readTree(line).get("message").asText(), message);
+    }
+
+    @Test
+    public void escapesMdcKeysAndValues() throws Exception {
+        LoggingEvent event = event("with mdc", null);
+        event.setMDCPropertyMap(Map.of("trace\"Id", "a\\b\nc"));
+
+        JsonNode json = MAPPER.readTree(encode(event));
+
+        assertEquals(json.get("trace\"Id").asText(), "a\\b\nc");
+    }
+
+    @Test
+    public void keepsTheStackTraceOnTheSameLine() throws Exception {
+        IllegalStateException failure = new IllegalStateException("wallet \"locked\"");
+        String line = encode(event("Activation failed", failure));
+
+        assertEquals(line.indexOf('\n'), line.length() - 1, "one line per event");
+        String exception = MAPPER.readTree(line).get("exception").asText();
+        assertTrue(exception.contains("java.lang.IllegalStateException: wallet \"locked\""), exception);
+        assertTrue(exception.contains(getClass().getName()), exception);
+    }
+
+    @Test
+    public void omitsABlankServiceAndWritesNullValuesAsNull() throws Exception {
+        encoder.setService(null);
+        LoggingEvent event = event("no service", null);
+        Map<String, String> mdc = new HashMap<>();
+        mdc.put("userId", null);
+        event.setMDCPropertyMap(mdc);
+
+        JsonNode json = MAPPER.readTree(encode(event));
+
+        assertFalse(json.has("service"));
+        assertTrue(json.get("userId").isNull());
+    }
+
+    private LoggingEvent event(String format, Throwable throwable, Object... args) {
+        return new LoggingEvent(getClass().getName(),
+                context.getLogger("com.togglecover.insurance.service.CoverageService"), Level.INFO, format,
+                throwable, args);
+    }
+
+    private String encode(LoggingEvent event) {
+        return new String(encoder.encode(event), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,112 @@
+package com.togglecover.common.utils.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.status.Status;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Which events SamplingTurboFilter keeps: one in N INFO events per rule, matched on
+ * the most specific logger prefix, and never WARN/ERROR, exceptions or level checks
+ */
+public class SamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private SamplingTurboFilter filter;
+
+    @BeforeMethod
+    public void setUp() {
+        context = new LoggerContext();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setRates("com.togglecover.hot=3, com.togglecover.hot.Child=2, com.togglecover.off=1");
+        filter.start();
+    }
+
+    @Test
+    public void keepsOneInNInfoEvents() {
+        Logger hot = context.getLogger("com.togglecover.hot.Service");
+
+        assertEquals(infoReplies(hot, 7), List.of(FilterReply.NEUTRAL, FilterReply.DENY, FilterReply.DENY,
+                FilterReply.NEUTRAL, FilterReply.DENY, FilterReply.DENY, FilterReply.NEUTRAL));
+    }
+
+    @Test
+    public void theMostSpecificRuleWins() {
+        Logger child = context.getLogger("com.togglecover.hot.Child");
+        Logger grandChild = context.getLogger("com.togglecover.hot.Child.Inner");
+
+        assertEquals(infoReplies(child, 4), List.of(FilterReply.NEUTRAL, FilterReply.DENY, FilterReply.NEUTRAL,
+                FilterReply.DENY));
+        assertEquals(infoReplies(grandChild, 2), List.of(FilterReply.NEUTRAL, FilterReply.DENY));
+    }
+
+    @Test
+    public void leavesUnmatchedLoggersAndRateOneAlone() {
+        // A prefix only matches whole logger name segments
+        Logger sibling = context.getLogger("com.togglecover.hotter.Service");
+        Logger off = context.getLogger("com.togglecover.off.Service");
+
+        assertEquals(infoReplies(sibling, 3), List.of(FilterReply.NEUTRAL, FilterReply.NEUTRAL, FilterReply.NEUTRAL));
+        assertEquals(infoReplies(off, 3), List.of(FilterReply.NEUTRAL, FilterReply.NEUTRAL, FilterReply.NEUTRAL));
+    }
+
+    @Test
+    public void neverSamplesWarningsExceptionsOrLevelChecks() {
+        Logger hot = context.getLogger("com.togglecover.hot.Service");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(filter.decide(null, hot, Level.WARN, "warn", null, null), FilterReply.NEUTRAL);
+            assertEquals(filter.decide(null, hot, Level.ERROR, "error", null, null), FilterReply.NEUTRAL);
+            assertEquals(filter.decide(null, hot, Level.INFO, "failed", null, new IllegalStateException()),
+                    FilterReply.NEUTRAL);
+            // isInfoEnabled() reaches turbo filters with a null format
+            assertEquals(filter.decide(null, hot, Level.INFO, null, null, null), FilterReply.NEUTRAL);
+        }
+        // None of the above used a sample slot
+        assertEquals(infoReplies(hot, 2), List.of(FilterReply.NEUTRAL, FilterReply.DENY));
+    }
+
+    @Test
+    public void eventsBelowTheLoggerLevelDoNotUseASlot() {
+        Logger hot = context.getLogger("com.togglecover.hot.Service");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(filter.decide(null, hot, Level.DEBUG, "debug", null, null), FilterReply.NEUTRAL);
+        }
+        assertEquals(infoReplies(hot, 2), List.of(FilterReply.NEUTRAL, FilterReply.DENY));
+    }
+
+    @Test
+    public void reportsAndSkipsMalformedRules() {
+        SamplingTurboFilter malformed = new SamplingTurboFilter();
+        malformed.setContext(context);
+        malformed.setRates("no-rate, com.togglecover.nan=x, com.togglecover.hot=2");
+        malformed.start();
+
+        long errors = context.getStatusManager().getCopyOfStatusList().stream()
+                .filter(status -> status.getLevel() == Status.ERROR)
+                .count();
+        assertEquals(errors, 2L);
+        Logger hot = context.getLogger("com.togglecover.hot.Service");
+        assertEquals(malformed.decide(null, hot, Level.INFO, "a", null, null), FilterReply.NEUTRAL);
+        assertEquals(malformed.decide(null, hot, Level.INFO, "b", null, null), FilterReply.DENY);
+    }
+
+    private List<FilterReply> infoReplies(Logger logger, int events) {
+        List<FilterReply> replies = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            replies.add(filter.decide(null, logger, Level.INFO, "event {}", new Object[]{i}, null));
+        }
+        return replies;
+    }
+}
@@ -2,16 +2,23 @@ package com.togglecover.client;
 
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+/**
+ * Internal calls on every login and token check; requests and responses are CBOR instead
+ * of JSON (see common-utils CborAutoConfiguration)
+ */
 @FeignClient(name = "USER-SERVICE", path = "/api/users")
 public interface UserServiceClient {
 
-    @PostMapping("/validate-credentials")
+    @PostMapping(value = "/validate-credentials",
+            consumes = MediaType.APPLICATION_CBOR_VALUE, produces = MediaType.APPLICATION_CBOR_VALUE)
     UserValidationResponse validateCredentials(@RequestBody UserValidationRequest request);
 
-    @PostMapping("/validate-token")
+    @PostMapping(value = "/validate-token",
+            consumes = MediaType.APPLICATION_CBOR_VALUE, produces = MediaType.APPLICATION_CBOR_VALUE)
     UserValidationResponse validateUserFromToken(@RequestBody UserValidationRequest request);
 }
 
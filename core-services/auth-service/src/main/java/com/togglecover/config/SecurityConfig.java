@@ -49,8 +49,8 @@ public class SecurityConfig {
                                 // H2 Console
                                 "/auth/h2-console/**",
 
-                                // Actuator
-                                "/auth/actuator/**"
+                                // Actuator (matched below the /auth context path)
+                                "/actuator/**"
                         ).permitAll()
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
@@ -0,0 +1,10 @@
+-- Refresh tokens are looked up by token on every refresh; the unique constraint is that index.
+-- user_id refers to a user of user-service, whose table lives in another database.
+CREATE TABLE refresh_tokens (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT,
+    token       VARCHAR(255)                NOT NULL,
+    expiry_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_refresh_tokens_token UNIQUE (token),
+    CONSTRAINT uk_refresh_tokens_user UNIQUE (user_id)
+);
@@ -0,0 +1,19 @@
+package com.togglecover.claim;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableDiscoveryClient
+@EnableFeignClients
+@ConfigurationPropertiesScan
+@EnableScheduling
+public class ClaimServiceApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ClaimServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,18 @@
+package com.togglecover.claim.client;
+
+import com.togglecover.claim.model.dto.TokenValidationResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+/**
+ * Internal call made on every claimant request; it asks for CBOR instead of JSON
+ * (see common-utils CborAutoConfiguration)
+ */
+@FeignClient(name = "AUTH-SERVICE", path = "/auth/auth")
+public interface AuthServiceClient {
+
+    @PostMapping(value = "/validate-token", produces = MediaType.APPLICATION_CBOR_VALUE)
+    TokenValidationResponse validateToken(@RequestHeader("Authorization") String authHeader);
+}
@@ -0,0 +1,37 @@
+package com.togglecover.claim.client;
+
+import com.togglecover.claim.model.dto.InsuranceEvent;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+/**
+ * insurance-service's event log, which lives on the one instance owning it. With
+ * claims.fraud.events.url set, every call goes to that instance; left blank, calls are
+ * load-balanced over INSURANCE-SERVICE, which is only right with a single instance
+ * (other instances refuse to answer rather than serve a different log).
+ */
+@FeignClient(name = "INSURANCE-SERVICE", contextId = "insuranceEventLogClient",
+        url = "${claims.fraud.events.url:}", path = "/insurance/api/insurance/events")
+public interface InsuranceEventLogClient {
+
+    @GetMapping
+    List<InsuranceEvent> readEvents(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                    @RequestParam("consumer") String consumer,
+                                    @RequestParam("fromOffset") long fromOffset,
+                                    @RequestParam("max") int max);
+
+    @GetMapping("/offsets/{consumer}")
+    Long getEventOffset(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                        @PathVariable("consumer") String consumer);
+
+    @PostMapping("/offsets/{consumer}")
+    Long commitEventOffset(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                           @PathVariable("consumer") String consumer,
+                           @RequestParam("offset") long offset);
+}
@@ -0,0 +1,34 @@
+package com.togglecover.claim.client;
+
+import com.togglecover.claim.model.dto.CoverageStatusResponse;
+import com.togglecover.claim.model.dto.PolicyClaimTotals;
+import com.togglecover.claim.model.dto.PolicySummary;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@FeignClient(name = "INSURANCE-SERVICE", path = "/insurance/api/insurance")
+public interface InsuranceServiceClient {
+
+    @GetMapping("/coverage/status/{policyNumber}")
+    CoverageStatusResponse getCoverageStatus(@RequestHeader("Authorization") String authHeader,
+                                             @PathVariable("policyNumber") String policyNumber,
+                                             @RequestParam("date")
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date);
+
+    @GetMapping("/policies/{policyNumber}")
+    PolicySummary getPolicy(@RequestHeader("Authorization") String authHeader,
+                            @PathVariable("policyNumber") String policyNumber);
+
+    @PutMapping("/policies/claim-totals")
+    Integer updateClaimTotals(@RequestHeader("Authorization") String authHeader,
+                              @RequestBody List<PolicyClaimTotals> totals);
+}
@@ -0,0 +1,38 @@
+package com.togglecover.claim.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sizing of the claim intake pipeline. Each stage has its own worker count, input
+ * queue capacity and batch size (how many queued claims one worker takes at a time).
+ */
+@ConfigurationProperties(prefix = "claims.pipeline")
+@Data
+public class ClaimPipelineProperties {
+
+    // How long intake waits for room in the first queue before answering 503
+    private long intakeTimeoutMs = 20;
+
+    // Claims still PROCESSING this long after intake are queued again (lost to a crash)
+    private Duration recoverAfter = Duration.ofMinutes(5);
+    private long recoveryIntervalMs = 60_000;
+    private int recoveryBatchSize = 1000;
+
+    private Map<String, StageSettings> stages = new LinkedHashMap<>();
+
+    public StageSettings stage(String name) {
+        return stages.getOrDefault(name, new StageSettings());
+    }
+
+    @Data
+    public static class StageSettings {
+        private int workers = 2;
+        private int queueCapacity = 1024;
+        private int batchSize = 1;
+    }
+}
@@ -0,0 +1,60 @@
+package com.togglecover.claim.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fraud-signal engine settings. Counters live in two ring geometries: per policy
+ * (claims and coverage activations) and per location and gig platform (claims). A rule
+ * window must fit in its ring, i.e. be at most bucket width x bucket count.
+ */
+@ConfigurationProperties(prefix = "claims.fraud")
+@Data
+public class FraudProperties {
+
+    private boolean enabled = true;
+
+    private Duration policyBucket = Duration.ofHours(6);
+    private int policyBuckets = 32;
+    private Duration locationBucket = Duration.ofMinutes(1);
+    private int locationBuckets = 120;
+
+    private String checkpointPath = "data/fraud-state.ckpt";
+    private long checkpointIntervalMs = 60_000;
+
+    private Events events = new Events();
+
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    public enum Signal {
+        POLICY_CLAIMS,        // earlier claims on the policy within the window
+        POLICY_ACTIVATIONS,   // coverage activations on the policy within the window
+        LOCATION_CLAIMS,      // earlier claims at the same location and platform within the window
+        ACTIVATION_TO_CLAIM   // claim filed within the window after the policy's last activation
+    }
+
+    @Data
+    public static class Rule {
+        private boolean enabled = true;
+        private Signal signal;
+        private Duration window;
+        private int threshold = 1; // count signals fire at or above this; unused for ACTIVATION_TO_CLAIM
+        private int weight;
+    }
+
+    @Data
+    public static class Events {
+        private boolean enabled = true;
+        private String consumer = "claim-fraud";
+        private int batchSize = 1000;
+        private long pollIntervalMs = 500;
+        // Service credential sent to insurance-service when reading its event log; required when enabled
+        private String authorization;
+        // Base url of the insurance-service instance owning the event log; blank load-balances
+        private String url;
+    }
+}
@@ -0,0 +1,56 @@
+package com.togglecover.claim.controller;
+
+import com.togglecover.claim.model.dto.ClaimDTO;
+import com.togglecover.claim.model.dto.ClaimRequest;
+import com.togglecover.claim.model.dto.ClaimSubmissionResponse;
+import com.togglecover.claim.security.ClaimCaller;
+import com.togglecover.claim.service.ClaimService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/claims")
+@RequiredArgsConstructor
+@Tag(name = "Claims", description = "APIs for filing and tracking claims")
+public class ClaimController {
+
+    private final ClaimService claimService;
+
+    @PostMapping
+    @Operation(summary = "File a claim; it is processed asynchronously (503 when intake is saturated)")
+    public ResponseEntity<ClaimSubmissionResponse> submitClaim(
+            @Valid @RequestBody ClaimRequest request,
+            @RequestAttribute(ClaimCaller.ATTRIBUTE) ClaimCaller caller,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        ClaimSubmissionResponse response = claimService.submitClaim(request, caller, authorization);
+        if (response == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ClaimSubmissionResponse(null, "RETRY", "Claim intake is at capacity, retry shortly"));
+        }
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/{claimNumber}")
+    @Operation(summary = "Get a claim, including claims still being processed")
+    public ResponseEntity<ClaimDTO> getClaim(@PathVariable String claimNumber,
+                                             @RequestAttribute(ClaimCaller.ATTRIBUTE) ClaimCaller caller) {
+        return ResponseEntity.ok(claimService.getClaim(claimNumber, caller));
+    }
+
+    @GetMapping("/policy/{policyNumber}")
+    @Operation(summary = "Get processed claims for a policy")
+    public ResponseEntity<List<ClaimDTO>> getClaimsByPolicy(@PathVariable String policyNumber,
+                                                            @RequestAttribute(ClaimCaller.ATTRIBUTE)
+                                                            ClaimCaller caller) {
+        return ResponseEntity.ok(claimService.getClaimsByPolicy(policyNumber, caller));
+    }
+}
@@ -0,0 +1,175 @@
+package com.togglecover.claim.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for claim intake. Requests are issued on a fixed schedule
+ * regardless of how fast the service answers, and latency is measured from each
+ * request's scheduled start, so a stalled service shows up as latency rather than as
+ * a lower request rate.
+ * <p>
+ * Start the service with {@code --spring.profiles.active=loadtest}, then run:
+ * <pre>
+ * java -cp claim-service.jar -Dloader.main=com.togglecover.claim.loadgen.ClaimLoadGenerator \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     --url=http://localhost:8084/claims/api/claims --rate=5000 --duration=60
+ * </pre>
+ * Options: url, rate (claims/s), duration (s), warmup (s), policies, service-token (the
+ * loadtest profile's claims.security.service-token, "loadtest" by default), token (a
+ * claimant's bearer token instead).
+ */
+public class ClaimLoadGenerator {
+
+    private static final String[] CLAIM_TYPES = {"WEATHER_DISRUPTION", "ACCIDENT", "HEALTH", "VEHICLE_DAMAGE"};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:8084/claims/api/claims"));
+        int rate = Integer.parseInt(options.getOrDefault("rate", "5000"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int policies = Integer.parseInt(options.getOrDefault("policies", "100000"));
+        String authorization = options.containsKey("token")
+                ? "Bearer " + options.get("token")
+                : "Service " + options.getOrDefault("service-token", "loadtest");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+
+            if (warmup > 0) {
+                System.out.printf("Warming up for %ds at %d claims/s%n", warmup, rate);
+                run(client, executor, uri, authorization, rate, warmup, policies, 0);
+            }
+            System.out.printf("Measuring for %ds at %d claims/s%n", duration, rate);
+            Result result = run(client, executor, uri, authorization, rate, duration, policies, 1_000_000_000L);
+            result.print(duration);
+        }
+    }
+
+    private static Result run(HttpClient client, ExecutorService executor, URI uri, String authorization,
+                              int rate, int seconds, int policies, long sequenceBase) throws InterruptedException {
+        int total = rate * seconds;
+        Result result = new Result(total);
+        long intervalNanos = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            HttpRequest request = request(uri, authorization, sequenceBase + i, policies);
+            executor.submit(() -> send(client, request, scheduled, result));
+        }
+
+        // Let outstanding requests finish
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (result.completed.get() < total && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private static void send(HttpClient client, HttpRequest request, long scheduled, Result result) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            result.record(response.statusCode(), System.nanoTime() - scheduled);
+        } catch (Exception e) {
+            result.record(-1, System.nanoTime() - scheduled);
+        }
+    }
+
+    private static HttpRequest request(URI uri, String authorization, long sequence, int policies) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Sequence-derived dates and types keep most claims unique; a few repeat on purpose
+        String body = String.format(
+                "{\"policyNumber\":\"POL%010d\",\"incidentDate\":\"%s\",\"claimType\":\"%s\"," +
+                        "\"claimAmount\":%d.00,\"location\":\"Mumbai\",\"gigPlatform\":\"SWIGGY\"}",
+                sequence % policies,
+                LocalDate.now().minusDays((sequence / policies) % 28),
+                CLAIM_TYPES[(int) ((sequence / (policies * 28L)) % CLAIM_TYPES.length)],
+                100 + random.nextInt(20_000));
+        return HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .header("Authorization", authorization)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    private static final class Result {
+        final long[] latencies;
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicLong accepted = new AtomicLong();
+        final AtomicLong saturated = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        long elapsedNanos;
+
+        Result(int total) {
+            this.latencies = new long[total];
+        }
+
+        void record(int status, long latencyNanos) {
+            if (status == 202) {
+                accepted.incrementAndGet();
+            } else if (status == 503) {
+                saturated.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+            latencies[completed.getAndIncrement()] = latencyNanos;
+        }
+
+        void print(int seconds) {
+            int n = completed.get();
+            long[] sorted = Arrays.copyOf(latencies, n);
+            Arrays.sort(sorted);
+            System.out.printf("Completed %d requests in %.1fs%n", n, elapsedNanos / 1e9);
+            System.out.printf("  202 accepted: %d (%.0f claims/s)%n", accepted.get(), accepted.get() / (double) seconds);
+            System.out.printf("  503 saturated: %d%n", saturated.get());
+            System.out.printf("  errors: %d%n", failed.get());
+            if (n > 0) {
+                System.out.printf("  latency ms  p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                        percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                        percentile(sorted, 0.999), sorted[n - 1] / 1e6);
+            }
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.togglecover.claim.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+public class ClaimDTO {
+    private String claimNumber;
+    private String policyNumber;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate incidentDate;
+
+    private String claimType;
+    private BigDecimal claimAmount;
+    private String location;
+    private String gigPlatform;
+    private String status;
+    private String reason;
+    private Integer riskScore;
+    private LocalDateTime submittedAt;
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,16 @@
+package com.togglecover.claim.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Identity used for duplicate detection: one claim per policy, incident date and type
+ */
+public record ClaimKey(String policyNumber, LocalDate incidentDate, String claimType) {
+
+    /**
+     * The key as stored in claims.dedupe_key
+     */
+    public String dedupeKey() {
+        return policyNumber + "|" + incidentDate + "|" + claimType;
+    }
+}
@@ -0,0 +1,36 @@
+package com.togglecover.claim.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class ClaimRequest {
+
+    @NotBlank(message = "Policy number is required")
+    private String policyNumber;
+
+    @NotNull(message = "Incident date is required")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate incidentDate;
+
+    @NotBlank(message = "Claim type is required")
+    private String claimType;
+
+    @NotNull(message = "Claim amount is required")
+    @DecimalMin(value = "0.01", message = "Claim amount must be positive")
+    private BigDecimal claimAmount;
+
+    private String location;
+
+    private String gigPlatform;
+
+    @Size(max = 500, message = "Description must be at most 500 characters")
+    private String description;
+}
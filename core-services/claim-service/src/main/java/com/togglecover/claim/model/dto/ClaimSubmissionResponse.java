@@ -0,0 +1,14 @@
+package com.togglecover.claim.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimSubmissionResponse {
+    private String claimNumber;
+    private String status;
+    private String message;
+}
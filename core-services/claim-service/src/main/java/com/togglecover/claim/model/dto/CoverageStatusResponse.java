@@ -0,0 +1,24 @@
+package com.togglecover.claim.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Coverage status as returned by insurance-service
+ */
+@Data
+public class CoverageStatusResponse {
+    private String policyNumber;
+    private Boolean isCoverageActiveToday;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate coverageDate;
+
+    private String currentStatus;
+    private Double premiumPaidToday;
+    private Double walletBalance;
+    private String gigPlatform;
+    private String location;
+}
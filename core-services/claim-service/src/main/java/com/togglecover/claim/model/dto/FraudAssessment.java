@@ -0,0 +1,11 @@
+package com.togglecover.claim.model.dto;
+
+import java.util.List;
+
+/**
+ * Result of the fraud rules for one claim: summed rule weights and the rules that fired
+ */
+public record FraudAssessment(int score, List<String> signals) {
+
+    public static final FraudAssessment NONE = new FraudAssessment(0, List.of());
+}
@@ -0,0 +1,20 @@
+package com.togglecover.claim.model.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entry of insurance-service's event log
+ */
+@Data
+public class InsuranceEvent {
+    private Long offset;
+    private Long eventId;
+    private String aggregateType;
+    private String aggregateId;
+    private String eventType;
+    private LocalDateTime occurredAt;
+    private JsonNode payload;
+}
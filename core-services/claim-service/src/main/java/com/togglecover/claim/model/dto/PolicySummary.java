@@ -0,0 +1,13 @@
+package com.togglecover.claim.model.dto;
+
+import lombok.Data;
+
+/**
+ * The part of an insurance-service policy claim-service needs: who owns it
+ */
+@Data
+public class PolicySummary {
+    private String policyNumber;
+    private Long userId;
+    private String status;
+}
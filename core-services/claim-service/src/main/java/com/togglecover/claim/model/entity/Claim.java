@@ -0,0 +1,68 @@
+package com.togglecover.claim.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A claim. The row is inserted as PROCESSING at intake, before the submission is
+ * acknowledged, and the pipeline's persist stage records the outcome (accepted, flagged,
+ * rejected) with JDBC batch updates. Live claims hold their dedupe key, whose unique
+ * constraint keeps one live claim per policy, incident date and type across instances.
+ */
+@Entity
+@Table(name = "claims", indexes = {
+        @Index(name = "idx_claims_policy_incident", columnList = "policy_number, incident_date")
+})
+@Data
+public class Claim {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false, length = 36)
+    private String claimNumber;
+
+    @Column(nullable = false)
+    private String policyNumber;
+
+    @Column(nullable = false)
+    private LocalDate incidentDate;
+
+    @Column(nullable = false, length = 30)
+    private String claimType; // WEATHER_DISRUPTION, ACCIDENT, HEALTH, VEHICLE_DAMAGE
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal claimAmount;
+
+    private String location;
+
+    @Column(length = 50)
+    private String gigPlatform;
+
+    @Column(length = 500)
+    private String description;
+
+    @Column(nullable = false, length = 20)
+    private String status; // PROCESSING, ACCEPTED, FLAGGED, REJECTED
+
+    @Column(length = 255)
+    private String reason;
+
+    private Integer riskScore;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime processedAt;
+
+    // ClaimKey#dedupeKey() of an accepted or flagged claim, null otherwise
+    @Column(unique = true, length = 320)
+    private String dedupeKey;
+
+    // False until the policy's claim totals including this claim are sent to insurance-service
+    private Boolean totalsReported;
+}
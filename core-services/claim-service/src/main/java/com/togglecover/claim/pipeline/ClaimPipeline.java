@@ -0,0 +1,217 @@
+package com.togglecover.claim.pipeline;
+
+import com.togglecover.claim.config.ClaimPipelineProperties;
+import com.togglecover.claim.model.dto.ClaimRequest;
+import com.togglecover.claim.service.ClaimScorer;
+import com.togglecover.claim.service.ClaimValidator;
+import com.togglecover.claim.service.ClaimWriter;
+import com.togglecover.claim.service.CoverageVerifier;
+import com.togglecover.claim.service.DuplicateClaimDetector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claim intake pipeline: validate -> coverage -> dedupe -> score -> persist, each stage
+ * with its own bounded queue and workers. A rejected claim skips straight to persist.
+ * <p>
+ * Queues between stages block when full, so the slowest stage sets the pace and
+ * intake answers 503 once the first queue stays full for the intake timeout.
+ * <p>
+ * A claim is stored as PROCESSING before intake acknowledges it. Claims left in that
+ * state by a crash or shutdown are queued again once they are older than
+ * claims.pipeline.recover-after.
+ */
+@Component
+@Slf4j
+public class ClaimPipeline {
+
+    public static final String VALIDATE = "validate";
+    public static final String COVERAGE = "coverage";
+    public static final String DEDUPE = "dedupe";
+    public static final String SCORE = "score";
+    public static final String PERSIST = "persist";
+
+    private final ClaimPipelineProperties properties;
+    private final List<PipelineStage> stages;
+    private final PipelineStage persistStage;
+    private final ClaimWriter writer;
+
+    // Claims accepted at intake whose outcome is not stored yet, so they can be looked up meanwhile
+    private final Map<String, ClaimTask> inFlight = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter intakeRejected;
+    private final Timer endToEnd;
+
+    private volatile boolean accepting;
+
+    public ClaimPipeline(ClaimPipelineProperties properties,
+                         ClaimValidator validator,
+                         CoverageVerifier coverageVerifier,
+                         DuplicateClaimDetector duplicateClaimDetector,
+                         ClaimScorer scorer,
+                         ClaimWriter writer,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.writer = writer;
+        this.stages = List.of(
+                stage(VALIDATE, validator),
+                stage(COVERAGE, coverageVerifier),
+                stage(DEDUPE, duplicateClaimDetector),
+                stage(SCORE, scorer),
+                stage(PERSIST, writer));
+        this.persistStage = stages.get(stages.size() - 1);
+
+        Gauge.builder("claims.pipeline.in-flight", inFlight, Map::size)
+                .description("Claims accepted at intake whose outcome is not stored yet")
+                .register(meterRegistry);
+        this.intakeRejected = Counter.builder("claims.pipeline.intake.rejected")
+                .description("Submissions turned away because the pipeline was full")
+                .register(meterRegistry);
+        this.endToEnd = Timer.builder("claims.pipeline.latency")
+                .description("Time from intake until the claim is stored")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int i = 0; i < stages.size() - 1; i++) {
+            PipelineStage next = stages.get(i + 1);
+            stages.get(i).start(task -> forward(task, next));
+        }
+        persistStage.start(this::complete);
+        accepting = true;
+    }
+
+    /**
+     * Store and queue a claim for processing; null when the pipeline is saturated or
+     * stopping, or the claim could not be stored
+     */
+    public ClaimTask submit(ClaimRequest request, String authorization) {
+        if (!accepting) {
+            intakeRejected.increment();
+            return null;
+        }
+        ClaimTask task = new ClaimTask(UUID.randomUUID().toString(), request, authorization);
+        try {
+            writer.recordIntake(task);
+        } catch (DataAccessException e) {
+            log.warn("Could not store claim at intake: {}", e.getMessage());
+            intakeRejected.increment();
+            return null;
+        }
+        inFlight.put(task.getClaimNumber(), task);
+        try {
+            if (stages.get(0).offer(task, properties.getIntakeTimeoutMs())) {
+                return task;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        inFlight.remove(task.getClaimNumber());
+        try {
+            writer.discardIntake(task);
+        } catch (DataAccessException e) {
+            // Left PROCESSING; recovery processes it later
+            log.warn("Could not discard turned-away claim {}: {}", task.getClaimNumber(), e.getMessage());
+        }
+        intakeRejected.increment();
+        return null;
+    }
+
+    /**
+     * Queue stored claims that are still PROCESSING well after intake, e.g. accepted by
+     * an instance that stopped before storing their outcome
+     */
+    @Scheduled(fixedDelayString = "${claims.pipeline.recovery-interval-ms:60000}")
+    public void recoverStalled() {
+        if (!accepting) {
+            return;
+        }
+        List<ClaimTask> stalled;
+        try {
+            stalled = writer.findStalled(LocalDateTime.now().minus(properties.getRecoverAfter()),
+                    properties.getRecoveryBatchSize());
+        } catch (DataAccessException e) {
+            log.warn("Looking up stalled claims failed: {}", e.getMessage());
+            return;
+        }
+        int queued = 0;
+        for (ClaimTask task : stalled) {
+            if (inFlight.putIfAbsent(task.getClaimNumber(), task) != null) {
+                continue;
+            }
+            try {
+                if (!stages.get(0).offer(task, properties.getIntakeTimeoutMs())) {
+                    inFlight.remove(task.getClaimNumber());
+                    break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                inFlight.remove(task.getClaimNumber());
+                break;
+            }
+            queued++;
+        }
+        if (queued > 0) {
+            log.info("Queued {} stalled claims for processing again", queued);
+            meterRegistry.counter("claims.pipeline.recovered").increment(queued);
+        }
+    }
+
+    public ClaimTask getInFlight(String claimNumber) {
+        return inFlight.get(claimNumber);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        accepting = false;
+        // Upstream first, so each stage's queue is complete before it is drained
+        for (PipelineStage stage : stages) {
+            stage.drainAndStop(10_000);
+        }
+        if (!inFlight.isEmpty()) {
+            log.warn("Claim pipeline stopped with {} claims still PROCESSING", inFlight.size());
+        }
+    }
+
+    private PipelineStage stage(String name, StageHandler handler) {
+        ClaimPipelineProperties.StageSettings settings = properties.stage(name);
+        return new PipelineStage(name, settings.getWorkers(), settings.getQueueCapacity(), settings.getBatchSize(),
+                handler, meterRegistry);
+    }
+
+    private void forward(ClaimTask task, PipelineStage next) {
+        try {
+            (task.isRejected() ? persistStage : next).put(task);
+        } catch (InterruptedException e) {
+            // Only during shutdown; the claim stays PROCESSING until recovered
+            Thread.currentThread().interrupt();
+            inFlight.remove(task.getClaimNumber());
+        }
+    }
+
+    private void complete(ClaimTask task) {
+        inFlight.remove(task.getClaimNumber());
+        endToEnd.record(System.nanoTime() - task.getSubmittedNanos(), TimeUnit.NANOSECONDS);
+        meterRegistry.counter("claims.pipeline.outcome", "status", task.getStatus()).increment();
+    }
+}
@@ -0,0 +1,66 @@
+package com.togglecover.claim.pipeline;
+
+import com.togglecover.claim.model.dto.ClaimKey;
+import com.togglecover.claim.model.dto.ClaimRequest;
+import com.togglecover.claim.model.dto.CoverageStatusResponse;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A claim moving through the pipeline. Owned by one stage worker at a time; the
+ * queue hand-off between stages publishes its state to the next worker.
+ */
+@Getter
+@Setter
+public class ClaimTask {
+
+    private final String claimNumber;
+    private final ClaimRequest request;
+    private final String authorization;
+    private final LocalDateTime submittedAt;
+    private final long submittedNanos = System.nanoTime();
+
+    private long enqueuedNanos;
+    private CoverageStatusResponse coverage;
+    private Integer riskScore;
+    private String status; // null while undecided; ACCEPTED, FLAGGED, REJECTED, FAILED
+    private String reason;
+
+    public ClaimTask(String claimNumber, ClaimRequest request, String authorization) {
+        this(claimNumber, request, authorization, LocalDateTime.now());
+    }
+
+    public ClaimTask(String claimNumber, ClaimRequest request, String authorization, LocalDateTime submittedAt) {
+        this.claimNumber = claimNumber;
+        this.request = request;
+        this.authorization = authorization;
+        this.submittedAt = submittedAt;
+    }
+
+    public void reject(String reason) {
+        this.status = "REJECTED";
+        this.reason = reason;
+    }
+
+    public void flag(String reason) {
+        this.status = "FLAGGED";
+        this.reason = reason;
+    }
+
+    public boolean isRejected() {
+        return "REJECTED".equals(status);
+    }
+
+    /**
+     * Accepted or flagged: the claim counts towards the policy and holds its dedupe key
+     */
+    public boolean isLive() {
+        return "ACCEPTED".equals(status) || "FLAGGED".equals(status);
+    }
+
+    public ClaimKey key() {
+        return new ClaimKey(request.getPolicyNumber(), request.getIncidentDate(), request.getClaimType());
+    }
+}
@@ -0,0 +1,149 @@
+package com.togglecover.claim.pipeline;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * One pipeline stage: a bounded input queue drained by a fixed pool of workers. Workers
+ * hand finished claims to the router, which blocks when the next queue is full, so a
+ * slow stage pushes back on every stage before it and finally on intake.
+ */
+@Slf4j
+public class PipelineStage {
+
+    private final String name;
+    private final BlockingQueue<ClaimTask> queue;
+    private final int workers;
+    private final int batchSize;
+    private final StageHandler handler;
+    private final ExecutorService executor;
+
+    private final Timer waitTimer;
+    private final Timer processingTimer;
+
+    private volatile boolean running = true;
+
+    public PipelineStage(String name, int workers, int queueCapacity, int batchSize,
+                         StageHandler handler, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = workers;
+        this.batchSize = Math.max(1, batchSize);
+        this.handler = handler;
+        this.executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("claim-" + name + "-"));
+
+        Gauge.builder("claims.pipeline.queue.depth", queue, BlockingQueue::size)
+                .tag("stage", name)
+                .description("Claims waiting in the stage's input queue")
+                .register(meterRegistry);
+        Gauge.builder("claims.pipeline.queue.capacity", queue, q -> q.size() + q.remainingCapacity())
+                .tag("stage", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("claims.pipeline.stage.wait")
+                .tag("stage", name)
+                .description("Time a claim spends queued before the stage picks it up")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder("claims.pipeline.stage.processing")
+                .tag("stage", name)
+                .description("Time the stage spends on one batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void start(Consumer<ClaimTask> router) {
+        for (int i = 0; i < workers; i++) {
+            executor.submit(() -> runWorker(router));
+        }
+        log.info("Claim pipeline stage '{}' started: {} workers, queue {}, batch {}",
+                name, workers, queue.remainingCapacity(), batchSize);
+    }
+
+    /**
+     * Enqueue, waiting for room; used between stages
+     */
+    public void put(ClaimTask task) throws InterruptedException {
+        task.setEnqueuedNanos(System.nanoTime());
+        queue.put(task);
+    }
+
+    /**
+     * Enqueue, giving up after the timeout; used at intake
+     */
+    public boolean offer(ClaimTask task, long timeoutMillis) throws InterruptedException {
+        task.setEnqueuedNanos(System.nanoTime());
+        return queue.offer(task, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Wait for the queue to empty, then stop the workers
+     */
+    public void drainAndStop(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!queue.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void runWorker(Consumer<ClaimTask> router) {
+        List<ClaimTask> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ClaimTask first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                if (batchSize > 1) {
+                    queue.drainTo(batch, batchSize - 1);
+                }
+
+                long startNanos = System.nanoTime();
+                for (ClaimTask task : batch) {
+                    waitTimer.record(startNanos - task.getEnqueuedNanos(), TimeUnit.NANOSECONDS);
+                }
+
+                try {
+                    handler.process(batch);
+                } catch (RuntimeException e) {
+                    log.error("Claim pipeline stage '{}' failed on {} claims: {}", name, batch.size(), e.getMessage());
+                    for (ClaimTask task : batch) {
+                        if (task.getStatus() == null) {
+                            task.flag("Stage " + name + " failed: " + e.getMessage());
+                        }
+                    }
+                }
+                processingTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+                for (ClaimTask task : batch) {
+                    router.accept(task);
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.togglecover.claim.pipeline;
+
+import java.util.List;
+
+/**
+ * Work done by one pipeline stage. Handlers receive up to the stage's batch size of
+ * claims and record outcomes on the tasks; they never block on downstream stages.
+ */
+public interface StageHandler {
+
+    void process(List<ClaimTask> tasks);
+}
@@ -0,0 +1,31 @@
+package com.togglecover.claim.repository;
+
+import com.togglecover.claim.model.dto.ClaimKey;
+import com.togglecover.claim.model.entity.Claim;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ClaimRepository extends JpaRepository<Claim, Long> {
+
+    Optional<Claim> findByClaimNumber(String claimNumber);
+
+    List<Claim> findByPolicyNumberOrderByIncidentDateDesc(String policyNumber);
+
+    @Query("SELECT new com.togglecover.claim.model.dto.ClaimKey(c.policyNumber, c.incidentDate, c.claimType) " +
+            "FROM Claim c WHERE c.incidentDate >= :fromDate AND c.dedupeKey IS NOT NULL")
+    List<ClaimKey> findClaimKeysFrom(@Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Claims acknowledged at intake whose outcome was never stored, e.g. after a crash
+     */
+    List<Claim> findByStatusAndSubmittedAtBeforeOrderByIdAsc(String status, LocalDateTime submittedAt, Limit limit);
+}
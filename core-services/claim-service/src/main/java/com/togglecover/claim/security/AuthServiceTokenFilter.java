@@ -0,0 +1,56 @@
+package com.togglecover.claim.security;
+
+import com.togglecover.claim.client.AuthServiceClient;
+import com.togglecover.claim.model.dto.TokenValidationResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates bearer tokens against auth-service and exposes the caller as the
+ * {@link ClaimCaller#ATTRIBUTE} request attribute. Requests without a valid token
+ * continue unauthenticated and are rejected by the security rules.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class AuthServiceTokenFilter extends OncePerRequestFilter {
+
+    private final AuthServiceClient authServiceClient;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+
+        String authHeader = request.getHeader("Authorization");
+        if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
+            try {
+                TokenValidationResponse validation = authServiceClient.validateToken(authHeader);
+                if (Boolean.TRUE.equals(validation.getValid()) && validation.getUserId() != null) {
+                    String role = validation.getRole() != null ? validation.getRole() : "USER";
+                    request.setAttribute(ClaimCaller.ATTRIBUTE, new ClaimCaller(validation.getUserId(), role));
+                    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                            validation.getUsername(), null, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+                } else {
+                    log.debug("Rejected token for {}: {}", request.getRequestURI(), validation.getMessage());
+                }
+            } catch (Exception e) {
+                log.warn("Token validation against auth-service failed: {}", e.getMessage());
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,22 @@
+package com.togglecover.claim.security;
+
+/**
+ * The authenticated caller of the claim API: a user with their role, or another service.
+ * Users file and read claims only on their own policies; services and admins on any.
+ */
+public record ClaimCaller(Long userId, String role) {
+
+    public static final String ATTRIBUTE = ClaimCaller.class.getName();
+
+    public static ClaimCaller service() {
+        return new ClaimCaller(null, ServiceToken.ROLE);
+    }
+
+    public boolean isPrivileged() {
+        return ServiceToken.ROLE.equals(role) || "ADMIN".equals(role);
+    }
+
+    public boolean mayAccess(Long ownerId) {
+        return isPrivileged() || userId != null && userId.equals(ownerId);
+    }
+}
@@ -0,0 +1,33 @@
+package com.togglecover.claim.security;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * The shared token other services send as {@code Authorization: Service <token>}. A
+ * blank configured token matches nothing.
+ */
+public class ServiceToken {
+
+    public static final String SCHEME = "Service ";
+    public static final String ROLE = "SERVICE";
+
+    private final byte[] token;
+
+    public ServiceToken(String token) {
+        this.token = StringUtils.hasText(token) ? token.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    public boolean isServiceHeader(String authHeader) {
+        return authHeader != null && authHeader.startsWith(SCHEME);
+    }
+
+    public boolean matches(String authHeader) {
+        if (token == null || !isServiceHeader(authHeader)) {
+            return false;
+        }
+        return MessageDigest.isEqual(token, authHeader.substring(SCHEME.length()).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.model.dto.ClaimRequest;
+import com.togglecover.claim.model.dto.CoverageStatusResponse;
+import com.togglecover.claim.model.dto.FraudAssessment;
+import com.togglecover.claim.pipeline.ClaimTask;
+import com.togglecover.claim.pipeline.StageHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Score stage: a 0-100 risk score from the claim amount, how well the claim matches
+ * the coverage it was filed against, and the fraud signals that fire for it. Claims at
+ * or above the review threshold are flagged.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClaimScorer implements StageHandler {
+
+    private final FraudSignalEngine fraudSignalEngine;
+
+    @Value("${claims.max-claim-amount:50000}")
+    private BigDecimal maxClaimAmount;
+
+    @Value("${claims.scoring.review-threshold:60}")
+    private int reviewThreshold;
+
+    @Override
+    public void process(List<ClaimTask> tasks) {
+        for (ClaimTask task : tasks) {
+            if (task.isRejected()) {
+                continue;
+            }
+            FraudAssessment fraud = fraudSignalEngine.assess(task.getRequest(),
+                    task.getSubmittedAt().atZone(ZoneId.systemDefault()).toInstant());
+            int score = Math.min(100, score(task.getRequest(), task.getCoverage()) + fraud.score());
+            task.setRiskScore(score);
+            if (task.getStatus() != null) {
+                continue; // already flagged upstream
+            }
+            if (score >= reviewThreshold) {
+                task.flag("Risk score " + score + " needs review"
+                        + (fraud.signals().isEmpty() ? "" : " (signals: " + String.join(", ", fraud.signals()) + ")"));
+            } else {
+                task.setStatus("ACCEPTED");
+            }
+        }
+    }
+
+    private int score(ClaimRequest request, CoverageStatusResponse coverage) {
+        int score = request.getClaimAmount()
+                .multiply(BigDecimal.valueOf(40))
+                .divide(maxClaimAmount, 0, RoundingMode.HALF_UP)
+                .intValue();
+        if (coverage != null) {
+            if (mismatch(request.getLocation(), coverage.getLocation())) {
+                score += 30;
+            }
+            if (mismatch(request.getGigPlatform(), coverage.getGigPlatform())) {
+                score += 20;
+            }
+        }
+        return Math.min(100, score);
+    }
+
+    private boolean mismatch(String claimed, String covered) {
+        return claimed != null && covered != null && !claimed.equalsIgnoreCase(covered);
+    }
+}
@@ -0,0 +1,88 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.model.dto.ClaimDTO;
+import com.togglecover.claim.model.dto.ClaimRequest;
+import com.togglecover.claim.model.dto.ClaimSubmissionResponse;
+import com.togglecover.claim.model.entity.Claim;
+import com.togglecover.claim.pipeline.ClaimPipeline;
+import com.togglecover.claim.pipeline.ClaimTask;
+import com.togglecover.claim.repository.ClaimRepository;
+import com.togglecover.claim.security.ClaimCaller;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ClaimService {
+
+    private final ClaimPipeline claimPipeline;
+    private final ClaimRepository claimRepository;
+    private final PolicyOwnership policyOwnership;
+
+    /**
+     * Hand the claim to the pipeline once the caller is known to own the policy; null
+     * when the pipeline is saturated
+     */
+    public ClaimSubmissionResponse submitClaim(ClaimRequest request, ClaimCaller caller, String authorization) {
+        policyOwnership.check(caller, request.getPolicyNumber());
+        ClaimTask task = claimPipeline.submit(request, authorization);
+        if (task == null) {
+            return null;
+        }
+        return new ClaimSubmissionResponse(task.getClaimNumber(), "PROCESSING", "Claim received for processing");
+    }
+
+    @Transactional(readOnly = true)
+    public ClaimDTO getClaim(String claimNumber, ClaimCaller caller) {
+        ClaimTask task = claimPipeline.getInFlight(claimNumber);
+        ClaimDTO claim = task != null ? convertToDTO(task) : claimRepository.findByClaimNumber(claimNumber)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new RuntimeException("Claim not found: " + claimNumber));
+        policyOwnership.check(caller, claim.getPolicyNumber());
+        return claim;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ClaimDTO> getClaimsByPolicy(String policyNumber, ClaimCaller caller) {
+        policyOwnership.check(caller, policyNumber);
+        return claimRepository.findByPolicyNumberOrderByIncidentDateDesc(policyNumber).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private ClaimDTO convertToDTO(ClaimTask task) {
+        ClaimRequest request = task.getRequest();
+        ClaimDTO dto = new ClaimDTO();
+        dto.setClaimNumber(task.getClaimNumber());
+        dto.setPolicyNumber(request.getPolicyNumber());
+        dto.setIncidentDate(request.getIncidentDate());
+        dto.setClaimType(request.getClaimType());
+        dto.setClaimAmount(request.getClaimAmount());
+        dto.setLocation(request.getLocation());
+        dto.setGigPlatform(request.getGigPlatform());
+        dto.setStatus("PROCESSING");
+        dto.setSubmittedAt(task.getSubmittedAt());
+        return dto;
+    }
+
+    private ClaimDTO convertToDTO(Claim claim) {
+        ClaimDTO dto = new ClaimDTO();
+        dto.setClaimNumber(claim.getClaimNumber());
+        dto.setPolicyNumber(claim.getPolicyNumber());
+        dto.setIncidentDate(claim.getIncidentDate());
+        dto.setClaimType(claim.getClaimType());
+        dto.setClaimAmount(claim.getClaimAmount());
+        dto.setLocation(claim.getLocation());
+        dto.setGigPlatform(claim.getGigPlatform());
+        dto.setStatus(claim.getStatus());
+        dto.setReason(claim.getReason());
+        dto.setRiskScore(claim.getRiskScore());
+        dto.setSubmittedAt(claim.getSubmittedAt());
+        dto.setProcessedAt(claim.getProcessedAt());
+        return dto;
+    }
+}
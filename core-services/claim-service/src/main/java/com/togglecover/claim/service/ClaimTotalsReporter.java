@@ -0,0 +1,71 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.client.InsuranceServiceClient;
+import com.togglecover.claim.model.dto.PolicyClaimTotals;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps Policy.totalClaims and totalClaimsAmount in insurance-service in step with the
+ * accepted and flagged claims stored here. Each pass takes unreported claims, sends the
+ * absolute totals of their policies and only then marks those claims reported, so a
+ * failed or repeated pass never double-counts.
+ */
+@Component
+@ConditionalOnProperty(name = "claims.totals.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ClaimTotalsReporter {
+
+    private static final String UNREPORTED_SQL =
+            "SELECT id, policy_number FROM claims WHERE totals_reported = FALSE ORDER BY id LIMIT :limit";
+
+    private static final String TOTALS_SQL =
+            "SELECT policy_number, COUNT(*) AS total_claims, SUM(claim_amount) AS total_amount FROM claims " +
+                    "WHERE policy_number IN (:policies) AND dedupe_key IS NOT NULL GROUP BY policy_number";
+
+    private static final String MARK_REPORTED_SQL = "UPDATE claims SET totals_reported = TRUE WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final InsuranceServiceClient insuranceServiceClient;
+
+    @Value("${claims.service-authorization}")
+    private String serviceAuthorization;
+
+    @Value("${claims.totals.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${claims.totals.report-interval-ms:5000}")
+    public void report() {
+        List<Map<String, Object>> unreported = jdbcTemplate.queryForList(UNREPORTED_SQL, Map.of("limit", batchSize));
+        if (unreported.isEmpty()) {
+            return;
+        }
+        List<Long> ids = unreported.stream().map(row -> ((Number) row.get("id")).longValue()).toList();
+        Set<String> policies = new TreeSet<>();
+        unreported.forEach(row -> policies.add((String) row.get("policy_number")));
+
+        List<PolicyClaimTotals> totals = jdbcTemplate.query(TOTALS_SQL, Map.of("policies", policies),
+                (rs, rowNum) -> new PolicyClaimTotals(rs.getString("policy_number"), rs.getInt("total_claims"),
+                        rs.getBigDecimal("total_amount")));
+        try {
+            insuranceServiceClient.updateClaimTotals(serviceAuthorization, totals);
+        } catch (FeignException e) {
+            log.warn("Reporting claim totals of {} policies to insurance-service failed: {}",
+                    totals.size(), e.getMessage());
+            return;
+        }
+        jdbcTemplate.update(MARK_REPORTED_SQL, Map.of("ids", ids));
+    }
+}
@@ -0,0 +1,55 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.model.dto.ClaimRequest;
+import com.togglecover.claim.pipeline.ClaimTask;
+import com.togglecover.claim.pipeline.StageHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validate stage: business rules that need no remote lookups. Field-level checks
+ * already ran on the request body before intake.
+ */
+@Component
+public class ClaimValidator implements StageHandler {
+
+    private static final Set<String> CLAIM_TYPES = Set.of("WEATHER_DISRUPTION", "ACCIDENT", "HEALTH", "VEHICLE_DAMAGE");
+
+    @Value("${claims.max-claim-age-days:30}")
+    private int maxClaimAgeDays;
+
+    @Value("${claims.max-claim-amount:50000}")
+    private BigDecimal maxClaimAmount;
+
+    @Override
+    public void process(List<ClaimTask> tasks) {
+        LocalDate today = LocalDate.now();
+        for (ClaimTask task : tasks) {
+            String error = validate(task.getRequest(), today);
+            if (error != null) {
+                task.reject(error);
+            }
+        }
+    }
+
+    private String validate(ClaimRequest request, LocalDate today) {
+        if (request.getIncidentDate().isAfter(today)) {
+            return "Incident date is in the future";
+        }
+        if (request.getIncidentDate().isBefore(today.minusDays(maxClaimAgeDays))) {
+            return "Claims must be filed within " + maxClaimAgeDays + " days of the incident";
+        }
+        if (!CLAIM_TYPES.contains(request.getClaimType())) {
+            return "Unsupported claim type: " + request.getClaimType();
+        }
+        if (request.getClaimAmount().compareTo(maxClaimAmount) > 0) {
+            return "Claim amount exceeds the maximum of " + maxClaimAmount;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,175 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.model.dto.ClaimRequest;
+import com.togglecover.claim.model.entity.Claim;
+import com.togglecover.claim.pipeline.ClaimTask;
+import com.togglecover.claim.pipeline.StageHandler;
+import com.togglecover.claim.repository.ClaimRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Stores claims: the intake row, inserted as PROCESSING before the submission is
+ * acknowledged, and the outcome, written by the persist stage with one JDBC batch update
+ * per drained queue batch. If the batch fails, rows are retried one at a time so a
+ * single bad row does not lose the others; a row still PROCESSING is picked up again by
+ * {@link #findStalled}.
+ */
+@Component
+@Slf4j
+public class ClaimWriter implements StageHandler {
+
+    public static final String PROCESSING = "PROCESSING";
+
+    private static final String INTAKE_SQL =
+            "INSERT INTO claims (claim_number, policy_number, incident_date, claim_type, claim_amount, location, " +
+                    "gig_platform, description, status, submitted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String OUTCOME_SQL =
+            "UPDATE claims SET status = ?, reason = ?, risk_score = ?, processed_at = ?, dedupe_key = ?, " +
+                    "totals_reported = ? WHERE claim_number = ?";
+
+    private static final String DISCARD_SQL = "DELETE FROM claims WHERE claim_number = ? AND status = ?";
+
+    private static final String DUPLICATE_REASON = "Duplicate claim for this policy, incident date and claim type";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClaimRepository claimRepository;
+    private final DuplicateClaimDetector duplicateClaimDetector;
+    private final Counter persistFailures;
+
+    @Value("${claims.service-authorization}")
+    private String serviceAuthorization;
+
+    public ClaimWriter(JdbcTemplate jdbcTemplate, ClaimRepository claimRepository,
+                       DuplicateClaimDetector duplicateClaimDetector, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.claimRepository = claimRepository;
+        this.duplicateClaimDetector = duplicateClaimDetector;
+        this.persistFailures = Counter.builder("claims.pipeline.persist.failures")
+                .description("Claim outcomes that could not be stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Insert the claim as PROCESSING, so it survives a restart once acknowledged
+     */
+    public void recordIntake(ClaimTask task) {
+        ClaimRequest request = task.getRequest();
+        jdbcTemplate.update(INTAKE_SQL, ps -> {
+            ps.setString(1, task.getClaimNumber());
+            ps.setString(2, request.getPolicyNumber());
+            ps.setDate(3, Date.valueOf(request.getIncidentDate()));
+            ps.setString(4, request.getClaimType());
+            ps.setBigDecimal(5, request.getClaimAmount());
+            ps.setString(6, request.getLocation());
+            ps.setString(7, request.getGigPlatform());
+            ps.setString(8, request.getDescription());
+            ps.setString(9, PROCESSING);
+            ps.setTimestamp(10, Timestamp.valueOf(task.getSubmittedAt()));
+        });
+    }
+
+    /**
+     * Remove an intake row whose submission was turned away after all
+     */
+    public void discardIntake(ClaimTask task) {
+        jdbcTemplate.update(DISCARD_SQL, task.getClaimNumber(), PROCESSING);
+    }
+
+    /**
+     * Claims still PROCESSING that were submitted before the cutoff, rebuilt as tasks.
+     * The claimant's token is not stored; their coverage is looked up with claim-service's
+     * own credential, ownership having been checked at intake.
+     */
+    public List<ClaimTask> findStalled(LocalDateTime submittedBefore, int limit) {
+        return claimRepository.findByStatusAndSubmittedAtBeforeOrderByIdAsc(PROCESSING, submittedBefore,
+                        Limit.of(limit)).stream()
+                .map(this::toTask)
+                .toList();
+    }
+
+    @Override
+    public void process(List<ClaimTask> tasks) {
+        LocalDateTime processedAt = LocalDateTime.now();
+        try {
+            jdbcTemplate.batchUpdate(OUTCOME_SQL, tasks, tasks.size(), (ps, task) -> bind(ps, task, processedAt));
+        } catch (DataAccessException batchFailure) {
+            log.warn("Claim batch update of {} rows failed, retrying individually: {}",
+                    tasks.size(), batchFailure.getMessage());
+            for (ClaimTask task : tasks) {
+                store(task, processedAt);
+            }
+        }
+    }
+
+    private void store(ClaimTask task, LocalDateTime processedAt) {
+        try {
+            try {
+                jdbcTemplate.update(OUTCOME_SQL, ps -> bind(ps, task, processedAt));
+            } catch (DuplicateKeyException e) {
+                // Another instance stored a live claim with the same key first
+                task.reject(DUPLICATE_REASON);
+                jdbcTemplate.update(OUTCOME_SQL, ps -> bind(ps, task, processedAt));
+            }
+        } catch (DataAccessException e) {
+            log.error("Could not store the outcome of claim {}: {}", task.getClaimNumber(), e.getMessage());
+            persistFailures.increment();
+            if (!task.isRejected()) {
+                duplicateClaimDetector.release(task);
+            }
+            task.setStatus("FAILED");
+            task.setReason("Claim outcome could not be stored");
+        }
+    }
+
+    private void bind(PreparedStatement ps, ClaimTask task, LocalDateTime processedAt) throws SQLException {
+        ps.setString(1, task.getStatus());
+        ps.setString(2, truncate(task.getReason(), 255));
+        if (task.getRiskScore() != null) {
+            ps.setInt(3, task.getRiskScore());
+        } else {
+            ps.setNull(3, Types.INTEGER);
+        }
+        ps.setTimestamp(4, Timestamp.valueOf(processedAt));
+        if (task.isLive()) {
+            ps.setString(5, task.key().dedupeKey());
+            ps.setBoolean(6, false);
+        } else {
+            ps.setNull(5, Types.VARCHAR);
+            ps.setNull(6, Types.BOOLEAN);
+        }
+        ps.setString(7, task.getClaimNumber());
+    }
+
+    private ClaimTask toTask(Claim claim) {
+        ClaimRequest request = new ClaimRequest();
+        request.setPolicyNumber(claim.getPolicyNumber());
+        request.setIncidentDate(claim.getIncidentDate());
+        request.setClaimType(claim.getClaimType());
+        request.setClaimAmount(claim.getClaimAmount());
+        request.setLocation(claim.getLocation());
+        request.setGigPlatform(claim.getGigPlatform());
+        request.setDescription(claim.getDescription());
+        return new ClaimTask(claim.getClaimNumber(), request, serviceAuthorization, claim.getSubmittedAt());
+    }
+
+    private String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+}
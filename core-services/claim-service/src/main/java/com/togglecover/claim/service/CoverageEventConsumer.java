@@ -0,0 +1,95 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.client.InsuranceEventLogClient;
+import com.togglecover.claim.config.FraudProperties;
+import com.togglecover.claim.model.dto.InsuranceEvent;
+import feign.FeignException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Feeds coverage activations from insurance-service's event log into the fraud engine.
+ * The engine's checkpoint carries the read position, so after a restart reading resumes
+ * where the restored state left off; the consumer offset is also committed upstream for
+ * visibility.
+ * <p>
+ * The log lives on the insurance-service instance owning it, so with several instances
+ * claims.fraud.events.url must point at that one (see {@link InsuranceEventLogClient}).
+ */
+@Component
+@ConditionalOnProperty(name = "claims.fraud.events.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class CoverageEventConsumer {
+
+    private static final String COVERAGE_ACTIVATED = "COVERAGE_ACTIVATED";
+
+    private final InsuranceEventLogClient insuranceEventLogClient;
+    private final FraudSignalEngine fraudSignalEngine;
+    private final FraudProperties properties;
+
+    /**
+     * The event log only answers services, so polling without a credential would fail
+     * on every poll; refuse to start instead
+     */
+    @PostConstruct
+    void requireAuthorization() {
+        String authorization = properties.getEvents().getAuthorization();
+        // "<scheme> <credentials>", e.g. "Service <token>"
+        if (!StringUtils.hasText(authorization) || authorization.trim().indexOf(' ') < 0) {
+            throw new IllegalStateException("claims.fraud.events.enabled is set but claims.fraud.events.authorization "
+                    + "has no credentials; set INSURANCE_SERVICE_TOKEN or disable claims.fraud.events.enabled");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${claims.fraud.events.poll-interval-ms:500}")
+    public void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        FraudProperties.Events events = properties.getEvents();
+        try {
+            long offset = fraudSignalEngine.getEventOffset();
+            if (offset < 0) {
+                Long committed = insuranceEventLogClient.getEventOffset(events.getAuthorization(),
+                        events.getConsumer());
+                offset = committed != null ? committed : 0;
+                fraudSignalEngine.setEventOffset(offset);
+            }
+
+            List<InsuranceEvent> batch;
+            do {
+                batch = insuranceEventLogClient.readEvents(events.getAuthorization(), events.getConsumer(),
+                        offset, events.getBatchSize());
+                for (InsuranceEvent event : batch) {
+                    apply(event);
+                }
+                if (!batch.isEmpty()) {
+                    offset = batch.get(batch.size() - 1).getOffset() + 1;
+                    fraudSignalEngine.setEventOffset(offset);
+                    insuranceEventLogClient.commitEventOffset(events.getAuthorization(), events.getConsumer(), offset);
+                }
+            } while (batch.size() == events.getBatchSize());
+        } catch (FeignException e) {
+            log.warn("Reading coverage events from insurance-service failed: {}", e.getMessage());
+        }
+    }
+
+    private void apply(InsuranceEvent event) {
+        if (!COVERAGE_ACTIVATED.equals(event.getEventType()) || event.getOccurredAt() == null) {
+            return;
+        }
+        String policyNumber = event.getPayload() != null && event.getPayload().hasNonNull("policyNumber")
+                ? event.getPayload().get("policyNumber").asText()
+                : event.getAggregateId();
+        fraudSignalEngine.recordActivation(policyNumber, event.getOccurredAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
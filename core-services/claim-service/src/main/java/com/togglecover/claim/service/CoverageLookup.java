@@ -0,0 +1,13 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.model.dto.CoverageStatusResponse;
+
+import java.time.LocalDate;
+
+/**
+ * Source of a policy's coverage status on a given day
+ */
+public interface CoverageLookup {
+
+    CoverageStatusResponse getCoverageStatus(String authorization, String policyNumber, LocalDate date);
+}
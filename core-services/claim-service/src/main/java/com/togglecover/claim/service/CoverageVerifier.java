@@ -0,0 +1,47 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.model.dto.CoverageStatusResponse;
+import com.togglecover.claim.pipeline.ClaimTask;
+import com.togglecover.claim.pipeline.StageHandler;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Coverage stage: a claim is only payable if coverage was active on the incident date.
+ * When insurance-service cannot answer, the claim is flagged for review instead of
+ * being rejected for a reason that is not the claimant's.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CoverageVerifier implements StageHandler {
+
+    private final CoverageLookup coverageLookup;
+
+    @Override
+    public void process(List<ClaimTask> tasks) {
+        for (ClaimTask task : tasks) {
+            if (task.isRejected()) {
+                continue;
+            }
+            try {
+                CoverageStatusResponse coverage = coverageLookup.getCoverageStatus(
+                        task.getAuthorization(), task.getRequest().getPolicyNumber(), task.getRequest().getIncidentDate());
+                if (coverage == null || !Boolean.TRUE.equals(coverage.getIsCoverageActiveToday())) {
+                    task.reject("No active coverage on " + task.getRequest().getIncidentDate());
+                } else {
+                    task.setCoverage(coverage);
+                }
+            } catch (FeignException.NotFound e) {
+                task.reject("Policy not found: " + task.getRequest().getPolicyNumber());
+            } catch (FeignException e) {
+                log.warn("Coverage lookup failed for claim {}: {}", task.getClaimNumber(), e.getMessage());
+                task.flag("Coverage could not be verified");
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.model.dto.ClaimKey;
+import com.togglecover.claim.pipeline.ClaimTask;
+import com.togglecover.claim.pipeline.StageHandler;
+import com.togglecover.claim.repository.ClaimRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dedupe stage: one live claim per policy, incident date and claim type. Keys for the
+ * claim window are held in memory (loaded at startup) so the check is a single
+ * putIfAbsent rather than a query per claim. Claims older than the window are already
+ * rejected by validation, so pruned keys can no longer match.
+ * <p>
+ * The set only knows this instance's claims; the unique claims.dedupe_key constraint
+ * catches duplicates filed through other instances when the outcome is stored.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateClaimDetector implements StageHandler {
+
+    private final ClaimRepository claimRepository;
+
+    @Value("${claims.max-claim-age-days:30}")
+    private int maxClaimAgeDays;
+
+    private final Set<ClaimKey> seen = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void load() {
+        List<ClaimKey> keys = claimRepository.findClaimKeysFrom(LocalDate.now().minusDays(maxClaimAgeDays));
+        seen.addAll(keys);
+        log.info("Loaded {} claim keys for duplicate detection", keys.size());
+    }
+
+    @Override
+    public void process(List<ClaimTask> tasks) {
+        for (ClaimTask task : tasks) {
+            if (task.isRejected()) {
+                continue;
+            }
+            if (!seen.add(task.key())) {
+                task.reject("Duplicate claim for this policy, incident date and claim type");
+            }
+        }
+    }
+
+    /**
+     * Forget a claim that was registered but could not be stored, so it can be resubmitted
+     */
+    public void release(ClaimTask task) {
+        seen.remove(task.key());
+    }
+
+    @Scheduled(cron = "${claims.dedupe.prune-cron:0 15 0 * * *}")
+    public void prune() {
+        LocalDate cutoff = LocalDate.now().minusDays(maxClaimAgeDays);
+        seen.removeIf(key -> key.incidentDate().isBefore(cutoff));
+    }
+}
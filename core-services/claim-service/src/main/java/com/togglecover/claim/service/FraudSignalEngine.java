@@ -0,0 +1,412 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.config.FraudProperties;
+import com.togglecover.claim.model.dto.ClaimRequest;
+import com.togglecover.claim.model.dto.FraudAssessment;
+import com.togglecover.claim.util.SlidingWindowCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory fraud signals over sliding windows. Claims (from the score stage) and
+ * coverage activations (from insurance-service's event log) update time-bucketed ring
+ * counters per policy and per location and gig platform; each claim is then scored by
+ * the configured rules without touching the database.
+ * <p>
+ * State is checkpointed to disk periodically and on shutdown. On startup the checkpoint
+ * is loaded, claims stored since it was taken are replayed from the claims table, and
+ * coverage events resume from the checkpointed event-log offset.
+ */
+@Component
+@Slf4j
+public class FraudSignalEngine {
+
+    private static final int CHECKPOINT_MAGIC = 0x54434653; // "TCFS"
+    private static final int CHECKPOINT_VERSION = 1;
+
+    private final FraudProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer assessTimer;
+
+    private final long policyBucketMs;
+    private final long locationBucketMs;
+    private final List<CompiledRule> rules;
+
+    private final Map<String, PolicyState> policies = new ConcurrentHashMap<>();
+    private final Map<String, LocationState> locations = new ConcurrentHashMap<>();
+
+    // Next insurance-service event to read; -1 until known
+    private volatile long eventOffset = -1;
+
+    public FraudSignalEngine(FraudProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.policyBucketMs = properties.getPolicyBucket().toMillis();
+        this.locationBucketMs = properties.getLocationBucket().toMillis();
+        this.rules = compileRules();
+
+        this.assessTimer = Timer.builder("claims.fraud.assess")
+                .description("Time to score one claim against the fraud rules")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        Gauge.builder("claims.fraud.tracked", policies, Map::size).tag("kind", "policy").register(meterRegistry);
+        Gauge.builder("claims.fraud.tracked", locations, Map::size).tag("kind", "location").register(meterRegistry);
+    }
+
+    /**
+     * Score a claim against the state before it, then count it
+     */
+    public FraudAssessment assess(ClaimRequest request, Instant filedAt) {
+        if (!properties.isEnabled()) {
+            return FraudAssessment.NONE;
+        }
+        long start = System.nanoTime();
+        long now = filedAt.toEpochMilli();
+        PolicyState policy = policies.computeIfAbsent(request.getPolicyNumber(), k -> newPolicyState());
+        String locationKey = locationKey(request.getLocation(), request.getGigPlatform());
+        LocationState location = locationKey != null
+                ? locations.computeIfAbsent(locationKey, k -> new LocationState(properties.getLocationBuckets()))
+                : null;
+
+        int score = 0;
+        List<String> signals = null;
+        for (CompiledRule rule : rules) {
+            if (fires(rule, policy, location, now)) {
+                score += rule.weight();
+                if (signals == null) {
+                    signals = new ArrayList<>(2);
+                }
+                signals.add(rule.name());
+            }
+        }
+
+        policy.recordClaim(now / policyBucketMs);
+        if (location != null) {
+            location.recordClaim(now / locationBucketMs);
+        }
+        assessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return signals == null ? FraudAssessment.NONE : new FraudAssessment(Math.min(100, score), signals);
+    }
+
+    public void recordActivation(String policyNumber, Instant at) {
+        policies.computeIfAbsent(policyNumber, k -> newPolicyState()).recordActivation(at.toEpochMilli(), policyBucketMs);
+    }
+
+    public long getEventOffset() {
+        return eventOffset;
+    }
+
+    public void setEventOffset(long eventOffset) {
+        this.eventOffset = eventOffset;
+    }
+
+    @PostConstruct
+    void restore() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path path = Paths.get(properties.getCheckpointPath());
+        long since = 0;
+        if (Files.exists(path)) {
+            try {
+                since = readCheckpoint(path);
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable fraud checkpoint {}: {}", path, e.getMessage());
+                policies.clear();
+                locations.clear();
+                eventOffset = -1;
+            }
+        }
+        replayClaimsSince(since > 0 ? since : System.currentTimeMillis() - maxWindowMs());
+    }
+
+    @Scheduled(fixedDelayString = "${claims.fraud.checkpoint-interval-ms:60000}",
+            initialDelayString = "${claims.fraud.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        prune(System.currentTimeMillis());
+        Path path = Paths.get(properties.getCheckpointPath());
+        try {
+            writeCheckpoint(path);
+        } catch (IOException e) {
+            log.error("Fraud state checkpoint to {} failed: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    /**
+     * Write all state atomically (temp file, fsync, rename). Counters are copied one at a
+     * time, so a claim counted mid-write may also be replayed later; that only ever
+     * overcounts by the claims of a few milliseconds.
+     */
+    void writeCheckpoint(Path path) throws IOException {
+        long takenAt = System.currentTimeMillis();
+        Path absolute = path.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+
+        int policyCount = 0;
+        int locationCount = 0;
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(file, 64 * 1024)))) {
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeInt(CHECKPOINT_VERSION);
+            out.writeLong(policyBucketMs);
+            out.writeInt(properties.getPolicyBuckets());
+            out.writeLong(locationBucketMs);
+            out.writeInt(properties.getLocationBuckets());
+            out.writeLong(takenAt);
+            out.writeLong(eventOffset);
+
+            for (Map.Entry<String, PolicyState> entry : policies.entrySet()) {
+                out.writeBoolean(true);
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+                policyCount++;
+            }
+            out.writeBoolean(false);
+            for (Map.Entry<String, LocationState> entry : locations.entrySet()) {
+                out.writeBoolean(true);
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+                locationCount++;
+            }
+            out.writeBoolean(false);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("Checkpointed fraud state: {} policies, {} locations", policyCount, locationCount);
+    }
+
+    /**
+     * Load a checkpoint and return when it was taken (epoch millis)
+     */
+    long readCheckpoint(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(path), 64 * 1024)))) {
+            if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != CHECKPOINT_VERSION) {
+                throw new IOException("not a fraud state checkpoint");
+            }
+            if (in.readLong() != policyBucketMs || in.readInt() != properties.getPolicyBuckets()
+                    || in.readLong() != locationBucketMs || in.readInt() != properties.getLocationBuckets()) {
+                throw new IOException("bucket geometry changed since the checkpoint");
+            }
+            long takenAt = in.readLong();
+            long offset = in.readLong();
+
+            while (in.readBoolean()) {
+                String key = in.readUTF();
+                PolicyState state = newPolicyState();
+                state.readFrom(in);
+                policies.put(key, state);
+            }
+            while (in.readBoolean()) {
+                String key = in.readUTF();
+                LocationState state = new LocationState(properties.getLocationBuckets());
+                state.readFrom(in);
+                locations.put(key, state);
+            }
+            eventOffset = offset;
+            log.info("Restored fraud state from {}: {} policies, {} locations, event offset {}",
+                    path, policies.size(), locations.size(), offset);
+            return takenAt;
+        }
+    }
+
+    /**
+     * Drop keys whose counters have all aged out and whose last activation is outside every window
+     */
+    void prune(long nowMs) {
+        long maxWindow = maxWindowMs();
+        policies.entrySet().removeIf(e -> e.getValue().isIdle(nowMs / policyBucketMs, nowMs - maxWindow));
+        locations.entrySet().removeIf(e -> e.getValue().isIdle(nowMs / locationBucketMs));
+    }
+
+    private void replayClaimsSince(long sinceMs) {
+        if (jdbcTemplate == null) {
+            return;
+        }
+        int[] replayed = {0};
+        jdbcTemplate.query(
+                "SELECT policy_number, location, gig_platform, submitted_at FROM claims " +
+                        "WHERE submitted_at > ? AND status <> 'REJECTED' ORDER BY submitted_at",
+                rs -> {
+                    long at = rs.getTimestamp("submitted_at").getTime();
+                    policies.computeIfAbsent(rs.getString("policy_number"), k -> newPolicyState())
+                            .recordClaim(at / policyBucketMs);
+                    String key = locationKey(rs.getString("location"), rs.getString("gig_platform"));
+                    if (key != null) {
+                        locations.computeIfAbsent(key, k -> new LocationState(properties.getLocationBuckets()))
+                                .recordClaim(at / locationBucketMs);
+                    }
+                    replayed[0]++;
+                },
+                new Timestamp(sinceMs));
+        log.info("Replayed {} claims into fraud state", replayed[0]);
+    }
+
+    private boolean fires(CompiledRule rule, PolicyState policy, LocationState location, long now) {
+        return switch (rule.signal()) {
+            case POLICY_CLAIMS -> policy.claims(now / policyBucketMs, rule.windowBuckets()) >= rule.threshold();
+            case POLICY_ACTIVATIONS -> policy.activations(now / policyBucketMs, rule.windowBuckets()) >= rule.threshold();
+            case LOCATION_CLAIMS -> location != null
+                    && location.claims(now / locationBucketMs, rule.windowBuckets()) >= rule.threshold();
+            case ACTIVATION_TO_CLAIM -> policy.millisSinceActivation(now) <= rule.windowMs();
+        };
+    }
+
+    private List<CompiledRule> compileRules() {
+        List<CompiledRule> compiled = new ArrayList<>();
+        properties.getRules().forEach((name, rule) -> {
+            if (!rule.isEnabled()) {
+                return;
+            }
+            if (rule.getSignal() == null || rule.getWindow() == null) {
+                throw new IllegalStateException("Fraud rule '" + name + "' needs a signal and a window");
+            }
+            long windowMs = rule.getWindow().toMillis();
+            long bucketMs = rule.getSignal() == FraudProperties.Signal.LOCATION_CLAIMS ? locationBucketMs : policyBucketMs;
+            int ringBuckets = rule.getSignal() == FraudProperties.Signal.LOCATION_CLAIMS
+                    ? properties.getLocationBuckets() : properties.getPolicyBuckets();
+            int windowBuckets = (int) ((windowMs + bucketMs - 1) / bucketMs);
+            if (rule.getSignal() != FraudProperties.Signal.ACTIVATION_TO_CLAIM && windowBuckets > ringBuckets) {
+                throw new IllegalStateException("Fraud rule '" + name + "' window " + rule.getWindow()
+                        + " is longer than its ring of " + ringBuckets + " buckets");
+            }
+            compiled.add(new CompiledRule(name, rule.getSignal(), windowBuckets, windowMs,
+                    rule.getThreshold(), rule.getWeight()));
+        });
+        log.info("Fraud rules: {}", compiled);
+        return List.copyOf(compiled);
+    }
+
+    private long maxWindowMs() {
+        return Math.max(policyBucketMs * properties.getPolicyBuckets(), locationBucketMs * properties.getLocationBuckets());
+    }
+
+    private PolicyState newPolicyState() {
+        return new PolicyState(properties.getPolicyBuckets());
+    }
+
+    private static String locationKey(String location, String gigPlatform) {
+        if (location == null || gigPlatform == null) {
+            return null;
+        }
+        return location.trim().toUpperCase(Locale.ROOT) + '|' + gigPlatform.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record CompiledRule(String name, FraudProperties.Signal signal, int windowBuckets, long windowMs,
+                                int threshold, int weight) {
+    }
+
+    private static final class PolicyState {
+        private final SlidingWindowCounter claims;
+        private final SlidingWindowCounter activations;
+        private long lastActivationMs = Long.MIN_VALUE;
+
+        PolicyState(int buckets) {
+            this.claims = new SlidingWindowCounter(buckets);
+            this.activations = new SlidingWindowCounter(buckets);
+        }
+
+        synchronized void recordClaim(long bucket) {
+            claims.add(bucket, 1);
+        }
+
+        synchronized void recordActivation(long atMs, long bucketMs) {
+            activations.add(atMs / bucketMs, 1);
+            lastActivationMs = Math.max(lastActivationMs, atMs);
+        }
+
+        synchronized int claims(long bucket, int windowBuckets) {
+            return claims.sum(bucket, windowBuckets);
+        }
+
+        synchronized int activations(long bucket, int windowBuckets) {
+            return activations.sum(bucket, windowBuckets);
+        }
+
+        synchronized long millisSinceActivation(long nowMs) {
+            return lastActivationMs == Long.MIN_VALUE || nowMs < lastActivationMs ? Long.MAX_VALUE : nowMs - lastActivationMs;
+        }
+
+        synchronized boolean isIdle(long bucket, long activationCutoffMs) {
+            return claims.isEmptyAt(bucket) && activations.isEmptyAt(bucket) && lastActivationMs < activationCutoffMs;
+        }
+
+        synchronized void writeTo(DataOutputStream out) throws IOException {
+            out.writeLong(lastActivationMs);
+            claims.writeTo(out);
+            activations.writeTo(out);
+        }
+
+        synchronized void readFrom(DataInputStream in) throws IOException {
+            lastActivationMs = in.readLong();
+            claims.readFrom(in);
+            activations.readFrom(in);
+        }
+    }
+
+    private static final class LocationState {
+        private final SlidingWindowCounter claims;
+
+        LocationState(int buckets) {
+            this.claims = new SlidingWindowCounter(buckets);
+        }
+
+        synchronized void recordClaim(long bucket) {
+            claims.add(bucket, 1);
+        }
+
+        synchronized int claims(long bucket, int windowBuckets) {
+            return claims.sum(bucket, windowBuckets);
+        }
+
+        synchronized boolean isIdle(long bucket) {
+            return claims.isEmptyAt(bucket);
+        }
+
+        synchronized void writeTo(DataOutputStream out) throws IOException {
+            claims.writeTo(out);
+        }
+
+        synchronized void readFrom(DataInputStream in) throws IOException {
+            claims.readFrom(in);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.client.InsuranceServiceClient;
+import com.togglecover.claim.model.dto.CoverageStatusResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Asks insurance-service, forwarding the claimant's token (claim-service's own for
+ * recovered claims)
+ */
+@Component
+@Profile("!loadtest")
+@RequiredArgsConstructor
+public class InsuranceCoverageLookup implements CoverageLookup {
+
+    private final InsuranceServiceClient insuranceServiceClient;
+
+    @Override
+    public CoverageStatusResponse getCoverageStatus(String authorization, String policyNumber, LocalDate date) {
+        return insuranceServiceClient.getCoverageStatus(authorization, policyNumber, date);
+    }
+}
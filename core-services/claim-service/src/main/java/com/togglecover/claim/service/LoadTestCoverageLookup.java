@@ -0,0 +1,34 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.model.dto.CoverageStatusResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Stand-in for insurance-service under the loadtest profile, so load runs measure the
+ * pipeline itself. Every policy is covered; each lookup costs a configurable latency.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestCoverageLookup implements CoverageLookup {
+
+    @Value("${claims.loadtest.coverage-latency-ms:2}")
+    private long latencyMs;
+
+    @Override
+    public CoverageStatusResponse getCoverageStatus(String authorization, String policyNumber, LocalDate date) {
+        if (latencyMs > 0) {
+            LockSupport.parkNanos(latencyMs * 1_000_000);
+        }
+        CoverageStatusResponse response = new CoverageStatusResponse();
+        response.setPolicyNumber(policyNumber);
+        response.setCoverageDate(date);
+        response.setIsCoverageActiveToday(true);
+        response.setCurrentStatus("ACTIVE");
+        return response;
+    }
+}
@@ -0,0 +1,49 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.client.InsuranceServiceClient;
+import com.togglecover.claim.model.dto.PolicySummary;
+import com.togglecover.claim.security.ClaimCaller;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks that a claimant owns the policy they file a claim on or read claims of. The
+ * owner is looked up in insurance-service with claim-service's own credential; admins
+ * and other services may act on any policy without a lookup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PolicyOwnership {
+
+    private final InsuranceServiceClient insuranceServiceClient;
+
+    @Value("${claims.service-authorization}")
+    private String serviceAuthorization;
+
+    /**
+     * @throws AccessDeniedException if the caller does not own the policy, or it does not exist
+     */
+    public void check(ClaimCaller caller, String policyNumber) {
+        if (caller.isPrivileged()) {
+            return;
+        }
+        PolicySummary policy;
+        try {
+            policy = insuranceServiceClient.getPolicy(serviceAuthorization, policyNumber);
+        } catch (FeignException.NotFound e) {
+            policy = null;
+        } catch (FeignException e) {
+            throw new RuntimeException("Policy ownership could not be verified, retry shortly", e);
+        }
+        if (policy == null || !caller.mayAccess(policy.getUserId())) {
+            log.warn("User {} attempted to access claims of policy {} owned by user {}",
+                    caller.userId(), policyNumber, policy != null ? policy.getUserId() : null);
+            throw new AccessDeniedException("Access denied. You are not authorized to access claims of this policy.");
+        }
+    }
+}
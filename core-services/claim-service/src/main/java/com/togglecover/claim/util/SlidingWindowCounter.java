@@ -0,0 +1,86 @@
+package com.togglecover.claim.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Event counts in a ring of fixed-width time buckets. Callers pass bucket numbers
+ * (time / bucket width); moving forward zeroes the buckets that fell out of the ring,
+ * so sums over the last N buckets are O(N) with no per-event allocation.
+ * <p>
+ * Not thread-safe; callers synchronize on the owning state.
+ */
+public final class SlidingWindowCounter {
+
+    private final int[] buckets;
+    private long head = Long.MIN_VALUE; // newest bucket number held in the ring
+
+    public SlidingWindowCounter(int bucketCount) {
+        this.buckets = new int[bucketCount];
+    }
+
+    public void add(long bucket, int delta) {
+        advance(bucket);
+        if (bucket > head - buckets.length) {
+            buckets[slot(bucket)] += delta;
+        }
+    }
+
+    /**
+     * Total over the window of the given number of buckets ending at (and including) bucket
+     */
+    public int sum(long bucket, int windowBuckets) {
+        if (head == Long.MIN_VALUE) {
+            return 0;
+        }
+        long oldestHeld = head - buckets.length + 1;
+        long from = Math.max(bucket - Math.min(windowBuckets, buckets.length) + 1, oldestHeld);
+        long to = Math.min(bucket, head);
+        int total = 0;
+        for (long b = from; b <= to; b++) {
+            total += buckets[slot(b)];
+        }
+        return total;
+    }
+
+    /**
+     * True once every count has aged out of the ring as of the given bucket
+     */
+    public boolean isEmptyAt(long bucket) {
+        return sum(bucket, buckets.length) == 0;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(head);
+        for (int count : buckets) {
+            out.writeInt(count);
+        }
+    }
+
+    public void readFrom(DataInput in) throws IOException {
+        head = in.readLong();
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = in.readInt();
+        }
+    }
+
+    private void advance(long bucket) {
+        if (head == Long.MIN_VALUE) {
+            head = bucket;
+            return;
+        }
+        if (bucket <= head) {
+            return;
+        }
+        long steps = Math.min(bucket - head, buckets.length);
+        for (long i = 1; i <= steps; i++) {
+            buckets[slot(head + i)] = 0;
+        }
+        head = bucket;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+}
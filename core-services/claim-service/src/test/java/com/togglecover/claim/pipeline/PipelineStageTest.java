@@ -0,0 +1,68 @@
+package com.togglecover.claim.pipeline;
+
+import com.togglecover.claim.model.dto.ClaimRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipelineStageTest {
+
+    @Test
+    void fullDownstreamQueueBacksUpToIntake() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Downstream stage stalls until released; its queue holds 2 claims
+        PipelineStage slow = new PipelineStage("slow", 1, 2, 1, tasks -> await(release), registry);
+        PipelineStage fast = new PipelineStage("fast", 1, 2, 1, tasks -> { }, registry);
+        AtomicInteger processed = new AtomicInteger();
+        slow.start(task -> processed.incrementAndGet());
+        fast.start(task -> {
+            try {
+                slow.put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // 1 in the slow worker + 2 queued + 1 in the fast worker blocked on put + 2 queued
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (fast.offer(task(), 50)) {
+                accepted++;
+            }
+        }
+        assertTrue(accepted <= 6, "accepted " + accepted + " claims past a stalled stage");
+        assertFalse(fast.offer(task(), 50));
+        assertEquals(2.0, registry.get("claims.pipeline.queue.depth").tag("stage", "slow").gauge().value());
+
+        release.countDown();
+        assertTrue(fast.offer(task(), 1000));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (processed.get() < accepted + 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(accepted + 1, processed.get());
+
+        fast.drainAndStop(1000);
+        slow.drainAndStop(1000);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ClaimTask task() {
+        return new ClaimTask("c", new ClaimRequest(), null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.config.FraudProperties;
+import com.togglecover.claim.model.dto.ClaimRequest;
+import com.togglecover.claim.model.dto.FraudAssessment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FraudSignalEngineTest {
+
+    private static final Instant T0 = Instant.parse("2026-10-19T10:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void firesRulesWithinTheirWindowsOnly() {
+        FraudSignalEngine engine = new FraudSignalEngine(properties(), null, new SimpleMeterRegistry());
+
+        assertEquals(FraudAssessment.NONE, engine.assess(claim("P1", "Mumbai"), T0));
+        engine.assess(claim("P1", "Mumbai"), T0.plus(Duration.ofDays(1)));
+        // Two earlier claims in the last 7 days
+        assertEquals(List.of("frequent-claims"), engine.assess(claim("P1", "Pune"), T0.plus(Duration.ofDays(2))).signals());
+        // The first two have aged out of the 7-day window
+        assertEquals(FraudAssessment.NONE, engine.assess(claim("P1", "Delhi"), T0.plus(Duration.ofDays(9))));
+
+        engine.recordActivation("P2", T0);
+        assertEquals(List.of("claim-after-activation"), engine.assess(claim("P2", "Chennai"), T0.plusSeconds(300)).signals());
+        assertEquals(FraudAssessment.NONE, engine.assess(claim("P3", "Chennai"), T0.plusSeconds(300)));
+
+        for (int i = 0; i < 3; i++) {
+            engine.assess(claim("Q" + i, "Bangalore"), T0.plusSeconds(i * 60L));
+        }
+        FraudAssessment clustered = engine.assess(claim("Q9", "bangalore"), T0.plusSeconds(240));
+        assertEquals(List.of("location-cluster"), clustered.signals());
+        assertEquals(20, clustered.score());
+        assertEquals(FraudAssessment.NONE, engine.assess(claim("Q10", "Bangalore"), T0.plus(Duration.ofHours(1))));
+    }
+
+    @Test
+    void restoresCountersAndEventOffsetFromCheckpoint() throws Exception {
+        FraudProperties properties = properties();
+        Instant now = Instant.now();
+        FraudSignalEngine engine = new FraudSignalEngine(properties, null, new SimpleMeterRegistry());
+        engine.assess(claim("P1", "Mumbai"), now.minusSeconds(60));
+        engine.assess(claim("P1", "Mumbai"), now.minusSeconds(30));
+        engine.recordActivation("P2", now.minusSeconds(10));
+        engine.setEventOffset(4242);
+
+        Path checkpoint = directory.resolve("fraud.ckpt");
+        engine.writeCheckpoint(checkpoint);
+
+        FraudSignalEngine restored = new FraudSignalEngine(properties, null, new SimpleMeterRegistry());
+        restored.readCheckpoint(checkpoint);
+        assertEquals(4242, restored.getEventOffset());
+        assertEquals(List.of("frequent-claims"), restored.assess(claim("P1", "Pune"), now).signals());
+        assertEquals(List.of("claim-after-activation"), restored.assess(claim("P2", "Pune"), now).signals());
+    }
+
+    @Test
+    void scoresAClaimInMicroseconds() {
+        FraudSignalEngine engine = new FraudSignalEngine(properties(), null, new SimpleMeterRegistry());
+        int claims = 200_000;
+        for (int i = 0; i < claims; i++) {
+            engine.assess(claim("P" + (i % 50_000), "City" + (i % 300)), T0.plusMillis(i * 10L));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < claims; i++) {
+            engine.assess(claim("P" + (i % 50_000), "City" + (i % 300)), T0.plusMillis(claims * 10L + i * 10L));
+        }
+        double microsPerClaim = (System.nanoTime() - start) / 1_000.0 / claims;
+        assertTrue(microsPerClaim < 20, "micros per claim: " + microsPerClaim);
+    }
+
+    private static FraudProperties properties() {
+        FraudProperties properties = new FraudProperties();
+        properties.setPolicyBucket(Duration.ofHours(6));
+        properties.setPolicyBuckets(32);
+        properties.setLocationBucket(Duration.ofMinutes(1));
+        properties.setLocationBuckets(120);
+        properties.getRules().put("frequent-claims", rule(FraudProperties.Signal.POLICY_CLAIMS, Duration.ofDays(7), 2, 25));
+        properties.getRules().put("claim-after-activation",
+                rule(FraudProperties.Signal.ACTIVATION_TO_CLAIM, Duration.ofMinutes(15), 1, 30));
+        properties.getRules().put("location-cluster",
+                rule(FraudProperties.Signal.LOCATION_CLAIMS, Duration.ofMinutes(30), 3, 20));
+        return properties;
+    }
+
+    private static FraudProperties.Rule rule(FraudProperties.Signal signal, Duration window, int threshold, int weight) {
+        FraudProperties.Rule rule = new FraudProperties.Rule();
+        rule.setSignal(signal);
+        rule.setWindow(window);
+        rule.setThreshold(threshold);
+        rule.setWeight(weight);
+        return rule;
+    }
+
+    private static ClaimRequest claim(String policyNumber, String location) {
+        ClaimRequest request = new ClaimRequest();
+        request.setPolicyNumber(policyNumber);
+        request.setIncidentDate(LocalDate.of(2026, 10, 19));
+        request.setClaimType("ACCIDENT");
+        request.setClaimAmount(BigDecimal.valueOf(500));
+        request.setLocation(location);
+        request.setGigPlatform("SWIGGY");
+        return request;
+    }
+}
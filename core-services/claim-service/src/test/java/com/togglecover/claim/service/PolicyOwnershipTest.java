@@ -0,0 +1,86 @@
+package com.togglecover.claim.service;
+
+import com.togglecover.claim.client.InsuranceServiceClient;
+import com.togglecover.claim.model.dto.PolicySummary;
+import com.togglecover.claim.security.ClaimCaller;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PolicyOwnershipTest {
+
+    private static final String SERVICE_AUTHORIZATION = "Service test-token";
+
+    private InsuranceServiceClient insuranceServiceClient;
+    private PolicyOwnership policyOwnership;
+
+    @BeforeEach
+    void setUp() {
+        insuranceServiceClient = mock(InsuranceServiceClient.class);
+        policyOwnership = new PolicyOwnership(insuranceServiceClient);
+        ReflectionTestUtils.setField(policyOwnership, "serviceAuthorization", SERVICE_AUTHORIZATION);
+    }
+
+    @Test
+    void ownerMayAccessTheirPolicy() {
+        when(insuranceServiceClient.getPolicy(SERVICE_AUTHORIZATION, "POL-1")).thenReturn(policy(7L));
+
+        assertDoesNotThrow(() -> policyOwnership.check(new ClaimCaller(7L, "USER"), "POL-1"));
+    }
+
+    @Test
+    void otherUsersAndUnknownPoliciesAreDenied() {
+        when(insuranceServiceClient.getPolicy(SERVICE_AUTHORIZATION, "POL-1")).thenReturn(policy(7L));
+        when(insuranceServiceClient.getPolicy(SERVICE_AUTHORIZATION, "POL-404")).thenThrow(notFound());
+
+        assertThrows(AccessDeniedException.class,
+                () -> policyOwnership.check(new ClaimCaller(8L, "USER"), "POL-1"));
+        assertThrows(AccessDeniedException.class,
+                () -> policyOwnership.check(new ClaimCaller(7L, "USER"), "POL-404"));
+    }
+
+    @Test
+    void adminsAndServicesAreNotLookedUp() {
+        policyOwnership.check(new ClaimCaller(1L, "ADMIN"), "POL-1");
+        policyOwnership.check(ClaimCaller.service(), "POL-1");
+
+        verifyNoInteractions(insuranceServiceClient);
+    }
+
+    @Test
+    void anUnreachableInsuranceServiceIsNotTreatedAsOwnership() {
+        when(insuranceServiceClient.getPolicy(SERVICE_AUTHORIZATION, "POL-1"))
+                .thenThrow(new FeignException.ServiceUnavailable("down", request(), null, Map.of()));
+
+        RuntimeException failure = assertThrows(RuntimeException.class,
+                () -> policyOwnership.check(new ClaimCaller(7L, "USER"), "POL-1"));
+        assertInstanceOf(FeignException.ServiceUnavailable.class, failure.getCause());
+    }
+
+    private static PolicySummary policy(Long userId) {
+        PolicySummary policy = new PolicySummary();
+        policy.setUserId(userId);
+        return policy;
+    }
+
+    private static FeignException notFound() {
+        return new FeignException.NotFound("not found", request(), null, Map.of());
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "/policies", Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
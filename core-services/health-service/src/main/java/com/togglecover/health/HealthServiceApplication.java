@@ -0,0 +1,17 @@
+package com.togglecover.health;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableDiscoveryClient
+@EnableScheduling
+@ConfigurationPropertiesScan
+public class HealthServiceApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(HealthServiceApplication.class, args);
+    }
+}
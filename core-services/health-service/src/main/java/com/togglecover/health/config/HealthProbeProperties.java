@@ -0,0 +1,27 @@
+package com.togglecover.health.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Probe schedule and rollup rules. Probes run only on the schedule; however often the
+ * platform document is read, each instance sees one probe per interval.
+ */
+@ConfigurationProperties(prefix = "health.probe")
+@Data
+public class HealthProbeProperties {
+
+    private long intervalMs = 5000;
+    private long timeoutMs = 2000;
+
+    // A document older than this is served with 503: probing itself has stalled
+    private long staleAfterMs = 30_000;
+
+    // Services whose outage makes the platform DOWN rather than DEGRADED
+    private List<String> requiredServices = new ArrayList<>();
+
+    private List<String> excludedServices = new ArrayList<>();
+}
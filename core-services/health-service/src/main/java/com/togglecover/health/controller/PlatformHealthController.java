@@ -0,0 +1,62 @@
+package com.togglecover.health.controller;
+
+import com.togglecover.health.model.dto.ServiceHealth;
+import com.togglecover.health.service.PlatformHealthAggregator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/health")
+@RequiredArgsConstructor
+@Tag(name = "Platform Health", description = "Cached, aggregated health of every registered service instance")
+public class PlatformHealthController {
+
+    private static final byte[] NOT_READY = "{\"status\":\"UNKNOWN\"}".getBytes();
+
+    private final PlatformHealthAggregator aggregator;
+
+    @GetMapping(value = "/platform", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Platform health document (503 when DOWN or when probing has stalled)")
+    public ResponseEntity<byte[]> getPlatformHealth(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        PlatformHealthAggregator.Snapshot snapshot = aggregator.getSnapshot();
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(NOT_READY);
+        }
+
+        boolean stale = aggregator.isStale(snapshot);
+        HttpStatus status = stale || "DOWN".equals(snapshot.document().getStatus())
+                ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.SECONDS))
+                .header("X-Health-Age-Ms", Long.toString(snapshot.ageMillis()))
+                .header("X-Health-Stale", Boolean.toString(stale));
+        if (status == HttpStatus.OK && snapshot.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+        return response.body(snapshot.json());
+    }
+
+    @GetMapping("/platform/services/{serviceName}")
+    @Operation(summary = "Cached health of one service and its instances")
+    public ResponseEntity<ServiceHealth> getServiceHealth(@PathVariable String serviceName) {
+        PlatformHealthAggregator.Snapshot snapshot = aggregator.getSnapshot();
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return snapshot.document().getServices().stream()
+                .filter(s -> s.getServiceName().equalsIgnoreCase(serviceName))
+                .findFirst()
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new RuntimeException("Service not registered: " + serviceName));
+    }
+}
@@ -0,0 +1,18 @@
+package com.togglecover.health.model.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class InstanceHealth {
+    private String instanceId;
+    private String healthUrl;
+    private String status; // UP, DOWN, OUT_OF_SERVICE, UNKNOWN
+    private Integer httpStatus;
+    private Long latencyMs;
+    private String error;
+
+    // Actuator component statuses, e.g. db -> UP
+    private Map<String, String> components;
+}
@@ -0,0 +1,14 @@
+package com.togglecover.health.model.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class PlatformHealth {
+    private String status; // UP, DEGRADED, DOWN
+    private LocalDateTime generatedAt;
+    private Long probeDurationMs;
+    private List<ServiceHealth> services;
+}
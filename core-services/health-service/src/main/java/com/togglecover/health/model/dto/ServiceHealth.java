@@ -0,0 +1,16 @@
+package com.togglecover.health.model.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ServiceHealth {
+    private String serviceName;
+    private String status; // UP, DEGRADED (some instances down), DOWN
+    private Boolean required;
+    private Integer instancesUp;
+    private Integer instancesTotal;
+    private Long maxLatencyMs;
+    private List<InstanceHealth> instances;
+}
@@ -0,0 +1,106 @@
+package com.togglecover.health.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togglecover.health.model.dto.InstanceHealth;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.netflix.eureka.EurekaServiceInstance;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Probes one instance's actuator health endpoint. Runs on the caller's thread, which
+ * is a virtual thread, so a slow instance parks cheaply instead of holding a platform
+ * thread.
+ */
+public class InstanceProber {
+
+    private static final String DEFAULT_HEALTH_PATH = "/actuator/health";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public InstanceProber(Executor executor, ObjectMapper objectMapper, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(executor)
+                .build();
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    public InstanceHealth probe(ServiceInstance instance) {
+        InstanceHealth health = new InstanceHealth();
+        health.setInstanceId(instance.getInstanceId() != null
+                ? instance.getInstanceId() : instance.getHost() + ":" + instance.getPort());
+        String url = healthUrl(instance);
+        health.setHealthUrl(url);
+
+        long start = System.nanoTime();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(timeout)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            health.setLatencyMs((System.nanoTime() - start) / 1_000_000);
+            health.setHttpStatus(response.statusCode());
+            readBody(health, response);
+        } catch (HttpTimeoutException e) {
+            health.setLatencyMs((System.nanoTime() - start) / 1_000_000);
+            health.setStatus("DOWN");
+            health.setError("Timed out after " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            health.setStatus("UNKNOWN");
+            health.setError("Probe interrupted");
+        } catch (Exception e) {
+            health.setLatencyMs((System.nanoTime() - start) / 1_000_000);
+            health.setStatus("DOWN");
+            health.setError(e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : ""));
+        }
+        return health;
+    }
+
+    private void readBody(InstanceHealth health, HttpResponse<byte[]> response) {
+        // Actuator answers 503 with a body when the instance is DOWN
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            health.setStatus(body.path("status").asText(response.statusCode() == 200 ? "UP" : "DOWN"));
+            JsonNode components = body.path("components");
+            if (components.isObject()) {
+                Map<String, String> statuses = new LinkedHashMap<>();
+                Iterator<Map.Entry<String, JsonNode>> fields = components.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    statuses.put(field.getKey(), field.getValue().path("status").asText("UNKNOWN"));
+                }
+                health.setComponents(statuses);
+            }
+        } catch (Exception e) {
+            health.setStatus(response.statusCode() == 200 ? "UP" : "DOWN");
+        }
+    }
+
+    private String healthUrl(ServiceInstance instance) {
+        if (instance instanceof EurekaServiceInstance eureka) {
+            String url = eureka.getInstanceInfo().getHealthCheckUrl();
+            if (url != null && !url.isBlank()) {
+                return url;
+            }
+        }
+        return instance.getUri() + DEFAULT_HEALTH_PATH;
+    }
+}
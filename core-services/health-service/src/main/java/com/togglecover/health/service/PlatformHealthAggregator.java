@@ -0,0 +1,209 @@
+package com.togglecover.health.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togglecover.health.config.HealthProbeProperties;
+import com.togglecover.health.model.dto.InstanceHealth;
+import com.togglecover.health.model.dto.PlatformHealth;
+import com.togglecover.health.model.dto.ServiceHealth;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the platform health document. On each tick every instance registered in Eureka
+ * is probed in parallel, one virtual thread per probe, and the merged result is
+ * serialized once and cached. Readers only ever see the cached snapshot, so read load
+ * never turns into probe load.
+ */
+@Service
+@Slf4j
+public class PlatformHealthAggregator {
+
+    private final DiscoveryClient discoveryClient;
+    private final HealthProbeProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String selfName;
+
+    private final ExecutorService probeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final InstanceProber prober;
+
+    private volatile Snapshot snapshot;
+
+    public PlatformHealthAggregator(DiscoveryClient discoveryClient,
+                                    HealthProbeProperties properties,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${spring.application.name}") String selfName) {
+        this.discoveryClient = discoveryClient;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.selfName = selfName;
+        this.prober = new InstanceProber(probeExecutor, objectMapper, Duration.ofMillis(properties.getTimeoutMs()));
+
+        Gauge.builder("platform.health.status", this, a -> statusValue(a.snapshot))
+                .description("1 = UP, 0.5 = DEGRADED, 0 = DOWN or unknown")
+                .register(meterRegistry);
+        Gauge.builder("platform.health.age", this, a -> a.snapshot == null ? -1 : a.snapshot.ageMillis() / 1000.0)
+                .description("Seconds since the cached document was built")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Latest document, or null before the first probe round has finished
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public boolean isStale(Snapshot current) {
+        return current.ageMillis() > properties.getStaleAfterMs();
+    }
+
+    @Scheduled(fixedDelayString = "${health.probe.interval-ms:5000}")
+    public void refresh() {
+        long start = System.nanoTime();
+
+        Map<String, List<CompletableFuture<InstanceHealth>>> probes = new LinkedHashMap<>();
+        TreeSet<String> services = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        services.addAll(discoveryClient.getServices());
+        services.addAll(properties.getRequiredServices());
+        for (String service : services) {
+            if (service.equalsIgnoreCase(selfName) || containsIgnoreCase(properties.getExcludedServices(), service)) {
+                continue;
+            }
+            List<CompletableFuture<InstanceHealth>> futures = new ArrayList<>();
+            for (ServiceInstance instance : discoveryClient.getInstances(service)) {
+                futures.add(CompletableFuture.supplyAsync(() -> timed(service, instance), probeExecutor));
+            }
+            probes.put(service.toUpperCase(Locale.ROOT), futures);
+        }
+
+        // Probes carry their own timeout; the deadline only guards against a stuck connect
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getTimeoutMs() * 2);
+        List<ServiceHealth> serviceHealth = new ArrayList<>(probes.size());
+        probes.forEach((service, futures) -> serviceHealth.add(rollUp(service, collect(futures, deadline))));
+
+        PlatformHealth document = new PlatformHealth();
+        document.setServices(serviceHealth);
+        document.setStatus(platformStatus(serviceHealth));
+        document.setGeneratedAt(LocalDateTime.now());
+        document.setProbeDurationMs((System.nanoTime() - start) / 1_000_000);
+
+        try {
+            snapshot = new Snapshot(document, objectMapper.writeValueAsBytes(document),
+                    "\"" + Long.toHexString(System.nanoTime()) + "\"", System.nanoTime());
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize platform health: {}", e.getMessage());
+        }
+        if (!"UP".equals(document.getStatus())) {
+            log.warn("Platform health {} after probing {} services in {} ms",
+                    document.getStatus(), serviceHealth.size(), document.getProbeDurationMs());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
+    private InstanceHealth timed(String service, ServiceInstance instance) {
+        InstanceHealth health = prober.probe(instance);
+        if (health.getLatencyMs() != null) {
+            meterRegistry.timer("platform.health.probe", "service", service.toUpperCase(Locale.ROOT),
+                    "status", health.getStatus()).record(health.getLatencyMs(), TimeUnit.MILLISECONDS);
+        }
+        return health;
+    }
+
+    private List<InstanceHealth> collect(List<CompletableFuture<InstanceHealth>> futures, long deadline) {
+        List<InstanceHealth> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<InstanceHealth> future : futures) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                results.add(future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (Exception e) {
+                future.cancel(true);
+                InstanceHealth health = new InstanceHealth();
+                health.setStatus("DOWN");
+                health.setError("Probe did not complete");
+                results.add(health);
+            }
+        }
+        return results;
+    }
+
+    private ServiceHealth rollUp(String service, List<InstanceHealth> instances) {
+        int up = (int) instances.stream().filter(i -> "UP".equals(i.getStatus())).count();
+        ServiceHealth health = new ServiceHealth();
+        health.setServiceName(service);
+        health.setRequired(containsIgnoreCase(properties.getRequiredServices(), service));
+        health.setInstances(instances);
+        health.setInstancesTotal(instances.size());
+        health.setInstancesUp(up);
+        health.setMaxLatencyMs(instances.stream()
+                .map(InstanceHealth::getLatencyMs).filter(l -> l != null).max(Long::compare).orElse(null));
+        health.setStatus(up == 0 ? "DOWN" : up < instances.size() ? "DEGRADED" : "UP");
+        return health;
+    }
+
+    private String platformStatus(List<ServiceHealth> services) {
+        String status = "UP";
+        for (ServiceHealth service : services) {
+            if ("DOWN".equals(service.getStatus()) && Boolean.TRUE.equals(service.getRequired())) {
+                return "DOWN";
+            }
+            if (!"UP".equals(service.getStatus())) {
+                status = "DEGRADED";
+            }
+        }
+        return status;
+    }
+
+    private static boolean containsIgnoreCase(List<String> values, String value) {
+        return values.stream().anyMatch(v -> v.equalsIgnoreCase(value));
+    }
+
+    private static double statusValue(Snapshot snapshot) {
+        if (snapshot == null) {
+            return 0;
+        }
+        return switch (snapshot.document().getStatus()) {
+            case "UP" -> 1;
+            case "DEGRADED" -> 0.5;
+            default -> 0;
+        };
+    }
+
+    /**
+     * A built document with its serialized form and ETag, served as-is to every reader
+     */
+    public record Snapshot(PlatformHealth document, byte[] json, String etag, long builtAtNanos) {
+
+        public long ageMillis() {
+            return (System.nanoTime() - builtAtNanos) / 1_000_000;
+        }
+    }
+}
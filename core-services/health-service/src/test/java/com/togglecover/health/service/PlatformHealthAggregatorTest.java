@@ -0,0 +1,136 @@
+package com.togglecover.health.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.togglecover.health.config.HealthProbeProperties;
+import com.togglecover.health.model.dto.PlatformHealth;
+import com.togglecover.health.model.dto.ServiceHealth;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlatformHealthAggregatorTest {
+
+    private final AtomicInteger probes = new AtomicInteger();
+    private HttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void probesInstancesInParallelAndServesTheCachedDocument() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        respond("/slow-up", 400, 200, "{\"status\":\"UP\",\"components\":{\"db\":{\"status\":\"UP\"}}}");
+        respond("/down", 0, 503, "{\"status\":\"DOWN\"}");
+        respond("/hung", 5000, 200, "{\"status\":\"UP\"}");
+        server.start();
+
+        Map<String, List<ServiceInstance>> registry = Map.of(
+                "INSURANCE-SERVICE", List.of(instance("INSURANCE-SERVICE", "i1", "/slow-up"),
+                        instance("INSURANCE-SERVICE", "i2", "/slow-up"),
+                        instance("INSURANCE-SERVICE", "i3", "/slow-up")),
+                "CLAIM-SERVICE", List.of(instance("CLAIM-SERVICE", "c1", "/slow-up"),
+                        instance("CLAIM-SERVICE", "c2", "/down")),
+                "USER-SERVICE", List.of(instance("USER-SERVICE", "u1", "/hung")));
+
+        HealthProbeProperties properties = new HealthProbeProperties();
+        properties.setTimeoutMs(1000);
+        properties.setRequiredServices(List.of("INSURANCE-SERVICE", "AUTH-SERVICE"));
+        PlatformHealthAggregator aggregator = new PlatformHealthAggregator(discovery(registry), properties,
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), "HEALTH-SERVICE");
+
+        long start = System.nanoTime();
+        aggregator.refresh();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        // Four 400 ms probes and one 1 s timeout finish together, not one after another
+        assertTrue(elapsedMs < 1800, "refresh took " + elapsedMs + " ms");
+
+        PlatformHealth document = aggregator.getSnapshot().document();
+        assertEquals("UP", service(document, "INSURANCE-SERVICE").getStatus());
+        assertEquals(3, service(document, "INSURANCE-SERVICE").getInstancesUp());
+        assertTrue(service(document, "INSURANCE-SERVICE").getMaxLatencyMs() >= 400);
+        assertEquals("UP", service(document, "INSURANCE-SERVICE").getInstances().get(0).getComponents().get("db"));
+        assertEquals("DEGRADED", service(document, "CLAIM-SERVICE").getStatus());
+        assertEquals("DOWN", service(document, "USER-SERVICE").getStatus());
+        assertNotNull(service(document, "USER-SERVICE").getInstances().get(0).getError());
+        // Required but not registered at all
+        assertEquals("DOWN", service(document, "AUTH-SERVICE").getStatus());
+        assertEquals("DOWN", document.getStatus());
+
+        int probesAfterRefresh = probes.get();
+        for (int i = 0; i < 10_000; i++) {
+            assertNotNull(aggregator.getSnapshot().json());
+        }
+        assertEquals(probesAfterRefresh, probes.get());
+        aggregator.shutdown();
+    }
+
+    private void respond(String path, long delayMs, int status, String body) {
+        server.createContext(path, exchange -> {
+            probes.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+    }
+
+    private ServiceInstance instance(String service, String id, String path) {
+        // The path stands in for the instance's context path; probes go to <uri>/actuator/health
+        String base = "http://127.0.0.1:" + server.getAddress().getPort() + path;
+        return new DefaultServiceInstance(id, service, "127.0.0.1", server.getAddress().getPort(), false) {
+            @Override
+            public java.net.URI getUri() {
+                return java.net.URI.create(base);
+            }
+        };
+    }
+
+    private static DiscoveryClient discovery(Map<String, List<ServiceInstance>> registry) {
+        return new DiscoveryClient() {
+            @Override
+            public String description() {
+                return "test";
+            }
+
+            @Override
+            public List<ServiceInstance> getInstances(String serviceId) {
+                return registry.getOrDefault(serviceId, List.of());
+            }
+
+            @Override
+            public List<String> getServices() {
+                return List.copyOf(registry.keySet());
+            }
+        };
+    }
+
+    private static ServiceHealth service(PlatformHealth document, String name) {
+        return document.getServices().stream().filter(s -> s.getServiceName().equals(name)).findFirst().orElseThrow();
+    }
+}
@@ -3,12 +3,17 @@ package com.togglecover.insurance.client;
 
 import com.togglecover.insurance.model.dto.TokenValidationResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 
-@FeignClient(name = "AUTH-SERVICE", path = "/auth/api/auth")
+/**
+ * Internal call made on every authenticated request; it asks for CBOR instead of JSON
+ * (see common-utils CborAutoConfiguration)
+ */
+@FeignClient(name = "AUTH-SERVICE", path = "/auth/auth")
 public interface AuthServiceClient {
 
-    @PostMapping("/validate")
+    @PostMapping(value = "/validate-token", produces = MediaType.APPLICATION_CBOR_VALUE)
     TokenValidationResponse validateToken(@RequestHeader("Authorization") String authHeader);
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.togglecover.insurance.config;
+
+import com.togglecover.insurance.service.CoverageActivationBatcher;
+import com.togglecover.insurance.service.CoverageAggregateService;
+import com.togglecover.insurance.service.CoverageService;
+import com.togglecover.insurance.service.OutboxService;
+import com.togglecover.insurance.service.PremiumCalculatorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@ConditionalOnProperty(name = "insurance.coverage.group-commit.enabled", havingValue = "true")
+public class CoverageGroupCommitConfig {
+
+    /**
+     * A batch commits when it holds max-batch-size activations or max-delay-ms after its
+     * first one arrived, whichever comes first: a longer delay means fewer, larger commits
+     * at the cost of that much added latency per activation
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public CoverageActivationBatcher coverageActivationBatcher(
+            CoverageService coverageService,
+            PremiumCalculatorService premiumCalculatorService,
+            OutboxService outboxService,
+            CoverageAggregateService coverageAggregateService,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory,
+            MeterRegistry meterRegistry,
+            @Value("${insurance.coverage.group-commit.max-batch-size:200}") int maxBatchSize,
+            @Value("${insurance.coverage.group-commit.max-delay-ms:5}") long maxDelayMs,
+            @Value("${insurance.coverage.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${insurance.coverage.group-commit.submit-timeout-ms:1000}") long submitTimeoutMs) {
+        return new CoverageActivationBatcher(coverageService, premiumCalculatorService, outboxService,
+                coverageAggregateService, jdbcTemplate,
+                new TransactionTemplate(transactionManager), entityManagerFactory, meterRegistry,
+                maxBatchSize, maxDelayMs, queueCapacity, submitTimeoutMs);
+    }
+}
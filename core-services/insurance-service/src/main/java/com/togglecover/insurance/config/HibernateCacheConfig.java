@@ -0,0 +1,74 @@
+package com.togglecover.insurance.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local Hibernate second-level cache (Caffeine through JCache) for plans and policies,
+ * which are read on every quote, policy creation, toggle and status check. Every region
+ * Hibernate uses is created here with a size bound and a TTL. Hibernate is configured to
+ * fail on a missing region rather than create an unbounded one.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String PLANS = "insurance.plans";
+    public static final String PLANS_BY_CODE = "insurance.plans.by-code";
+    public static final String POLICIES = "insurance.policies";
+    public static final String POLICIES_BY_NUMBER = "insurance.policies.by-number";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${insurance.cache.plans.max-size:1000}") long plansMaxSize,
+            @Value("${insurance.cache.plans.ttl-seconds:600}") long plansTtlSeconds,
+            @Value("${insurance.cache.policies.max-size:100000}") long policiesMaxSize,
+            @Value("${insurance.cache.policies.ttl-seconds:300}") long policiesTtlSeconds,
+            @Value("${insurance.cache.queries.max-size:1000}") long queriesMaxSize,
+            @Value("${insurance.cache.queries.ttl-seconds:60}") long queriesTtlSeconds) {
+        // A manager of its own per application context: the provider's default one is a JVM-wide
+        // singleton, shared by every context a test run starts
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:togglecover:hibernate-cache:" + UUID.randomUUID()),
+                        getClass().getClassLoader());
+        create(cacheManager, PLANS, plansMaxSize, plansTtlSeconds);
+        create(cacheManager, PLANS_BY_CODE, plansMaxSize, plansTtlSeconds);
+        create(cacheManager, POLICIES, policiesMaxSize, policiesTtlSeconds);
+        create(cacheManager, POLICIES_BY_NUMBER, policiesMaxSize, policiesTtlSeconds);
+        create(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                queriesMaxSize, queriesTtlSeconds);
+        // One entry per table; it must outlive every cached query result, so it never expires
+        create(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void create(CacheManager cacheManager, String region, long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate already stores disassembled state, so entries need not be copied again
+        configuration.setStoreByValue(false);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,27 @@
+package com.togglecover.insurance.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togglecover.insurance.service.FileEventLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Default event sink; set insurance.outbox.sink to another value and declare an
+     * EventSink bean to publish elsewhere
+     */
+    @Bean
+    @ConditionalOnProperty(name = "insurance.outbox.sink", havingValue = "file", matchIfMissing = true)
+    public FileEventLog fileEventLog(@Value("${insurance.outbox.log-dir:data/event-log}") String logDir,
+                                     @Value("${insurance.outbox.segment-bytes:67108864}") long segmentBytes,
+                                     ObjectMapper objectMapper) throws IOException {
+        return new FileEventLog(Paths.get(logDir), objectMapper, segmentBytes);
+    }
+}
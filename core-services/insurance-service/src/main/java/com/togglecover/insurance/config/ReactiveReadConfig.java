@@ -0,0 +1,74 @@
+package com.togglecover.insurance.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togglecover.insurance.client.AuthServiceClient;
+import com.togglecover.insurance.controller.ReactiveReadRoutes;
+import com.togglecover.insurance.repository.ReactivePolicyReadRepository;
+import com.togglecover.insurance.security.ReactiveAuthWebFilter;
+import com.togglecover.insurance.security.ServiceToken;
+import com.togglecover.insurance.service.InsuranceMetrics;
+import com.togglecover.insurance.service.ReactiveReadService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+import java.time.Duration;
+
+/**
+ * Reactive read API for coverage status, wallet balance and user policies, served by
+ * Reactor Netty over R2DBC. Writes and every other endpoint stay on Tomcat and JPA.
+ * It binds to localhost by default, to be reached through the gateway.
+ */
+@Configuration
+@ConditionalOnProperty(name = "insurance.reactive.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    @Bean
+    public ReactivePolicyReadRepository reactivePolicyReadRepository(
+            @Value("${insurance.reactive.r2dbc.url}") String url,
+            @Value("${insurance.reactive.r2dbc.username:${spring.datasource.username}}") String username,
+            @Value("${insurance.reactive.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${insurance.reactive.r2dbc.pool-size:20}") int poolSize,
+            @Value("${insurance.reactive.r2dbc.max-acquire-ms:2000}") long maxAcquireMs) {
+        return new ReactivePolicyReadRepository(url, username, password, poolSize, Duration.ofMillis(maxAcquireMs));
+    }
+
+    @Bean
+    public ReactiveReadService reactiveReadService(ReactivePolicyReadRepository reactivePolicyReadRepository) {
+        return new ReactiveReadService(reactivePolicyReadRepository);
+    }
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(ReactiveReadService reactiveReadService,
+                                                 ObjectMapper objectMapper,
+                                                 AuthServiceClient authServiceClient,
+                                                 InsuranceMetrics insuranceMetrics,
+                                                 ServiceToken serviceToken,
+                                                 @Value("${insurance.reactive.address:127.0.0.1}") String address,
+                                                 @Value("${insurance.reactive.port:8092}") int port) {
+        // Same ObjectMapper as the servlet side so both APIs serialize DTOs identically
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        // Same authentication as the servlet side: auth-service bearer tokens or the service token
+        HttpHandler httpHandler = WebHttpHandlerBuilder
+                .webHandler(RouterFunctions.toWebHandler(new ReactiveReadRoutes(reactiveReadService).routes(),
+                        strategies))
+                .filter(new ReactiveAuthWebFilter(authServiceClient, insuranceMetrics, serviceToken))
+                .exceptionHandlers(handlers -> handlers.addAll(strategies.exceptionHandlers()))
+                .build();
+        ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(httpHandler);
+        return new ReactiveReadServer(adapter, address, port);
+    }
+}
@@ -0,0 +1,53 @@
+package com.togglecover.insurance.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+/**
+ * Reactor Netty server for the reactive read API. The application itself stays a
+ * servlet application on Tomcat, so the reactive routes get their own port.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private final ReactorHttpHandlerAdapter handlerAdapter;
+    private final String address;
+    private final int port;
+
+    private volatile DisposableServer server;
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .host(address)
+                .port(port)
+                .handle(handlerAdapter)
+                .bindNow();
+        log.info("Reactive read API listening on {}:{}", address, server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer running = server;
+        if (running != null) {
+            running.disposeNow(Duration.ofSeconds(10));
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int getPort() {
+        return server != null ? server.port() : port;
+    }
+}
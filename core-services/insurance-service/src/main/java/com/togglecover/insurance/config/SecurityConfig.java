@@ -1,6 +1,12 @@
 package com.togglecover.insurance.config;
 
+import com.togglecover.insurance.client.AuthServiceClient;
+import com.togglecover.insurance.security.AuthServiceTokenFilter;
+import com.togglecover.insurance.security.ServiceToken;
+import com.togglecover.insurance.security.ServiceTokenFilter;
+import com.togglecover.insurance.service.InsuranceMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -10,6 +16,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -17,8 +24,16 @@ import org.springframework.security.web.SecurityFilterChain;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private final AuthServiceClient authServiceClient;
+    private final InsuranceMetrics insuranceMetrics;
+
+    @Bean
+    public ServiceToken serviceToken(@Value("${insurance.security.service-token:}") String token) {
+        return new ServiceToken(token);
+    }
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, ServiceToken serviceToken) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
@@ -32,11 +47,19 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/api-docs/**"
                         ).permitAll()
+                        // Event log, consumer offsets and claim totals: other services and operators only
+                        .requestMatchers("/api/insurance/events/**", "/api/insurance/policies/claim-totals")
+                        .hasAnyRole(ServiceToken.ROLE, "ADMIN")
+                        // Company-wide premium figures and aggregate repair: finance and operators only
+                        .requestMatchers("/api/insurance/reports/**").hasAnyRole("FINANCE", "ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                .addFilterBefore(new ServiceTokenFilter(serviceToken), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new AuthServiceTokenFilter(authServiceClient, insuranceMetrics),
+                        UsernamePasswordAuthenticationFilter.class)
                 .headers(headers ->
                         headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin)
                 );
@@ -1,18 +1,26 @@
 package com.togglecover.insurance.controller;
 
+import com.togglecover.insurance.model.dto.CoverageDaysResponse;
 import com.togglecover.insurance.model.dto.CoverageRequest;
 import com.togglecover.insurance.model.dto.CoverageResponse;
 import com.togglecover.insurance.model.dto.CoverageStatusResponse;
+import com.togglecover.insurance.service.CoverageActivationBatcher;
 import com.togglecover.insurance.service.CoverageService;
+import com.togglecover.insurance.service.InsuranceMetrics;
+import com.togglecover.insurance.service.PremiumCalculatorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/insurance/coverage")
@@ -21,13 +29,18 @@ import java.time.LocalDate;
 public class CoverageController {
 
     private final CoverageService coverageService;
+    private final ObjectProvider<CoverageActivationBatcher> activationBatcher;
+    private final InsuranceMetrics insuranceMetrics;
+    private final PremiumCalculatorService premiumCalculatorService;
 
     @PostMapping("/toggle")
     @Operation(summary = "Toggle daily coverage (activate/deactivate)")
-    public ResponseEntity<CoverageResponse> toggleCoverage(
+    public CompletableFuture<ResponseEntity<CoverageResponse>> toggleCoverage(
             @Valid @RequestBody CoverageRequest request) {
-        CoverageResponse response = coverageService.toggleDailyCoverage(request);
-        return ResponseEntity.ok(response);
+        if (Boolean.TRUE.equals(request.getToggleCoverage())) {
+            return activate(request);
+        }
+        return CompletableFuture.completedFuture(ResponseEntity.ok(deactivate(request)));
     }
 
     @GetMapping("/status/{policyNumber}")
@@ -40,9 +53,19 @@ public class CoverageController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/days/{policyNumber}")
+    @Operation(summary = "Get days covered in a month (yyyy-MM) and the current coverage streak")
+    public ResponseEntity<CoverageDaysResponse> getCoverageDays(
+            @PathVariable String policyNumber,
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        CoverageDaysResponse response = coverageService.getCoverageDays(policyNumber, month);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/activate/{policyNumber}")
     @Operation(summary = "Activate coverage for today")
-    public ResponseEntity<CoverageResponse> activateCoverage(
+    public CompletableFuture<ResponseEntity<CoverageResponse>> activateCoverage(
             @PathVariable String policyNumber,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) String gigPlatform,
@@ -56,8 +79,7 @@ public class CoverageController {
         request.setTemperature(temperature);
         request.setCoverageDate(LocalDate.now());
 
-        CoverageResponse response = coverageService.toggleDailyCoverage(request);
-        return ResponseEntity.ok(response);
+        return activate(request);
     }
 
     @PostMapping("/deactivate/{policyNumber}")
@@ -68,7 +90,45 @@ public class CoverageController {
         request.setToggleCoverage(false);
         request.setCoverageDate(LocalDate.now());
 
-        CoverageResponse response = coverageService.toggleDailyCoverage(request);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(deactivate(request));
+    }
+
+    private CompletableFuture<ResponseEntity<CoverageResponse>> activate(CoverageRequest request) {
+        long start = System.nanoTime();
+        CompletableFuture<CoverageResponse> activation;
+        // With group commit enabled the request thread is released while the batch commits
+        CoverageActivationBatcher batcher = activationBatcher.getIfAvailable();
+        try {
+            activation = batcher != null
+                    ? batcher.submit(request)
+                    : CompletableFuture.completedFuture(coverageService.toggleDailyCoverage(request));
+        } catch (RuntimeException e) {
+            recordToggle("activate", request, start, e);
+            throw e;
+        }
+        return activation.whenComplete((response, failure) -> {
+            recordToggle("activate", request, start, failure);
+            if (response != null && response.getPremiumCharged() != null) {
+                insuranceMetrics.recordWalletDebit("coverage_premium",
+                        BigDecimal.valueOf(response.getPremiumCharged()));
+            }
+        }).thenApply(ResponseEntity::ok);
+    }
+
+    private CoverageResponse deactivate(CoverageRequest request) {
+        long start = System.nanoTime();
+        try {
+            CoverageResponse response = coverageService.toggleDailyCoverage(request);
+            recordToggle("deactivate", request, start, null);
+            return response;
+        } catch (RuntimeException e) {
+            recordToggle("deactivate", request, start, e);
+            throw e;
+        }
+    }
+
+    private void recordToggle(String action, CoverageRequest request, long start, Throwable failure) {
+        insuranceMetrics.recordCoverageToggle(action, InsuranceMetrics.outcome(failure), request.getGigPlatform(),
+                premiumCalculatorService.locationRiskClass(request.getLocation()), System.nanoTime() - start);
     }
-}
\ No newline at end of file
+}
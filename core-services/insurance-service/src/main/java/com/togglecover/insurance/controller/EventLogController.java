@@ -0,0 +1,63 @@
+package com.togglecover.insurance.controller;
+
+import com.togglecover.insurance.model.dto.EventLogEntry;
+import com.togglecover.insurance.service.EventLogOwnership;
+import com.togglecover.insurance.service.FileEventLog;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/insurance/events")
+@RequiredArgsConstructor
+@Tag(name = "Domain Events", description = "APIs for consuming policy, coverage and wallet events")
+public class EventLogController {
+
+    private static final int MAX_EVENTS_PER_READ = 5000;
+
+    private final ObjectProvider<FileEventLog> fileEventLog;
+    private final EventLogOwnership eventLogOwnership;
+
+    @GetMapping
+    @Operation(summary = "Read events from the consumer's committed offset (or fromOffset)")
+    public ResponseEntity<List<EventLogEntry>> readEvents(
+            @RequestParam String consumer,
+            @RequestParam(required = false) Long fromOffset,
+            @RequestParam(defaultValue = "500") int max) throws IOException {
+        FileEventLog log = eventLog();
+        long offset = fromOffset != null ? fromOffset : log.committedOffset(consumer);
+        return ResponseEntity.ok(log.read(offset, Math.min(max, MAX_EVENTS_PER_READ)));
+    }
+
+    @GetMapping("/offsets/{consumer}")
+    @Operation(summary = "Get the next offset a consumer will read")
+    public ResponseEntity<Long> getOffset(@PathVariable String consumer) throws IOException {
+        return ResponseEntity.ok(eventLog().committedOffset(consumer));
+    }
+
+    @PostMapping("/offsets/{consumer}")
+    @Operation(summary = "Commit a consumer offset (one past the last processed event)")
+    public ResponseEntity<Long> commitOffset(@PathVariable String consumer,
+                                             @RequestParam long offset) throws IOException {
+        eventLog().commit(consumer, offset);
+        return ResponseEntity.ok(offset);
+    }
+
+    private FileEventLog eventLog() {
+        FileEventLog log = fileEventLog.getIfAvailable();
+        if (log == null) {
+            throw new RuntimeException("The embedded event log is not the configured event sink");
+        }
+        // Another instance's log holds the stream and its offsets; answering here would skip or repeat events
+        if (!eventLogOwnership.owns(log.getLogId())) {
+            throw new RuntimeException("This instance does not hold the event log; read from the instance owning it");
+        }
+        return log;
+    }
+}
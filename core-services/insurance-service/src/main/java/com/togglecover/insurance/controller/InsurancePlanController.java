@@ -99,12 +99,15 @@ public class InsurancePlanController {
     }
 
     @GetMapping("/compare")
-    @Operation(summary = "Compare insurance plans")
+    @Operation(summary = "Compare insurance plans under the rider's current conditions")
     public ResponseEntity<List<PlanComparisonDTO>> comparePlans(
-            @RequestParam(required = false) List<String> planCodes) {
-        // Implementation for plan comparison
-        // This would return a comparison of selected plans
-        return ResponseEntity.ok(List.of());
+            @RequestParam(required = false) List<String> planCodes,
+            @RequestParam(required = false) Double temperature,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String gigPlatform) {
+        List<PlanComparisonDTO> comparisons = insurancePlanService.comparePlans(
+                planCodes, temperature, location, gigPlatform);
+        return ResponseEntity.ok(comparisons);
     }
 
     @PostMapping
@@ -1,8 +1,10 @@
 package com.togglecover.insurance.controller;
 
 import com.togglecover.insurance.model.dto.CreatePolicyRequest;
+import com.togglecover.insurance.model.dto.PolicyClaimTotals;
 import com.togglecover.insurance.model.dto.PolicyDTO;
 import com.togglecover.insurance.model.dto.RenewPolicyRequest;
+import com.togglecover.insurance.service.InsuranceMetrics;
 import com.togglecover.insurance.service.PolicyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -21,12 +23,20 @@ import java.util.List;
 public class PolicyController {
 
     private final PolicyService policyService;
+    private final InsuranceMetrics insuranceMetrics;
 
     @PostMapping
     @Operation(summary = "Create a new insurance policy")
     public ResponseEntity<PolicyDTO> createPolicy(@Valid @RequestBody CreatePolicyRequest request) {
-        PolicyDTO policy = policyService.createPolicy(request);
-        return ResponseEntity.ok(policy);
+        long start = System.nanoTime();
+        try {
+            PolicyDTO policy = policyService.createPolicy(request);
+            insuranceMetrics.recordPolicyCreation(InsuranceMetrics.SUCCESS, System.nanoTime() - start);
+            return ResponseEntity.ok(policy);
+        } catch (RuntimeException e) {
+            insuranceMetrics.recordPolicyCreation(InsuranceMetrics.outcome(e), System.nanoTime() - start);
+            throw e;
+        }
     }
 
     @GetMapping("/{policyNumber}")
@@ -56,6 +66,8 @@ public class PolicyController {
             @PathVariable String policyNumber,
             @RequestParam BigDecimal amount) {
         PolicyDTO policy = policyService.updateWalletBalance(policyNumber, amount);
+        // A negative top-up is a manual deduction
+        insuranceMetrics.recordWalletDebit("adjustment", amount.negate());
         return ResponseEntity.ok(policy);
     }
 
@@ -66,9 +78,15 @@ public class PolicyController {
         return ResponseEntity.ok(balance);
     }
 
+    @PutMapping("/claim-totals")
+    @Operation(summary = "Set policies' claim totals as counted by claim-service (services only)")
+    public ResponseEntity<Integer> updateClaimTotals(@RequestBody List<PolicyClaimTotals> totals) {
+        return ResponseEntity.ok(policyService.updateClaimTotals(totals));
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health check endpoint")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Insurance Service is running");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package com.togglecover.insurance.controller;
+
+import com.togglecover.insurance.model.dto.PolicyDTO;
+import com.togglecover.insurance.security.ReadCaller;
+import com.togglecover.insurance.service.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Functional routes of the reactive read API. Paths match the servlet controllers,
+ * context path included, so the gateway can point either route at the same URIs.
+ * Requests arrive authenticated by {@link com.togglecover.insurance.security.ReactiveAuthWebFilter}.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveReadRoutes {
+
+    private static final String BASE = "/insurance/api/insurance";
+
+    private final ReactiveReadService reactiveReadService;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET(BASE + "/coverage/status/{policyNumber}", this::coverageStatus)
+                .GET(BASE + "/policies/{policyNumber}/wallet/balance", this::walletBalance)
+                .GET(BASE + "/policies/user/{userId}", this::userPolicies)
+                .onError(RuntimeException.class, this::error)
+                .build();
+    }
+
+    private Mono<ServerResponse> coverageStatus(ServerRequest request) {
+        LocalDate date = request.queryParam("date").map(LocalDate::parse).orElse(null);
+        return reactiveReadService.getCoverageStatus(caller(request), request.pathVariable("policyNumber"), date)
+                .flatMap(status -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(status));
+    }
+
+    private Mono<ServerResponse> walletBalance(ServerRequest request) {
+        return reactiveReadService.getWalletBalance(caller(request), request.pathVariable("policyNumber"))
+                .flatMap(balance -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(balance));
+    }
+
+    private Mono<ServerResponse> userPolicies(ServerRequest request) {
+        Long userId = Long.valueOf(request.pathVariable("userId"));
+        ReadCaller caller = caller(request);
+        // Checked before the response starts streaming, so a denial is still a 403
+        if (!caller.mayRead(userId)) {
+            return error(new RuntimeException("Access denied. You are not authorized to view these policies."),
+                    request);
+        }
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(reactiveReadService.getPoliciesByUser(caller, userId), PolicyDTO.class);
+    }
+
+    private static ReadCaller caller(ServerRequest request) {
+        // Set by ReactiveAuthWebFilter for every request that reaches a route
+        return request.attribute(ReadCaller.ATTRIBUTE)
+                .map(ReadCaller.class::cast)
+                .orElseThrow(() -> new IllegalStateException("Unauthenticated request reached a reactive route"));
+    }
+
+    private Mono<ServerResponse> error(Throwable e, ServerRequest request) {
+        HttpStatus status;
+        if (e.getMessage() != null && e.getMessage().startsWith("Policy not found")) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (e.getMessage() != null && e.getMessage().startsWith("Access denied")) {
+            status = HttpStatus.FORBIDDEN;
+        } else if (e instanceof IllegalArgumentException || e instanceof DateTimeException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else {
+            log.error("Reactive read failed for {}", request.path(), e);
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("status", status.value(),
+                        "error", status.getReasonPhrase(),
+                        "message", String.valueOf(e.getMessage()),
+                        "path", request.path()));
+    }
+}
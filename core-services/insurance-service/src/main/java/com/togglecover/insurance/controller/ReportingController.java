@@ -0,0 +1,56 @@
+package com.togglecover.insurance.controller;
+
+import com.togglecover.insurance.model.dto.AggregateReconciliationReport;
+import com.togglecover.insurance.model.dto.PremiumAggregateDTO;
+import com.togglecover.insurance.service.CoverageAggregateReconciler;
+import com.togglecover.insurance.service.ReportingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/insurance/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reporting", description = "Premium and coverage aggregates for finance dashboards")
+public class ReportingController {
+
+    private final ReportingService reportingService;
+    private final CoverageAggregateReconciler aggregateReconciler;
+
+    @GetMapping("/premiums/daily")
+    @Operation(summary = "Premium totals, activation counts and averages per date, location, platform and plan")
+    public ResponseEntity<List<PremiumAggregateDTO>> getDailyPremiums(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String gigPlatform,
+            @RequestParam(required = false) Long planId) {
+        return ResponseEntity.ok(reportingService.getDailyBuckets(from, to, location, gigPlatform, planId));
+    }
+
+    @GetMapping("/premiums/summary")
+    @Operation(summary = "Premium totals over a date range grouped by date, location, gigPlatform and/or plan")
+    public ResponseEntity<List<PremiumAggregateDTO>> getPremiumSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false, defaultValue = "") List<String> groupBy,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String gigPlatform,
+            @RequestParam(required = false) Long planId) {
+        return ResponseEntity.ok(reportingService.getSummary(from, to, groupBy, location, gigPlatform, planId));
+    }
+
+    @PostMapping("/premiums/reconcile")
+    @Operation(summary = "Check one day's aggregates against the raw coverage rows, optionally repairing them")
+    public ResponseEntity<AggregateReconciliationReport> reconcile(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "false") boolean repair) {
+        return ResponseEntity.ok(aggregateReconciler.reconcile(date, repair));
+    }
+}
@@ -0,0 +1,17 @@
+package com.togglecover.insurance.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class AggregateReconciliationReport {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private int bucketsChecked;
+    private int mismatches;
+    private boolean repaired;
+}
@@ -0,0 +1,9 @@
+package com.togglecover.insurance.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of one covered day, used to rebuild the coverage-day index
+ */
+public record CoverageDay(Long policyId, LocalDate coverageDate) {
+}
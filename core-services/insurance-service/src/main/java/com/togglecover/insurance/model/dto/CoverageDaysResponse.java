@@ -0,0 +1,20 @@
+package com.togglecover.insurance.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class CoverageDaysResponse {
+    private String policyNumber;
+    private String month;
+    private Integer daysCoveredInMonth;
+    private Boolean coveredToday;
+
+    // Consecutive covered days ending today (or yesterday if today is not covered yet)
+    private Integer activeStreakDays;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate asOf;
+}
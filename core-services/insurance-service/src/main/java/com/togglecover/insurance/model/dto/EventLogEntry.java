@@ -0,0 +1,17 @@
+package com.togglecover.insurance.model.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class EventLogEntry {
+    private Long offset;
+    private Long eventId;
+    private String aggregateType;
+    private String aggregateId;
+    private String eventType;
+    private LocalDateTime occurredAt;
+    private JsonNode payload;
+}
@@ -8,11 +8,16 @@ import java.math.BigDecimal;
 public class PlanComparisonDTO {
     private String planCode;
     private String planName;
-    private BigDecimal dailyPremium;
+    private BigDecimal baseDailyPremium;
+    private BigDecimal dailyPremium; // Base premium adjusted for the rider's current conditions
     private BigDecimal monthlyPremium;
     private BigDecimal annualPremium;
     private BigDecimal coverageAmount;
     private String coverageType;
     private String bestFor;
+    private Double riskMultiplier;
     private Double valueScore; // Calculated score based on premium vs coverage
-}
\ No newline at end of file
+
+    // Break-even analysis
+    private Double breakEvenClaimProbability; // Annual claim probability at which the annual premium pays for itself
+}
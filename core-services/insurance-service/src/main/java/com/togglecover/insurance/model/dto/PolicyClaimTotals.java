@@ -0,0 +1,19 @@
+package com.togglecover.insurance.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A policy's accepted and flagged claims as counted by claim-service
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyClaimTotals {
+    private String policyNumber;
+    private Integer totalClaims;
+    private BigDecimal totalClaimsAmount;
+}
@@ -0,0 +1,26 @@
+package com.togglecover.insurance.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Premium totals for one reporting bucket; dimensions that were rolled up are omitted
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PremiumAggregateDTO {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private String location;
+    private String gigPlatform;
+    private Long planId;
+    private long activations;
+    private BigDecimal premiumTotal;
+    private BigDecimal averagePremium;
+}
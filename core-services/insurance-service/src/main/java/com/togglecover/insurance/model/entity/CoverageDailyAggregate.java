@@ -0,0 +1,44 @@
+package com.togglecover.insurance.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running premium totals for one (date, location, gig platform, plan) bucket, kept
+ * current in the transaction that activates coverage. Missing locations and platforms
+ * are stored as UNKNOWN so every bucket has a non-null key.
+ */
+@Entity
+@Table(name = "coverage_daily_aggregates",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"aggregate_date", "location", "gig_platform", "plan_id"}))
+@Data
+public class CoverageDailyAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate aggregateDate;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(nullable = false, length = 50)
+    private String gigPlatform;
+
+    @Column(nullable = false)
+    private Long planId;
+
+    @Column(nullable = false)
+    private Long activations = 0L;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal premiumTotal = BigDecimal.ZERO;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,30 @@
+package com.togglecover.insurance.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * The embedded event log outbox events are relayed to, as a single row. The embedded log
+ * lives on one instance's disk, so the first log to relay claims the stream and relays
+ * writing to any other log are refused: the cluster keeps one log with one set of
+ * consumer offsets.
+ */
+@Entity
+@Table(name = "event_log_owner")
+@Data
+public class EventLogOwner {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false, length = 36)
+    private String logId;
+
+    private String claimedBy;
+
+    private LocalDateTime claimedAt;
+}
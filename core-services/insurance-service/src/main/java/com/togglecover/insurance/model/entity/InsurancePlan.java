@@ -1,8 +1,13 @@
 package com.togglecover.insurance.model.entity;
 
+import com.togglecover.insurance.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -10,6 +15,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "insurance_plans")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = HibernateCacheConfig.PLANS)
+@NaturalIdCache(region = HibernateCacheConfig.PLANS_BY_CODE)
 @Data
 public class InsurancePlan {
 
@@ -17,6 +25,7 @@ public class InsurancePlan {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String planCode;
 
@@ -0,0 +1,26 @@
+package com.togglecover.insurance.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease keeping a scheduled job to one instance at a time: the instance holding an
+ * unexpired lease runs the job, the others skip that run
+ */
+@Entity
+@Table(name = "job_locks")
+@Data
+public class JobLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private String lockedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+}
@@ -0,0 +1,38 @@
+package com.togglecover.insurance.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event staged in the same transaction as the state change it describes.
+ * Rows are deleted by the outbox relay once the event sink has stored them.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+public class OutboxEvent {
+
+    // Pooled sequence rather than IDENTITY so batches of events insert with JDBC batching
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    private String aggregateType; // POLICY, COVERAGE, WALLET
+
+    @Column(nullable = false, length = 64)
+    private String aggregateId;
+
+    @Column(nullable = false, length = 40)
+    private String eventType;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
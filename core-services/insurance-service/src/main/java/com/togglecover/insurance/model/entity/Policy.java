@@ -1,8 +1,14 @@
 package com.togglecover.insurance.model.entity;
 
+import com.togglecover.insurance.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -10,7 +16,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "policies")
+@Table(name = "policies", indexes = @Index(name = "idx_policies_user_status", columnList = "user_id, status"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.POLICIES)
+@NaturalIdCache(region = HibernateCacheConfig.POLICIES_BY_NUMBER)
 @Data
 public class Policy {
 
@@ -18,6 +27,7 @@ public class Policy {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String policyNumber;
 
@@ -49,6 +59,12 @@ public class Policy {
 
     private Boolean autoRenew = true;
 
+    // Cached copies on other instances can be stale; an update made from one fails instead of overwriting
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
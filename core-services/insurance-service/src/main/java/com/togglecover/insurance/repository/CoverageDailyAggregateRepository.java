@@ -0,0 +1,25 @@
+package com.togglecover.insurance.repository;
+
+import com.togglecover.insurance.model.entity.CoverageDailyAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CoverageDailyAggregateRepository extends JpaRepository<CoverageDailyAggregate, Long> {
+
+    @Query("SELECT a FROM CoverageDailyAggregate a WHERE a.aggregateDate BETWEEN :from AND :to " +
+            "AND (:location IS NULL OR a.location = :location) " +
+            "AND (:gigPlatform IS NULL OR a.gigPlatform = :gigPlatform) " +
+            "AND (:planId IS NULL OR a.planId = :planId) " +
+            "ORDER BY a.aggregateDate, a.location, a.gigPlatform, a.planId")
+    List<CoverageDailyAggregate> findBuckets(@Param("from") LocalDate from,
+                                             @Param("to") LocalDate to,
+                                             @Param("location") String location,
+                                             @Param("gigPlatform") String gigPlatform,
+                                             @Param("planId") Long planId);
+}
@@ -1,14 +1,19 @@
 package com.togglecover.insurance.repository;
 
+import com.togglecover.insurance.model.dto.CoverageDay;
 import com.togglecover.insurance.model.entity.CoverageRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CoverageRecordRepository extends JpaRepository<CoverageRecord, Long> {
@@ -22,11 +27,30 @@ public interface CoverageRecordRepository extends JpaRepository<CoverageRecord,
     @Query("SELECT cr FROM CoverageRecord cr WHERE cr.policy.id = :policyId AND cr.isActive = true AND cr.coverageDate = :date")
     Optional<CoverageRecord> findActiveCoverageOnDate(@Param("policyId") Long policyId, @Param("date") LocalDate date);
 
+    @Query("SELECT cr.coverageDate FROM CoverageRecord cr WHERE cr.policy.id = :policyId AND cr.isActive = true " +
+            "AND cr.coverageDate BETWEEN :startDate AND :endDate")
+    List<LocalDate> findActiveCoverageDates(@Param("policyId") Long policyId,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
     @Query("SELECT cr FROM CoverageRecord cr WHERE cr.policy.userId = :userId AND cr.coverageDate = :date AND cr.isActive = true")
     List<CoverageRecord> findActiveCoveragesByUserAndDate(@Param("userId") Long userId, @Param("date") LocalDate date);
 
-    @Query("SELECT cr FROM CoverageRecord cr WHERE cr.policy.userId = :userId AND cr.coverageDate BETWEEN :startDate AND :endDate")
+    // Bounded on coverage_date so PostgreSQL only scans the monthly partitions in range,
+    // each through its (policy_id, coverage_date) index
+    @Query("SELECT cr FROM CoverageRecord cr WHERE cr.coverageDate BETWEEN :startDate AND :endDate " +
+            "AND cr.policy.id IN (SELECT p.id FROM Policy p WHERE p.userId = :userId)")
     List<CoverageRecord> findCoveragesByUserAndDateRange(@Param("userId") Long userId,
                                                          @Param("startDate") LocalDate startDate,
                                                          @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+
+    // Forward-only cursor for the coverage-day index rebuild; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.togglecover.insurance.model.dto.CoverageDay(cr.policy.id, cr.coverageDate) " +
+            "FROM CoverageRecord cr WHERE cr.isActive = true AND cr.coverageDate >= :fromDate")
+    Stream<CoverageDay> streamActiveCoverageDaysFrom(@Param("fromDate") LocalDate fromDate);
+}
@@ -0,0 +1,22 @@
+package com.togglecover.insurance.repository;
+
+import com.togglecover.insurance.model.entity.EventLogOwner;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface EventLogOwnerRepository extends JpaRepository<EventLogOwner, Integer> {
+
+    /**
+     * The owner row, locked until the calling transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM EventLogOwner o WHERE o.id = :id")
+    Optional<EventLogOwner> findLockedById(@Param("id") Integer id);
+}
@@ -0,0 +1,14 @@
+package com.togglecover.insurance.repository;
+
+import com.togglecover.insurance.model.entity.InsurancePlan;
+
+import java.util.Optional;
+
+/**
+ * Plan lookup by plan code through Hibernate's natural-id API. A hit in the natural-id
+ * and entity caches returns the plan without a query.
+ */
+public interface InsurancePlanNaturalIdRepository {
+
+    Optional<InsurancePlan> findByPlanCode(String planCode);
+}
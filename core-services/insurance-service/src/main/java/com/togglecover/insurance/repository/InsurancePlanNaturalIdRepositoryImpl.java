@@ -0,0 +1,26 @@
+package com.togglecover.insurance.repository;
+
+import com.togglecover.insurance.model.entity.InsurancePlan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class InsurancePlanNaturalIdRepositoryImpl implements InsurancePlanNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<InsurancePlan> findByPlanCode(String planCode) {
+        if (planCode == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(InsurancePlan.class)
+                .loadOptional(planCode);
+    }
+}
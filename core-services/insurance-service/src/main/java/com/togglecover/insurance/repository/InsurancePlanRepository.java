@@ -1,19 +1,22 @@
 package com.togglecover.insurance.repository;
 
 import com.togglecover.insurance.model.entity.InsurancePlan;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InsurancePlanRepository extends JpaRepository<InsurancePlan, Long> {
-
-    Optional<InsurancePlan> findByPlanCode(String planCode);
+public interface InsurancePlanRepository extends JpaRepository<InsurancePlan, Long>, InsurancePlanNaturalIdRepository {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<InsurancePlan> findByIsActive(Boolean isActive);
 
     List<InsurancePlan> findByCoverageType(String coverageType);
@@ -30,11 +33,16 @@ public interface InsurancePlanRepository extends JpaRepository<InsurancePlan, Lo
     @Query("SELECT DISTINCT p.coverageType FROM InsurancePlan p WHERE p.isActive = true")
     List<String> findAllActiveCoverageTypes();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<InsurancePlan> findByPlanCodeAndIsActive(String planCode, Boolean isActive);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<InsurancePlan> findByPlanCodeInAndIsActive(Collection<String> planCodes, Boolean isActive);
+
     @Query("SELECT COUNT(p) FROM InsurancePlan p WHERE p.isActive = true")
     Long countActivePlans();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM InsurancePlan p WHERE p.isActive = true ORDER BY p.dailyPremium ASC")
     List<InsurancePlan> findAllActivePlansSortedByPremium();
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.togglecover.insurance.repository;
+
+import com.togglecover.insurance.model.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest events not locked by another relay, locked until the calling transaction ends
+     * (FOR UPDATE SKIP LOCKED; a lock timeout of -2 is Hibernate's skip-locked value)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    List<OutboxEvent> findAllByOrderByIdAsc(Limit limit);
+}
@@ -0,0 +1,14 @@
+package com.togglecover.insurance.repository;
+
+import com.togglecover.insurance.model.entity.Policy;
+
+import java.util.Optional;
+
+/**
+ * Policy lookup by policy number through Hibernate's natural-id API. A hit in the
+ * natural-id and entity caches returns the policy without a query.
+ */
+public interface PolicyNaturalIdRepository {
+
+    Optional<Policy> findByPolicyNumber(String policyNumber);
+}
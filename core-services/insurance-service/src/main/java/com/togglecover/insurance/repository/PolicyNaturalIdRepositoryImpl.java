@@ -0,0 +1,26 @@
+package com.togglecover.insurance.repository;
+
+import com.togglecover.insurance.model.entity.Policy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class PolicyNaturalIdRepositoryImpl implements PolicyNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Policy> findByPolicyNumber(String policyNumber) {
+        if (policyNumber == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Policy.class)
+                .loadOptional(policyNumber);
+    }
+}
@@ -1,6 +1,8 @@
 package com.togglecover.insurance.repository;
 
 import com.togglecover.insurance.model.entity.Policy;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,9 +13,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PolicyRepository extends JpaRepository<Policy, Long> {
-
-    Optional<Policy> findByPolicyNumber(String policyNumber);
+public interface PolicyRepository extends JpaRepository<Policy, Long>, PolicyNaturalIdRepository {
 
     List<Policy> findByUserId(Long userId);
 
@@ -26,6 +26,20 @@ public interface PolicyRepository extends JpaRepository<Policy, Long> {
 
     List<Policy> findByEndDateBeforeAndStatus(LocalDate date, String status);
 
+    // Keyset chunk of due policies within one id partition, with the plan fetched for renewal pricing
+    @EntityGraph(attributePaths = "plan")
+    List<Policy> findByEndDateBeforeAndStatusAndIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+            LocalDate date, String status, Long afterId, Long maxId, Limit limit);
+
+    @Query("SELECT MIN(p.id) FROM Policy p WHERE p.endDate < :date AND p.status = :status")
+    Long findMinIdByEndDateBeforeAndStatus(@Param("date") LocalDate date, @Param("status") String status);
+
+    @Query("SELECT MAX(p.id) FROM Policy p WHERE p.endDate < :date AND p.status = :status")
+    Long findMaxIdByEndDateBeforeAndStatus(@Param("date") LocalDate date, @Param("status") String status);
+
+    @Query("SELECT MIN(p.endDate) FROM Policy p WHERE p.endDate < :date AND p.status = :status")
+    LocalDate findOldestEndDateBeforeAndStatus(@Param("date") LocalDate date, @Param("status") String status);
+
     @Query("SELECT COUNT(p) FROM Policy p WHERE p.userId = :userId AND p.status = 'ACTIVE'")
     Long countActivePoliciesByUser(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.togglecover.insurance.repository;
+
+import com.togglecover.insurance.model.dto.PolicyDTO;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking reads of policies and coverage over R2DBC, against the same tables JPA
+ * maps. The connection pool is owned here rather than exposed as a ConnectionFactory
+ * bean: such a bean would switch off the JDBC DataSource auto-configuration JPA uses.
+ */
+public class ReactivePolicyReadRepository implements DisposableBean {
+
+    private static final String POLICY_COLUMNS =
+            "p.id, p.policy_number, p.user_id, p.start_date, p.end_date, p.status, p.total_premium_paid, " +
+                    "p.total_claims, p.total_claims_amount, p.wallet_balance, p.auto_renew, p.created_at, " +
+                    "pl.id AS plan_id, pl.plan_name, pl.plan_code, pl.daily_premium, pl.coverage_amount, pl.coverage_type";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    public ReactivePolicyReadRepository(String url, String username, String password, int maxSize, Duration maxAcquireTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password != null ? password : "")
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(Math.min(4, maxSize))
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .name("insurance-reactive-read")
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    public Mono<PolicyDTO> findPolicy(String policyNumber) {
+        return databaseClient.sql("SELECT " + POLICY_COLUMNS +
+                        " FROM policies p JOIN insurance_plans pl ON pl.id = p.plan_id WHERE p.policy_number = :policyNumber")
+                .bind("policyNumber", policyNumber)
+                .map(ReactivePolicyReadRepository::toPolicy)
+                .one();
+    }
+
+    public Flux<PolicyDTO> findPoliciesByUser(Long userId) {
+        return databaseClient.sql("SELECT " + POLICY_COLUMNS +
+                        " FROM policies p JOIN insurance_plans pl ON pl.id = p.plan_id WHERE p.user_id = :userId")
+                .bind("userId", userId)
+                .map(ReactivePolicyReadRepository::toPolicy)
+                .all();
+    }
+
+    public Mono<PolicyBalance> findBalance(String policyNumber) {
+        return databaseClient.sql("SELECT id, user_id, wallet_balance FROM policies WHERE policy_number = :policyNumber")
+                .bind("policyNumber", policyNumber)
+                .map(row -> new PolicyBalance(row.get("id", Long.class), row.get("user_id", Long.class),
+                        row.get("wallet_balance", BigDecimal.class)))
+                .one();
+    }
+
+    public Mono<ActiveCoverage> findActiveCoverageOnDate(Long policyId, LocalDate date) {
+        return databaseClient.sql("SELECT status, premium_amount, gig_platform, location FROM coverage_records " +
+                        "WHERE policy_id = :policyId AND coverage_date = :date AND is_active = TRUE")
+                .bind("policyId", policyId)
+                .bind("date", date)
+                .map(row -> new ActiveCoverage(row.get("status", String.class), row.get("premium_amount", BigDecimal.class),
+                        row.get("gig_platform", String.class), row.get("location", String.class)))
+                .first();
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private static PolicyDTO toPolicy(Readable row) {
+        PolicyDTO dto = new PolicyDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setPolicyNumber(row.get("policy_number", String.class));
+        dto.setUserId(row.get("user_id", Long.class));
+        dto.setStartDate(row.get("start_date", LocalDate.class));
+        dto.setEndDate(row.get("end_date", LocalDate.class));
+        dto.setStatus(row.get("status", String.class));
+        dto.setTotalPremiumPaid(row.get("total_premium_paid", BigDecimal.class));
+        dto.setTotalClaims(row.get("total_claims", Integer.class));
+        dto.setTotalClaimsAmount(row.get("total_claims_amount", BigDecimal.class));
+        dto.setWalletBalance(row.get("wallet_balance", BigDecimal.class));
+        dto.setAutoRenew(row.get("auto_renew", Boolean.class));
+        dto.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        dto.setPlanId(row.get("plan_id", Long.class));
+        dto.setPlanName(row.get("plan_name", String.class));
+        dto.setPlanCode(row.get("plan_code", String.class));
+        dto.setDailyPremium(row.get("daily_premium", BigDecimal.class));
+        dto.setCoverageAmount(row.get("coverage_amount", BigDecimal.class));
+        dto.setCoverageType(row.get("coverage_type", String.class));
+        return dto;
+    }
+
+    public record PolicyBalance(Long policyId, Long userId, BigDecimal walletBalance) {
+    }
+
+    public record ActiveCoverage(String status, BigDecimal premiumAmount, String gigPlatform, String location) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.togglecover.insurance.security;
+
+import com.togglecover.insurance.client.AuthServiceClient;
+import com.togglecover.insurance.model.dto.TokenValidationResponse;
+import com.togglecover.insurance.service.InsuranceMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates bearer tokens against auth-service and exposes the caller as the
+ * userId/username request attributes read by UserContext. Requests without a valid
+ * token continue unauthenticated and are rejected by the security rules.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class AuthServiceTokenFilter extends OncePerRequestFilter {
+
+    private final AuthServiceClient authServiceClient;
+    private final InsuranceMetrics insuranceMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+
+        String authHeader = request.getHeader("Authorization");
+        if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
+            long start = System.nanoTime();
+            try {
+                TokenValidationResponse validation = authServiceClient.validateToken(authHeader);
+                boolean valid = Boolean.TRUE.equals(validation.getValid()) && validation.getUserId() != null;
+                insuranceMetrics.recordAuthValidation(valid ? "valid" : "invalid", System.nanoTime() - start);
+                if (valid) {
+                    request.setAttribute("userId", validation.getUserId());
+                    request.setAttribute("username", validation.getUsername());
+
+                    String role = validation.getRole() != null ? validation.getRole() : "USER";
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            validation.getUsername(), null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                } else {
+                    log.debug("Rejected token for {}: {}", request.getRequestURI(), validation.getMessage());
+                }
+            } catch (Exception e) {
+                insuranceMetrics.recordAuthValidation(InsuranceMetrics.ERROR, System.nanoTime() - start);
+                log.warn("Token validation against auth-service failed: {}", e.getMessage());
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,79 @@
+package com.togglecover.insurance.security;
+
+import com.togglecover.insurance.client.AuthServiceClient;
+import com.togglecover.insurance.model.dto.TokenValidationResponse;
+import com.togglecover.insurance.service.InsuranceMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Optional;
+
+/**
+ * Reactive read API counterpart of {@link AuthServiceTokenFilter} and
+ * {@link ServiceTokenFilter}: bearer tokens are validated against auth-service (on the
+ * bounded-elastic scheduler, the Feign call blocks) and the service token is accepted.
+ * The caller is stored as the {@link ReadCaller#ATTRIBUTE} exchange attribute; any other
+ * request is answered 401.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAuthWebFilter implements WebFilter {
+
+    private final AuthServiceClient authServiceClient;
+    private final InsuranceMetrics insuranceMetrics;
+    private final ServiceToken serviceToken;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return authenticate(authHeader)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(caller -> {
+                    if (caller.isEmpty()) {
+                        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                        return exchange.getResponse().setComplete();
+                    }
+                    exchange.getAttributes().put(ReadCaller.ATTRIBUTE, caller.get());
+                    return chain.filter(exchange);
+                });
+    }
+
+    private Mono<ReadCaller> authenticate(String authHeader) {
+        if (serviceToken.matches(authHeader)) {
+            return Mono.just(ReadCaller.service());
+        }
+        if (!StringUtils.hasText(authHeader) || !authHeader.startsWith("Bearer ")) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> Optional.ofNullable(validate(authHeader)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    private ReadCaller validate(String authHeader) {
+        long start = System.nanoTime();
+        try {
+            TokenValidationResponse validation = authServiceClient.validateToken(authHeader);
+            boolean valid = Boolean.TRUE.equals(validation.getValid()) && validation.getUserId() != null;
+            insuranceMetrics.recordAuthValidation(valid ? "valid" : "invalid", System.nanoTime() - start);
+            if (!valid) {
+                log.debug("Rejected token: {}", validation.getMessage());
+                return null;
+            }
+            return new ReadCaller(validation.getUserId(), validation.getRole() != null ? validation.getRole() : "USER");
+        } catch (Exception e) {
+            insuranceMetrics.recordAuthValidation(InsuranceMetrics.ERROR, System.nanoTime() - start);
+            log.warn("Token validation against auth-service failed: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.togglecover.insurance.security;
+
+/**
+ * The authenticated caller of the reactive read API: a user with their role, or another
+ * service. Users read only their own policies; services and admins read any.
+ */
+public record ReadCaller(Long userId, String role) {
+
+    public static final String ATTRIBUTE = ReadCaller.class.getName();
+
+    public static ReadCaller service() {
+        return new ReadCaller(null, ServiceToken.ROLE);
+    }
+
+    public boolean mayRead(Long ownerId) {
+        if (ServiceToken.ROLE.equals(role) || "ADMIN".equals(role)) {
+            return true;
+        }
+        return userId != null && userId.equals(ownerId);
+    }
+}
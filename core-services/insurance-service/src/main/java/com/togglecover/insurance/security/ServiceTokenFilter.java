@@ -0,0 +1,44 @@
+package com.togglecover.insurance.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates other services sending {@code Authorization: Service <token>} with the
+ * shared service token, as principal "service" with ROLE_SERVICE. Without a configured
+ * token no request is authenticated this way.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ServiceTokenFilter extends OncePerRequestFilter {
+
+    private final ServiceToken serviceToken;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+
+        String authHeader = request.getHeader("Authorization");
+        if (serviceToken.matches(authHeader)) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "service", null, List.of(new SimpleGrantedAuthority("ROLE_" + ServiceToken.ROLE))));
+        } else if (serviceToken.isServiceHeader(authHeader)) {
+            log.debug("Rejected service token for {}", request.getRequestURI());
+        }
+
+        chain.doFilter(request, response);
+    }
+}
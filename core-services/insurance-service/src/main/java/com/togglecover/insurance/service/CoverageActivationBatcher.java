@@ -0,0 +1,501 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.dto.CoverageRequest;
+import com.togglecover.insurance.model.dto.CoverageResponse;
+import com.togglecover.insurance.model.entity.CoverageRecord;
+import com.togglecover.insurance.model.entity.OutboxEvent;
+import com.togglecover.insurance.model.entity.Policy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for coverage activations. Callers queue a request and get a future; a
+ * single flusher takes up to maxBatchSize requests, or whatever arrived within maxDelay
+ * of the first one, and applies them in one transaction with JDBC batch statements.
+ * Each future completes only after that transaction commits.
+ * <p>
+ * Requests are checked against the policies and coverage rows loaded for the batch, in
+ * arrival order, with the same rules and messages as {@link CoverageService}. Row updates
+ * are conditional on the values that were read, so a toggle or top-up committed by the
+ * regular path in the meantime fails the batch; its requests are then applied one by one
+ * through CoverageService and a single conflicting rider never fails the others.
+ * Charged policies get a new version, as a JPA update would, and are evicted from
+ * Hibernate's second-level cache, which the JDBC updates bypass.
+ */
+@Slf4j
+public class CoverageActivationBatcher {
+
+    private static final String SELECT_POLICIES =
+            "SELECT p.id, p.policy_number, p.user_id, p.plan_id, p.status, p.wallet_balance, p.total_premium_paid, " +
+                    "p.version, pl.daily_premium, pl.coverage_amount " +
+                    "FROM policies p JOIN insurance_plans pl ON pl.id = p.plan_id " +
+                    "WHERE p.policy_number IN (:policyNumbers)";
+
+    private static final String SELECT_COVERAGE =
+            "SELECT id, policy_id, coverage_date, is_active, coverage_amount, end_time, premium_amount, location, " +
+                    "gig_platform FROM coverage_records " +
+                    "WHERE policy_id IN (:policyIds) AND coverage_date IN (:dates)";
+
+    private static final String INSERT_COVERAGE =
+            "INSERT INTO coverage_records (policy_id, coverage_date, start_time, status, premium_amount, " +
+                    "coverage_amount, weather_risk_multiplier, location, gig_platform, is_active, created_at, updated_at) " +
+                    "VALUES (:policyId, :coverageDate, :startTime, 'ACTIVE', :premiumAmount, :coverageAmount, " +
+                    ":multiplier, :location, :gigPlatform, TRUE, :now, :now)";
+
+    private static final String REACTIVATE_COVERAGE =
+            "UPDATE coverage_records SET start_time = :startTime, status = 'ACTIVE', premium_amount = :premiumAmount, " +
+                    "weather_risk_multiplier = :multiplier, location = :location, gig_platform = :gigPlatform, " +
+                    "is_active = TRUE, updated_at = :now WHERE id = :id AND is_active = FALSE";
+
+    private static final String CHARGE_POLICY =
+            "UPDATE policies SET wallet_balance = :balance, total_premium_paid = :totalPremiumPaid, " +
+                    "updated_at = :now, version = version + 1 " +
+                    "WHERE id = :id AND wallet_balance = :expectedBalance AND version = :expectedVersion";
+
+    private final CoverageService coverageService;
+    private final PremiumCalculatorService premiumCalculatorService;
+    private final OutboxService outboxService;
+    private final CoverageAggregateService coverageAggregateService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache secondLevelCache;
+
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long submitTimeoutMs;
+    private final BlockingQueue<PendingActivation> queue;
+
+    private final Timer commitTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter fallbacks;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public CoverageActivationBatcher(CoverageService coverageService,
+                                     PremiumCalculatorService premiumCalculatorService,
+                                     OutboxService outboxService,
+                                     CoverageAggregateService coverageAggregateService,
+                                     NamedParameterJdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     EntityManagerFactory entityManagerFactory,
+                                     MeterRegistry meterRegistry,
+                                     int maxBatchSize,
+                                     long maxDelayMs,
+                                     int queueCapacity,
+                                     long submitTimeoutMs) {
+        this.coverageService = coverageService;
+        this.premiumCalculatorService = premiumCalculatorService;
+        this.outboxService = outboxService;
+        this.coverageAggregateService = coverageAggregateService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.secondLevelCache = entityManagerFactory.getCache();
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.submitTimeoutMs = submitTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.commitTimer = Timer.builder("insurance.coverage.group-commit.commit")
+                .description("Time to apply and commit one batch of coverage activations")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("insurance.coverage.group-commit.batch-size")
+                .description("Activations committed per transaction")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("insurance.coverage.group-commit.fallbacks")
+                .description("Batches that failed and were applied one request at a time")
+                .register(meterRegistry);
+        Gauge.builder("insurance.coverage.group-commit.queued", queue, BlockingQueue::size)
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "coverage-group-commit");
+        flusher.start();
+        log.info("Coverage group commit started: batch size {}, max delay {} ms",
+                maxBatchSize, TimeUnit.NANOSECONDS.toMillis(maxDelayNanos));
+    }
+
+    /**
+     * Stops accepting requests and commits everything already queued
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    public CompletableFuture<CoverageResponse> submit(CoverageRequest request) {
+        if (request.getPolicyNumber() == null || request.getPolicyNumber().isBlank()) {
+            throw new RuntimeException("Policy number is required");
+        }
+        PendingActivation pending = new PendingActivation(request);
+        try {
+            if (!running || !queue.offer(pending, submitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Too many coverage activations in progress, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing coverage activation", e);
+        }
+        return pending.result;
+    }
+
+    private void flushLoop() {
+        List<PendingActivation> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingActivation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingActivation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Coverage group commit failed for {} activations", batch.size(), e);
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<PendingActivation> batch) {
+        List<Outcome> outcomes;
+        long start = System.nanoTime();
+        try {
+            outcomes = transactionTemplate.execute(status -> apply(batch));
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} activations failed, applying them one at a time: {}",
+                    batch.size(), e.getMessage());
+            fallbacks.increment();
+            applyIndividually(batch);
+            return;
+        }
+        commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            Outcome outcome = outcomes.get(i);
+            if (outcome.error() != null) {
+                batch.get(i).result.completeExceptionally(outcome.error());
+            } else {
+                batch.get(i).result.complete(outcome.response());
+            }
+        }
+    }
+
+    private void applyIndividually(List<PendingActivation> batch) {
+        for (PendingActivation pending : batch) {
+            try {
+                pending.result.complete(coverageService.toggleDailyCoverage(pending.request));
+            } catch (RuntimeException e) {
+                pending.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private List<Outcome> apply(List<PendingActivation> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> policyNumbers = new LinkedHashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (PendingActivation pending : batch) {
+            policyNumbers.add(pending.request.getPolicyNumber());
+            dates.add(coverageDate(pending.request));
+        }
+
+        Map<String, PolicyState> policies = loadPolicies(policyNumbers);
+        Map<String, ExistingCoverage> existing = loadCoverage(policies.values(), dates);
+
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        List<SqlParameterSource> inserts = new ArrayList<>();
+        List<SqlParameterSource> reactivations = new ArrayList<>();
+        List<OutboxEvent> events = new ArrayList<>();
+        List<CoverageAggregateService.Delta> aggregateDeltas = new ArrayList<>();
+        Set<String> activated = new HashSet<>();
+
+        for (PendingActivation pending : batch) {
+            CoverageRequest request = pending.request;
+            PolicyState policy = policies.get(request.getPolicyNumber());
+            if (policy == null) {
+                outcomes.add(Outcome.failed(new RuntimeException("Policy not found")));
+                continue;
+            }
+            if (!"ACTIVE".equals(policy.status)) {
+                outcomes.add(Outcome.failed(new RuntimeException("Policy is not active")));
+                continue;
+            }
+
+            LocalDate coverageDate = coverageDate(request);
+            String key = policy.id + ":" + coverageDate;
+            ExistingCoverage record = existing.get(key);
+            if (activated.contains(key) || (record != null && record.active)) {
+                outcomes.add(Outcome.failed(new RuntimeException("Coverage is already active for today")));
+                continue;
+            }
+
+            BigDecimal premium = premiumCalculatorService.calculateDailyPremium(
+                    policy.dailyPremium, request.getTemperature(), request.getLocation(), request.getGigPlatform());
+            if (policy.balance.compareTo(premium) < 0) {
+                outcomes.add(Outcome.failed(new RuntimeException("Insufficient wallet balance to activate coverage")));
+                continue;
+            }
+            policy.balance = policy.balance.subtract(premium);
+            policy.totalPremiumPaid = policy.totalPremiumPaid.add(premium);
+            policy.charged = true;
+            activated.add(key);
+
+            if (record != null && record.premiumAmount != null) {
+                aggregateDeltas.add(CoverageAggregateService.Delta.reversal(coverageDate, record.location,
+                        record.gigPlatform, policy.planId, record.premiumAmount));
+            }
+            aggregateDeltas.add(CoverageAggregateService.Delta.activation(coverageDate, request.getLocation(),
+                    request.getGigPlatform(), policy.planId, premium));
+
+            BigDecimal multiplier = premiumCalculatorService.calculateWeatherRiskMultiplier(
+                    request.getTemperature(), request.getLocation());
+            MapSqlParameterSource row = new MapSqlParameterSource()
+                    .addValue("startTime", now)
+                    .addValue("premiumAmount", premium)
+                    .addValue("multiplier", multiplier)
+                    .addValue("location", request.getLocation())
+                    .addValue("gigPlatform", request.getGigPlatform())
+                    .addValue("now", now);
+            if (record != null) {
+                reactivations.add(row.addValue("id", record.id));
+            } else {
+                inserts.add(row.addValue("policyId", policy.id)
+                        .addValue("coverageDate", coverageDate)
+                        .addValue("coverageAmount", policy.coverageAmount));
+            }
+
+            // Detached entities carry the values the event payloads and the response read
+            Policy snapshot = policy.snapshot();
+            CoverageRecord coverageRecord = new CoverageRecord();
+            coverageRecord.setPolicy(snapshot);
+            coverageRecord.setCoverageDate(coverageDate);
+            coverageRecord.setCoverageAmount(record != null ? record.coverageAmount : policy.coverageAmount);
+            coverageRecord.setEndTime(record != null ? record.endTime : null);
+            coverageRecord.setStartTime(now);
+            coverageRecord.setPremiumAmount(premium);
+            coverageRecord.setStatus("ACTIVE");
+            coverageRecord.setIsActive(true);
+            coverageRecord.setLocation(request.getLocation());
+            coverageRecord.setGigPlatform(request.getGigPlatform());
+            coverageRecord.setWeatherRiskMultiplier(multiplier);
+            events.add(outboxService.coverageEvent(coverageRecord, OutboxService.COVERAGE_ACTIVATED));
+            events.add(outboxService.walletEvent(snapshot, premium.negate(), "COVERAGE_PREMIUM"));
+
+            outcomes.add(Outcome.activated(CoverageService.createCoverageResponse(
+                    coverageRecord, "Coverage activated successfully", premium.doubleValue())));
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_COVERAGE, inserts.toArray(SqlParameterSource[]::new));
+        }
+        if (!reactivations.isEmpty()) {
+            requireAllUpdated(jdbcTemplate.batchUpdate(REACTIVATE_COVERAGE,
+                    reactivations.toArray(SqlParameterSource[]::new)), "coverage record");
+        }
+        List<SqlParameterSource> charges = new ArrayList<>();
+        List<Long> chargedIds = new ArrayList<>();
+        for (PolicyState policy : policies.values()) {
+            if (policy.charged) {
+                chargedIds.add(policy.id);
+                charges.add(new MapSqlParameterSource()
+                        .addValue("id", policy.id)
+                        .addValue("balance", policy.balance)
+                        .addValue("totalPremiumPaid", policy.totalPremiumPaid)
+                        .addValue("expectedBalance", policy.loadedBalance)
+                        .addValue("expectedVersion", policy.version)
+                        .addValue("now", now));
+            }
+        }
+        if (!charges.isEmpty()) {
+            evictAroundCommit(chargedIds);
+            requireAllUpdated(jdbcTemplate.batchUpdate(CHARGE_POLICY,
+                    charges.toArray(SqlParameterSource[]::new)), "policy wallet");
+        }
+        if (!aggregateDeltas.isEmpty()) {
+            coverageAggregateService.apply(aggregateDeltas);
+        }
+        if (!events.isEmpty()) {
+            outboxService.recordAll(events);
+        }
+
+        log.debug("Group commit applied {} of {} coverage activations", activated.size(), batch.size());
+        return outcomes;
+    }
+
+    /**
+     * Evicts the policies now and again once the transaction completes: a read in between
+     * caches the row as it was before this commit
+     */
+    private void evictAroundCommit(List<Long> policyIds) {
+        evict(policyIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(policyIds);
+            }
+        });
+    }
+
+    private void evict(List<Long> policyIds) {
+        for (Long policyId : policyIds) {
+            secondLevelCache.evict(Policy.class, policyId);
+        }
+    }
+
+    private Map<String, PolicyState> loadPolicies(Set<String> policyNumbers) {
+        Map<String, PolicyState> policies = new HashMap<>();
+        jdbcTemplate.query(SELECT_POLICIES, Map.of("policyNumbers", policyNumbers), rs -> {
+            PolicyState policy = new PolicyState();
+            policy.id = rs.getLong("id");
+            policy.policyNumber = rs.getString("policy_number");
+            policy.userId = rs.getLong("user_id");
+            policy.planId = rs.getLong("plan_id");
+            policy.status = rs.getString("status");
+            policy.version = rs.getLong("version");
+            policy.loadedBalance = rs.getBigDecimal("wallet_balance");
+            policy.balance = policy.loadedBalance;
+            policy.totalPremiumPaid = rs.getBigDecimal("total_premium_paid");
+            policy.dailyPremium = rs.getBigDecimal("daily_premium");
+            policy.coverageAmount = rs.getBigDecimal("coverage_amount");
+            policies.put(policy.policyNumber, policy);
+        });
+        return policies;
+    }
+
+    private Map<String, ExistingCoverage> loadCoverage(Iterable<PolicyState> policies, Set<LocalDate> dates) {
+        List<Long> policyIds = new ArrayList<>();
+        policies.forEach(policy -> policyIds.add(policy.id));
+        Map<String, ExistingCoverage> existing = new HashMap<>();
+        if (policyIds.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query(SELECT_COVERAGE, Map.of("policyIds", policyIds, "dates", dates), rs -> {
+            LocalDateTime endTime = rs.getObject("end_time", LocalDateTime.class);
+            ExistingCoverage record = new ExistingCoverage(rs.getLong("id"), rs.getBoolean("is_active"),
+                    rs.getBigDecimal("coverage_amount"), endTime, rs.getBigDecimal("premium_amount"),
+                    rs.getString("location"), rs.getString("gig_platform"));
+            existing.put(rs.getLong("policy_id") + ":" + rs.getObject("coverage_date", LocalDate.class), record);
+        });
+        return existing;
+    }
+
+    private static void requireAllUpdated(int[] counts, String what) {
+        for (int count : counts) {
+            if (count == 0) {
+                throw new RuntimeException("A " + what + " changed while the batch was being applied");
+            }
+            if (count < 0 && count != Statement.SUCCESS_NO_INFO) {
+                throw new RuntimeException("Batch update of " + what + " failed");
+            }
+        }
+    }
+
+    private static LocalDate coverageDate(CoverageRequest request) {
+        return request.getCoverageDate() != null ? request.getCoverageDate() : LocalDate.now();
+    }
+
+    static final class PendingActivation {
+        final CoverageRequest request;
+        final CompletableFuture<CoverageResponse> result = new CompletableFuture<>();
+
+        PendingActivation(CoverageRequest request) {
+            this.request = request;
+        }
+    }
+
+    /**
+     * A policy as loaded for one batch, with the charges applied so far
+     */
+    private static final class PolicyState {
+        long id;
+        String policyNumber;
+        long userId;
+        long planId;
+        String status;
+        long version;
+        BigDecimal loadedBalance;
+        BigDecimal balance;
+        BigDecimal totalPremiumPaid;
+        BigDecimal dailyPremium;
+        BigDecimal coverageAmount;
+        boolean charged;
+
+        Policy snapshot() {
+            Policy policy = new Policy();
+            policy.setId(id);
+            policy.setPolicyNumber(policyNumber);
+            policy.setUserId(userId);
+            policy.setStatus(status);
+            policy.setWalletBalance(balance);
+            policy.setTotalPremiumPaid(totalPremiumPaid);
+            return policy;
+        }
+    }
+
+    private record ExistingCoverage(long id, boolean active, BigDecimal coverageAmount, LocalDateTime endTime,
+                                    BigDecimal premiumAmount, String location, String gigPlatform) {
+    }
+
+    private record Outcome(CoverageResponse response, RuntimeException error) {
+
+        static Outcome activated(CoverageResponse response) {
+            return new Outcome(response, null);
+        }
+
+        static Outcome failed(RuntimeException error) {
+            return new Outcome(null, error);
+        }
+    }
+}
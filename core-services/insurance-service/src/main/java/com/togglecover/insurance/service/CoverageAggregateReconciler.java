@@ -0,0 +1,177 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.dto.AggregateReconciliationReport;
+import com.togglecover.insurance.service.CoverageAggregateService.BucketKey;
+import com.togglecover.insurance.service.CoverageAggregateService.Delta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Nightly check of coverage_daily_aggregates against a full GROUP BY over the raw
+ * coverage rows of recent days. Mismatched buckets are logged, counted and, when repair
+ * is on, corrected by applying the difference through {@link CoverageAggregateService}.
+ * <p>
+ * The day's aggregate rows are locked first, so activations committed before the check
+ * are in the raw totals and activations still in flight add their delta on top of the
+ * corrected value once the lock is released.
+ * <p>
+ * On startup, dates with coverage rows but no buckets at all (coverage written before the
+ * aggregates existed) are backfilled the same way.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoverageAggregateReconciler {
+
+    private static final String BUCKET_LOCATION = "COALESCE(NULLIF(TRIM(cr.location), ''), 'UNKNOWN')";
+    private static final String BUCKET_PLATFORM = "COALESCE(NULLIF(TRIM(cr.gig_platform), ''), 'UNKNOWN')";
+
+    private static final String RAW_BUCKETS =
+            "SELECT " + BUCKET_LOCATION + " AS location, " + BUCKET_PLATFORM + " AS gig_platform, p.plan_id, " +
+                    "COUNT(*) AS activations, SUM(cr.premium_amount) AS premium_total " +
+                    "FROM coverage_records cr JOIN policies p ON p.id = cr.policy_id " +
+                    "WHERE cr.coverage_date = :date AND cr.premium_amount IS NOT NULL " +
+                    "GROUP BY " + BUCKET_LOCATION + ", " + BUCKET_PLATFORM + ", p.plan_id";
+
+    private static final String AGGREGATE_BUCKETS =
+            "SELECT location, gig_platform, plan_id, activations, premium_total FROM coverage_daily_aggregates " +
+                    "WHERE aggregate_date = :date FOR UPDATE";
+
+    private static final String UNAGGREGATED_DATES =
+            "SELECT DISTINCT cr.coverage_date FROM coverage_records cr " +
+                    "WHERE cr.premium_amount IS NOT NULL AND NOT EXISTS (SELECT 1 FROM coverage_daily_aggregates a " +
+                    "WHERE a.aggregate_date = cr.coverage_date) ORDER BY cr.coverage_date";
+
+    @Value("${insurance.reporting.reconcile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${insurance.reporting.reconcile.days-back:3}")
+    private int daysBack;
+
+    @Value("${insurance.reporting.reconcile.repair:true}")
+    private boolean repair;
+
+    @Value("${insurance.reporting.backfill.enabled:true}")
+    private boolean backfillEnabled;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CoverageAggregateService coverageAggregateService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private Counter mismatchCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        mismatchCounter = Counter.builder("insurance.reporting.reconcile.mismatches")
+                .description("Aggregate buckets that disagreed with the raw coverage rows")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${insurance.reporting.reconcile.cron:0 45 2 * * *}")
+    public void reconcileRecentDays() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        for (int days = daysBack; days >= 1; days--) {
+            reconcile(today.minusDays(days), repair);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillEnabled) {
+            backfill();
+        }
+    }
+
+    /**
+     * Builds the buckets of every date that has charged coverage rows but no aggregates
+     * yet, i.e. coverage written before the aggregates existed. Dates are repaired one
+     * transaction at a time, and a date that already has buckets is left to the nightly check.
+     *
+     * @return the number of dates backfilled
+     */
+    public int backfill() {
+        List<LocalDate> dates = jdbcTemplate.getJdbcTemplate().queryForList(UNAGGREGATED_DATES, LocalDate.class);
+        for (LocalDate date : dates) {
+            reconcile(date, true);
+        }
+        if (!dates.isEmpty()) {
+            log.info("Backfilled coverage aggregates for {} dates from {} to {}",
+                    dates.size(), dates.get(0), dates.get(dates.size() - 1));
+        }
+        return dates.size();
+    }
+
+    public AggregateReconciliationReport reconcile(LocalDate date, boolean repairMismatches) {
+        return transactionTemplate.execute(status -> {
+            Map<BucketKey, Totals> aggregates = load(AGGREGATE_BUCKETS, date);
+            Map<BucketKey, Totals> raw = load(RAW_BUCKETS, date);
+
+            Set<BucketKey> buckets = new LinkedHashSet<>(raw.keySet());
+            buckets.addAll(aggregates.keySet());
+            List<Delta> corrections = new ArrayList<>();
+            for (BucketKey bucket : buckets) {
+                Totals expected = raw.getOrDefault(bucket, Totals.ZERO);
+                Totals actual = aggregates.getOrDefault(bucket, Totals.ZERO);
+                if (expected.activations() != actual.activations()
+                        || expected.premium().compareTo(actual.premium()) != 0) {
+                    log.warn("Aggregate mismatch for {}: expected {} activations / {} premium, found {} / {}",
+                            bucket, expected.activations(), expected.premium(), actual.activations(), actual.premium());
+                    corrections.add(new Delta(bucket, expected.activations() - actual.activations(),
+                            expected.premium().subtract(actual.premium())));
+                }
+            }
+
+            mismatchCounter.increment(corrections.size());
+            boolean repaired = repairMismatches && !corrections.isEmpty();
+            if (repaired) {
+                coverageAggregateService.apply(corrections);
+            }
+            log.info("Reconciled coverage aggregates for {}: {} buckets, {} mismatches{}",
+                    date, buckets.size(), corrections.size(), repaired ? " (repaired)" : "");
+
+            AggregateReconciliationReport report = new AggregateReconciliationReport();
+            report.setDate(date);
+            report.setBucketsChecked(buckets.size());
+            report.setMismatches(corrections.size());
+            report.setRepaired(repaired);
+            return report;
+        });
+    }
+
+    private Map<BucketKey, Totals> load(String sql, LocalDate date) {
+        Map<BucketKey, Totals> totals = new HashMap<>();
+        jdbcTemplate.query(sql, Map.of("date", date), rs -> {
+            BigDecimal premium = rs.getBigDecimal("premium_total");
+            totals.put(new BucketKey(date, rs.getString("location"), rs.getString("gig_platform"), rs.getLong("plan_id")),
+                    new Totals(rs.getLong("activations"), premium != null ? premium : BigDecimal.ZERO));
+        });
+        return totals;
+    }
+
+    private record Totals(long activations, BigDecimal premium) {
+        static final Totals ZERO = new Totals(0, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,152 @@
+package com.togglecover.insurance.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains coverage_daily_aggregates incrementally. Deltas are applied as upserts in
+ * the caller's transaction, so a bucket changes exactly when the coverage row it
+ * summarises commits; the reconciliation job checks the result against the raw rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoverageAggregateService {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO coverage_daily_aggregates " +
+                    "(aggregate_date, location, gig_platform, plan_id, activations, premium_total, updated_at) " +
+                    "VALUES (:date, :location, :gigPlatform, :planId, :activations, :premium, :now) " +
+                    "ON CONFLICT (aggregate_date, location, gig_platform, plan_id) DO UPDATE SET " +
+                    "activations = coverage_daily_aggregates.activations + EXCLUDED.activations, " +
+                    "premium_total = coverage_daily_aggregates.premium_total + EXCLUDED.premium_total, " +
+                    "updated_at = EXCLUDED.updated_at";
+
+    private static final String MERGE_UPSERT =
+            "MERGE INTO coverage_daily_aggregates a USING (VALUES (CAST(:date AS DATE), " +
+                    "CAST(:location AS VARCHAR(255)), CAST(:gigPlatform AS VARCHAR(50)), CAST(:planId AS BIGINT), " +
+                    "CAST(:activations AS BIGINT), CAST(:premium AS DECIMAL(19, 2)), CAST(:now AS TIMESTAMP))) " +
+                    "AS d (aggregate_date, location, gig_platform, plan_id, activations, premium_total, updated_at) " +
+                    "ON a.aggregate_date = d.aggregate_date AND a.location = d.location " +
+                    "AND a.gig_platform = d.gig_platform AND a.plan_id = d.plan_id " +
+                    "WHEN MATCHED THEN UPDATE SET activations = a.activations + d.activations, " +
+                    "premium_total = a.premium_total + d.premium_total, updated_at = d.updated_at " +
+                    "WHEN NOT MATCHED THEN INSERT " +
+                    "(aggregate_date, location, gig_platform, plan_id, activations, premium_total, updated_at) " +
+                    "VALUES (d.aggregate_date, d.location, d.gig_platform, d.plan_id, d.activations, " +
+                    "d.premium_total, d.updated_at)";
+
+    // Buckets are locked in this order so two transactions never wait on each other's rows
+    private static final Comparator<BucketKey> LOCK_ORDER = Comparator
+            .comparing(BucketKey::date)
+            .thenComparing(BucketKey::location)
+            .thenComparing(BucketKey::gigPlatform)
+            .thenComparing(BucketKey::planId);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private volatile String upsertSql;
+
+    /**
+     * Adds the deltas to their buckets, creating buckets on first use
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Collection<Delta> deltas) {
+        Map<BucketKey, Delta> merged = new TreeMap<>(LOCK_ORDER);
+        for (Delta delta : deltas) {
+            merged.merge(delta.key(), delta, Delta::plus);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SqlParameterSource> rows = new ArrayList<>(merged.size());
+        for (Delta delta : merged.values()) {
+            if (delta.activations() == 0 && delta.premium().signum() == 0) {
+                continue;
+            }
+            BucketKey key = delta.key();
+            rows.add(new MapSqlParameterSource()
+                    .addValue("date", key.date())
+                    .addValue("location", key.location())
+                    .addValue("gigPlatform", key.gigPlatform())
+                    .addValue("planId", key.planId())
+                    .addValue("activations", delta.activations())
+                    .addValue("premium", delta.premium())
+                    .addValue("now", now));
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(upsertSql(), rows.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.getJdbcTemplate().execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            // ON CONFLICT is atomic under concurrent inserts; MERGE covers H2 and other databases
+            sql = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_UPSERT : MERGE_UPSERT;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+
+    /**
+     * Bucket value for a location or platform as stored in the aggregates, matching
+     * COALESCE(NULLIF(TRIM(column), ''), 'UNKNOWN') on the raw rows
+     */
+    public static String bucketValue(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return UNKNOWN;
+        }
+        return value.trim();
+    }
+
+    public record BucketKey(LocalDate date, String location, String gigPlatform, Long planId) {
+
+        public static BucketKey of(LocalDate date, String location, String gigPlatform, Long planId) {
+            return new BucketKey(date, bucketValue(location), bucketValue(gigPlatform), planId);
+        }
+    }
+
+    public record Delta(BucketKey key, long activations, BigDecimal premium) {
+
+        /**
+         * A coverage day charged at the given premium
+         */
+        public static Delta activation(LocalDate date, String location, String gigPlatform, Long planId,
+                                       BigDecimal premium) {
+            return new Delta(BucketKey.of(date, location, gigPlatform, planId), 1, premium);
+        }
+
+        /**
+         * Removes a previously counted coverage day, e.g. when a re-activation replaces its premium
+         */
+        public static Delta reversal(LocalDate date, String location, String gigPlatform, Long planId,
+                                     BigDecimal premium) {
+            return new Delta(BucketKey.of(date, location, gigPlatform, planId), -1, premium.negate());
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(key, activations + other.activations, premium.add(other.premium));
+        }
+    }
+}
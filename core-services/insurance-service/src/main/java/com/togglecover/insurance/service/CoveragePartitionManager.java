@@ -0,0 +1,232 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.util.CoverageArchiveReader;
+import com.togglecover.insurance.util.CoverageArchiveWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of coverage_records on PostgreSQL. Partitions are
+ * created a few months ahead; partitions that fall out of the retention window are
+ * exported to a columnar archive file, read back in full and checked against the table,
+ * then detached and dropped. {@link #restorePartition} brings an archived month back.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoveragePartitionManager {
+
+    private static final String PARENT_TABLE = "coverage_records";
+    private static final Pattern PARTITION_NAME = Pattern.compile("coverage_records_y(\\d{4})m(\\d{2})");
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+                    "JOIN pg_class c ON c.oid = i.inhrelid " +
+                    "JOIN pg_class p ON p.oid = i.inhparent " +
+                    "WHERE p.relname = ? ORDER BY c.relname";
+
+    private static final String INSERT_ARCHIVED_SQL = "INSERT INTO " + PARENT_TABLE +
+            " (" + String.join(", ", CoverageArchiveWriter.COLUMNS) + ") VALUES (" +
+            String.join(", ", Collections.nCopies(CoverageArchiveWriter.COLUMNS.length, "?")) + ")";
+    private static final int RESTORE_BATCH_SIZE = 1000;
+
+    @Value("${insurance.coverage.partitioning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${insurance.coverage.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${insurance.coverage.partitioning.retention-months:13}")
+    private int retentionMonths;
+
+    @Value("${insurance.coverage.partitioning.archive-dir:data/coverage-archive}")
+    private String archiveDir;
+
+    @Value("${insurance.coverage.partitioning.export-fetch-size:10000}")
+    private int exportFetchSize;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            ensurePartitions(YearMonth.now());
+        }
+    }
+
+    @Scheduled(cron = "${insurance.coverage.partitioning.cron:0 15 1 * * *}")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        ensurePartitions(current);
+        archiveExpiredPartitions(current);
+    }
+
+    /**
+     * Create the partitions for last month through monthsAhead months after the given month
+     */
+    public void ensurePartitions(YearMonth current) {
+        for (YearMonth month = current.minusMonths(1); !month.isAfter(current.plusMonths(monthsAhead));
+             month = month.plusMonths(1)) {
+            String partition = partitionName(month);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition +
+                        " PARTITION OF " + PARENT_TABLE +
+                        " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            } catch (DataAccessException e) {
+                // Typically rows for this month already sit in the default partition
+                log.error("Could not create partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Archive and drop every monthly partition that ends before the retention window
+     */
+    public void archiveExpiredPartitions(YearMonth current) {
+        LocalDate cutoff = current.minusMonths(retentionMonths).atDay(1);
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, PARENT_TABLE);
+
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                continue;
+            }
+
+            try {
+                archivePartition(partition);
+            } catch (RuntimeException e) {
+                // Partition stays attached and is retried on the next run
+                log.error("Archiving partition {} failed: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private void archivePartition(String partition) {
+        long startNanos = System.nanoTime();
+        Path directory = Paths.get(archiveDir);
+        Path target = archivePath(partition);
+        Path temp = directory.resolve(partition + ".tcca.tmp");
+
+        // Row count and id sum of the table, compared with what the archive decodes to
+        long[] expected = jdbcTemplate.queryForObject("SELECT count(*), coalesce(sum(id), 0) FROM " + partition,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        long exportedRows = exportPartition(partition, directory, temp);
+
+        try {
+            long[] idSum = {0};
+            long archivedRows;
+            try (CoverageArchiveReader reader = new CoverageArchiveReader(temp)) {
+                archivedRows = reader.read(row -> idSum[0] += row.id());
+            }
+            if (exportedRows != expected[0] || archivedRows != expected[0] || idSum[0] != expected[1]) {
+                throw new IllegalStateException("Archive does not match " + partition + ": table=" + expected[0] +
+                        " rows, exported=" + exportedRows + ", archived=" + archivedRows + " rows, id sum " +
+                        idSum[0] + " vs " + expected[1]);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not verify archive for " + partition, e);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        });
+
+        log.info("Archived partition {} ({} rows) to {} in {} ms",
+                partition, expected[0], target, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Recreate an archived month's partition and insert its archived rows back, in one
+     * transaction; returns the number of rows restored
+     */
+    public long restorePartition(YearMonth month) {
+        String partition = partitionName(month);
+        Path archive = archivePath(partition);
+        long rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + PARENT_TABLE +
+                    " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            List<Object[]> batch = new ArrayList<>(RESTORE_BATCH_SIZE);
+            try (CoverageArchiveReader reader = new CoverageArchiveReader(archive)) {
+                long restored = reader.read(row -> {
+                    batch.add(row.toColumnValues());
+                    if (batch.size() == RESTORE_BATCH_SIZE) {
+                        jdbcTemplate.batchUpdate(INSERT_ARCHIVED_SQL, batch);
+                        batch.clear();
+                    }
+                });
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_ARCHIVED_SQL, batch);
+                }
+                return restored;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read archive " + archive, e);
+            }
+        });
+        log.info("Restored partition {} ({} rows) from {}", partition, rows, archive);
+        return rows;
+    }
+
+    private long exportPartition(String partition, Path directory, Path temp) {
+        // The PostgreSQL driver only streams with a fetch size inside a transaction
+        return transactionTemplate.execute(status -> {
+            JdbcTemplate streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+            streamingTemplate.setFetchSize(exportFetchSize);
+
+            try {
+                Files.createDirectories(directory);
+                try (CoverageArchiveWriter writer = new CoverageArchiveWriter(temp, partition)) {
+                    streamingTemplate.query("SELECT * FROM " + partition + " ORDER BY id", rs -> {
+                        try {
+                            writer.append(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    return writer.getTotalRows();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write archive for " + partition, e);
+            }
+        });
+    }
+
+    private Path archivePath(String partition) {
+        return Paths.get(archiveDir).resolve(partition + ".tcca");
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("%s_y%04dm%02d", PARENT_TABLE, month.getYear(), month.getMonthValue());
+    }
+}
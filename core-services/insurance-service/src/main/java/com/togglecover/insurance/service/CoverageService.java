@@ -1,5 +1,6 @@
 package com.togglecover.insurance.service;
 
+import com.togglecover.insurance.model.dto.CoverageDaysResponse;
 import com.togglecover.insurance.model.dto.CoverageRequest;
 import com.togglecover.insurance.model.dto.CoverageResponse;
 import com.togglecover.insurance.model.dto.CoverageStatusResponse;
@@ -15,7 +16,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +31,8 @@ public class CoverageService {
     private final PolicyRepository policyRepository;
     private final CoverageRecordRepository coverageRecordRepository;
     private final PremiumCalculatorService premiumCalculatorService;
+    private final OutboxService outboxService;
+    private final CoverageAggregateService coverageAggregateService;
 
     @Transactional
     public CoverageResponse toggleDailyCoverage(CoverageRequest request) {
@@ -92,6 +100,17 @@ public class CoverageService {
             throw new RuntimeException("Insufficient wallet balance to activate coverage");
         }
 
+        // A re-activation replaces the day's premium, so its earlier charge leaves the aggregates
+        List<CoverageAggregateService.Delta> aggregateDeltas = new ArrayList<>(2);
+        Long planId = policy.getPlan().getId();
+        if (coverageRecord.getPremiumAmount() != null) {
+            aggregateDeltas.add(CoverageAggregateService.Delta.reversal(coverageRecord.getCoverageDate(),
+                    coverageRecord.getLocation(), coverageRecord.getGigPlatform(), planId,
+                    coverageRecord.getPremiumAmount()));
+        }
+        aggregateDeltas.add(CoverageAggregateService.Delta.activation(coverageRecord.getCoverageDate(),
+                request.getLocation(), request.getGigPlatform(), planId, calculatedPremium));
+
         // Deduct premium from wallet
         policy.setWalletBalance(policy.getWalletBalance().subtract(calculatedPremium));
         policy.setTotalPremiumPaid(policy.getTotalPremiumPaid().add(calculatedPremium));
@@ -112,6 +131,9 @@ public class CoverageService {
 
         coverageRecordRepository.save(coverageRecord);
         policyRepository.save(policy);
+        coverageAggregateService.apply(aggregateDeltas);
+        outboxService.record(outboxService.coverageEvent(coverageRecord, OutboxService.COVERAGE_ACTIVATED));
+        outboxService.record(outboxService.walletEvent(policy, calculatedPremium.negate(), "COVERAGE_PREMIUM"));
 
         log.info("Coverage activated for policy: {} on date: {}. Premium charged: {}",
                 policy.getPolicyNumber(), coverageRecord.getCoverageDate(), calculatedPremium);
@@ -129,6 +151,7 @@ public class CoverageService {
         // Note: Premium is not refunded on deactivation (as per business rules)
 
         coverageRecordRepository.save(coverageRecord);
+        outboxService.record(outboxService.coverageEvent(coverageRecord, OutboxService.COVERAGE_DEACTIVATED));
 
         log.info("Coverage deactivated for policy: {} on date: {}",
                 coverageRecord.getPolicy().getPolicyNumber(),
@@ -146,8 +169,9 @@ public class CoverageService {
 
         LocalDate checkDate = date != null ? date : LocalDate.now();
 
-        Optional<CoverageRecord> coverageRecord = coverageRecordRepository
-                .findActiveCoverageOnDate(policy.getId(), checkDate);
+        // Always the database: toggles made on other instances never reach this one's day index
+        Optional<CoverageRecord> coverageRecord =
+                coverageRecordRepository.findActiveCoverageOnDate(policy.getId(), checkDate);
 
         CoverageStatusResponse response = new CoverageStatusResponse();
         response.setPolicyNumber(policyNumber);
@@ -171,9 +195,48 @@ public class CoverageService {
         return response;
     }
 
-    private CoverageResponse createCoverageResponse(CoverageRecord record,
-                                                    String message,
-                                                    Double premiumCharged) {
+    /**
+     * Days covered in a month plus the current streak. Answered from the coverage-day index
+     * when it is enabled and loaded for the dates involved, otherwise from the policy's
+     * active coverage rows since January 1st of last year.
+     */
+    public CoverageDaysResponse getCoverageDays(String policyNumber, YearMonth month) {
+        Policy policy = policyRepository.findByPolicyNumber(policyNumber)
+                .orElseThrow(() -> new RuntimeException("Policy not found"));
+
+        LocalDate today = LocalDate.now();
+        YearMonth checkMonth = month != null ? month : YearMonth.from(today);
+
+        CoverageDaysResponse response = new CoverageDaysResponse();
+        response.setPolicyNumber(policyNumber);
+        response.setMonth(checkMonth.toString());
+        response.setAsOf(today);
+
+        LocalDate from = LocalDate.ofYearDay(today.getYear() - 1, 1);
+        if (checkMonth.atDay(1).isBefore(from)) {
+            from = checkMonth.atDay(1);
+        }
+        LocalDate to = checkMonth.atEndOfMonth().isAfter(today) ? checkMonth.atEndOfMonth() : today;
+        Set<LocalDate> covered = new HashSet<>(
+                coverageRecordRepository.findActiveCoverageDates(policy.getId(), from, to));
+
+        boolean coveredToday = covered.contains(today);
+        // A streak is still alive if today has not been activated yet
+        int streak = 0;
+        for (LocalDate day = coveredToday ? today : today.minusDays(1); covered.contains(day); day = day.minusDays(1)) {
+            streak++;
+        }
+        response.setCoveredToday(coveredToday);
+        response.setActiveStreakDays(streak);
+        response.setDaysCoveredInMonth((int) covered.stream()
+                .filter(day -> YearMonth.from(day).equals(checkMonth))
+                .count());
+        return response;
+    }
+
+    static CoverageResponse createCoverageResponse(CoverageRecord record,
+                                                   String message,
+                                                   Double premiumCharged) {
         CoverageResponse response = new CoverageResponse();
         response.setPolicyNumber(record.getPolicy().getPolicyNumber());
         response.setStatus(record.getStatus());
@@ -0,0 +1,68 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.entity.EventLogOwner;
+import com.togglecover.insurance.repository.EventLogOwnerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Decides which instance-local event log (see {@link EventSink#localStoreId()}) the
+ * outbox is relayed to and served from. The first log to relay claims the stream; to move
+ * it, stop the owning instance and start another one on the same log directory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventLogOwnership {
+
+    private final EventLogOwnerRepository eventLogOwnerRepository;
+
+    @Value("${eureka.instance.instance-id:${spring.application.name}}")
+    private String instanceId;
+
+    private volatile Boolean lastClaim;
+
+    /**
+     * Lock the owner row in the caller's transaction, claiming it for the log if nobody has
+     * yet; true if the log owns the stream. Holding the lock until commit also keeps relays
+     * of the owning log from appending concurrently.
+     */
+    public boolean claim(String logId) {
+        Optional<EventLogOwner> current = eventLogOwnerRepository.findLockedById(EventLogOwner.ID);
+        boolean owner;
+        if (current.isEmpty()) {
+            EventLogOwner claimed = new EventLogOwner();
+            claimed.setId(EventLogOwner.ID);
+            claimed.setLogId(logId);
+            claimed.setClaimedBy(instanceId);
+            claimed.setClaimedAt(LocalDateTime.now());
+            // A concurrent first claim fails this transaction on the primary key; the next poll sees the row
+            eventLogOwnerRepository.saveAndFlush(claimed);
+            log.info("Event log {} on {} claimed the outbox event stream", logId, instanceId);
+            owner = true;
+        } else {
+            owner = current.get().getLogId().equals(logId);
+        }
+        if (!owner && !Boolean.FALSE.equals(lastClaim)) {
+            log.error("Not relaying outbox events: the stream belongs to event log {} (claimed by {}), not this " +
+                    "instance's log {}", current.get().getLogId(), current.get().getClaimedBy(), logId);
+        }
+        lastClaim = owner;
+        return owner;
+    }
+
+    /**
+     * Whether the log may serve reads and offset commits: it owns the stream, or nobody
+     * has claimed it yet
+     */
+    public boolean owns(String logId) {
+        return eventLogOwnerRepository.findById(EventLogOwner.ID)
+                .map(owner -> owner.getLogId().equals(logId))
+                .orElse(true);
+    }
+}
@@ -0,0 +1,24 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.entity.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for relayed outbox events. When publish returns the batch must be
+ * durable: the relay deletes the events from the outbox right after.
+ */
+public interface EventSink {
+
+    void publish(List<OutboxEvent> events) throws IOException;
+
+    /**
+     * Identity of the store written to when it is local to this instance, so only one
+     * instance's store may receive the stream (see {@link EventLogOwnership}); null when
+     * every instance publishes to the same shared destination
+     */
+    default String localStoreId() {
+        return null;
+    }
+}
@@ -0,0 +1,372 @@
+package com.togglecover.insurance.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togglecover.insurance.model.dto.EventLogEntry;
+import com.togglecover.insurance.model.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Embedded append-only event log, the default {@link EventSink}. Events are stored as
+ * NDJSON lines in segment files named by their first offset; each published batch is
+ * written with one write per segment and forced to disk before publish returns.
+ * Consumers read by offset and commit their own position, so delivery is at-least-once
+ * and consumers de-duplicate on eventId.
+ * <p>
+ * On open, a torn line at the end of the last segment (a crash mid-write) is truncated.
+ * <p>
+ * The log is local to one instance's disk. It is identified by a random id stored with it
+ * on first open, and the relay only writes to the log that owns the stream
+ * ({@link EventLogOwnership}), so consumers must read from that instance.
+ */
+@Slf4j
+public class FileEventLog implements EventSink, Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("\\d{20}\\.log");
+    private static final Pattern CONSUMER_NAME = Pattern.compile("[A-Za-z0-9_.-]{1,64}");
+    private static final int INDEX_INTERVAL = 1024;
+    private static final String LOG_ID_FILE = "log-id";
+
+    private final Path directory;
+    private final Path offsetsDirectory;
+    private final ObjectMapper objectMapper;
+    private final long segmentBytes;
+    private final String logId;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // Sparse offset -> position index: every segment start and every INDEX_INTERVAL-th event
+    private final ConcurrentSkipListMap<Long, Position> index = new ConcurrentSkipListMap<>();
+    private final ByteArrayOutputStream batchBuffer = new ByteArrayOutputStream(256 * 1024);
+
+    private FileChannel activeChannel;
+    private long activeBaseOffset;
+    private long activePosition;
+    private long nextOffset;
+    private boolean failed;
+
+    // Offsets below this are on disk and visible to readers
+    private volatile long endOffset;
+
+    public FileEventLog(Path directory, ObjectMapper objectMapper, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.offsetsDirectory = directory.resolve("offsets");
+        this.objectMapper = objectMapper;
+        this.segmentBytes = segmentBytes;
+
+        Files.createDirectories(offsetsDirectory);
+        this.logId = readOrCreateLogId();
+        recover();
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        appendLock.lock();
+        try {
+            if (failed) {
+                throw new IOException("Event log " + directory + " failed an earlier write; reopen to recover");
+            }
+            try {
+                appendBatch(events);
+            } catch (IOException | RuntimeException e) {
+                // The on-disk tail is unknown now; recovery on the next open re-derives it
+                failed = true;
+                throw e;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Up to max events starting at fromOffset, only including events already forced to disk
+     */
+    public List<EventLogEntry> read(long fromOffset, int max) throws IOException {
+        long end = endOffset;
+        long from = Math.max(0, fromOffset);
+        if (from >= end || max <= 0) {
+            return List.of();
+        }
+
+        Map.Entry<Long, Position> start = index.floorEntry(from);
+        long offset = start.getKey();
+        long segmentBase = start.getValue().segmentBase();
+        long position = start.getValue().position();
+        List<EventLogEntry> entries = new ArrayList<>(Math.min(max, 1024));
+
+        while (offset < end && entries.size() < max) {
+            try (FileChannel channel = FileChannel.open(segmentPath(segmentBase), StandardOpenOption.READ)) {
+                channel.position(position);
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8), 64 * 1024);
+                String line;
+                while (offset < end && entries.size() < max && (line = reader.readLine()) != null) {
+                    if (offset >= from) {
+                        entries.add(objectMapper.readValue(line, EventLogEntry.class));
+                    }
+                    offset++;
+                }
+            }
+            // Reached the end of this segment; the next one starts at the current offset
+            segmentBase = offset;
+            position = 0;
+        }
+        return entries;
+    }
+
+    /**
+     * Next offset the consumer should read, 0 if it has never committed
+     */
+    public long committedOffset(String consumer) throws IOException {
+        Path file = offsetPath(consumer);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(file).trim());
+    }
+
+    /**
+     * Store the consumer's next offset, i.e. one past the last event it has processed
+     */
+    public void commit(String consumer, long nextOffsetToRead) throws IOException {
+        if (nextOffsetToRead < 0 || nextOffsetToRead > endOffset) {
+            throw new IllegalArgumentException("Offset " + nextOffsetToRead + " is outside the log (0.." + endOffset + ")");
+        }
+        Path target = offsetPath(consumer);
+        Path temp = Files.createTempFile(offsetsDirectory, consumer, ".tmp");
+        try {
+            Files.writeString(temp, Long.toString(nextOffsetToRead));
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    public String getLogId() {
+        return logId;
+    }
+
+    @Override
+    public String localStoreId() {
+        return logId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (activeChannel != null) {
+                activeChannel.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void appendBatch(List<OutboxEvent> events) throws IOException {
+        batchBuffer.reset();
+        long bufferStart = activePosition;
+
+        for (OutboxEvent event : events) {
+            int lineStart = batchBuffer.size();
+            writeLine(event, nextOffset);
+            int lineLength = batchBuffer.size() - lineStart;
+
+            if (activePosition > 0 && activePosition + lineLength > segmentBytes && lineStart > 0) {
+                // Flush what belongs to the current segment, then move this line to a new one
+                byte[] pending = batchBuffer.toByteArray();
+                writeFully(ByteBuffer.wrap(pending, 0, lineStart), bufferStart);
+                rollSegment();
+                batchBuffer.reset();
+                batchBuffer.write(pending, lineStart, lineLength);
+                bufferStart = 0;
+            } else if (activePosition > 0 && activePosition + lineLength > segmentBytes) {
+                rollSegment();
+                bufferStart = 0;
+            }
+
+            long linePosition = activePosition;
+            if ((nextOffset - activeBaseOffset) % INDEX_INTERVAL == 0) {
+                index.put(nextOffset, new Position(activeBaseOffset, linePosition));
+            }
+            activePosition += lineLength;
+            nextOffset++;
+        }
+
+        writeFully(ByteBuffer.wrap(batchBuffer.toByteArray()), bufferStart);
+        activeChannel.force(false);
+        endOffset = nextOffset;
+    }
+
+    private void writeLine(OutboxEvent event, long offset) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(batchBuffer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartObject();
+            generator.writeNumberField("offset", offset);
+            generator.writeNumberField("eventId", event.getId());
+            generator.writeStringField("aggregateType", event.getAggregateType());
+            generator.writeStringField("aggregateId", event.getAggregateId());
+            generator.writeStringField("eventType", event.getEventType());
+            generator.writeStringField("occurredAt",
+                    event.getCreatedAt() != null ? event.getCreatedAt().toString() : null);
+            generator.writeFieldName("payload");
+            generator.writeRawValue(event.getPayload());
+            generator.writeEndObject();
+        }
+        batchBuffer.write('\n');
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += activeChannel.write(buffer, position);
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        activeChannel.force(false);
+        activeChannel.close();
+        openSegment(nextOffset);
+        endOffset = nextOffset;
+    }
+
+    private void openSegment(long baseOffset) throws IOException {
+        activeChannel = FileChannel.open(segmentPath(baseOffset),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activeBaseOffset = baseOffset;
+        activePosition = activeChannel.size();
+        index.put(baseOffset, new Position(baseOffset, 0));
+    }
+
+    private String readOrCreateLogId() throws IOException {
+        Path file = directory.resolve(LOG_ID_FILE);
+        if (Files.exists(file)) {
+            return Files.readString(file).trim();
+        }
+        String id = UUID.randomUUID().toString();
+        Path temp = Files.createTempFile(directory, LOG_ID_FILE, ".tmp");
+        try {
+            Files.writeString(temp, id);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return id;
+    }
+
+    private void recover() throws IOException {
+        List<Long> bases;
+        try (Stream<Path> files = Files.list(directory)) {
+            bases = files.map(path -> path.getFileName().toString())
+                    .filter(name -> SEGMENT_NAME.matcher(name).matches())
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+
+        if (bases.isEmpty()) {
+            openSegment(0);
+        } else {
+            long offset = 0;
+            for (int i = 0; i < bases.size(); i++) {
+                offset = scanSegment(bases.get(i), i == bases.size() - 1);
+            }
+            openSegment(bases.get(bases.size() - 1));
+            nextOffset = offset;
+        }
+        endOffset = nextOffset;
+
+        log.info("Opened event log {}: {} segment(s), next offset {}",
+                directory, Math.max(1, bases.size()), nextOffset);
+    }
+
+    /**
+     * Index one segment and return the offset after its last complete line
+     */
+    private long scanSegment(long baseOffset, boolean last) throws IOException {
+        Path path = segmentPath(baseOffset);
+        long offset = baseOffset;
+        long position = 0;
+        long lineStart = 0;
+
+        index.put(baseOffset, new Position(baseOffset, 0));
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        if ((offset - baseOffset) % INDEX_INTERVAL == 0) {
+                            index.put(offset, new Position(baseOffset, lineStart));
+                        }
+                        offset++;
+                        lineStart = position + i + 1;
+                    }
+                }
+                position += read;
+            }
+        }
+
+        if (lineStart < position) {
+            if (!last) {
+                throw new IOException("Event log segment " + path + " has a torn line before the last segment");
+            }
+            log.warn("Truncating torn event at the end of {} ({} bytes)", path, position - lineStart);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(lineStart);
+                channel.force(true);
+            }
+        }
+        return offset;
+    }
+
+    private Path segmentPath(long baseOffset) {
+        return directory.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+    }
+
+    private Path offsetPath(String consumer) {
+        if (consumer == null || !CONSUMER_NAME.matcher(consumer).matches()) {
+            throw new IllegalArgumentException("Invalid consumer name: " + consumer);
+        }
+        return offsetsDirectory.resolve(consumer + ".offset");
+    }
+
+    private record Position(long segmentBase, long position) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.togglecover.insurance.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers and summaries for the domain hot paths, with SLO buckets so latency targets can be
+ * read straight off /actuator/prometheus. Every tag value comes from a fixed set (platforms
+ * outside the known list become OTHER), so the number of series cannot grow with traffic;
+ * policy numbers and user ids are never tags.
+ */
+@Component
+public class InsuranceMetrics {
+
+    public static final String UNKNOWN = "UNKNOWN";
+    public static final String OTHER = "OTHER";
+
+    public static final String SUCCESS = "success";
+    public static final String REJECTED = "rejected";
+    public static final String ERROR = "error";
+
+    static final Set<String> KNOWN_PLATFORMS = Set.of(
+            "SWIGGY", "ZOMATO", "ZEPTO", "INSTAMART", "BLINKIT", "DUNZO",
+            "UBER", "OLA", "RAPIDO", "PORTER", "AMAZON", "FLIPKART");
+
+    private final Meter.MeterProvider<Timer> premiumCalculation;
+    private final Meter.MeterProvider<Timer> coverageToggle;
+    private final Meter.MeterProvider<DistributionSummary> walletDebit;
+    private final Meter.MeterProvider<Timer> policyCreation;
+    private final Meter.MeterProvider<Timer> authValidation;
+
+    public InsuranceMetrics(MeterRegistry meterRegistry) {
+        this.premiumCalculation = Timer.builder("insurance.premium.calculation")
+                .description("Time to price one coverage day")
+                .serviceLevelObjectives(micros(10), micros(50), micros(100), micros(500), millis(1))
+                .withRegistry(meterRegistry);
+        this.coverageToggle = Timer.builder("insurance.coverage.toggle")
+                .description("Coverage toggles from request to commit, including group-commit waits")
+                .serviceLevelObjectives(millis(5), millis(10), millis(25), millis(50), millis(100),
+                        millis(250), millis(500), millis(1000), millis(2500))
+                .withRegistry(meterRegistry);
+        this.walletDebit = DistributionSummary.builder("insurance.wallet.debit")
+                .description("Amounts taken from policy wallets")
+                .baseUnit("INR")
+                .serviceLevelObjectives(5, 10, 25, 50, 100, 250, 500, 1000)
+                .withRegistry(meterRegistry);
+        this.policyCreation = Timer.builder("insurance.policy.creation")
+                .description("Policy creation from request to commit")
+                .serviceLevelObjectives(millis(10), millis(25), millis(50), millis(100), millis(250),
+                        millis(500), millis(1000))
+                .withRegistry(meterRegistry);
+        this.authValidation = Timer.builder("insurance.auth.validation")
+                .description("Bearer token validation through auth-service")
+                .serviceLevelObjectives(millis(1), millis(5), millis(10), millis(25), millis(50),
+                        millis(100), millis(250))
+                .withRegistry(meterRegistry);
+    }
+
+    public void recordPremiumCalculation(String gigPlatform, String cityClass, long nanos) {
+        premiumCalculation.withTags(Tags.of("platform", platform(gigPlatform), "city.class", cityClass))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param action activate or deactivate
+     */
+    public void recordCoverageToggle(String action, String outcome, String gigPlatform, String cityClass,
+                                     long nanos) {
+        coverageToggle.withTags(Tags.of("action", action, "outcome", outcome,
+                        "platform", platform(gigPlatform), "city.class", cityClass))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param source coverage_premium for activations, adjustment for negative wallet top-ups
+     */
+    public void recordWalletDebit(String source, BigDecimal amount) {
+        if (amount != null && amount.signum() > 0) {
+            walletDebit.withTags(Tags.of("source", source)).record(amount.doubleValue());
+        }
+    }
+
+    public void recordPolicyCreation(String outcome, long nanos) {
+        policyCreation.withTags(Tags.of("outcome", outcome)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param outcome valid, invalid or error (auth-service unreachable or failing)
+     */
+    public void recordAuthValidation(String outcome, long nanos) {
+        authValidation.withTags(Tags.of("outcome", outcome)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gig platform as a tag value: one of the known platforms, OTHER or UNKNOWN
+     */
+    public static String platform(String gigPlatform) {
+        if (gigPlatform == null || gigPlatform.isBlank()) {
+            return UNKNOWN;
+        }
+        String normalized = gigPlatform.trim().toUpperCase(Locale.ROOT);
+        return KNOWN_PLATFORMS.contains(normalized) ? normalized : OTHER;
+    }
+
+    /**
+     * Business rule violations surface as plain RuntimeExceptions; database and
+     * transaction failures are errors
+     */
+    public static String outcome(Throwable failure) {
+        if (failure == null) {
+            return SUCCESS;
+        }
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause != cause.getCause()
+                && (cause instanceof CompletionException || cause instanceof ExecutionException)) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof DataAccessException || cause instanceof TransactionException
+                || !(cause instanceof RuntimeException)) {
+            return ERROR;
+        }
+        return REJECTED;
+    }
+
+    private static Duration micros(long micros) {
+        return Duration.ofNanos(micros * 1_000);
+    }
+
+    private static Duration millis(long millis) {
+        return Duration.ofMillis(millis);
+    }
+}
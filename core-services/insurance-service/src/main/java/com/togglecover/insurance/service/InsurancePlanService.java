@@ -1,6 +1,7 @@
 package com.togglecover.insurance.service;
 
 import com.togglecover.insurance.model.dto.InsurancePlanDTO;
+import com.togglecover.insurance.model.dto.PlanComparisonDTO;
 import com.togglecover.insurance.model.entity.InsurancePlan;
 import com.togglecover.insurance.repository.InsurancePlanRepository;
 import lombok.RequiredArgsConstructor;
@@ -10,7 +11,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,7 +24,10 @@ import java.util.stream.Collectors;
 @Slf4j
 public class InsurancePlanService {
 
+    private static final int MAX_COMPARED_PLANS = 20;
+
     private final InsurancePlanRepository insurancePlanRepository;
+    private final PremiumCalculatorService premiumCalculatorService;
     private final ModelMapper modelMapper;
 
     public InsurancePlanDTO getPlanByCode(String planCode) {
@@ -141,6 +150,107 @@ public class InsurancePlanService {
         return plan.getDailyPremium().multiply(BigDecimal.valueOf(30));
     }
 
+    /**
+     * Price every requested plan for one shared set of rider conditions.
+     * The risk multiplier is computed once and only the base premium varies per plan.
+     * Without plan codes the cheapest active plans are compared, up to the same cap.
+     */
+    public List<PlanComparisonDTO> comparePlans(List<String> planCodes,
+                                                Double temperature,
+                                                String location,
+                                                String gigPlatform) {
+        List<InsurancePlan> plans;
+        if (planCodes == null || planCodes.isEmpty()) {
+            plans = insurancePlanRepository.findByIsActive(true).stream()
+                    .sorted(Comparator.comparing(InsurancePlan::getDailyPremium))
+                    .limit(MAX_COMPARED_PLANS)
+                    .toList();
+        } else {
+            Set<String> requestedCodes = new LinkedHashSet<>(planCodes);
+            if (requestedCodes.size() > MAX_COMPARED_PLANS) {
+                throw new RuntimeException("At most " + MAX_COMPARED_PLANS + " plans can be compared at once");
+            }
+
+            plans = insurancePlanRepository.findByPlanCodeInAndIsActive(requestedCodes, true);
+            if (plans.size() < requestedCodes.size()) {
+                plans.forEach(plan -> requestedCodes.remove(plan.getPlanCode()));
+                throw new RuntimeException("Active insurance plan not found with code: " +
+                        String.join(", ", requestedCodes));
+            }
+        }
+
+        BigDecimal riskMultiplier = premiumCalculatorService.calculateRiskMultiplier(
+                temperature, location, gigPlatform);
+
+        List<PlanComparisonDTO> comparisons = new ArrayList<>(plans.size());
+        for (InsurancePlan plan : plans) {
+            comparisons.add(priceForComparison(plan, riskMultiplier));
+        }
+        comparisons.sort(Comparator.comparing(PlanComparisonDTO::getDailyPremium));
+
+        labelBestFor(comparisons);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Compared {} plans with risk multiplier {} (temp={}, location={}, platform={})",
+                    comparisons.size(), riskMultiplier, temperature, location, gigPlatform);
+        }
+
+        return comparisons;
+    }
+
+    private PlanComparisonDTO priceForComparison(InsurancePlan plan, BigDecimal riskMultiplier) {
+        BigDecimal dailyPremium = premiumCalculatorService.applyRiskMultiplier(
+                plan.getDailyPremium(), riskMultiplier);
+        BigDecimal monthlyPremium = premiumCalculatorService.calculateMonthlyPremium(dailyPremium);
+        BigDecimal annualPremium = premiumCalculatorService.calculateAnnualPremium(dailyPremium);
+
+        PlanComparisonDTO dto = new PlanComparisonDTO();
+        dto.setPlanCode(plan.getPlanCode());
+        dto.setPlanName(plan.getPlanName());
+        dto.setBaseDailyPremium(plan.getDailyPremium());
+        dto.setDailyPremium(dailyPremium);
+        dto.setMonthlyPremium(monthlyPremium);
+        dto.setAnnualPremium(annualPremium);
+        dto.setCoverageAmount(plan.getCoverageAmount());
+        dto.setCoverageType(plan.getCoverageType());
+        dto.setRiskMultiplier(riskMultiplier.doubleValue());
+
+        // Break-even analysis: how often a full payout has to happen to be worth the annual premium
+        if (annualPremium.signum() > 0 && plan.getCoverageAmount().signum() > 0) {
+            dto.setValueScore(plan.getCoverageAmount()
+                    .divide(annualPremium, 2, RoundingMode.HALF_UP).doubleValue());
+            dto.setBreakEvenClaimProbability(annualPremium
+                    .divide(plan.getCoverageAmount(), 6, RoundingMode.HALF_UP).doubleValue());
+        } else {
+            dto.setValueScore(0.0);
+        }
+
+        return dto;
+    }
+
+    private void labelBestFor(List<PlanComparisonDTO> comparisons) {
+        if (comparisons.isEmpty()) {
+            return;
+        }
+
+        PlanComparisonDTO bestValue = comparisons.stream()
+                .max(Comparator.comparing(PlanComparisonDTO::getValueScore))
+                .get();
+        PlanComparisonDTO highestCoverage = comparisons.stream()
+                .max(Comparator.comparing(PlanComparisonDTO::getCoverageAmount))
+                .get();
+
+        for (PlanComparisonDTO comparison : comparisons) {
+            if (comparison.getValueScore() >= 1) {
+                comparison.setBestFor("Pays for its premium with one claim in " +
+                        comparison.getValueScore().intValue() + " years");
+            }
+        }
+        highestCoverage.setBestFor("Highest coverage");
+        bestValue.setBestFor("Best coverage for the premium");
+        comparisons.get(0).setBestFor("Lowest daily premium");
+    }
+
     private InsurancePlanDTO convertToDTO(InsurancePlan plan) {
         InsurancePlanDTO dto = modelMapper.map(plan, InsurancePlanDTO.class);
         return dto;
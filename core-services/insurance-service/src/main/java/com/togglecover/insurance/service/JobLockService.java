@@ -0,0 +1,61 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.entity.JobLock;
+import com.togglecover.insurance.repository.JobLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Database leases for scheduled jobs that must not run on two instances at once. A lease
+ * expires on its own, so an instance that dies mid-run blocks the job only until then.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobLockService {
+
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${eureka.instance.instance-id:${spring.application.name}}")
+    private String instanceId;
+
+    /**
+     * Take the named lease for up to lockFor; false while another instance holds it
+     */
+    public boolean tryLock(String name, Duration lockFor) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                JobLock lock = jobLockRepository.findLockedByName(name).orElse(null);
+                if (lock == null) {
+                    lock = new JobLock();
+                    lock.setName(name);
+                } else if (!instanceId.equals(lock.getLockedBy()) && lock.getLockedUntil().isAfter(now)) {
+                    return false;
+                }
+                lock.setLockedBy(instanceId);
+                lock.setLockedUntil(now.plus(lockFor));
+                jobLockRepository.saveAndFlush(lock);
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease first
+            return false;
+        }
+    }
+
+    /**
+     * Release the named lease if this instance holds it
+     */
+    public void unlock(String name) {
+        transactionTemplate.executeWithoutResult(status -> jobLockRepository.findLockedByName(name)
+                .filter(lock -> instanceId.equals(lock.getLockedBy()))
+                .ifPresent(lock -> lock.setLockedUntil(LocalDateTime.now())));
+    }
+}
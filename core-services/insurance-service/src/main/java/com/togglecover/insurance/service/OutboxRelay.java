@@ -0,0 +1,123 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.entity.OutboxEvent;
+import com.togglecover.insurance.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves outbox rows to the {@link EventSink} in id order. A batch is deleted from the
+ * outbox only after the sink has stored it, so a crash in between re-publishes the
+ * batch on the next poll (at-least-once).
+ * <p>
+ * Each batch is claimed, published and deleted in one transaction. When the sink is local
+ * to one instance (the embedded event log), that transaction first locks the stream's
+ * owner row: relays on other instances, which would write to their own disk, relay
+ * nothing, and relays of the owning log append one batch at a time in outbox order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    @Value("${insurance.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${insurance.outbox.batch-size:1000}")
+    private int batchSize;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventSink eventSink;
+    private final EventLogOwnership eventLogOwnership;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @PostConstruct
+    void registerGauges() {
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest event in the last relayed batch")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${insurance.outbox.poll-interval-ms:200}")
+    public void poll() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    /**
+     * Publish batches until the outbox is empty or the sink fails; returns events published
+     */
+    public long drain() {
+        Timer batchTimer = meterRegistry.timer("outbox.relay.batch");
+        long published = 0;
+
+        while (true) {
+            int relayed;
+            try {
+                relayed = transactionTemplate.execute(status -> relayBatch(batchTimer));
+            } catch (Exception e) {
+                // Rolled back and nothing deleted; the same batch is retried on the next poll
+                meterRegistry.counter("outbox.relay.failures").increment();
+                log.error("Relaying outbox events failed: {}", e.getMessage());
+                return published;
+            }
+            published += relayed;
+
+            if (relayed < batchSize) {
+                return published;
+            }
+        }
+    }
+
+    /**
+     * Claim, publish and delete one batch in the caller's transaction; returns its size
+     */
+    private int relayBatch(Timer batchTimer) {
+        String storeId = eventSink.localStoreId();
+        if (storeId != null && !eventLogOwnership.claim(storeId)) {
+            return 0;
+        }
+        List<OutboxEvent> batch = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+
+        LocalDateTime oldest = batch.get(0).getCreatedAt();
+        if (oldest != null) {
+            lagMillis.set(Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            eventSink.publish(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+        batchTimer.record(Duration.ofNanos(System.nanoTime() - startNanos));
+        meterRegistry.counter("outbox.relay.published").increment(batch.size());
+        return batch.size();
+    }
+}
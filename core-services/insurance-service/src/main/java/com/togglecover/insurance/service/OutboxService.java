@@ -0,0 +1,101 @@
+package com.togglecover.insurance.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togglecover.insurance.model.entity.CoverageRecord;
+import com.togglecover.insurance.model.entity.OutboxEvent;
+import com.togglecover.insurance.model.entity.Policy;
+import com.togglecover.insurance.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stages domain events in the outbox table. Every method joins the caller's
+ * transaction, so an event exists exactly when the state change it describes commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String POLICY_CREATED = "POLICY_CREATED";
+    public static final String POLICY_RENEWED = "POLICY_RENEWED";
+    public static final String POLICY_CANCELLED = "POLICY_CANCELLED";
+    public static final String POLICY_EXPIRED = "POLICY_EXPIRED";
+    public static final String COVERAGE_ACTIVATED = "COVERAGE_ACTIVATED";
+    public static final String COVERAGE_DEACTIVATED = "COVERAGE_DEACTIVATED";
+    public static final String WALLET_CREDITED = "WALLET_CREDITED";
+    public static final String WALLET_DEBITED = "WALLET_DEBITED";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEvent event) {
+        outboxEventRepository.save(event);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<OutboxEvent> events) {
+        outboxEventRepository.saveAll(events);
+    }
+
+    public OutboxEvent policyEvent(Policy policy, String eventType) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("policyNumber", policy.getPolicyNumber());
+        payload.put("userId", policy.getUserId());
+        payload.put("planCode", policy.getPlan().getPlanCode());
+        payload.put("status", policy.getStatus());
+        payload.put("startDate", policy.getStartDate());
+        payload.put("endDate", policy.getEndDate());
+        payload.put("autoRenew", policy.getAutoRenew());
+        return event("POLICY", policy.getPolicyNumber(), eventType, payload);
+    }
+
+    /**
+     * Wallet movement; a positive amount is a credit, a negative amount a debit
+     */
+    public OutboxEvent walletEvent(Policy policy, BigDecimal amount, String reason) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("policyNumber", policy.getPolicyNumber());
+        payload.put("userId", policy.getUserId());
+        payload.put("amount", amount.abs());
+        payload.put("balance", policy.getWalletBalance());
+        payload.put("reason", reason);
+        String eventType = amount.signum() < 0 ? WALLET_DEBITED : WALLET_CREDITED;
+        return event("WALLET", policy.getPolicyNumber(), eventType, payload);
+    }
+
+    public OutboxEvent coverageEvent(CoverageRecord coverageRecord, String eventType) {
+        Policy policy = coverageRecord.getPolicy();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("policyNumber", policy.getPolicyNumber());
+        payload.put("userId", policy.getUserId());
+        payload.put("coverageDate", coverageRecord.getCoverageDate());
+        payload.put("status", coverageRecord.getStatus());
+        payload.put("premiumAmount", coverageRecord.getPremiumAmount());
+        payload.put("coverageAmount", coverageRecord.getCoverageAmount());
+        payload.put("location", coverageRecord.getLocation());
+        payload.put("gigPlatform", coverageRecord.getGigPlatform());
+        return event("COVERAGE", policy.getPolicyNumber(), eventType, payload);
+    }
+
+    private OutboxEvent event(String aggregateType, String aggregateId, String eventType, Map<String, Object> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + eventType + " event for " + aggregateId, e);
+        }
+        return event;
+    }
+}
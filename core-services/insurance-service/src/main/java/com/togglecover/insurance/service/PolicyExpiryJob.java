@@ -0,0 +1,318 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.entity.OutboxEvent;
+import com.togglecover.insurance.model.entity.Policy;
+import com.togglecover.insurance.repository.PolicyRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nightly batch that moves ACTIVE policies past their end date to EXPIRED, or renews
+ * them when autoRenew is set and the wallet covers the renewal fee. Due policies are
+ * split into id ranges, one per worker, and each worker walks its range in keyset
+ * chunks that commit in one transaction each. A chunk that fails is retried one policy
+ * at a time so a single bad policy is skipped instead of holding up the rest of its range,
+ * and a lease in job_locks keeps the run to one instance of the service.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PolicyExpiryJob {
+
+    private static final String ACTIVE = "ACTIVE";
+    private static final String EXPIRED = "EXPIRED";
+    private static final String LOCK_NAME = "policy-expiry";
+
+    @Value("${insurance.policy-expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${insurance.policy-expiry.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${insurance.policy-expiry.workers:4}")
+    private int workers;
+
+    @Value("${insurance.policy-expiry.renewal-months:12}")
+    private int renewalMonths;
+
+    @Value("${insurance.policy-expiry.renewal-fee-days:1}")
+    private int renewalFeeDays;
+
+    @Value("${insurance.policy-expiry.lock-at-most:PT2H}")
+    private Duration lockAtMost;
+
+    private final PolicyRepository policyRepository;
+    private final OutboxService outboxService;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong lagDays = new AtomicLong();
+    private final AtomicLong lastRunThroughput = new AtomicLong();
+
+    @PostConstruct
+    void registerGauges() {
+        Gauge.builder("policy.expiry.lag", lagDays, AtomicLong::get)
+                .description("Days between the oldest unprocessed policy end date and the run date")
+                .baseUnit("days")
+                .register(meterRegistry);
+        Gauge.builder("policy.expiry.throughput", lastRunThroughput, AtomicLong::get)
+                .description("Policies processed per second in the last run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${insurance.policy-expiry.cron:0 30 0 * * *}")
+    public void runNightly() {
+        if (!enabled) {
+            return;
+        }
+        processDuePolicies(LocalDate.now());
+    }
+
+    /**
+     * Process every ACTIVE policy whose end date is before the run date
+     */
+    public void processDuePolicies(LocalDate runDate) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Policy expiry run skipped: previous run still in progress");
+            return;
+        }
+
+        try {
+            if (!jobLockService.tryLock(LOCK_NAME, lockAtMost)) {
+                log.info("Policy expiry run for {} skipped: another instance holds the lock", runDate);
+                return;
+            }
+            try {
+                processLocked(runDate);
+            } finally {
+                jobLockService.unlock(LOCK_NAME);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void processLocked(LocalDate runDate) {
+        Long minId = policyRepository.findMinIdByEndDateBeforeAndStatus(runDate, ACTIVE);
+        Long maxId = policyRepository.findMaxIdByEndDateBeforeAndStatus(runDate, ACTIVE);
+        if (minId == null || maxId == null) {
+            lagDays.set(0);
+            log.info("Policy expiry run for {}: no due policies", runDate);
+            return;
+        }
+
+        LocalDate oldestEndDate = policyRepository.findOldestEndDateBeforeAndStatus(runDate, ACTIVE);
+        lagDays.set(ChronoUnit.DAYS.between(oldestEndDate, runDate));
+
+        RunTally tally = new RunTally();
+        long startNanos = System.nanoTime();
+        runPartitions(runDate, minId, maxId, tally);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+        long processed = tally.renewed.sum() + tally.expired.sum();
+        long elapsedMillis = Math.max(1, elapsed.toMillis());
+        lastRunThroughput.set(processed * 1000 / elapsedMillis);
+        meterRegistry.timer("policy.expiry.run").record(elapsed);
+
+        log.info("Policy expiry run for {} finished in {} ms: renewed={}, expired={}, failedChunks={}, skipped={}",
+                runDate, elapsedMillis, tally.renewed.sum(), tally.expired.sum(), tally.failedChunks.sum(),
+                tally.failedPolicies.sum());
+    }
+
+    private void runPartitions(LocalDate runDate, long minId, long maxId, RunTally tally) {
+        int partitions = (int) Math.max(1, Math.min(workers, maxId - minId + 1));
+        long rangeSize = (maxId - minId + partitions) / partitions;
+
+        ExecutorService executor = Executors.newFixedThreadPool(partitions,
+                new CustomizableThreadFactory("policy-expiry-"));
+        try {
+            List<Future<?>> futures = new ArrayList<>(partitions);
+            for (int i = 0; i < partitions; i++) {
+                long fromId = minId + i * rangeSize;
+                long toId = i == partitions - 1 ? maxId : fromId + rangeSize - 1;
+                futures.add(executor.submit(() -> processPartition(runDate, fromId, toId, tally)));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Policy expiry run interrupted");
+        } catch (ExecutionException e) {
+            log.error("Policy expiry partition failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void processPartition(LocalDate runDate, long fromId, long toId, RunTally tally) {
+        long afterId = fromId - 1;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            long cursor = afterId;
+            ChunkResult result;
+            try {
+                result = transactionTemplate.execute(status -> processChunk(runDate, cursor, toId, chunkSize));
+            } catch (RuntimeException e) {
+                // Chunk rolled back; redo it policy by policy so only the failing ones are left behind
+                tally.failedChunks.increment();
+                meterRegistry.counter("policy.expiry.chunks.failed").increment();
+                log.error("Policy expiry chunk after id {} (partition {}-{}) failed, retrying policy by policy",
+                        cursor, fromId, toId, e);
+                result = processOneByOne(runDate, cursor, toId, tally);
+            }
+
+            if (result == null || result.size() == 0) {
+                return;
+            }
+
+            tally.renewed.add(result.renewed());
+            tally.expired.add(result.expired());
+            meterRegistry.counter("policy.expiry.processed", "outcome", "renewed").increment(result.renewed());
+            meterRegistry.counter("policy.expiry.processed", "outcome", "expired").increment(result.expired());
+
+            afterId = result.lastId();
+            if (result.size() < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Work through up to one chunk of policies in their own transactions, skipping any that
+     * still fail. Skipped policies stay ACTIVE and are retried by the next run. Returns null
+     * when the partition cannot get past a failing policy.
+     */
+    private ChunkResult processOneByOne(LocalDate runDate, long afterId, long toId, RunTally tally) {
+        int size = 0;
+        int renewed = 0;
+        int expired = 0;
+        long cursor = afterId;
+
+        while (size < chunkSize) {
+            long current = cursor;
+            ChunkResult single;
+            try {
+                single = transactionTemplate.execute(status -> processChunk(runDate, current, toId, 1));
+            } catch (RuntimeException e) {
+                Long failedId = nextDueId(runDate, current, toId);
+                if (failedId == null) {
+                    return null;
+                }
+                tally.failedPolicies.increment();
+                meterRegistry.counter("policy.expiry.policies.failed").increment();
+                log.error("Policy {} skipped by the expiry run for {}, it stays ACTIVE", failedId, runDate, e);
+                single = new ChunkResult(1, failedId, 0, 0);
+            }
+
+            if (single == null || single.size() == 0) {
+                break;
+            }
+            size += single.size();
+            renewed += single.renewed();
+            expired += single.expired();
+            cursor = single.lastId();
+        }
+        return new ChunkResult(size, cursor, renewed, expired);
+    }
+
+    private Long nextDueId(LocalDate runDate, long afterId, long toId) {
+        try {
+            return policyRepository
+                    .findByEndDateBeforeAndStatusAndIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                            runDate, ACTIVE, afterId, toId, Limit.of(1))
+                    .stream().map(Policy::getId).findFirst().orElse(null);
+        } catch (RuntimeException e) {
+            log.error("Policy expiry cannot read the policy after id {}, ending partition at {}", afterId, toId, e);
+            return null;
+        }
+    }
+
+    private ChunkResult processChunk(LocalDate runDate, long afterId, long toId, int limit) {
+        List<Policy> duePolicies = policyRepository
+                .findByEndDateBeforeAndStatusAndIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                        runDate, ACTIVE, afterId, toId, Limit.of(limit));
+
+        int renewed = 0;
+        int expired = 0;
+        List<OutboxEvent> events = new ArrayList<>(duePolicies.size());
+        for (Policy policy : duePolicies) {
+            if (tryRenew(policy, runDate)) {
+                renewed++;
+                events.add(outboxService.policyEvent(policy, OutboxService.POLICY_RENEWED));
+                events.add(outboxService.walletEvent(policy,
+                        policy.getPlan().getDailyPremium().multiply(BigDecimal.valueOf(renewalFeeDays)).negate(),
+                        "RENEWAL_FEE"));
+            } else {
+                policy.setStatus(EXPIRED);
+                expired++;
+                events.add(outboxService.policyEvent(policy, OutboxService.POLICY_EXPIRED));
+            }
+        }
+
+        // Flushed at commit as batched UPDATEs and outbox INSERTs (hibernate.jdbc.batch_size)
+        policyRepository.saveAll(duePolicies);
+        outboxService.recordAll(events);
+
+        long lastId = duePolicies.isEmpty() ? afterId : duePolicies.get(duePolicies.size() - 1).getId();
+        return new ChunkResult(duePolicies.size(), lastId, renewed, expired);
+    }
+
+    /**
+     * Renew from the later of the old end date and the run date, so a policy the job caught
+     * up on late is not renewed into a term that has already passed
+     */
+    private boolean tryRenew(Policy policy, LocalDate runDate) {
+        if (!Boolean.TRUE.equals(policy.getAutoRenew())) {
+            return false;
+        }
+
+        BigDecimal renewalFee = policy.getPlan().getDailyPremium()
+                .multiply(BigDecimal.valueOf(renewalFeeDays));
+        if (policy.getWalletBalance().compareTo(renewalFee) < 0) {
+            return false;
+        }
+
+        policy.setWalletBalance(policy.getWalletBalance().subtract(renewalFee));
+        policy.setTotalPremiumPaid(policy.getTotalPremiumPaid().add(renewalFee));
+        LocalDate renewFrom = policy.getEndDate().isAfter(runDate) ? policy.getEndDate() : runDate;
+        policy.setEndDate(renewFrom.plusMonths(renewalMonths));
+        return true;
+    }
+
+    private record ChunkResult(int size, long lastId, int renewed, int expired) {
+    }
+
+    private static class RunTally {
+        private final LongAdder renewed = new LongAdder();
+        private final LongAdder expired = new LongAdder();
+        private final LongAdder failedChunks = new LongAdder();
+        private final LongAdder failedPolicies = new LongAdder();
+    }
+}
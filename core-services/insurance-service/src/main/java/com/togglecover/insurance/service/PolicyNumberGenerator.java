@@ -0,0 +1,124 @@
+package com.togglecover.insurance.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style policy number generator: 41 bits of milliseconds since 2024-01-01,
+ * a 10-bit node id and a 12-bit sequence, rendered as POL{yyyy}{MM} followed by the
+ * id in 16 hex digits. Ids are unique per node and strictly increasing without locks.
+ */
+@Component
+public class PolicyNumberGenerator {
+
+    static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private static final int PREFIX_LENGTH = "POLyyyyMM".length();
+    private static final int ID_HEX_DIGITS = 16;
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    private final ZoneId zone;
+
+    // Last issued (timestamp << SEQUENCE_BITS | sequence); a sequence overflow carries into the timestamp
+    private final AtomicLong lastState = new AtomicLong();
+    private volatile MonthWindow monthWindow;
+
+    /**
+     * The node id comes from insurance.policy-number.node-id (NODE_ID), which has no
+     * default: two instances on the same id would issue the same policy numbers
+     */
+    @Autowired
+    public PolicyNumberGenerator(@Value("${insurance.policy-number.node-id}") String nodeId) {
+        this(parseNodeId(nodeId), System::currentTimeMillis, ZoneId.systemDefault());
+    }
+
+    PolicyNumberGenerator(long nodeId, LongSupplier clock, ZoneId zone) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+        this.zone = zone;
+        this.monthWindow = MonthWindow.containing(clock.getAsLong(), zone);
+    }
+
+    /**
+     * Next policy number, e.g. POL20261005244B4870003011
+     */
+    public String nextPolicyNumber() {
+        long id = nextId();
+        MonthWindow window = windowFor((id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS);
+
+        char[] chars = new char[PREFIX_LENGTH + ID_HEX_DIGITS];
+        System.arraycopy(window.prefix(), 0, chars, 0, PREFIX_LENGTH);
+        for (int i = chars.length - 1; i >= PREFIX_LENGTH; i--) {
+            chars[i] = HEX_DIGITS[(int) (id & 0xF)];
+            id >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Next raw id. Monotonic even if the wall clock steps backwards: the generator keeps
+     * counting from the last issued state until the clock catches up.
+     */
+    public long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        while (true) {
+            long previous = lastState.get();
+            long next = now > (previous >>> SEQUENCE_BITS)
+                    ? now << SEQUENCE_BITS
+                    : previous + 1;
+            if (lastState.compareAndSet(previous, next)) {
+                return ((next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    private MonthWindow windowFor(long epochMillis) {
+        MonthWindow window = monthWindow;
+        if (epochMillis < window.startMillis() || epochMillis >= window.endMillis()) {
+            // Benign race: concurrent callers compute the same window
+            window = MonthWindow.containing(epochMillis, zone);
+            monthWindow = window;
+        }
+        return window;
+    }
+
+    private static long parseNodeId(String nodeId) {
+        try {
+            return Long.parseLong(nodeId.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("insurance.policy-number.node-id must be a number between 0 and "
+                    + MAX_NODE_ID + ", unique per instance: '" + nodeId + "'", e);
+        }
+    }
+
+    private record MonthWindow(long startMillis, long endMillis, char[] prefix) {
+
+        static MonthWindow containing(long epochMillis, ZoneId zone) {
+            LocalDate monthStart = Instant.ofEpochMilli(epochMillis).atZone(zone).toLocalDate().withDayOfMonth(1);
+            long start = monthStart.atStartOfDay(zone).toInstant().toEpochMilli();
+            long end = monthStart.plusMonths(1).atStartOfDay(zone).toInstant().toEpochMilli();
+
+            int month = monthStart.getMonthValue();
+            String prefix = "POL" + monthStart.getYear() + (month < 10 ? "0" : "") + month;
+            return new MonthWindow(start, end, prefix.toCharArray());
+        }
+    }
+}
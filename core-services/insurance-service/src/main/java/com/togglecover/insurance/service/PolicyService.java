@@ -1,6 +1,7 @@
 package com.togglecover.insurance.service;
 
 import com.togglecover.insurance.model.dto.CreatePolicyRequest;
+import com.togglecover.insurance.model.dto.PolicyClaimTotals;
 import com.togglecover.insurance.model.dto.PolicyDTO;
 import com.togglecover.insurance.model.dto.RenewPolicyRequest;
 import com.togglecover.insurance.model.entity.InsurancePlan;
@@ -17,7 +18,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +27,8 @@ public class PolicyService {
 
     private final PolicyRepository policyRepository;
     private final InsurancePlanRepository planRepository;
+    private final PolicyNumberGenerator policyNumberGenerator;
+    private final OutboxService outboxService;
     private final ModelMapper modelMapper;
 
     @Transactional
@@ -58,7 +60,7 @@ public class PolicyService {
         }
 
         // Generate unique policy number
-        String policyNumber = generatePolicyNumber();
+        String policyNumber = policyNumberGenerator.nextPolicyNumber();
 
         // Create policy
         Policy policy = new Policy();
@@ -79,6 +81,10 @@ public class PolicyService {
         }
 
         Policy savedPolicy = policyRepository.save(policy);
+        outboxService.record(outboxService.policyEvent(savedPolicy, OutboxService.POLICY_CREATED));
+        if (savedPolicy.getWalletBalance().signum() > 0) {
+            outboxService.record(outboxService.walletEvent(savedPolicy, savedPolicy.getWalletBalance(), "INITIAL_TOP_UP"));
+        }
         log.info("Created new policy: {} for user: {}, Plan: {}",
                 policyNumber, currentUserId, plan.getPlanName());
 
@@ -166,6 +172,10 @@ public class PolicyService {
         }
 
         Policy updatedPolicy = policyRepository.save(policy);
+        outboxService.record(outboxService.policyEvent(updatedPolicy, OutboxService.POLICY_RENEWED));
+        if (request.getWalletTopUp() != null && request.getWalletTopUp().compareTo(BigDecimal.ZERO) > 0) {
+            outboxService.record(outboxService.walletEvent(updatedPolicy, request.getWalletTopUp(), "RENEWAL_TOP_UP"));
+        }
         log.info("Renewed policy: {} until {}", request.getPolicyNumber(), newEndDate);
 
         return convertToDTO(updatedPolicy);
@@ -190,6 +200,8 @@ public class PolicyService {
 
         policy.setWalletBalance(newBalance);
         Policy updatedPolicy = policyRepository.save(policy);
+        outboxService.record(outboxService.walletEvent(updatedPolicy, amount,
+                amount.signum() < 0 ? "DEDUCTION" : "TOP_UP"));
 
         log.info("Updated wallet balance for policy: {} by {}. New balance: {}",
                 policyNumber, amount, newBalance);
@@ -197,6 +209,26 @@ public class PolicyService {
         return convertToDTO(updatedPolicy);
     }
 
+    /**
+     * Overwrite policies' claim totals with the counts claim-service keeps; returns the
+     * number of policies updated. Totals are absolute, so repeating a report is harmless.
+     */
+    @Transactional
+    public int updateClaimTotals(List<PolicyClaimTotals> totals) {
+        int updated = 0;
+        for (PolicyClaimTotals policyTotals : totals) {
+            Policy policy = policyRepository.findByPolicyNumber(policyTotals.getPolicyNumber()).orElse(null);
+            if (policy == null) {
+                log.warn("Claim totals reported for unknown policy: {}", policyTotals.getPolicyNumber());
+                continue;
+            }
+            policy.setTotalClaims(policyTotals.getTotalClaims());
+            policy.setTotalClaimsAmount(policyTotals.getTotalClaimsAmount());
+            updated++;
+        }
+        return updated;
+    }
+
     public BigDecimal getWalletBalance(String policyNumber) {
         Policy policy = policyRepository.findByPolicyNumber(policyNumber)
                 .orElseThrow(() -> new RuntimeException("Policy not found: " + policyNumber));
@@ -242,18 +274,13 @@ public class PolicyService {
         policy.setStatus("CANCELLED");
         policy.setAutoRenew(false);
         Policy updatedPolicy = policyRepository.save(policy);
+        outboxService.record(outboxService.policyEvent(updatedPolicy, OutboxService.POLICY_CANCELLED));
 
         log.info("Cancelled policy: {} for user: {}", policyNumber, currentUserId);
 
         return convertToDTO(updatedPolicy);
     }
 
-    private String generatePolicyNumber() {
-        return "POL" + LocalDate.now().getYear() +
-                String.format("%02d", LocalDate.now().getMonthValue()) +
-                UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-    }
-
     private PolicyDTO convertToDTO(Policy policy) {
         PolicyDTO dto = modelMapper.map(policy, PolicyDTO.class);
         dto.setPlanId(policy.getPlan().getId());
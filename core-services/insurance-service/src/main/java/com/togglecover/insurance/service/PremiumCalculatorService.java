@@ -1,5 +1,6 @@
 package com.togglecover.insurance.service;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -11,9 +12,17 @@ import java.util.Arrays;
 import java.util.List;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class PremiumCalculatorService {
 
+    public static final String HIGH_RISK_ZONE = "HIGH_RISK_ZONE";
+    public static final String HIGH_RISK_AREA = "HIGH_RISK_AREA";
+    public static final String RESIDENTIAL = "RESIDENTIAL";
+    public static final String STANDARD = "STANDARD";
+
+    private final InsuranceMetrics insuranceMetrics;
+
     @Value("${insurance.daily-premium-rate:5.0}")
     private Double baseDailyPremium;
 
@@ -37,37 +46,47 @@ public class PremiumCalculatorService {
                                             String location,
                                             String gigPlatform) {
 
-        BigDecimal calculatedPremium = basePremium;
+        long start = System.nanoTime();
+        BigDecimal calculatedPremium = applyRiskMultiplier(basePremium,
+                calculateRiskMultiplier(temperature, location, gigPlatform));
+        insuranceMetrics.recordPremiumCalculation(gigPlatform, locationRiskClass(location), System.nanoTime() - start);
 
-        // Apply weather risk multiplier
-        if (temperature != null) {
-            calculatedPremium = calculatedPremium.multiply(
-                    calculateWeatherRiskMultiplier(temperature, location)
-            );
+        // Guarded: five arguments means a varargs array and a boxed Double on every call
+        if (log.isDebugEnabled()) {
+            log.debug("Premium calculated: Base={}, Final={}, Factors: temp={}, location={}, platform={}",
+                    basePremium, calculatedPremium, temperature, location, gigPlatform);
         }
 
-        // Apply location risk multiplier
-        calculatedPremium = calculatedPremium.multiply(
-                calculateLocationRiskMultiplier(location)
-        );
-
-        // Apply gig platform risk multiplier
-        calculatedPremium = calculatedPremium.multiply(
-                calculateGigPlatformRiskMultiplier(gigPlatform)
-        );
+        return calculatedPremium;
+    }
 
-        // Apply time of day multiplier
-        calculatedPremium = calculatedPremium.multiply(
-                calculateTimeOfDayMultiplier()
-        );
+    /**
+     * Calculate the combined risk multiplier for one set of rider conditions.
+     * BigDecimal multiplication is exact, so applying this to a base premium gives
+     * the same result as applying each factor in turn.
+     */
+    public BigDecimal calculateRiskMultiplier(Double temperature,
+                                              String location,
+                                              String gigPlatform) {
+        BigDecimal multiplier = BigDecimal.ONE;
 
-        // Round to 2 decimal places
-        calculatedPremium = calculatedPremium.setScale(2, RoundingMode.HALF_UP);
+        // Apply weather risk multiplier
+        if (temperature != null) {
+            multiplier = multiplier.multiply(calculateWeatherRiskMultiplier(temperature, location));
+        }
 
-        log.debug("Premium calculated: Base={}, Final={}, Factors: temp={}, location={}, platform={}",
-                basePremium, calculatedPremium, temperature, location, gigPlatform);
+        // Apply location, gig platform and time of day multipliers
+        return multiplier
+                .multiply(calculateLocationRiskMultiplier(location))
+                .multiply(calculateGigPlatformRiskMultiplier(gigPlatform))
+                .multiply(calculateTimeOfDayMultiplier());
+    }
 
-        return calculatedPremium;
+    /**
+     * Apply a precomputed risk multiplier to a base premium, rounded to 2 decimal places
+     */
+    public BigDecimal applyRiskMultiplier(BigDecimal basePremium, BigDecimal riskMultiplier) {
+        return basePremium.multiply(riskMultiplier).setScale(2, RoundingMode.HALF_UP);
     }
 
     /**
@@ -111,8 +130,21 @@ public class PremiumCalculatorService {
      * Calculate location risk multiplier
      */
     public BigDecimal calculateLocationRiskMultiplier(String location) {
+        return switch (locationRiskClass(location)) {
+            case HIGH_RISK_ZONE -> BigDecimal.valueOf(1.4); // 40% higher for high-risk zones
+            case HIGH_RISK_AREA -> BigDecimal.valueOf(1.5);
+            case RESIDENTIAL -> BigDecimal.valueOf(0.9); // 10% discount
+            default -> BigDecimal.ONE;
+        };
+    }
+
+    /**
+     * Risk class of a location as priced by calculateLocationRiskMultiplier; also the
+     * low-cardinality "city class" used to tag metrics
+     */
+    public String locationRiskClass(String location) {
         if (location == null || location.isEmpty()) {
-            return BigDecimal.ONE;
+            return InsuranceMetrics.UNKNOWN;
         }
 
         String locationLower = location.toLowerCase();
@@ -120,7 +152,7 @@ public class PremiumCalculatorService {
         // Check for high-risk zones
         for (String highRiskZone : highRiskZones) {
             if (locationLower.contains(highRiskZone.toLowerCase())) {
-                return BigDecimal.valueOf(1.4); // 40% higher for high-risk zones
+                return HIGH_RISK_ZONE;
             }
         }
 
@@ -128,17 +160,17 @@ public class PremiumCalculatorService {
         if (locationLower.contains("industrial") ||
                 locationLower.contains("construction") ||
                 locationLower.contains("highway")) {
-            return BigDecimal.valueOf(1.5);
+            return HIGH_RISK_AREA;
         }
 
         // Residential areas have lower risk
         if (locationLower.contains("residential") ||
                 locationLower.contains("society") ||
                 locationLower.contains("colony")) {
-            return BigDecimal.valueOf(0.9); // 10% discount
+            return RESIDENTIAL;
         }
 
-        return BigDecimal.ONE;
+        return STANDARD;
     }
 
     /**
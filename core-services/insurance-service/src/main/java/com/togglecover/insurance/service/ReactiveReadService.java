@@ -0,0 +1,85 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.dto.CoverageStatusResponse;
+import com.togglecover.insurance.model.dto.PolicyDTO;
+import com.togglecover.insurance.repository.ReactivePolicyReadRepository;
+import com.togglecover.insurance.security.ReadCaller;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterparts of the read paths in CoverageService and PolicyService,
+ * producing the same DTOs. Writes stay on the JPA services. Users read only their own
+ * policies; see {@link ReadCaller#mayRead}.
+ */
+@RequiredArgsConstructor
+public class ReactiveReadService {
+
+    private final ReactivePolicyReadRepository repository;
+
+    public Mono<CoverageStatusResponse> getCoverageStatus(ReadCaller caller, String policyNumber, LocalDate date) {
+        LocalDate checkDate = date != null ? date : LocalDate.now();
+        return findReadableBalance(caller, policyNumber)
+                .flatMap(policy -> {
+                    CoverageStatusResponse response = new CoverageStatusResponse();
+                    response.setPolicyNumber(policyNumber);
+                    response.setCoverageDate(checkDate);
+                    response.setWalletBalance(policy.walletBalance().doubleValue());
+
+                    return repository.findActiveCoverageOnDate(policy.policyId(), checkDate)
+                            .map(record -> {
+                                response.setIsCoverageActiveToday(true);
+                                response.setCurrentStatus(record.status());
+                                response.setPremiumPaidToday(record.premiumAmount() != null
+                                        ? record.premiumAmount().doubleValue() : 0.0);
+                                response.setGigPlatform(record.gigPlatform());
+                                response.setLocation(record.location());
+                                return response;
+                            })
+                            .switchIfEmpty(Mono.fromSupplier(() -> inactive(response)));
+                });
+    }
+
+    public Mono<BigDecimal> getWalletBalance(ReadCaller caller, String policyNumber) {
+        return findReadableBalance(caller, policyNumber)
+                .map(ReactivePolicyReadRepository.PolicyBalance::walletBalance);
+    }
+
+    public Flux<PolicyDTO> getPoliciesByUser(ReadCaller caller, Long userId) {
+        if (!caller.mayRead(userId)) {
+            return Flux.error(accessDenied());
+        }
+        return repository.findPoliciesByUser(userId).map(this::withDaysRemaining);
+    }
+
+    private Mono<ReactivePolicyReadRepository.PolicyBalance> findReadableBalance(ReadCaller caller,
+                                                                               String policyNumber) {
+        return repository.findBalance(policyNumber)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Policy not found: " + policyNumber)))
+                .flatMap(policy -> caller.mayRead(policy.userId()) ? Mono.just(policy) : Mono.error(accessDenied()));
+    }
+
+    private PolicyDTO withDaysRemaining(PolicyDTO dto) {
+        // Mirrors PolicyService.convertToDTO so both APIs return identical documents
+        if (dto.getEndDate() != null) {
+            long daysRemaining = LocalDate.now().until(dto.getEndDate()).getDays();
+            dto.setDaysRemaining(Math.max(0, daysRemaining));
+        }
+        return dto;
+    }
+
+    private static RuntimeException accessDenied() {
+        return new RuntimeException("Access denied. You are not authorized to view this policy.");
+    }
+
+    private static CoverageStatusResponse inactive(CoverageStatusResponse response) {
+        response.setIsCoverageActiveToday(false);
+        response.setCurrentStatus("INACTIVE");
+        response.setPremiumPaidToday(0.0);
+        return response;
+    }
+}
@@ -0,0 +1,106 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.dto.PremiumAggregateDTO;
+import com.togglecover.insurance.model.entity.CoverageDailyAggregate;
+import com.togglecover.insurance.repository.CoverageDailyAggregateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finance reporting over the pre-aggregated coverage buckets. Every answer is built
+ * from one row per (date, location, gig platform, plan) bucket, never from coverage rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportingService {
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    public enum Dimension { DATE, LOCATION, GIGPLATFORM, PLAN }
+
+    private final CoverageDailyAggregateRepository aggregateRepository;
+
+    @Transactional(readOnly = true)
+    public List<PremiumAggregateDTO> getDailyBuckets(LocalDate from, LocalDate to,
+                                                     String location, String gigPlatform, Long planId) {
+        return rollUp(findBuckets(from, to, location, gigPlatform, planId), EnumSet.allOf(Dimension.class));
+    }
+
+    /**
+     * Totals over the range grouped by the given dimensions (date, location, gigPlatform,
+     * plan); no dimensions gives a single grand total
+     */
+    @Transactional(readOnly = true)
+    public List<PremiumAggregateDTO> getSummary(LocalDate from, LocalDate to, List<String> groupBy,
+                                                String location, String gigPlatform, Long planId) {
+        Set<Dimension> dimensions = EnumSet.noneOf(Dimension.class);
+        for (String name : groupBy) {
+            try {
+                dimensions.add(Dimension.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unknown groupBy dimension: " + name
+                        + ". Use one of " + Arrays.toString(Dimension.values()).toLowerCase(Locale.ROOT));
+            }
+        }
+        return rollUp(findBuckets(from, to, location, gigPlatform, planId), dimensions);
+    }
+
+    private List<CoverageDailyAggregate> findBuckets(LocalDate from, LocalDate to,
+                                                     String location, String gigPlatform, Long planId) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("Report start date must not be after its end date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Report range is limited to " + MAX_RANGE_DAYS + " days");
+        }
+        return aggregateRepository.findBuckets(from, to,
+                location != null ? CoverageAggregateService.bucketValue(location) : null,
+                gigPlatform != null ? CoverageAggregateService.bucketValue(gigPlatform) : null,
+                planId);
+    }
+
+    private static List<PremiumAggregateDTO> rollUp(List<CoverageDailyAggregate> buckets, Set<Dimension> dimensions) {
+        Map<List<Object>, PremiumAggregateDTO> groups = new LinkedHashMap<>();
+        for (CoverageDailyAggregate bucket : buckets) {
+            List<Object> key = new ArrayList<>(4);
+            key.add(dimensions.contains(Dimension.DATE) ? bucket.getAggregateDate() : null);
+            key.add(dimensions.contains(Dimension.LOCATION) ? bucket.getLocation() : null);
+            key.add(dimensions.contains(Dimension.GIGPLATFORM) ? bucket.getGigPlatform() : null);
+            key.add(dimensions.contains(Dimension.PLAN) ? bucket.getPlanId() : null);
+
+            PremiumAggregateDTO group = groups.computeIfAbsent(key, k -> {
+                PremiumAggregateDTO dto = new PremiumAggregateDTO();
+                dto.setDate((LocalDate) k.get(0));
+                dto.setLocation((String) k.get(1));
+                dto.setGigPlatform((String) k.get(2));
+                dto.setPlanId((Long) k.get(3));
+                dto.setPremiumTotal(BigDecimal.ZERO);
+                return dto;
+            });
+            group.setActivations(group.getActivations() + bucket.getActivations());
+            group.setPremiumTotal(group.getPremiumTotal().add(bucket.getPremiumTotal()));
+        }
+
+        for (PremiumAggregateDTO group : groups.values()) {
+            if (group.getActivations() > 0) {
+                group.setAveragePremium(group.getPremiumTotal()
+                        .divide(BigDecimal.valueOf(group.getActivations()), 2, RoundingMode.HALF_UP));
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+}
@@ -0,0 +1,182 @@
+package com.togglecover.insurance.util;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads an archive written by {@link CoverageArchiveWriter} back into rows, decoding
+ * every column of every row group and checking the trailer's row count against the
+ * rows decoded.
+ */
+public class CoverageArchiveReader implements Closeable {
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private final DataInputStream in;
+    private final String sourceTable;
+
+    public CoverageArchiveReader(Path file) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024)));
+        try {
+            if (in.readInt() != CoverageArchiveWriter.MAGIC || in.readInt() != CoverageArchiveWriter.VERSION) {
+                throw new IOException("Not a coverage archive: " + file);
+            }
+            this.sourceTable = in.readUTF();
+        } catch (IOException e) {
+            in.close();
+            throw e instanceof EOFException ? new IOException("Truncated coverage archive: " + file, e) : e;
+        }
+    }
+
+    /**
+     * The table the archive was exported from
+     */
+    public String getSourceTable() {
+        return sourceTable;
+    }
+
+    /**
+     * Decode every row in archive order and return the number of rows read
+     */
+    public long read(Consumer<CoverageArchiveRecord> consumer) throws IOException {
+        long rows = 0;
+        int size;
+        while ((size = (int) readVarLong()) != 0) {
+            long[] ids = readLongColumn(size, true);
+            long[] policyIds = readLongColumn(size, true);
+            long[] coverageDates = readLongColumn(size, true);
+            Column startTimes = readNullableLongColumn(size, true);
+            Column endTimes = readNullableLongColumn(size, true);
+            String[] statuses = readStringColumn(size);
+            Column premiumAmounts = readNullableLongColumn(size, false);
+            Column coverageAmounts = readNullableLongColumn(size, false);
+            Column riskMultipliers = readNullableLongColumn(size, false);
+            String[] locations = readStringColumn(size);
+            String[] gigPlatforms = readStringColumn(size);
+            BitSet activeNulls = readBitSet();
+            BitSet activeFlags = readBitSet();
+            Column createdAts = readNullableLongColumn(size, true);
+            Column updatedAts = readNullableLongColumn(size, true);
+
+            for (int i = 0; i < size; i++) {
+                consumer.accept(new CoverageArchiveRecord(
+                        ids[i],
+                        policyIds[i],
+                        LocalDate.ofEpochDay(coverageDates[i]),
+                        startTimes.timestamp(i),
+                        endTimes.timestamp(i),
+                        statuses[i],
+                        premiumAmounts.amount(i),
+                        coverageAmounts.amount(i),
+                        riskMultipliers.amount(i),
+                        locations[i],
+                        gigPlatforms[i],
+                        activeNulls.get(i) ? null : activeFlags.get(i),
+                        createdAts.timestamp(i),
+                        updatedAts.timestamp(i)));
+            }
+            rows += size;
+        }
+
+        long recordedRows = in.readLong();
+        if (recordedRows != rows || in.read() != -1) {
+            throw new IOException("Corrupt coverage archive of " + sourceTable + ": trailer records "
+                    + recordedRows + " rows, decoded " + rows);
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Column readNullableLongColumn(int size, boolean deltaEncoded) throws IOException {
+        BitSet nulls = readBitSet();
+        return new Column(readLongs(size, nulls, deltaEncoded), nulls);
+    }
+
+    private long[] readLongColumn(int size, boolean deltaEncoded) throws IOException {
+        return readLongs(size, new BitSet(), deltaEncoded);
+    }
+
+    /**
+     * Values are present for non-null rows only; deltas run from one present value to the next
+     */
+    private long[] readLongs(int size, BitSet nulls, boolean deltaEncoded) throws IOException {
+        long[] values = new long[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            if (nulls.get(i)) {
+                continue;
+            }
+            long value = unZigZag(readVarLong());
+            values[i] = deltaEncoded ? previous + value : value;
+            previous = values[i];
+        }
+        return values;
+    }
+
+    private String[] readStringColumn(int size) throws IOException {
+        String[] dictionary = new String[(int) readVarLong() + 1];
+        for (int code = 1; code < dictionary.length; code++) {
+            dictionary[code] = in.readUTF();
+        }
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = dictionary[(int) readVarLong()];
+        }
+        return values;
+    }
+
+    private BitSet readBitSet() throws IOException {
+        byte[] bytes = new byte[(int) readVarLong()];
+        in.readFully(bytes);
+        return BitSet.valueOf(bytes);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in coverage archive of " + sourceTable);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private record Column(long[] values, BitSet nulls) {
+
+        LocalDateTime timestamp(int i) {
+            if (nulls.get(i)) {
+                return null;
+            }
+            long micros = values[i];
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        }
+
+        BigDecimal amount(int i) {
+            return nulls.get(i) ? null : BigDecimal.valueOf(values[i], AMOUNT_SCALE);
+        }
+    }
+}
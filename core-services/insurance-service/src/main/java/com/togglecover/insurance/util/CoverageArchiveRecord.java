@@ -0,0 +1,34 @@
+package com.togglecover.insurance.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One coverage_records row as read back from an archive, columns in
+ * {@link CoverageArchiveWriter#COLUMNS} order
+ */
+public record CoverageArchiveRecord(
+        long id,
+        long policyId,
+        LocalDate coverageDate,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String status,
+        BigDecimal premiumAmount,
+        BigDecimal coverageAmount,
+        BigDecimal weatherRiskMultiplier,
+        String location,
+        String gigPlatform,
+        Boolean active,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    /**
+     * Column values for an INSERT listing {@link CoverageArchiveWriter#COLUMNS}
+     */
+    public Object[] toColumnValues() {
+        return new Object[]{id, policyId, coverageDate, startTime, endTime, status, premiumAmount,
+                coverageAmount, weatherRiskMultiplier, location, gigPlatform, active, createdAt, updatedAt};
+    }
+}
@@ -0,0 +1,219 @@
+package com.togglecover.insurance.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes coverage_records rows to a gzipped columnar archive. Rows are buffered into
+ * row groups of 65536; each group is written column by column with delta-encoded
+ * varints for ids, dates and timestamps, dictionary codes for strings, scale-2
+ * unscaled longs for amounts and a null bitmap per nullable column.
+ * <p>
+ * Layout: magic, version, source table, then row groups (varint row count followed
+ * by the columns in {@link #COLUMNS} order), a zero row count and the total row count
+ * as the last 8 bytes. {@link CoverageArchiveReader} reads it back.
+ */
+public class CoverageArchiveWriter implements Closeable {
+
+    public static final int MAGIC = 0x54434341; // "TCCA"
+    public static final int VERSION = 1;
+    public static final String[] COLUMNS = {
+            "id", "policy_id", "coverage_date", "start_time", "end_time", "status",
+            "premium_amount", "coverage_amount", "weather_risk_multiplier", "location",
+            "gig_platform", "is_active", "created_at", "updated_at"
+    };
+
+    private static final int ROW_GROUP_SIZE = 65_536;
+    private static final int AMOUNT_SCALE = 2;
+
+    private final DataOutputStream out;
+    private long totalRows;
+    private int size;
+
+    private final long[] ids = new long[ROW_GROUP_SIZE];
+    private final long[] policyIds = new long[ROW_GROUP_SIZE];
+    private final long[] coverageDates = new long[ROW_GROUP_SIZE];
+    private final long[] startTimes = new long[ROW_GROUP_SIZE];
+    private final long[] endTimes = new long[ROW_GROUP_SIZE];
+    private final String[] statuses = new String[ROW_GROUP_SIZE];
+    private final long[] premiumAmounts = new long[ROW_GROUP_SIZE];
+    private final long[] coverageAmounts = new long[ROW_GROUP_SIZE];
+    private final long[] riskMultipliers = new long[ROW_GROUP_SIZE];
+    private final String[] locations = new String[ROW_GROUP_SIZE];
+    private final String[] gigPlatforms = new String[ROW_GROUP_SIZE];
+    private final BitSet activeFlags = new BitSet(ROW_GROUP_SIZE);
+    private final long[] createdAts = new long[ROW_GROUP_SIZE];
+    private final long[] updatedAts = new long[ROW_GROUP_SIZE];
+
+    private final BitSet startTimeNulls = new BitSet(ROW_GROUP_SIZE);
+    private final BitSet endTimeNulls = new BitSet(ROW_GROUP_SIZE);
+    private final BitSet premiumNulls = new BitSet(ROW_GROUP_SIZE);
+    private final BitSet coverageNulls = new BitSet(ROW_GROUP_SIZE);
+    private final BitSet multiplierNulls = new BitSet(ROW_GROUP_SIZE);
+    private final BitSet activeNulls = new BitSet(ROW_GROUP_SIZE);
+    private final BitSet createdAtNulls = new BitSet(ROW_GROUP_SIZE);
+    private final BitSet updatedAtNulls = new BitSet(ROW_GROUP_SIZE);
+
+    public CoverageArchiveWriter(Path file, String sourceTable) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024)));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(sourceTable);
+    }
+
+    /**
+     * Append the current row of a coverage_records result set
+     */
+    public void append(ResultSet rs) throws SQLException, IOException {
+        int i = size;
+        ids[i] = rs.getLong("id");
+        policyIds[i] = rs.getLong("policy_id");
+        coverageDates[i] = rs.getObject("coverage_date", LocalDate.class).toEpochDay();
+        setTimestamp(startTimes, startTimeNulls, i, rs.getObject("start_time", LocalDateTime.class));
+        setTimestamp(endTimes, endTimeNulls, i, rs.getObject("end_time", LocalDateTime.class));
+        statuses[i] = rs.getString("status");
+        setAmount(premiumAmounts, premiumNulls, i, rs.getBigDecimal("premium_amount"));
+        setAmount(coverageAmounts, coverageNulls, i, rs.getBigDecimal("coverage_amount"));
+        setAmount(riskMultipliers, multiplierNulls, i, rs.getBigDecimal("weather_risk_multiplier"));
+        locations[i] = rs.getString("location");
+        gigPlatforms[i] = rs.getString("gig_platform");
+        boolean active = rs.getBoolean("is_active");
+        activeNulls.set(i, rs.wasNull());
+        activeFlags.set(i, active);
+        setTimestamp(createdAts, createdAtNulls, i, rs.getObject("created_at", LocalDateTime.class));
+        setTimestamp(updatedAts, updatedAtNulls, i, rs.getObject("updated_at", LocalDateTime.class));
+
+        if (++size == ROW_GROUP_SIZE) {
+            flushRowGroup();
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows + size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushRowGroup();
+            writeVarLong(0);
+            out.writeLong(totalRows);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (size == 0) {
+            return;
+        }
+
+        writeVarLong(size);
+        writeLongColumn(ids, null, true);
+        writeLongColumn(policyIds, null, true);
+        writeLongColumn(coverageDates, null, true);
+        writeLongColumn(startTimes, startTimeNulls, true);
+        writeLongColumn(endTimes, endTimeNulls, true);
+        writeStringColumn(statuses);
+        writeLongColumn(premiumAmounts, premiumNulls, false);
+        writeLongColumn(coverageAmounts, coverageNulls, false);
+        writeLongColumn(riskMultipliers, multiplierNulls, false);
+        writeStringColumn(locations);
+        writeStringColumn(gigPlatforms);
+        writeBitSet(activeNulls);
+        writeBitSet(activeFlags);
+        writeLongColumn(createdAts, createdAtNulls, true);
+        writeLongColumn(updatedAts, updatedAtNulls, true);
+
+        totalRows += size;
+        size = 0;
+        for (BitSet bits : new BitSet[]{startTimeNulls, endTimeNulls, premiumNulls, coverageNulls,
+                multiplierNulls, activeNulls, activeFlags, createdAtNulls, updatedAtNulls}) {
+            bits.clear();
+        }
+    }
+
+    private void writeLongColumn(long[] values, BitSet nulls, boolean deltaEncode) throws IOException {
+        if (nulls != null) {
+            writeBitSet(nulls);
+        }
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            if (nulls != null && nulls.get(i)) {
+                continue;
+            }
+            long value = values[i];
+            writeVarLong(zigZag(deltaEncode ? value - previous : value));
+            previous = value;
+        }
+    }
+
+    private void writeStringColumn(String[] values) throws IOException {
+        // Code 0 is null; dictionary entries are numbered from 1 in first-seen order
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        int[] codes = new int[size];
+        for (int i = 0; i < size; i++) {
+            codes[i] = values[i] == null ? 0 : dictionary.computeIfAbsent(values[i], k -> dictionary.size() + 1);
+            values[i] = null;
+        }
+
+        writeVarLong(dictionary.size());
+        for (String entry : dictionary.keySet()) {
+            out.writeUTF(entry);
+        }
+        for (int i = 0; i < size; i++) {
+            writeVarLong(codes[i]);
+        }
+    }
+
+    private void writeBitSet(BitSet bits) throws IOException {
+        byte[] bytes = bits.toByteArray();
+        writeVarLong(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void setTimestamp(long[] column, BitSet nulls, int i, LocalDateTime value) {
+        if (value == null) {
+            nulls.set(i);
+            return;
+        }
+        // Epoch microseconds of the wall-clock value, independent of the JVM zone
+        column[i] = value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+
+    private static void setAmount(long[] column, BitSet nulls, int i, BigDecimal value) {
+        if (value == null) {
+            nulls.set(i);
+            return;
+        }
+        column[i] = value.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
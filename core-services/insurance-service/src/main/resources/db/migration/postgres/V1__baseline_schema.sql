@@ -0,0 +1,89 @@
+-- Insurance schema as the entities map it (spring.jpa.hibernate.ddl-auto=validate checks it).
+
+CREATE TABLE insurance_plans (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    plan_code           VARCHAR(255)   NOT NULL,
+    plan_name           VARCHAR(255)   NOT NULL,
+    description         VARCHAR(255),
+    daily_premium       NUMERIC(10, 2) NOT NULL,
+    coverage_amount     NUMERIC(15, 2) NOT NULL,
+    coverage_type       VARCHAR(255)   NOT NULL,
+    max_age             INTEGER,
+    min_age             INTEGER,
+    waiting_period_days INTEGER,
+    is_active           BOOLEAN,
+    created_at          TIMESTAMP(6),
+    updated_at          TIMESTAMP(6),
+    CONSTRAINT uk_insurance_plans_plan_code UNIQUE (plan_code)
+);
+
+CREATE TABLE policies (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    policy_number       VARCHAR(255)   NOT NULL,
+    user_id             BIGINT         NOT NULL,
+    plan_id             BIGINT         NOT NULL REFERENCES insurance_plans (id),
+    start_date          DATE           NOT NULL,
+    end_date            DATE,
+    status              VARCHAR(20),
+    total_premium_paid  NUMERIC(15, 2),
+    total_claims        INTEGER,
+    total_claims_amount NUMERIC(15, 2),
+    wallet_balance      NUMERIC(15, 2),
+    auto_renew          BOOLEAN,
+    created_at          TIMESTAMP(6),
+    updated_at          TIMESTAMP(6),
+    CONSTRAINT uk_policies_policy_number UNIQUE (policy_number)
+);
+
+-- A rider's policies by status (active policy checks, coverage lookups by user)
+CREATE INDEX idx_policies_user_status ON policies (user_id, status);
+
+-- coverage_records partitioned by month on coverage_date. Monthly partitions are created
+-- ahead of time by CoveragePartitionManager; rows outside every monthly range land in the
+-- default partition. The unique constraint is also the (policy_id, coverage_date) index
+-- every toggle and status check uses; it includes the partition key, as it must.
+CREATE TABLE coverage_records (
+    id                      BIGSERIAL      NOT NULL,
+    policy_id               BIGINT         NOT NULL,
+    coverage_date           DATE           NOT NULL,
+    start_time              TIMESTAMP(6),
+    end_time                TIMESTAMP(6),
+    status                  VARCHAR(20),
+    premium_amount          NUMERIC(10, 2),
+    coverage_amount         NUMERIC(15, 2),
+    weather_risk_multiplier NUMERIC(5, 2),
+    location                VARCHAR(255),
+    gig_platform            VARCHAR(50),
+    is_active               BOOLEAN,
+    created_at              TIMESTAMP(6),
+    updated_at              TIMESTAMP(6),
+    PRIMARY KEY (id, coverage_date),
+    CONSTRAINT uk_coverage_records_policy_date UNIQUE (policy_id, coverage_date),
+    CONSTRAINT fk_coverage_records_policy FOREIGN KEY (policy_id) REFERENCES policies (id)
+) PARTITION BY RANGE (coverage_date);
+
+CREATE TABLE coverage_records_default PARTITION OF coverage_records DEFAULT;
+
+CREATE TABLE coverage_daily_aggregates (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_date DATE           NOT NULL,
+    location       VARCHAR(255)   NOT NULL,
+    gig_platform   VARCHAR(50)    NOT NULL,
+    plan_id        BIGINT         NOT NULL,
+    activations    BIGINT         NOT NULL,
+    premium_total  NUMERIC(19, 2) NOT NULL,
+    updated_at     TIMESTAMP(6),
+    CONSTRAINT uk_coverage_daily_aggregates UNIQUE (aggregate_date, location, gig_platform, plan_id)
+);
+
+-- Hibernate takes ids in blocks of 50 (allocationSize on OutboxEvent)
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_events (
+    id             BIGINT        NOT NULL PRIMARY KEY,
+    aggregate_type VARCHAR(20)   NOT NULL,
+    aggregate_id   VARCHAR(64)   NOT NULL,
+    event_type     VARCHAR(40)   NOT NULL,
+    payload        VARCHAR(4000) NOT NULL,
+    created_at     TIMESTAMP(6)
+);
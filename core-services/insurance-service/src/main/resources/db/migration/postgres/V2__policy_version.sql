@@ -0,0 +1,3 @@
+-- Optimistic locking for policies: each instance caches policies locally, so an update
+-- based on a stale copy must fail rather than overwrite a newer wallet balance
+ALTER TABLE policies ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- The one embedded event log the outbox is relayed to: the log lives on one instance's
+-- disk, so relays writing to another instance's log must be refused
+CREATE TABLE event_log_owner (
+    id         INTEGER      NOT NULL PRIMARY KEY,
+    log_id     VARCHAR(36)  NOT NULL,
+    claimed_by VARCHAR(255),
+    claimed_at TIMESTAMP(6)
+);
@@ -0,0 +1,6 @@
+-- Leases keeping scheduled jobs that move money (policy expiry and renewal) to one instance
+CREATE TABLE job_locks (
+    name         VARCHAR(64)  NOT NULL PRIMARY KEY,
+    locked_by    VARCHAR(255) NOT NULL,
+    locked_until TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,159 @@
+package com.togglecover.insurance.repository;
+
+import com.togglecover.common.utils.datasource.ReplicaRoutingDataSource;
+import com.togglecover.insurance.service.CoverageAggregateService;
+import com.togglecover.insurance.service.CoverageAggregateService.Delta;
+import com.togglecover.insurance.support.PolicyFixtures;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The postgres profile against an embedded PostgreSQL server: Flyway builds the schema,
+ * Hibernate validates it against the entities, the hot lookups are served by their
+ * indexes, read-only transactions run on the replica pool (here a second pool to the
+ * same server) and aggregate upserts take the ON CONFLICT path.
+ */
+@SpringBootTest(properties = "insurance.coverage.partitioning.enabled=false")
+@ActiveProfiles({"test", "postgres"})
+class PostgresProfileTest {
+
+    private static final EmbeddedPostgres postgres = start();
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Autowired
+    private PolicyRepository policyRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private CoverageAggregateService coverageAggregateService;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        String url = postgres.getJdbcUrl("postgres", "postgres");
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("togglecover.datasource.replicas.urls", () -> url);
+    }
+
+    /**
+     * 5000 riders with 4 policies each, one of them active, and 10 days of coverage per
+     * policy; enough rows that the planner prefers an index over a sequential scan
+     */
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT count(*) FROM policies", Long.class) > 0) {
+            return;
+        }
+        long planId = PolicyFixtures.insertPlan(namedJdbcTemplate, "PG_TEST");
+        jdbcTemplate.update("INSERT INTO policies (policy_number, user_id, plan_id, start_date, status, "
+                + "wallet_balance) SELECT 'PG-' || g, g % 5000, ?, "
+                + "DATE '2025-01-01', CASE WHEN g < 5000 THEN 'ACTIVE' ELSE 'EXPIRED' END, 100.00 "
+                + "FROM generate_series(0, 19999) AS g", planId);
+        jdbcTemplate.update("INSERT INTO coverage_records (policy_id, coverage_date, status, is_active) "
+                + "SELECT p.id, DATE '2025-01-01' + d, 'ACTIVE', TRUE "
+                + "FROM policies p CROSS JOIN generate_series(0, 9) AS d");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void policiesByRiderAndStatusUseTheirIndex() {
+        assertUsesIndex("SELECT * FROM policies WHERE user_id = 42 AND status = 'ACTIVE'",
+                "idx_policies_user_status");
+    }
+
+    @Test
+    void coverageByPolicyAndDateUsesTheUniqueIndex() {
+        assertUsesIndex("SELECT * FROM coverage_records "
+                + "WHERE policy_id = 42 AND coverage_date = DATE '2025-01-05'", "policy_id_coverage_date");
+    }
+
+    @Test
+    void readOnlyTransactionsRunOnTheReplica() {
+        ReplicaRoutingDataSource routing = (ReplicaRoutingDataSource) dataSource;
+        HikariDataSource replica = routing.getReplicas().get(0);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            assertEquals(4, policyRepository.findByUserId(42L).size());
+            assertEquals(1, replica.getHikariPoolMXBean().getActiveConnections(), "read ran on the writer");
+            assertEquals(0, routing.getWriter().getHikariPoolMXBean().getActiveConnections());
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            policyRepository.findByUserId(42L);
+            assertEquals(1, routing.getWriter().getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, replica.getHikariPoolMXBean().getActiveConnections());
+        });
+    }
+
+    @Test
+    void aggregateUpsertsAddOnConflict() {
+        long planId = PolicyFixtures.insertPlan(namedJdbcTemplate, "PG_AGGREGATES");
+        LocalDate date = LocalDate.of(2025, 1, 3);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> coverageAggregateService.apply(List.of(
+                Delta.activation(date, "Pune", "SWIGGY", planId, new BigDecimal("10.00")),
+                Delta.activation(date, "Pune", "SWIGGY", planId, new BigDecimal("12.50")))));
+        transaction.executeWithoutResult(status -> coverageAggregateService.apply(List.of(
+                Delta.reversal(date, "Pune", "SWIGGY", planId, new BigDecimal("10.00")))));
+
+        Map<String, Object> bucket = jdbcTemplate.queryForMap("SELECT activations, premium_total "
+                + "FROM coverage_daily_aggregates WHERE plan_id = ? AND aggregate_date = ?", planId, date);
+        assertEquals(1L, ((Number) bucket.get("activations")).longValue());
+        assertEquals(0, new BigDecimal("12.50").compareTo((BigDecimal) bucket.get("premium_total")));
+    }
+
+    /**
+     * The plan chooses an index scan on the named index (partition indexes carry the
+     * parent's column names) and scans no table sequentially
+     */
+    private void assertUsesIndex(String sql, String index) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        String text = String.join("\n", plan);
+        assertTrue(text.contains("Index") && text.contains(index), "expected a scan on " + index + ":\n" + text);
+        assertFalse(text.contains("Seq Scan"), "sequential scan in plan:\n" + text);
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.dto.CoverageRequest;
+import com.togglecover.insurance.model.dto.CoverageResponse;
+import com.togglecover.insurance.service.CoverageActivationBatcher.PendingActivation;
+import com.togglecover.insurance.support.PolicyFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Batches applied through {@link CoverageActivationBatcher#flush}: requests within a batch
+ * see each other's charges, a conflicting concurrent write sends the batch down the
+ * per-request path, and futures only complete once the outcome is committed
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CoverageActivationBatcherTest {
+
+    private static final Double TEMPERATURE = 30.0;
+    private static final String LOCATION = "Pune";
+    private static final String PLATFORM = "SWIGGY";
+
+    @Autowired
+    private CoverageService coverageService;
+    @Autowired
+    private PremiumCalculatorService premiumCalculatorService;
+    @Autowired
+    private InsuranceMetrics insuranceMetrics;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private CoverageAggregateService coverageAggregateService;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void secondActivationOfAPolicyInTheSameBatchIsRejected() throws Exception {
+        BigDecimal initial = new BigDecimal("1000.00");
+        String policy = PolicyFixtures.insertPolicy(jdbcTemplate, prefix("TWICE"), initial);
+        LocalDate today = LocalDate.now();
+
+        List<PendingActivation> batch = List.of(pending(policy, today), pending(policy, today));
+        batcher(coverageService, new TransactionTemplate(transactionManager), new SimpleMeterRegistry()).flush(batch);
+
+        assertTrue(batch.get(0).result.get().getCoverageActive());
+        assertFailed(batch.get(1).result, "Coverage is already active for today");
+        assertEquals(0, initial.subtract(premium()).compareTo(walletBalance(policy)));
+        assertEquals(1, activeCoverageDays(policy));
+    }
+
+    @Test
+    void insufficientBalancePartwayFailsOnlyThatRequest() throws Exception {
+        BigDecimal initial = premium().multiply(new BigDecimal("1.5"));
+        String[] policies = PolicyFixtures.insertPolicies(jdbcTemplate, prefix("SHORT"), 2, initial);
+        LocalDate today = LocalDate.now();
+
+        List<PendingActivation> batch = List.of(
+                pending(policies[0], today),
+                pending(policies[0], today.plusDays(1)),
+                pending(policies[1], today));
+        batcher(coverageService, new TransactionTemplate(transactionManager), new SimpleMeterRegistry()).flush(batch);
+
+        assertTrue(batch.get(0).result.get().getCoverageActive());
+        assertFailed(batch.get(1).result, "Insufficient wallet balance to activate coverage");
+        assertTrue(batch.get(2).result.get().getCoverageActive());
+        assertEquals(0, initial.subtract(premium()).compareTo(walletBalance(policies[0])));
+        assertEquals(1, activeCoverageDays(policies[0]));
+        assertEquals(0, initial.subtract(premium()).compareTo(walletBalance(policies[1])));
+    }
+
+    @Test
+    void conflictingTopUpFallsBackToPerRequestPath() throws Exception {
+        BigDecimal initial = new BigDecimal("1000.00");
+        BigDecimal topUp = new BigDecimal("100.00");
+        String policy = PolicyFixtures.insertPolicy(jdbcTemplate, prefix("CONFLICT"), initial);
+
+        // Commits a top-up in its own transaction after the batch has read the wallet
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicBoolean toppedUp = new AtomicBoolean();
+        PremiumCalculatorService interfering = new PremiumCalculatorService(insuranceMetrics) {
+            @Override
+            public BigDecimal calculateDailyPremium(BigDecimal basePremium, Double temperature, String location,
+                                                    String gigPlatform) {
+                if (toppedUp.compareAndSet(false, true)) {
+                    concurrent.executeWithoutResult(status -> jdbcTemplate.update("UPDATE policies " +
+                                    "SET wallet_balance = wallet_balance + :amount WHERE policy_number = :number",
+                            Map.of("amount", topUp, "number", policy)));
+                }
+                return premiumCalculatorService.calculateDailyPremium(basePremium, temperature, location, gigPlatform);
+            }
+
+            @Override
+            public BigDecimal calculateWeatherRiskMultiplier(Double temperature, String location) {
+                return premiumCalculatorService.calculateWeatherRiskMultiplier(temperature, location);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CoverageActivationBatcher batcher = new CoverageActivationBatcher(coverageService, interfering,
+                outboxService, coverageAggregateService, jdbcTemplate,
+                new TransactionTemplate(transactionManager), entityManagerFactory, registry, 200, 5, 100, 1_000);
+
+        List<PendingActivation> batch = List.of(pending(policy, LocalDate.now()));
+        batcher.flush(batch);
+
+        assertTrue(batch.get(0).result.get().getCoverageActive());
+        assertEquals(1.0, registry.counter("insurance.coverage.group-commit.fallbacks").count());
+        assertEquals(0, initial.add(topUp).subtract(premium()).compareTo(walletBalance(policy)));
+        assertEquals(1, activeCoverageDays(policy));
+    }
+
+    @Test
+    void futuresCompleteOnlyAfterCommit() throws Exception {
+        String policy = PolicyFixtures.insertPolicy(jdbcTemplate, prefix("COMMIT"), new BigDecimal("1000.00"));
+        List<PendingActivation> batch = List.of(pending(policy, LocalDate.now()));
+        ObservingTransactionTemplate template = new ObservingTransactionTemplate(transactionManager, batch, false);
+
+        batcher(coverageService, template, new SimpleMeterRegistry()).flush(batch);
+
+        assertTrue(template.reachedCommit);
+        assertFalse(template.anyDoneBeforeCommit);
+        assertFalse(template.anyDoneAtCommit);
+        assertTrue(batch.get(0).result.get().getCoverageActive());
+    }
+
+    @Test
+    void futuresFailWhenTheBatchRollsBackAndTheFallbackFails() {
+        BigDecimal initial = new BigDecimal("1000.00");
+        String policy = PolicyFixtures.insertPolicy(jdbcTemplate, prefix("ROLLBACK"), initial);
+        List<PendingActivation> batch = List.of(pending(policy, LocalDate.now()));
+        ObservingTransactionTemplate template = new ObservingTransactionTemplate(transactionManager, batch, true);
+        // The per-request path fails too, so nothing can complete the future successfully
+        CoverageService failingFallback = new CoverageService(null, null, null, null, null, null) {
+            @Override
+            public CoverageResponse toggleDailyCoverage(CoverageRequest request) {
+                throw new RuntimeException("Per-request path unavailable");
+            }
+        };
+
+        batcher(failingFallback, template, new SimpleMeterRegistry()).flush(batch);
+
+        assertFalse(template.anyDoneBeforeCommit);
+        assertFailed(batch.get(0).result, "Per-request path unavailable");
+        assertEquals(0, initial.compareTo(walletBalance(policy)));
+        assertEquals(0, activeCoverageDays(policy));
+    }
+
+    private CoverageActivationBatcher batcher(CoverageService fallback, TransactionTemplate template,
+                                              SimpleMeterRegistry registry) {
+        return new CoverageActivationBatcher(fallback, premiumCalculatorService, outboxService,
+                coverageAggregateService, jdbcTemplate, template, entityManagerFactory, registry,
+                200, 5, 100, 1_000);
+    }
+
+    private static PendingActivation pending(String policyNumber, LocalDate date) {
+        CoverageRequest request = new CoverageRequest();
+        request.setPolicyNumber(policyNumber);
+        request.setCoverageDate(date);
+        request.setToggleCoverage(true);
+        request.setTemperature(TEMPERATURE);
+        request.setLocation(LOCATION);
+        request.setGigPlatform(PLATFORM);
+        return new PendingActivation(request);
+    }
+
+    private BigDecimal premium() {
+        return premiumCalculatorService.calculateDailyPremium(PolicyFixtures.DAILY_PREMIUM, TEMPERATURE, LOCATION,
+                PLATFORM);
+    }
+
+    private BigDecimal walletBalance(String policyNumber) {
+        return jdbcTemplate.queryForObject("SELECT wallet_balance FROM policies WHERE policy_number = :number",
+                Map.of("number", policyNumber), BigDecimal.class);
+    }
+
+    private int activeCoverageDays(String policyNumber) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM coverage_records cr JOIN policies p " +
+                        "ON p.id = cr.policy_id WHERE p.policy_number = :number AND cr.is_active = TRUE",
+                Map.of("number", policyNumber), Integer.class);
+    }
+
+    private static void assertFailed(CompletableFuture<CoverageResponse> result, String message) {
+        ExecutionException e = assertThrows(ExecutionException.class, result::get);
+        assertEquals(message, e.getCause().getMessage());
+    }
+
+    private static String prefix(String name) {
+        return "BATCH-" + name + "-" + System.nanoTime() + "-";
+    }
+
+    /**
+     * Records whether any future of the batch completed before the batch's transaction
+     * reached commit, and can fail the transaction after the batch is applied
+     */
+    private static final class ObservingTransactionTemplate extends TransactionTemplate {
+
+        private final List<CompletableFuture<CoverageResponse>> futures = new ArrayList<>();
+        private final boolean failAfterApply;
+
+        volatile boolean reachedCommit;
+        volatile boolean anyDoneBeforeCommit;
+        volatile boolean anyDoneAtCommit;
+
+        ObservingTransactionTemplate(PlatformTransactionManager transactionManager, List<PendingActivation> batch,
+                                     boolean failAfterApply) {
+            super(transactionManager);
+            batch.forEach(pending -> futures.add(pending.result));
+            this.failAfterApply = failAfterApply;
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            return super.execute(status -> {
+                T result = action.doInTransaction(status);
+                anyDoneBeforeCommit = anyDone();
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        reachedCommit = true;
+                        anyDoneAtCommit = anyDone();
+                    }
+                });
+                if (failAfterApply) {
+                    throw new IllegalStateException("Simulated failure before commit");
+                }
+                return result;
+            });
+        }
+
+        private boolean anyDone() {
+            return futures.stream().anyMatch(CompletableFuture::isDone);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.dto.AggregateReconciliationReport;
+import com.togglecover.insurance.model.dto.CoverageRequest;
+import com.togglecover.insurance.service.CoverageAggregateService.Delta;
+import com.togglecover.insurance.support.PolicyFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * coverage_daily_aggregates on H2 (the MERGE upsert): deltas add up per bucket, a
+ * re-activation moves its day from the old bucket to the new one, and the reconciler
+ * reports, repairs and backfills buckets from the raw coverage rows. Each test works
+ * on its own plan, and the fixed past dates belong to one test each.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CoverageAggregateTest {
+
+    @Autowired
+    private CoverageAggregateService coverageAggregateService;
+    @Autowired
+    private CoverageAggregateReconciler coverageAggregateReconciler;
+    @Autowired
+    private CoverageService coverageService;
+    @Autowired
+    private PremiumCalculatorService premiumCalculatorService;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void upsertsAddDeltasToTheirBuckets() {
+        long planId = PolicyFixtures.insertPlan(jdbcTemplate, "AGG-UPSERT-" + System.nanoTime());
+        LocalDate date = LocalDate.of(2020, 1, 15);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> coverageAggregateService.apply(List.of(
+                Delta.activation(date, "Pune", "SWIGGY", planId, new BigDecimal("10.00")),
+                Delta.activation(date, " Pune ", "SWIGGY", planId, new BigDecimal("12.50")),
+                Delta.activation(date, null, " ", planId, new BigDecimal("5.00")))));
+        transaction.executeWithoutResult(status -> coverageAggregateService.apply(List.of(
+                Delta.reversal(date, "Pune", "SWIGGY", planId, new BigDecimal("10.00")),
+                Delta.activation(date, "Pune", "SWIGGY", planId, new BigDecimal("7.25")))));
+
+        assertBucket(planId, date, "Pune", "SWIGGY", 2, "19.75");
+        assertBucket(planId, date, CoverageAggregateService.UNKNOWN, CoverageAggregateService.UNKNOWN, 1, "5.00");
+    }
+
+    @Test
+    void reactivationMovesTheDayToItsNewBucket() {
+        String policy = PolicyFixtures.insertPolicy(jdbcTemplate, "AGG-REACTIVATE-" + System.nanoTime() + "-",
+                new BigDecimal("1000.00"));
+        long planId = planOf(policy);
+        LocalDate today = LocalDate.now();
+
+        coverageService.toggleDailyCoverage(request(policy, true, "Pune", "SWIGGY"));
+        coverageService.toggleDailyCoverage(request(policy, false, "Pune", "SWIGGY"));
+        coverageService.toggleDailyCoverage(request(policy, true, "Mumbai", "ZOMATO"));
+
+        BigDecimal premium = premiumCalculatorService.calculateDailyPremium(PolicyFixtures.DAILY_PREMIUM, 30.0,
+                "Mumbai", "ZOMATO");
+        assertBucket(planId, today, "Pune", "SWIGGY", 0, "0.00");
+        assertBucket(planId, today, "Mumbai", "ZOMATO", 1, premium.toPlainString());
+    }
+
+    @Test
+    void reconcilerReportsAndRepairsMismatches() {
+        String[] policies = PolicyFixtures.insertPolicies(jdbcTemplate, "AGG-REPAIR-" + System.nanoTime() + "-", 2,
+                new BigDecimal("1000.00"));
+        long planId = planOf(policies[0]);
+        LocalDate date = LocalDate.of(2020, 2, 15);
+        insertCoverage(policies[0], date, "Pune", "SWIGGY", "10.00");
+        insertCoverage(policies[1], date, "", "SWIGGY", "12.50");
+        // A bucket no raw row backs, e.g. left behind by a lost reversal
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> coverageAggregateService.apply(
+                List.of(new Delta(CoverageAggregateService.BucketKey.of(date, "Ghost", "SWIGGY", planId), 3,
+                        new BigDecimal("30.00")))));
+
+        AggregateReconciliationReport report = coverageAggregateReconciler.reconcile(date, false);
+        assertEquals(3, report.getMismatches());
+        assertFalse(report.isRepaired());
+        assertNull(bucket(planId, date, "Pune", "SWIGGY"));
+
+        assertTrue(coverageAggregateReconciler.reconcile(date, true).isRepaired());
+        assertBucket(planId, date, "Pune", "SWIGGY", 1, "10.00");
+        assertBucket(planId, date, CoverageAggregateService.UNKNOWN, "SWIGGY", 1, "12.50");
+        assertBucket(planId, date, "Ghost", "SWIGGY", 0, "0.00");
+        assertEquals(0, coverageAggregateReconciler.reconcile(date, false).getMismatches());
+    }
+
+    @Test
+    void backfillBuildsBucketsForDatesWithoutAggregates() {
+        String[] policies = PolicyFixtures.insertPolicies(jdbcTemplate, "AGG-BACKFILL-" + System.nanoTime() + "-",
+                2, new BigDecimal("1000.00"));
+        long planId = planOf(policies[0]);
+        LocalDate date = LocalDate.of(2020, 3, 15);
+        insertCoverage(policies[0], date, "Pune", "SWIGGY", "10.00");
+        insertCoverage(policies[1], date, "Pune", "SWIGGY", "11.00");
+
+        assertTrue(coverageAggregateReconciler.backfill() >= 1);
+
+        assertBucket(planId, date, "Pune", "SWIGGY", 2, "21.00");
+        assertEquals(0, coverageAggregateReconciler.backfill());
+    }
+
+    private static CoverageRequest request(String policyNumber, boolean activate, String location,
+                                           String gigPlatform) {
+        CoverageRequest request = new CoverageRequest();
+        request.setPolicyNumber(policyNumber);
+        request.setToggleCoverage(activate);
+        request.setTemperature(30.0);
+        request.setLocation(location);
+        request.setGigPlatform(gigPlatform);
+        return request;
+    }
+
+    private long planOf(String policyNumber) {
+        return jdbcTemplate.queryForObject("SELECT plan_id FROM policies WHERE policy_number = :number",
+                Map.of("number", policyNumber), Long.class);
+    }
+
+    private void insertCoverage(String policyNumber, LocalDate date, String location, String gigPlatform,
+                                String premium) {
+        jdbcTemplate.update("INSERT INTO coverage_records (policy_id, coverage_date, status, premium_amount, " +
+                        "is_active, location, gig_platform) SELECT id, :date, 'ACTIVE', :premium, TRUE, :location, " +
+                        ":gigPlatform FROM policies WHERE policy_number = :number",
+                new MapSqlParameterSource()
+                        .addValue("number", policyNumber)
+                        .addValue("date", date)
+                        .addValue("premium", new BigDecimal(premium))
+                        .addValue("location", location)
+                        .addValue("gigPlatform", gigPlatform));
+    }
+
+    private Map<String, Object> bucket(long planId, LocalDate date, String location, String gigPlatform) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT activations, premium_total " +
+                        "FROM coverage_daily_aggregates WHERE plan_id = :planId AND aggregate_date = :date " +
+                        "AND location = :location AND gig_platform = :gigPlatform",
+                new MapSqlParameterSource()
+                        .addValue("planId", planId)
+                        .addValue("date", date)
+                        .addValue("location", location)
+                        .addValue("gigPlatform", gigPlatform));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private void assertBucket(long planId, LocalDate date, String location, String gigPlatform, long activations,
+                              String premiumTotal) {
+        Map<String, Object> bucket = bucket(planId, date, location, gigPlatform);
+        assertNotNull(bucket, "no bucket for " + location + "/" + gigPlatform);
+        assertEquals(activations, ((Number) bucket.get("activations")).longValue());
+        assertEquals(0, new BigDecimal(premiumTotal).compareTo((BigDecimal) bucket.get("premium_total")));
+    }
+}
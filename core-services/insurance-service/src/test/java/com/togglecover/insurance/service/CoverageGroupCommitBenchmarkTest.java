@@ -0,0 +1,143 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.dto.CoverageRequest;
+import com.togglecover.insurance.support.PolicyFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Activation throughput and latency with per-request commits versus group commit at
+ * several flush delays. Every run activates fresh policies from concurrent callers.
+ * <p>
+ * Enabled by {@code -Dbenchmark=true}; add {@code -Dspring.profiles.active=postgres} to
+ * measure against PostgreSQL, where commit fsync dominates. Size with -Dbenchmark.riders,
+ * -Dbenchmark.clients and -Dbenchmark.delays (comma-separated milliseconds).
+ */
+@SpringBootTest(properties = {
+        "logging.level.com.togglecover.insurance=INFO",
+        "spring.datasource.url=jdbc:h2:file:./target/benchmark/insurance_db;DB_CLOSE_ON_EXIT=FALSE"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CoverageGroupCommitBenchmarkTest {
+
+    private static final int RIDERS = Integer.getInteger("benchmark.riders", 5000);
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 500);
+    private static final String DELAYS = System.getProperty("benchmark.delays", "1,5,20");
+
+    @Autowired
+    private CoverageService coverageService;
+    @Autowired
+    private PremiumCalculatorService premiumCalculatorService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private CoverageAggregateService coverageAggregateService;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void compareCommitModes() throws Exception {
+        System.out.printf("%-16s %7s %7s %10s %8s %8s %8s %7s%n",
+                "mode", "riders", "clients", "act/s", "p50", "p99", "max(ms)", "errors");
+
+        String[] policies = seedPolicies("SYNC");
+        report("per-request", policies, run(policies, request -> coverageService.toggleDailyCoverage(request)));
+
+        for (String delay : DELAYS.split(",")) {
+            long delayMs = Long.parseLong(delay.trim());
+            CoverageActivationBatcher batcher = new CoverageActivationBatcher(coverageService,
+                    premiumCalculatorService, outboxService, coverageAggregateService,
+                    jdbcTemplate, new TransactionTemplate(transactionManager), entityManagerFactory,
+                    new SimpleMeterRegistry(),
+                    200, delayMs, 10_000, 5_000);
+            batcher.start();
+            try {
+                policies = seedPolicies("G" + delayMs);
+                report("group " + delayMs + "ms", policies, run(policies, request -> batcher.submit(request).join()));
+            } finally {
+                batcher.stop();
+            }
+        }
+    }
+
+    private Run run(String[] policies, Consumer<CoverageRequest> activate) throws InterruptedException {
+        long[] latencies = new long[policies.length];
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                executor.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < policies.length) {
+                        CoverageRequest request = new CoverageRequest();
+                        request.setPolicyNumber(policies[i]);
+                        request.setToggleCoverage(true);
+                        request.setCoverageDate(LocalDate.now());
+                        request.setLocation("Pune");
+                        request.setGigPlatform("SWIGGY");
+                        request.setTemperature(30.0);
+                        long begin = System.nanoTime();
+                        try {
+                            activate.accept(request);
+                        } catch (RuntimeException e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - begin;
+                    }
+                });
+            }
+        }
+        return new Run(latencies, System.nanoTime() - start, errors.get());
+    }
+
+    private void report(String mode, String[] policies, Run run) {
+        long[] sorted = run.latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-16s %7d %7d %10.0f %8.1f %8.1f %8.1f %7d%n",
+                mode, policies.length, CLIENTS, policies.length / (run.elapsedNanos / 1e9),
+                sorted[(int) (sorted.length * 0.50)] / 1e6,
+                sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))] / 1e6,
+                sorted[sorted.length - 1] / 1e6, run.errors);
+
+        Integer active = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM coverage_records cr JOIN policies p ON p.id = cr.policy_id " +
+                        "WHERE p.policy_number IN (:numbers) AND cr.is_active = TRUE",
+                Map.of("numbers", Arrays.asList(policies)), Integer.class);
+        assertEquals(0, run.errors, mode + " had failed activations");
+        assertEquals(policies.length, active, mode + " did not activate every policy");
+    }
+
+    private String[] seedPolicies(String tag) {
+        return PolicyFixtures.insertPolicies(jdbcTemplate, "BENCH-" + tag + "-" + System.currentTimeMillis() + "-",
+                RIDERS, new BigDecimal("1000.00"));
+    }
+
+    private record Run(long[] latencies, long elapsedNanos, long errors) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.dto.CoverageDaysResponse;
+import com.togglecover.insurance.support.PolicyFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Coverage written by another instance (here: straight into coverage_records) shows up in
+ * status and coverage-day history, which no longer depend on this instance's day index
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CoverageHistoryTest {
+
+    @Autowired
+    private CoverageService coverageService;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Test
+    void seesCoverageThisInstanceDidNotWrite() {
+        String policyNumber = PolicyFixtures.insertPolicy(jdbcTemplate, "HISTORY-" + System.nanoTime() + "-",
+                new BigDecimal("1000.00"));
+        LocalDate today = LocalDate.now();
+        // Covered the three days before today, not today itself
+        for (int daysAgo = 1; daysAgo <= 3; daysAgo++) {
+            insertActiveCoverage(policyNumber, today.minusDays(daysAgo));
+        }
+
+        assertTrue(coverageService.getCoverageStatus(policyNumber, today.minusDays(1)).getIsCoverageActiveToday());
+        assertFalse(coverageService.getCoverageStatus(policyNumber, today).getIsCoverageActiveToday());
+
+        CoverageDaysResponse days = coverageService.getCoverageDays(policyNumber, YearMonth.from(today));
+        assertFalse(days.getCoveredToday());
+        assertEquals(3, days.getActiveStreakDays());
+        int inMonth = (int) IntStream.rangeClosed(1, 3)
+                .filter(daysAgo -> YearMonth.from(today.minusDays(daysAgo)).equals(YearMonth.from(today)))
+                .count();
+        assertEquals(inMonth, days.getDaysCoveredInMonth());
+    }
+
+    private void insertActiveCoverage(String policyNumber, LocalDate date) {
+        Long policyId = jdbcTemplate.queryForObject("SELECT id FROM policies WHERE policy_number = :number",
+                Map.of("number", policyNumber), Long.class);
+        jdbcTemplate.update("INSERT INTO coverage_records (policy_id, coverage_date, status, premium_amount, " +
+                        "is_active, location, gig_platform) VALUES (:policyId, :date, 'ACTIVE', 10.00, TRUE, " +
+                        "'Pune', 'SWIGGY')",
+                new MapSqlParameterSource().addValue("policyId", policyId).addValue("date", date));
+    }
+}
@@ -0,0 +1,140 @@
+package com.togglecover.insurance.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togglecover.insurance.model.dto.EventLogEntry;
+import com.togglecover.insurance.model.entity.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileEventLogTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsAcrossSegmentsAndKeepsConsumerOffsets() throws Exception {
+        try (FileEventLog log = new FileEventLog(directory, OBJECT_MAPPER, 4 * 1024)) {
+            for (long batch = 0; batch < 10; batch++) {
+                log.publish(events(batch * 100 + 1, 100));
+            }
+
+            List<EventLogEntry> all = log.read(0, 5000);
+            assertEquals(1000, all.size());
+            for (int i = 0; i < all.size(); i++) {
+                assertEquals(i, all.get(i).getOffset());
+                assertEquals(i + 1, all.get(i).getEventId());
+            }
+            assertEquals(250, log.read(250, 1).get(0).getOffset());
+
+            log.commit("analytics", 640);
+        }
+
+        try (FileEventLog reopened = new FileEventLog(directory, OBJECT_MAPPER, 4 * 1024)) {
+            assertEquals(640, reopened.committedOffset("analytics"));
+            assertEquals(0, reopened.committedOffset("claims"));
+            assertEquals(1000, reopened.getEndOffset());
+            assertEquals("POLICY_CREATED", reopened.read(640, 1).get(0).getEventType());
+        }
+    }
+
+    @Test
+    void losesNoAcknowledgedEventWhenWriterIsKilled() throws Exception {
+        long acknowledged = 0;
+
+        for (int round = 0; round < 3; round++) {
+            // Like the relay after a crash, resume from the last event present in the log
+            long resumeFrom;
+            try (FileEventLog log = new FileEventLog(directory, OBJECT_MAPPER, 256 * 1024)) {
+                long end = log.getEndOffset();
+                resumeFrom = end == 0 ? 1 : log.read(end - 1, 1).get(0).getEventId() + 1;
+            }
+
+            Process writer = new ProcessBuilder(
+                    Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    KilledWriter.class.getName(), directory.toString(), Long.toString(resumeFrom))
+                    .redirectErrorStream(true)
+                    .start();
+
+            try (BufferedReader output = new BufferedReader(
+                    new InputStreamReader(writer.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    if (line.startsWith("ACK ")) {
+                        acknowledged = Math.max(acknowledged, Long.parseLong(line.substring(4)));
+                        if (acknowledged >= resumeFrom + 20_000) {
+                            break;
+                        }
+                    }
+                }
+            }
+            writer.destroyForcibly(); // SIGKILL on Unix
+            writer.waitFor();
+        }
+
+        try (FileEventLog log = new FileEventLog(directory, OBJECT_MAPPER, 256 * 1024)) {
+            BitSet seen = new BitSet();
+            long expectedOffset = 0;
+            List<EventLogEntry> page;
+            while (!(page = log.read(expectedOffset, 5000)).isEmpty()) {
+                for (EventLogEntry entry : page) {
+                    assertEquals(expectedOffset++, entry.getOffset());
+                    seen.set(Math.toIntExact(entry.getEventId()));
+                }
+            }
+
+            assertTrue(acknowledged >= 60_000, "acknowledged only " + acknowledged);
+            int firstMissing = seen.nextClearBit(1);
+            assertTrue(firstMissing > acknowledged,
+                    "event " + firstMissing + " was acknowledged but is missing from the log");
+        }
+    }
+
+    /**
+     * Child process: appends batches forever, printing the last event id after each
+     * publish returns, until the test kills it
+     */
+    public static class KilledWriter {
+
+        public static void main(String[] args) throws Exception {
+            FileEventLog log = new FileEventLog(Paths.get(args[0]), OBJECT_MAPPER, 256 * 1024);
+            long nextId = Long.parseLong(args[1]);
+            while (true) {
+                log.publish(events(nextId, 250));
+                nextId += 250;
+                System.out.println("ACK " + (nextId - 1));
+                System.out.flush();
+            }
+        }
+    }
+
+    private static List<OutboxEvent> events(long firstId, int count) {
+        List<OutboxEvent> events = new ArrayList<>(count);
+        for (long id = firstId; id < firstId + count; id++) {
+            OutboxEvent event = new OutboxEvent();
+            event.setId(id);
+            event.setAggregateType("POLICY");
+            event.setAggregateId("POL202610" + id);
+            event.setEventType("POLICY_CREATED");
+            event.setPayload("{\"policyNumber\":\"POL202610" + id + "\",\"status\":\"ACTIVE\"}");
+            event.setCreatedAt(LocalDateTime.of(2026, 10, 19, 12, 0));
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,103 @@
+package com.togglecover.insurance.service;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InsuranceMetricsTest {
+
+    private static final Set<String> CITY_CLASSES = Set.of(
+            PremiumCalculatorService.HIGH_RISK_ZONE, PremiumCalculatorService.HIGH_RISK_AREA,
+            PremiumCalculatorService.RESIDENTIAL, PremiumCalculatorService.STANDARD, InsuranceMetrics.UNKNOWN);
+
+    @Test
+    void meterCountStaysBoundedUnderRandomInputs() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InsuranceMetrics metrics = new InsuranceMetrics(registry);
+        PremiumCalculatorService calculator = new PremiumCalculatorService(metrics);
+        ReflectionTestUtils.setField(calculator, "baseDailyPremium", 5.0);
+        ReflectionTestUtils.setField(calculator, "weatherThresholdTemperature", 35.0);
+        ReflectionTestUtils.setField(calculator, "weatherRiskMultiplier", 1.5);
+        ReflectionTestUtils.setField(calculator, "highRiskZones", List.of("Mumbai", "Chennai", "Delhi", "Bangalore"));
+
+        Random random = new Random(42);
+        List<RuntimeException> failures = List.of(new RuntimeException("Policy not found"),
+                new DataIntegrityViolationException("duplicate"), new IllegalStateException("closed"));
+        for (int i = 0; i < 20_000; i++) {
+            String platform = randomPlatform(random);
+            String location = randomLocation(random);
+            calculator.calculateDailyPremium(BigDecimal.TEN, 20.0 + random.nextInt(25), location, platform);
+
+            RuntimeException failure = random.nextBoolean() ? null : failures.get(random.nextInt(failures.size()));
+            metrics.recordCoverageToggle(random.nextBoolean() ? "activate" : "deactivate",
+                    InsuranceMetrics.outcome(failure), platform, calculator.locationRiskClass(location),
+                    random.nextInt(1_000_000));
+            metrics.recordWalletDebit(random.nextBoolean() ? "coverage_premium" : "adjustment",
+                    BigDecimal.valueOf(random.nextInt(500)));
+            metrics.recordPolicyCreation(InsuranceMetrics.outcome(failure), random.nextInt(1_000_000));
+            metrics.recordAuthValidation(random.nextBoolean() ? "valid" : "invalid", random.nextInt(1_000_000));
+        }
+
+        int platforms = InsuranceMetrics.KNOWN_PLATFORMS.size() + 2;
+        int bound = platforms * CITY_CLASSES.size()              // premium calculation
+                + 2 * 3 * platforms * CITY_CLASSES.size()         // toggle: action x outcome
+                + 2 + 3 + 2;                                      // wallet, policy creation, auth
+        assertTrue(registry.getMeters().size() <= bound,
+                "meters: " + registry.getMeters().size() + ", bound: " + bound);
+
+        Set<String> platformValues = new HashSet<>();
+        for (Meter meter : registry.getMeters()) {
+            for (Tag tag : meter.getId().getTags()) {
+                switch (tag.getKey()) {
+                    case "platform" -> platformValues.add(tag.getValue());
+                    case "city.class" -> assertTrue(CITY_CLASSES.contains(tag.getValue()), tag.getValue());
+                    case "outcome" -> assertTrue(Set.of("success", "rejected", "error", "valid", "invalid")
+                            .contains(tag.getValue()), tag.getValue());
+                    default -> {
+                    }
+                }
+            }
+        }
+        assertTrue(platformValues.size() <= platforms, platformValues.toString());
+        assertTrue(platformValues.contains(InsuranceMetrics.OTHER));
+    }
+
+    @Test
+    void normalisesPlatformsAndClassifiesOutcomes() {
+        assertEquals("SWIGGY", InsuranceMetrics.platform(" swiggy "));
+        assertEquals(InsuranceMetrics.OTHER, InsuranceMetrics.platform("my-bike-co-7731"));
+        assertEquals(InsuranceMetrics.UNKNOWN, InsuranceMetrics.platform(" "));
+
+        assertEquals(InsuranceMetrics.SUCCESS, InsuranceMetrics.outcome(null));
+        assertEquals(InsuranceMetrics.REJECTED, InsuranceMetrics.outcome(new RuntimeException("Policy is not active")));
+        assertEquals(InsuranceMetrics.ERROR, InsuranceMetrics.outcome(
+                new CompletionException(new DataIntegrityViolationException("x"))));
+    }
+
+    private static String randomPlatform(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> null;
+            case 1 -> List.copyOf(InsuranceMetrics.KNOWN_PLATFORMS)
+                    .get(random.nextInt(InsuranceMetrics.KNOWN_PLATFORMS.size())).toLowerCase();
+            default -> Long.toString(random.nextLong(), 36);
+        };
+    }
+
+    private static String randomLocation(Random random) {
+        String[] parts = {"Mumbai", "Pune", "industrial", "colony", "", "Sector " + random.nextInt(10_000)};
+        return random.nextInt(10) == 0 ? null : parts[random.nextInt(parts.length)] + " " + random.nextInt(1000);
+    }
+}
@@ -0,0 +1,153 @@
+package com.togglecover.insurance.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togglecover.insurance.model.dto.EventLogEntry;
+import com.togglecover.insurance.model.entity.OutboxEvent;
+import com.togglecover.insurance.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Outbox rows through the relay into the embedded event log. The scheduled relay is off,
+ * so each test drives the relays itself; events are told apart by an aggregate id prefix.
+ */
+@SpringBootTest(properties = "insurance.outbox.enabled=false")
+@ActiveProfiles("test")
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private FileEventLog fileEventLog;
+    @Autowired
+    private EventLogOwnership eventLogOwnership;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path otherInstanceLogDirectory;
+
+    @Test
+    void relaysEveryRowOnceInOutboxOrder() throws IOException {
+        long from = fileEventLog.getEndOffset();
+        List<Long> staged = stage("RELAY-" + System.nanoTime() + "-", 2500);
+
+        assertTrue(outboxRelay.drain() >= staged.size());
+
+        assertEquals(staged, relayedIds(from, staged));
+        assertTrue(outboxEventRepository.findAllById(staged).isEmpty());
+    }
+
+    @Test
+    void aBatchStoredButNotDeletedIsRelayedAgain() throws IOException {
+        long from = fileEventLog.getEndOffset();
+        List<Long> staged = stage("CRASH-" + System.nanoTime() + "-", 300);
+        // Stored and forced to disk, then the relay dies before deleting the rows
+        OutboxRelay crashing = relay(new EventSink() {
+            @Override
+            public void publish(List<OutboxEvent> events) throws IOException {
+                fileEventLog.publish(events);
+                throw new IOException("killed before the outbox rows were deleted");
+            }
+
+            @Override
+            public String localStoreId() {
+                return fileEventLog.localStoreId();
+            }
+        });
+
+        assertEquals(0, crashing.drain());
+        assertEquals(staged.size(), outboxEventRepository.findAllById(staged).size());
+        outboxRelay.drain();
+
+        // At least once: the first attempt's copy, then the retry's
+        List<Long> twice = new ArrayList<>(staged);
+        twice.addAll(staged);
+        assertEquals(twice, relayedIds(from, staged));
+        assertTrue(outboxEventRepository.findAllById(staged).isEmpty());
+    }
+
+    @Test
+    void anotherInstancesLogGetsNoEvents() throws IOException {
+        // Make sure this context's log has claimed the stream
+        outboxRelay.drain();
+        List<Long> staged = stage("OTHER-" + System.nanoTime() + "-", 10);
+
+        try (FileEventLog otherLog = new FileEventLog(otherInstanceLogDirectory, objectMapper, 64 * 1024)) {
+            assertEquals(0, relay(otherLog).drain());
+            assertEquals(0, otherLog.getEndOffset());
+            assertFalse(eventLogOwnership.owns(otherLog.getLogId()));
+        }
+        assertEquals(staged.size(), outboxEventRepository.findAllById(staged).size());
+        assertTrue(eventLogOwnership.owns(fileEventLog.getLogId()));
+
+        long from = fileEventLog.getEndOffset();
+        outboxRelay.drain();
+        assertEquals(staged, relayedIds(from, staged));
+    }
+
+    private List<Long> stage(String prefix, int count) {
+        List<OutboxEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OutboxEvent event = new OutboxEvent();
+            event.setAggregateType("POLICY");
+            event.setAggregateId(prefix + i);
+            event.setEventType(OutboxService.POLICY_CREATED);
+            event.setPayload("{\"policyNumber\":\"" + prefix + i + "\"}");
+            events.add(event);
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxService.recordAll(events));
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    /**
+     * Ids of the staged events found in the log from the offset on, in log order
+     */
+    private List<Long> relayedIds(long fromOffset, List<Long> staged) throws IOException {
+        Set<Long> stagedIds = new HashSet<>(staged);
+        List<Long> ids = new ArrayList<>();
+        List<EventLogEntry> page;
+        long offset = fromOffset;
+        while (!(page = fileEventLog.read(offset, 5000)).isEmpty()) {
+            for (EventLogEntry entry : page) {
+                if (stagedIds.contains(entry.getEventId())) {
+                    ids.add(entry.getEventId());
+                }
+                offset = entry.getOffset() + 1;
+            }
+        }
+        return ids;
+    }
+
+    private OutboxRelay relay(EventSink sink) {
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, sink, eventLogOwnership, transactionTemplate,
+                meterRegistry);
+        ReflectionTestUtils.setField(relay, "batchSize", 1000);
+        return relay;
+    }
+}
@@ -0,0 +1,128 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.dto.PlanComparisonDTO;
+import com.togglecover.insurance.model.entity.InsurancePlan;
+import com.togglecover.insurance.repository.InsurancePlanRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Plan comparison against plans saved through the repository, so the cached active-plan
+ * query sees them. Plan codes carry a per-test prefix.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PlanComparisonTest {
+
+    private static final double TEMPERATURE = 41.5;
+    private static final String LOCATION = "Mumbai Andheri";
+    private static final String PLATFORM = "ZEPTO";
+
+    @Autowired
+    private InsurancePlanService insurancePlanService;
+    @Autowired
+    private InsurancePlanRepository insurancePlanRepository;
+    @Autowired
+    private PremiumCalculatorService premiumCalculatorService;
+
+    @Test
+    void pricesEachPlanUnderOneMultiplierAndLabelsItsBreakEven() {
+        String prefix = "CMP" + System.nanoTime() + "-";
+        List<InsurancePlan> plans = insurancePlanRepository.saveAll(List.of(
+                plan(prefix + "CHEAP", "5.00", "100000.00"),
+                plan(prefix + "WIDE", "20.00", "2000000.00"),
+                plan(prefix + "VALUE", "8.00", "900000.00"),
+                plan(prefix + "MID", "12.00", "300000.00"),
+                plan(prefix + "THIN", "15.00", "200000.00")));
+
+        List<PlanComparisonDTO> comparisons = insurancePlanService.comparePlans(
+                plans.stream().map(InsurancePlan::getPlanCode).toList(), TEMPERATURE, LOCATION, PLATFORM);
+
+        BigDecimal multiplier = premiumCalculatorService.calculateRiskMultiplier(TEMPERATURE, LOCATION, PLATFORM);
+        assertEquals(List.of(prefix + "CHEAP", prefix + "VALUE", prefix + "MID", prefix + "THIN", prefix + "WIDE"),
+                comparisons.stream().map(PlanComparisonDTO::getPlanCode).toList());
+        for (PlanComparisonDTO comparison : comparisons) {
+            BigDecimal daily = comparison.getBaseDailyPremium().multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal annual = premiumCalculatorService.calculateAnnualPremium(daily);
+            assertEquals(multiplier.doubleValue(), comparison.getRiskMultiplier());
+            assertEquals(daily, comparison.getDailyPremium());
+            assertEquals(premiumCalculatorService.calculateMonthlyPremium(daily), comparison.getMonthlyPremium());
+            assertEquals(annual, comparison.getAnnualPremium());
+            assertEquals(comparison.getCoverageAmount().divide(annual, 2, RoundingMode.HALF_UP).doubleValue(),
+                    comparison.getValueScore());
+            assertEquals(annual.divide(comparison.getCoverageAmount(), 6, RoundingMode.HALF_UP).doubleValue(),
+                    comparison.getBreakEvenClaimProbability());
+        }
+
+        Map<String, PlanComparisonDTO> byCode = comparisons.stream()
+                .collect(Collectors.toMap(PlanComparisonDTO::getPlanCode, Function.identity()));
+        assertEquals("Lowest daily premium", byCode.get(prefix + "CHEAP").getBestFor());
+        assertEquals("Highest coverage", byCode.get(prefix + "WIDE").getBestFor());
+        assertEquals("Best coverage for the premium", byCode.get(prefix + "VALUE").getBestFor());
+        PlanComparisonDTO mid = byCode.get(prefix + "MID");
+        PlanComparisonDTO thin = byCode.get(prefix + "THIN");
+        assertEquals("Pays for its premium with one claim in " + mid.getValueScore().intValue() + " years",
+                mid.getBestFor());
+        assertNotEquals(mid.getBestFor(), thin.getBestFor());
+    }
+
+    @Test
+    void withoutPlanCodesComparesTheCheapestActivePlansUpToTheCap() {
+        String prefix = "ALL" + System.nanoTime() + "-";
+        insurancePlanRepository.saveAll(IntStream.range(0, 25)
+                .mapToObj(i -> plan(prefix + i, (i + 1) + ".50", "500000.00"))
+                .toList());
+
+        List<PlanComparisonDTO> comparisons = insurancePlanService.comparePlans(
+                List.of(), TEMPERATURE, LOCATION, PLATFORM);
+
+        List<BigDecimal> cheapest = insurancePlanRepository.findByIsActive(true).stream()
+                .map(InsurancePlan::getDailyPremium)
+                .sorted()
+                .limit(20)
+                .toList();
+        assertEquals(20, comparisons.size());
+        assertEquals(cheapest, comparisons.stream()
+                .map(PlanComparisonDTO::getBaseDailyPremium)
+                .sorted(Comparator.naturalOrder())
+                .toList());
+    }
+
+    @Test
+    void rejectsMoreThanTwentyPlanCodes() {
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            codes.add("TOO-MANY-" + i);
+        }
+
+        assertThrows(RuntimeException.class,
+                () -> insurancePlanService.comparePlans(codes, TEMPERATURE, LOCATION, PLATFORM));
+    }
+
+    private static InsurancePlan plan(String planCode, String dailyPremium, String coverageAmount) {
+        InsurancePlan plan = new InsurancePlan();
+        plan.setPlanCode(planCode);
+        plan.setPlanName("Comparison plan " + planCode);
+        plan.setDailyPremium(new BigDecimal(dailyPremium));
+        plan.setCoverageAmount(new BigDecimal(coverageAmount));
+        plan.setCoverageType("ACCIDENT");
+        plan.setWaitingPeriodDays(0);
+        return plan;
+    }
+}
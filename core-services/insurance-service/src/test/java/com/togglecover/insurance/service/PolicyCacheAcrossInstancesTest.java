@@ -0,0 +1,133 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.config.HibernateCacheConfig;
+import com.togglecover.insurance.model.entity.Policy;
+import com.togglecover.insurance.support.PolicyFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.cache.CacheManager;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Two instances sharing one database, each with its own local second-level cache (here
+ * the application's EntityManagerFactory and a second one built on the same DataSource).
+ * A wallet change made on one leaves a stale policy in the other's cache; a change made
+ * from that stale copy fails on the version instead of overwriting the newer balance.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PolicyCacheAcrossInstancesTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private EntityManagerFactoryBuilder entityManagerFactoryBuilder;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private CacheManager otherCacheManager;
+    private EntityManagerFactory otherInstance;
+
+    @BeforeEach
+    void startOtherInstance() {
+        otherCacheManager = new HibernateCacheConfig().hibernateCacheManager(1000, 600, 100_000, 300, 1000, 60);
+        LocalContainerEntityManagerFactoryBean factory = entityManagerFactoryBuilder.dataSource(dataSource)
+                .packages(Policy.class)
+                .persistenceUnit("other-instance")
+                .properties(Map.of(
+                        ConfigSettings.CACHE_MANAGER, otherCacheManager,
+                        AvailableSettings.HBM2DDL_AUTO, "none",
+                        AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                        CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                        AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName()))
+                .build();
+        factory.afterPropertiesSet();
+        otherInstance = factory.getObject();
+    }
+
+    @AfterEach
+    void stopOtherInstance() {
+        otherInstance.close();
+        otherCacheManager.close();
+    }
+
+    @Test
+    void staleCachedPolicyCannotOverwriteANewerWallet() {
+        String policyNumber = PolicyFixtures.insertPolicy(jdbcTemplate, "TWO-INSTANCES-" + System.nanoTime() + "-",
+                new BigDecimal("100.00"));
+        long policyId = jdbcTemplate.queryForObject("SELECT id FROM policies WHERE policy_number = :number",
+                Map.of("number", policyNumber), Long.class);
+
+        // Both instances read, and so cache, the policy
+        read(entityManagerFactory, policyId);
+        read(otherInstance, policyId);
+
+        charge(otherInstance, policyId, wallet -> wallet.subtract(new BigDecimal("40.00")));
+
+        Policy stale = read(entityManagerFactory, policyId);
+        assertEquals(0, new BigDecimal("100.00").compareTo(stale.getWalletBalance()));
+        assertEquals(0L, stale.getVersion());
+        assertThrows(OptimisticLockException.class,
+                () -> charge(entityManagerFactory, policyId, wallet -> wallet.subtract(new BigDecimal("30.00"))));
+        assertStored(policyId, "60.00", 1);
+
+        // The failed write left no usable cache entry, so a retry works from the committed row
+        charge(entityManagerFactory, policyId, wallet -> wallet.subtract(new BigDecimal("30.00")));
+        assertStored(policyId, "30.00", 2);
+    }
+
+    private static Policy read(EntityManagerFactory instance, long policyId) {
+        EntityManager entityManager = instance.createEntityManager();
+        try {
+            return entityManager.find(Policy.class, policyId);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static void charge(EntityManagerFactory instance, long policyId, UnaryOperator<BigDecimal> newBalance) {
+        EntityManager entityManager = instance.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            Policy policy = entityManager.find(Policy.class, policyId);
+            policy.setWalletBalance(newBalance.apply(policy.getWalletBalance()));
+            entityManager.flush();
+            entityManager.getTransaction().commit();
+        } finally {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            entityManager.close();
+        }
+    }
+
+    private void assertStored(long policyId, String walletBalance, long version) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT wallet_balance, version FROM policies WHERE id = :id", Map.of("id", policyId));
+        assertEquals(0, new BigDecimal(walletBalance).compareTo((BigDecimal) row.get("wallet_balance")));
+        assertEquals(version, ((Number) row.get("version")).longValue());
+    }
+}
@@ -0,0 +1,137 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.support.PolicyFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The expiry job run directly against due policies inserted with SQL. One worker and a
+ * chunk of two, so a handful of policies spans several chunks of the same partition.
+ */
+@SpringBootTest(properties = {
+        "insurance.policy-expiry.chunk-size=2",
+        "insurance.policy-expiry.workers=1"
+})
+@ActiveProfiles("test")
+class PolicyExpiryJobTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.now();
+
+    @Autowired
+    private PolicyExpiryJob policyExpiryJob;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Test
+    void renewsFromTheRunDateAndChargesTheFee() {
+        String[] numbers = due("RENEW-", 3, new BigDecimal("25.00"), true, RUN_DATE.minusDays(3));
+
+        policyExpiryJob.processDuePolicies(RUN_DATE);
+
+        for (String number : numbers) {
+            Map<String, Object> policy = policy(number);
+            assertEquals("ACTIVE", policy.get("status"));
+            assertEquals(RUN_DATE.plusMonths(12), ((Date) policy.get("end_date")).toLocalDate());
+            assertEquals(0, new BigDecimal("15.00").compareTo((BigDecimal) policy.get("wallet_balance")));
+        }
+    }
+
+    @Test
+    void aPolicyOverdueByMoreThanATermIsRenewedOnce() {
+        String number = due("OVERDUE-", 1, new BigDecimal("100.00"), true, RUN_DATE.minusDays(400))[0];
+
+        policyExpiryJob.processDuePolicies(RUN_DATE);
+        policyExpiryJob.processDuePolicies(RUN_DATE);
+
+        Map<String, Object> policy = policy(number);
+        assertEquals(RUN_DATE.plusMonths(12), ((Date) policy.get("end_date")).toLocalDate());
+        assertEquals(0, new BigDecimal("90.00").compareTo((BigDecimal) policy.get("wallet_balance")));
+    }
+
+    @Test
+    void expiresPoliciesWithoutAutoRenew() {
+        String number = due("NORENEW-", 1, new BigDecimal("100.00"), false, RUN_DATE.minusDays(1))[0];
+
+        policyExpiryJob.processDuePolicies(RUN_DATE);
+
+        Map<String, Object> policy = policy(number);
+        assertEquals("EXPIRED", policy.get("status"));
+        assertEquals(RUN_DATE.minusDays(1), ((Date) policy.get("end_date")).toLocalDate());
+    }
+
+    @Test
+    void expiresWhenTheWalletCannotCoverTheFee() {
+        String number = due("BROKE-", 1, new BigDecimal("9.99"), true, RUN_DATE.minusDays(1))[0];
+
+        policyExpiryJob.processDuePolicies(RUN_DATE);
+
+        Map<String, Object> policy = policy(number);
+        assertEquals("EXPIRED", policy.get("status"));
+        assertEquals(0, new BigDecimal("9.99").compareTo((BigDecimal) policy.get("wallet_balance")));
+    }
+
+    @Test
+    void aFailingPolicyIsSkippedAndTheRestOfThePartitionIsProcessed() {
+        String[] numbers = due("POISON-", 5, new BigDecimal("50.00"), true, RUN_DATE.minusDays(1));
+        // No wallet balance at all: renewal throws, failing the first chunk
+        jdbcTemplate.update("UPDATE policies SET wallet_balance = NULL WHERE policy_number = :number",
+                Map.of("number", numbers[1]));
+
+        policyExpiryJob.processDuePolicies(RUN_DATE);
+
+        for (int i = 0; i < numbers.length; i++) {
+            Map<String, Object> policy = policy(numbers[i]);
+            assertEquals("ACTIVE", policy.get("status"));
+            LocalDate expectedEnd = i == 1 ? RUN_DATE.minusDays(1) : RUN_DATE.plusMonths(12);
+            assertEquals(expectedEnd, ((Date) policy.get("end_date")).toLocalDate(), numbers[i]);
+        }
+    }
+
+    @Test
+    void skipsTheRunWhileAnotherInstanceHoldsTheLock() {
+        String number = due("LOCKED-", 1, new BigDecimal("100.00"), false, RUN_DATE.minusDays(1))[0];
+        jdbcTemplate.update("MERGE INTO job_locks (name, locked_by, locked_until) KEY (name) " +
+                        "VALUES ('policy-expiry', 'insurance-service-2', :until)",
+                Map.of("until", LocalDateTime.now().plusHours(1)));
+        try {
+            policyExpiryJob.processDuePolicies(RUN_DATE);
+
+            assertEquals("ACTIVE", policy(number).get("status"));
+        } finally {
+            jdbcTemplate.update("DELETE FROM job_locks WHERE name = 'policy-expiry'", Map.of());
+        }
+
+        policyExpiryJob.processDuePolicies(RUN_DATE);
+
+        assertEquals("EXPIRED", policy(number).get("status"));
+    }
+
+    private String[] due(String prefix, int count, BigDecimal walletBalance, boolean autoRenew, LocalDate endDate) {
+        String unique = prefix + System.nanoTime() + "-";
+        String[] numbers = PolicyFixtures.insertPolicies(jdbcTemplate, unique, count, walletBalance);
+        jdbcTemplate.update("UPDATE policies SET end_date = :end, auto_renew = :autoRenew " +
+                        "WHERE policy_number LIKE :prefix",
+                new MapSqlParameterSource()
+                        .addValue("end", endDate)
+                        .addValue("autoRenew", autoRenew)
+                        .addValue("prefix", unique + "%"));
+        return numbers;
+    }
+
+    private Map<String, Object> policy(String number) {
+        return jdbcTemplate.queryForMap("SELECT status, end_date, wallet_balance FROM policies " +
+                "WHERE policy_number = :number", Map.of("number", number));
+    }
+}
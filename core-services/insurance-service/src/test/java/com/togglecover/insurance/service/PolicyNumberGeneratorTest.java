@@ -0,0 +1,86 @@
+package com.togglecover.insurance.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolicyNumberGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 500_000;
+
+    @Test
+    void generatesUniqueIncreasingIdsAcrossThreads() throws Exception {
+        PolicyNumberGenerator generator = new PolicyNumberGenerator(7, System::currentTimeMillis, ZoneOffset.UTC);
+        long[][] idsByThread = new long[THREADS][IDS_PER_THREAD];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            long[] ids = idsByThread[t];
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        long[] all = new long[THREADS * IDS_PER_THREAD];
+        for (int t = 0; t < THREADS; t++) {
+            long[] ids = idsByThread[t];
+            for (int i = 1; i < ids.length; i++) {
+                assertTrue(ids[i] > ids[i - 1], "ids must increase within a thread");
+            }
+            System.arraycopy(ids, 0, all, t * IDS_PER_THREAD, IDS_PER_THREAD);
+        }
+
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertTrue(all[i] != all[i - 1], "duplicate id " + all[i]);
+        }
+    }
+
+    @Test
+    void rejectsAMissingOrOutOfRangeNodeId() {
+        assertThrows(IllegalStateException.class, () -> new PolicyNumberGenerator("${NODE_ID}"));
+        assertThrows(IllegalArgumentException.class, () -> new PolicyNumberGenerator("1024"));
+    }
+
+    @Test
+    void staysMonotonicWhenClockStepsBackwards() {
+        long[] now = {PolicyNumberGenerator.EPOCH_MILLIS + 10_000};
+        PolicyNumberGenerator generator = new PolicyNumberGenerator(1, () -> now[0], ZoneOffset.UTC);
+
+        long first = generator.nextId();
+        now[0] -= 5_000;
+        long second = generator.nextId();
+
+        assertTrue(second > first);
+    }
+
+    @Test
+    void rendersYearAndMonthFromTheIdTimestamp() {
+        // 2026-10-19T09:30:00Z
+        PolicyNumberGenerator generator = new PolicyNumberGenerator(3, () -> 1792402200000L, ZoneOffset.UTC);
+
+        String policyNumber = generator.nextPolicyNumber();
+
+        assertTrue(policyNumber.startsWith("POL202610"), policyNumber);
+        assertEquals(25, policyNumber.length());
+    }
+}
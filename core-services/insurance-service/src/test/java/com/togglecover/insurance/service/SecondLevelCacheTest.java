@@ -0,0 +1,120 @@
+package com.togglecover.insurance.service;
+
+import com.togglecover.insurance.model.dto.CoverageRequest;
+import com.togglecover.insurance.model.dto.InsurancePlanDTO;
+import com.togglecover.insurance.model.entity.Policy;
+import com.togglecover.insurance.repository.InsurancePlanRepository;
+import com.togglecover.insurance.repository.PolicyRepository;
+import com.togglecover.insurance.support.PolicyFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plan and policy lookups are served from the second-level cache and still see every
+ * committed change, including wallet charges the group commit writes with plain JDBC
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private InsurancePlanService insurancePlanService;
+    @Autowired
+    private InsurancePlanRepository insurancePlanRepository;
+    @Autowired
+    private PolicyRepository policyRepository;
+    @Autowired
+    private CoverageService coverageService;
+    @Autowired
+    private PremiumCalculatorService premiumCalculatorService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private CoverageAggregateService coverageAggregateService;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void planLookupsHitTheCacheAndSeeUpdates() {
+        InsurancePlanDTO plan = new InsurancePlanDTO();
+        plan.setPlanCode("CACHE_TEST_" + System.nanoTime());
+        plan.setPlanName("Cache test plan");
+        plan.setDailyPremium(new BigDecimal("10.00"));
+        plan.setCoverageAmount(new BigDecimal("500000.00"));
+        plan.setCoverageType("ACCIDENT");
+        plan.setMinAge(18);
+        plan.setMaxAge(65);
+        plan.setWaitingPeriodDays(0);
+        plan.setIsActive(true);
+        insurancePlanService.createPlan(plan);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        planPremium(plan.getPlanCode());
+        long naturalIdHits = statistics.getNaturalIdCacheHitCount();
+        long entityHits = statistics.getSecondLevelCacheHitCount();
+        assertEquals(0, new BigDecimal("10.00").compareTo(planPremium(plan.getPlanCode())));
+        assertTrue(statistics.getNaturalIdCacheHitCount() > naturalIdHits, "plan code was not resolved from cache");
+        assertTrue(statistics.getSecondLevelCacheHitCount() > entityHits, "plan was not read from cache");
+
+        plan.setDailyPremium(new BigDecimal("12.00"));
+        insurancePlanService.updatePlan(plan.getPlanCode(), plan);
+        assertEquals(0, new BigDecimal("12.00").compareTo(planPremium(plan.getPlanCode())));
+    }
+
+    @Test
+    void groupCommitChargeEvictsTheCachedPolicy() {
+        String policyNumber = PolicyFixtures.insertPolicy(jdbcTemplate, "CACHE-" + System.nanoTime() + "-",
+                new BigDecimal("1000.00"));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(walletBalance(policyNumber)));
+
+        CoverageActivationBatcher batcher = new CoverageActivationBatcher(coverageService,
+                premiumCalculatorService, outboxService, coverageAggregateService,
+                jdbcTemplate, new TransactionTemplate(transactionManager), entityManagerFactory,
+                new SimpleMeterRegistry(), 10, 1, 100, 1_000);
+        batcher.start();
+        try {
+            CoverageRequest request = new CoverageRequest();
+            request.setPolicyNumber(policyNumber);
+            request.setToggleCoverage(true);
+            request.setCoverageDate(LocalDate.now());
+            request.setLocation("Nagpur");
+            request.setGigPlatform("SWIGGY");
+            request.setTemperature(30.0);
+            batcher.submit(request).join();
+        } finally {
+            batcher.stop();
+        }
+
+        assertTrue(walletBalance(policyNumber).compareTo(new BigDecimal("1000.00")) < 0,
+                "cached policy still shows the balance from before the charge");
+    }
+
+    private BigDecimal planPremium(String planCode) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                insurancePlanRepository.findByPlanCode(planCode).orElseThrow().getDailyPremium());
+    }
+
+    private BigDecimal walletBalance(String policyNumber) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                policyRepository.findByPolicyNumber(policyNumber).map(Policy::getWalletBalance).orElseThrow());
+    }
+}
@@ -0,0 +1,70 @@
+package com.togglecover.insurance.support;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Plans and active policies inserted with plain SQL, so tests start from rows that no
+ * entity or cache has seen yet
+ */
+public final class PolicyFixtures {
+
+    public static final BigDecimal DAILY_PREMIUM = new BigDecimal("10.00");
+
+    private PolicyFixtures() {
+    }
+
+    /**
+     * An active accident plan at {@link #DAILY_PREMIUM} a day with no waiting period
+     */
+    public static long insertPlan(NamedParameterJdbcTemplate jdbcTemplate, String planCode) {
+        jdbcTemplate.update("INSERT INTO insurance_plans (plan_code, plan_name, daily_premium, coverage_amount, " +
+                        "coverage_type, waiting_period_days, is_active, created_at, updated_at) " +
+                        "VALUES (:code, 'Test plan', :premium, 500000.00, 'ACCIDENT', 0, TRUE, :now, :now)",
+                new MapSqlParameterSource()
+                        .addValue("code", planCode)
+                        .addValue("premium", DAILY_PREMIUM)
+                        .addValue("now", LocalDateTime.now()));
+        return jdbcTemplate.queryForObject("SELECT id FROM insurance_plans WHERE plan_code = :code",
+                Map.of("code", planCode), Long.class);
+    }
+
+    /**
+     * {@code count} active policies on a new plan, numbered {@code prefix + i} and owned by
+     * user {@code 1_000_000 + i}, each with the given wallet balance
+     */
+    public static String[] insertPolicies(NamedParameterJdbcTemplate jdbcTemplate, String prefix, int count,
+                                          BigDecimal walletBalance) {
+        long planId = insertPlan(jdbcTemplate, prefix + "PLAN");
+        LocalDateTime now = LocalDateTime.now();
+        String[] numbers = new String[count];
+        SqlParameterSource[] rows = new SqlParameterSource[count];
+        for (int i = 0; i < count; i++) {
+            numbers[i] = prefix + i;
+            rows[i] = new MapSqlParameterSource()
+                    .addValue("number", numbers[i])
+                    .addValue("userId", 1_000_000L + i)
+                    .addValue("planId", planId)
+                    .addValue("start", LocalDate.now().minusDays(1))
+                    .addValue("end", LocalDate.now().plusYears(1))
+                    .addValue("balance", walletBalance)
+                    .addValue("now", now);
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO policies (policy_number, user_id, plan_id, start_date, end_date, " +
+                "status, total_premium_paid, total_claims, total_claims_amount, wallet_balance, auto_renew, " +
+                "version, created_at, updated_at) VALUES (:number, :userId, :planId, :start, :end, 'ACTIVE', 0, 0, " +
+                "0, :balance, TRUE, 0, :now, :now)", rows);
+        return numbers;
+    }
+
+    public static String insertPolicy(NamedParameterJdbcTemplate jdbcTemplate, String prefix,
+                                      BigDecimal walletBalance) {
+        return insertPolicies(jdbcTemplate, prefix, 1, walletBalance)[0];
+    }
+}
@@ -0,0 +1,139 @@
+package com.togglecover.insurance.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Rows exported with CoverageArchiveWriter come back unchanged through
+ * CoverageArchiveReader: more than one row group, id gaps, nulls in every nullable
+ * column and timestamps with microseconds
+ */
+class CoverageArchiveRoundTripTest {
+
+    private static final int ROWS = 70_000;
+    private static final String COLUMNS = String.join(", ", CoverageArchiveWriter.COLUMNS);
+    private static final String TABLE_DDL = " (id BIGINT PRIMARY KEY, policy_id BIGINT NOT NULL, " +
+            "coverage_date DATE NOT NULL, start_time TIMESTAMP(6), end_time TIMESTAMP(6), status VARCHAR(20), " +
+            "premium_amount NUMERIC(10, 2), coverage_amount NUMERIC(15, 2), weather_risk_multiplier NUMERIC(5, 2), " +
+            "location VARCHAR(255), gig_platform VARCHAR(50), is_active BOOLEAN, created_at TIMESTAMP(6), " +
+            "updated_at TIMESTAMP(6))";
+
+    @TempDir
+    Path directory;
+
+    private Connection connection;
+
+    @BeforeEach
+    void createTables() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:coverage_archive_round_trip", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE archived" + TABLE_DDL);
+            statement.execute("CREATE TABLE restored" + TABLE_DDL);
+            statement.execute("INSERT INTO archived SELECT " +
+                    "X * 3, MOD(X, 997), DATEADD(DAY, MOD(X, 31), DATE '2025-01-01'), " +
+                    "CASE WHEN MOD(X, 7) = 0 THEN NULL " +
+                    "ELSE DATEADD(SECOND, X, TIMESTAMP '2025-01-01 06:00:00.123456') END, " +
+                    "CASE WHEN MOD(X, 2) = 0 THEN NULL ELSE DATEADD(SECOND, X, TIMESTAMP '2025-01-01 18:30:00') END, " +
+                    "CASE WHEN MOD(X, 17) = 0 THEN NULL WHEN MOD(X, 3) = 0 THEN 'ACTIVE' ELSE 'INACTIVE' END, " +
+                    "CASE WHEN MOD(X, 11) = 0 THEN NULL ELSE MOD(X, 5000) / 100.0 END, " +
+                    "CASE WHEN MOD(X, 19) = 0 THEN NULL ELSE 500000.00 END, " +
+                    "CASE WHEN MOD(X, 23) = 0 THEN NULL WHEN MOD(X, 4) = 0 THEN 1.50 ELSE 1.00 END, " +
+                    "CASE WHEN MOD(X, 5) = 0 THEN NULL ELSE 'City ' || MOD(X, 40) END, " +
+                    "CASE WHEN MOD(X, 29) = 0 THEN NULL WHEN MOD(X, 2) = 0 THEN 'SWIGGY' ELSE 'ZOMATO' END, " +
+                    "CASE WHEN MOD(X, 13) = 0 THEN NULL ELSE MOD(X, 3) = 0 END, " +
+                    "DATEADD(SECOND, X, TIMESTAMP '2024-12-31 23:59:59.999999'), " +
+                    "CASE WHEN MOD(X, 37) = 0 THEN NULL ELSE TIMESTAMP '1969-12-31 23:00:00.5' END " +
+                    "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        }
+    }
+
+    @AfterEach
+    void dropTables() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    void restoresEveryRowExactly() throws Exception {
+        Path archive = directory.resolve("coverage_records_y2025m01.tcca");
+        long written = export(archive);
+
+        String insert = "INSERT INTO restored (" + COLUMNS + ") VALUES ("
+                + String.join(", ", Collections.nCopies(CoverageArchiveWriter.COLUMNS.length, "?")) + ")";
+        long read;
+        try (CoverageArchiveReader reader = new CoverageArchiveReader(archive);
+             PreparedStatement statement = connection.prepareStatement(insert)) {
+            assertEquals("coverage_records_y2025m01", reader.getSourceTable());
+            read = reader.read(row -> {
+                try {
+                    Object[] values = row.toColumnValues();
+                    for (int i = 0; i < values.length; i++) {
+                        statement.setObject(i + 1, values[i]);
+                    }
+                    statement.addBatch();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            statement.executeBatch();
+        }
+
+        assertEquals(ROWS, written);
+        assertEquals(ROWS, read);
+        assertEquals(0, count("SELECT " + COLUMNS + " FROM archived EXCEPT SELECT " + COLUMNS + " FROM restored"));
+        assertEquals(0, count("SELECT " + COLUMNS + " FROM restored EXCEPT SELECT " + COLUMNS + " FROM archived"));
+    }
+
+    @Test
+    void rejectsATruncatedArchive() throws Exception {
+        Path archive = directory.resolve("truncated.tcca");
+        export(archive);
+        try (RandomAccessFile file = new RandomAccessFile(archive.toFile(), "rw")) {
+            file.setLength(file.length() / 2);
+        }
+
+        assertThrows(IOException.class, () -> {
+            try (CoverageArchiveReader reader = new CoverageArchiveReader(archive)) {
+                reader.read(row -> {
+                });
+            }
+        });
+    }
+
+    private long export(Path archive) throws Exception {
+        try (CoverageArchiveWriter writer = new CoverageArchiveWriter(archive, "coverage_records_y2025m01");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT * FROM archived ORDER BY id")) {
+            while (rs.next()) {
+                writer.append(rs);
+            }
+            return writer.getTotalRows();
+        }
+    }
+
+    private long count(String query) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*) FROM (" + query + ")")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
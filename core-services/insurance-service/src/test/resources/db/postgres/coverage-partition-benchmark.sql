@@ -0,0 +1,66 @@
+-- Partition pruning benchmark for coverage_records (run with psql against a scratch database)
+--
+--   createdb coverage_bench
+--   psql -d coverage_bench -f src/main/resources/db/migration/postgres/V1__baseline_schema.sql
+--   psql -d coverage_bench -c 'ALTER TABLE coverage_records DROP CONSTRAINT fk_coverage_records_policy'
+--   psql -d coverage_bench -f src/test/resources/db/postgres/coverage-partition-benchmark.sql
+--
+-- Loads 500M synthetic rows (700k policies x 715 days, 2025-01-01 onwards) into the
+-- partitioned table and an unpartitioned copy, then compares a one-month range query.
+-- Expect ~60 GB per table; set maintenance_work_mem and max_wal_size generously.
+
+\timing on
+
+-- Monthly partitions for 2025-01 .. 2026-12
+SELECT format('CREATE TABLE IF NOT EXISTS coverage_records_y%sm%s PARTITION OF coverage_records ' ||
+              'FOR VALUES FROM (%L) TO (%L)',
+              to_char(m, 'YYYY'), to_char(m, 'MM'), m::date, (m + interval '1 month')::date)
+FROM generate_series(DATE '2025-01-01', DATE '2026-12-01', interval '1 month') AS m
+\gexec
+
+INSERT INTO coverage_records (policy_id, coverage_date, start_time, end_time, status, premium_amount,
+                              coverage_amount, weather_risk_multiplier, location, gig_platform,
+                              is_active, created_at, updated_at)
+SELECT g % 700000 + 1,
+       DATE '2025-01-01' + (g / 700000)::int,
+       (DATE '2025-01-01' + (g / 700000)::int) + time '08:00',
+       (DATE '2025-01-01' + (g / 700000)::int) + time '20:00',
+       CASE WHEN g % 3 = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END,
+       round((20 + g % 30)::numeric, 2),
+       50000.00,
+       1.00,
+       (ARRAY['Mumbai', 'Delhi', 'Bangalore', 'Chennai', 'Hyderabad'])[g % 5 + 1],
+       (ARRAY['SWIGGY', 'ZOMATO', 'ZEPTO', 'UBER_EATS'])[g % 4 + 1],
+       g % 3 <> 0,
+       now(),
+       now()
+FROM generate_series(0::bigint, 499999999::bigint) AS g;
+
+CREATE TABLE coverage_records_flat AS TABLE coverage_records;
+ALTER TABLE coverage_records_flat ADD PRIMARY KEY (id);
+CREATE UNIQUE INDEX ON coverage_records_flat (policy_id, coverage_date);
+
+ANALYZE coverage_records;
+ANALYZE coverage_records_flat;
+
+-- Same shape as CoverageRecordRepository.findCoveragesByUserAndDateRange for a user
+-- holding three policies. The plan should list only coverage_records_y2026m03.
+PREPARE partitioned_range(date, date) AS
+    SELECT * FROM coverage_records
+    WHERE coverage_date BETWEEN $1 AND $2 AND policy_id IN (101, 350101, 699999);
+
+PREPARE flat_range(date, date) AS
+    SELECT * FROM coverage_records_flat
+    WHERE coverage_date BETWEEN $1 AND $2 AND policy_id IN (101, 350101, 699999);
+
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE partitioned_range('2026-03-01', '2026-03-31');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE flat_range('2026-03-01', '2026-03-31');
+
+-- Unbounded on policy: pruning versus a full scan of the unpartitioned table
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM coverage_records
+    WHERE coverage_date BETWEEN DATE '2026-03-01' AND DATE '2026-03-31' AND is_active;
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM coverage_records_flat
+    WHERE coverage_date BETWEEN DATE '2026-03-01' AND DATE '2026-03-31' AND is_active;
+
+-- Cold-tier candidate: size of one month before archiving
+SELECT pg_size_pretty(pg_total_relation_size('coverage_records_y2025m01')) AS partition_size;
@@ -3,6 +3,7 @@ package com.togglecover.userservice.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -35,6 +36,8 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/api-docs/**"
                         ).permitAll()
+                        // Bulk import creates accounts for other people: partner platforms and admins only
+                        .requestMatchers(HttpMethod.POST, "/api/users/import").hasAnyRole("ADMIN", "PARTNER")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session ->
@@ -0,0 +1,23 @@
+package com.togglecover.userservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class UserImportConfig {
+
+    /**
+     * CPU-bound pool for BCrypt hashing during bulk imports (defaults to one thread per core)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor(
+            @Value("${users.import.hashing-threads:0}") int hashingThreads) {
+        int poolSize = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("password-hash-"));
+    }
+}
@@ -2,18 +2,25 @@ package com.togglecover.userservice.controller;
 
 
 import com.togglecover.common.models.UserDTO;
+import com.togglecover.userservice.model.dto.UserPageResponse;
 import com.togglecover.userservice.model.dto.UserRegistrationRequest;
 import com.togglecover.userservice.model.dto.UserValidationRequest;
 import com.togglecover.userservice.model.dto.UserValidationResponse;
+import com.togglecover.userservice.service.UserImportService;
 import com.togglecover.userservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/users")
@@ -22,6 +29,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @PostMapping("/register")
     @Operation(summary = "Register a new user")
@@ -30,6 +38,23 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @PostMapping(value = "/import",
+            consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk import users from a CSV or NDJSON stream (resumable by importId)")
+    public ResponseEntity<StreamingResponseBody> importUsers(
+            @RequestParam String importId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request) throws IOException {
+        boolean csv = contentType.startsWith("text/csv");
+        InputStream input = request.getInputStream();
+
+        StreamingResponseBody body = output -> userImportService.importUsers(importId, input, csv, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PostMapping("/validate-credentials")
     @Operation(summary = "Validate user credentials (used by Auth Service)")
     public ResponseEntity<UserValidationResponse> validateCredentials(
@@ -64,10 +89,21 @@ public class UserController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all users")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    @Operation(summary = "Get users one page at a time (keyset pagination on user ID)")
+    public ResponseEntity<UserPageResponse> getUsers(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") Integer size) {
+        UserPageResponse page = userService.getUsersPage(afterId, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all users as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = userService::exportUsers;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PutMapping("/{userId}")
@@ -0,0 +1,33 @@
+package com.togglecover.userservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_import_checkpoints")
+@Data
+public class UserImportCheckpoint {
+
+    @Id
+    @Column(name = "import_id", length = 100)
+    private String importId;
+
+    // Last input line whose chunk has been committed; a resumed import skips up to here
+    @Column(name = "last_committed_line", nullable = false)
+    private Long lastCommittedLine = 0L;
+
+    @Column(name = "created_count", nullable = false)
+    private Long createdCount = 0L;
+
+    @Column(name = "duplicate_count", nullable = false)
+    private Long duplicateCount = 0L;
+
+    @Column(name = "invalid_count", nullable = false)
+    private Long invalidCount = 0L;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,17 @@
+package com.togglecover.userservice.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+    private Long line;
+    private String email;
+    private String status; // CREATED, DUPLICATE, INVALID, FAILED
+    private String message;
+}
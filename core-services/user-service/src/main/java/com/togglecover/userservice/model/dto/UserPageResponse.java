@@ -0,0 +1,17 @@
+package com.togglecover.userservice.model.dto;
+
+import com.togglecover.common.models.UserDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+    private List<UserDTO> users;
+    private Long nextCursor; // Pass as afterId to fetch the next page; null when there are no more users
+    private Boolean hasMore;
+}
@@ -0,0 +1,73 @@
+package com.togglecover.userservice.repository;
+
+import com.togglecover.userservice.model.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.stream.Stream;
+
+/**
+ * Reads for the NDJSON user export on a small pool of its own. An export holds its
+ * connection for as long as the client takes to download, which the main pool's leak
+ * detection would report; this pool has none, and its size caps concurrent exports
+ * without taking connections from request traffic. The pool is not a bean, so Boot
+ * still builds the main DataSource.
+ */
+@Repository
+public class UserExportRepository implements DisposableBean {
+
+    private static final String SELECT_USERS =
+            "SELECT id, name, email, role, phone_number, address, is_active, created_at, updated_at " +
+                    "FROM users ORDER BY id";
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserExportRepository(DataSourceProperties properties,
+                                @Value("${users.export.max-connections:2}") int maxConnections,
+                                @Value("${users.export.fetch-size:500}") int fetchSize) {
+        dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("user-export-pool");
+        dataSource.setMaximumPoolSize(maxConnections);
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+        // PostgreSQL only fetches through a cursor inside a transaction; otherwise it buffers every row
+        dataSource.setAutoCommit(false);
+        dataSource.setLeakDetectionThreshold(0);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Every user in id order through a forward-only cursor. The connection is held until
+     * the stream is closed.
+     */
+    public Stream<User> streamAllOrderedById() {
+        return jdbcTemplate.queryForStream(SELECT_USERS, (rs, rowNum) -> {
+            User user = new User();
+            user.setId(rs.getLong("id"));
+            user.setName(rs.getString("name"));
+            user.setEmail(rs.getString("email"));
+            user.setRole(rs.getString("role"));
+            user.setPhoneNumber(rs.getString("phone_number"));
+            user.setAddress(rs.getString("address"));
+            user.setActive(rs.getBoolean("is_active"));
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            user.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            user.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+            return user;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        dataSource.close();
+    }
+}
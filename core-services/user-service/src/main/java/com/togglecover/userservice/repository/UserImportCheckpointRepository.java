@@ -0,0 +1,9 @@
+package com.togglecover.userservice.repository;
+
+import com.togglecover.userservice.model.UserImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserImportCheckpointRepository extends JpaRepository<UserImportCheckpoint, String> {
+}
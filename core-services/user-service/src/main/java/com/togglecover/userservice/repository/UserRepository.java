@@ -1,6 +1,7 @@
 package com.togglecover.userservice.repository;
 
 import com.togglecover.userservice.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,4 +33,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmailAndActive(String email, Boolean active);
 
     Optional<User> findByEmailAndRole(String email, String role);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Keyset pagination: seeks past the last seen id instead of counting an offset
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,305 @@
+package com.togglecover.userservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.togglecover.userservice.model.UserImportCheckpoint;
+import com.togglecover.userservice.model.dto.UserImportResult;
+import com.togglecover.userservice.model.dto.UserRegistrationRequest;
+import com.togglecover.userservice.repository.UserImportCheckpointRepository;
+import com.togglecover.userservice.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user onboarding for partner platforms. Input is read and committed in chunks:
+ * one email lookup per chunk, passwords hashed in parallel, rows written with a JDBC
+ * batch insert, and the import checkpoint advanced in the same transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportService {
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (name, email, password, role, phone_number, address, is_active, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Value("${users.import.chunk-size:500}")
+    private int chunkSize;
+
+    private final UserRepository userRepository;
+    private final UserImportCheckpointRepository checkpointRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService passwordHashingExecutor;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * Import users from a CSV (name,email,password,phoneNumber,address with a header row)
+     * or NDJSON stream, writing one result line per input row. Re-running with the same
+     * importId skips every line already committed by an earlier attempt.
+     */
+    public void importUsers(String importId, InputStream input, boolean csv, OutputStream output)
+            throws IOException {
+        UserImportCheckpoint checkpoint = checkpointRepository.findById(importId)
+                .orElseGet(() -> {
+                    UserImportCheckpoint created = new UserImportCheckpoint();
+                    created.setImportId(importId);
+                    return created;
+                });
+        long resumeAfter = checkpoint.getLastCommittedLine();
+
+        log.info("Starting user import {} (resuming after line {}, chunk size {})",
+                importId, resumeAfter, chunkSize);
+
+        ObjectWriter resultWriter = objectMapper.writerFor(UserImportResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+
+            if (csv) {
+                reader.readLine(); // Skip header row
+            }
+
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 0;
+            String line;
+
+            try {
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (lineNumber <= resumeAfter || line.isBlank()) {
+                        continue;
+                    }
+
+                    chunk.add(parseRow(lineNumber, line, csv));
+                    if (chunk.size() == chunkSize) {
+                        processChunk(chunk, checkpoint, generator, resultWriter);
+                        chunk.clear();
+                    }
+                }
+
+                if (!chunk.isEmpty()) {
+                    processChunk(chunk, checkpoint, generator, resultWriter);
+                }
+            } catch (RuntimeException e) {
+                log.error("User import {} stopped after line {}",
+                        importId, checkpoint.getLastCommittedLine(), e);
+                writeResult(generator, resultWriter, new UserImportResult(
+                        checkpoint.getLastCommittedLine(), null, "FAILED",
+                        "Import stopped; resend with the same importId to resume after this line"));
+                generator.flush();
+                return;
+            }
+
+            generator.flush();
+        }
+
+        log.info("User import {} completed: created={}, duplicates={}, invalid={}",
+                importId, checkpoint.getCreatedCount(), checkpoint.getDuplicateCount(),
+                checkpoint.getInvalidCount());
+    }
+
+    private void processChunk(List<ImportRow> chunk,
+                              UserImportCheckpoint checkpoint,
+                              JsonGenerator generator,
+                              ObjectWriter resultWriter) throws IOException {
+        Set<String> emails = chunk.stream()
+                .filter(row -> row.error() == null)
+                .map(ImportRow::email)
+                .collect(Collectors.toSet());
+
+        // One set-based lookup per chunk instead of findByEmail per row
+        Set<String> takenEmails = emails.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(userRepository.findExistingEmails(emails));
+
+        List<UserImportResult> results = new ArrayList<>(chunk.size());
+        List<UserRegistrationRequest> accepted = new ArrayList<>();
+        List<CompletableFuture<String>> hashes = new ArrayList<>();
+        long duplicates = 0;
+        long invalid = 0;
+
+        for (ImportRow row : chunk) {
+            if (row.error() != null) {
+                results.add(new UserImportResult(row.line(), row.email(), "INVALID", row.error()));
+                invalid++;
+            } else if (!takenEmails.add(row.email())) {
+                results.add(new UserImportResult(row.line(), row.email(), "DUPLICATE",
+                        "User with email " + row.email() + " already exists"));
+                duplicates++;
+            } else {
+                UserRegistrationRequest request = row.request();
+                accepted.add(request);
+                hashes.add(CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(request.getPassword()), passwordHashingExecutor));
+                results.add(new UserImportResult(row.line(), row.email(), "CREATED", null));
+            }
+        }
+
+        List<String> encodedPasswords = hashes.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+
+        long lastLine = chunk.get(chunk.size() - 1).line();
+        long created = accepted.size();
+        long totalDuplicates = duplicates;
+        long totalInvalid = invalid;
+
+        // Rows and checkpoint commit together, so a resumed import never inserts a row twice
+        transactionTemplate.executeWithoutResult(status -> {
+            insertUsers(accepted, encodedPasswords);
+
+            checkpoint.setLastCommittedLine(lastLine);
+            checkpoint.setCreatedCount(checkpoint.getCreatedCount() + created);
+            checkpoint.setDuplicateCount(checkpoint.getDuplicateCount() + totalDuplicates);
+            checkpoint.setInvalidCount(checkpoint.getInvalidCount() + totalInvalid);
+            checkpointRepository.save(checkpoint);
+        });
+
+        for (UserImportResult result : results) {
+            writeResult(generator, resultWriter, result);
+        }
+        generator.flush();
+
+        log.debug("Committed import chunk up to line {}: created={}, duplicates={}, invalid={}",
+                lastLine, created, duplicates, invalid);
+    }
+
+    private void insertUsers(List<UserRegistrationRequest> users, List<String> encodedPasswords) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                UserRegistrationRequest user = users.get(i);
+                ps.setString(1, user.getName());
+                ps.setString(2, user.getEmail());
+                ps.setString(3, encodedPasswords.get(i));
+                ps.setString(4, "USER");
+                ps.setString(5, user.getPhoneNumber());
+                ps.setString(6, user.getAddress());
+                ps.setBoolean(7, true);
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return users.size();
+            }
+        });
+    }
+
+    private ImportRow parseRow(long lineNumber, String line, boolean csv) {
+        UserRegistrationRequest request;
+        if (csv) {
+            List<String> fields = splitCsvLine(line);
+            if (fields.size() < 3) {
+                return new ImportRow(lineNumber, null, null,
+                        "Expected at least name, email and password");
+            }
+            request = new UserRegistrationRequest();
+            request.setName(fields.get(0));
+            request.setEmail(fields.get(1));
+            request.setPassword(fields.get(2));
+            request.setPhoneNumber(fields.size() > 3 && !fields.get(3).isEmpty() ? fields.get(3) : null);
+            request.setAddress(fields.size() > 4 && !fields.get(4).isEmpty() ? fields.get(4) : null);
+        } else {
+            try {
+                request = objectMapper.readValue(line, UserRegistrationRequest.class);
+            } catch (JsonProcessingException e) {
+                return new ImportRow(lineNumber, null, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        Set<ConstraintViolation<UserRegistrationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String error = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new ImportRow(lineNumber, request.getEmail(), null, error);
+        }
+
+        return new ImportRow(lineNumber, request.getEmail(), request, null);
+    }
+
+    private void writeResult(JsonGenerator generator, ObjectWriter writer, UserImportResult result)
+            throws IOException {
+        writer.writeValue(generator, result);
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields and "" escapes
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+
+        return fields;
+    }
+
+    private record ImportRow(long line, String email, UserRegistrationRequest request, String error) {
+    }
+}
@@ -1,26 +1,42 @@
 package com.togglecover.userservice.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.togglecover.common.models.UserDTO;
 import com.togglecover.userservice.model.User;
+import com.togglecover.userservice.model.dto.UserPageResponse;
 import com.togglecover.userservice.model.dto.UserRegistrationRequest;
 import com.togglecover.userservice.model.dto.UserValidationResponse;
+import com.togglecover.userservice.repository.UserExportRepository;
 import com.togglecover.userservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
     private final UserRepository userRepository;
+    private final UserExportRepository userExportRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
 
     @Transactional
     public UserDTO registerUser(UserRegistrationRequest request) {
@@ -137,12 +153,53 @@ public class UserService {
         return convertToDTO(user);
     }
 
-    public List<UserDTO> getAllUsers() {
-        log.debug("Fetching all users");
+    public UserPageResponse getUsersPage(Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        log.debug("Fetching users after ID: {} (page size: {})", afterId, pageSize);
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
 
-        return userRepository.findAll().stream()
+        boolean hasMore = users.size() > pageSize;
+        List<UserDTO> page = users.stream()
+                .limit(pageSize)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+
+        return new UserPageResponse(page, nextCursor, hasMore);
+    }
+
+    /**
+     * Write every user as one JSON line. Rows are read through a forward-only cursor on
+     * the export pool and dropped as soon as they are written, so heap use does not grow
+     * with the table.
+     */
+    public long exportUsers(OutputStream outputStream) throws IOException {
+        log.info("Starting user export");
+
+        ObjectWriter writer = objectMapper.writerFor(UserDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+
+        try (Stream<User> users = userExportRepository.streamAllOrderedById();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                writer.writeValue(generator, convertToDTO(user));
+                generator.writeRaw('\n');
+
+                if (++exported % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        log.info("User export completed: {} users", exported);
+        return exported;
     }
 
     @Transactional
@@ -0,0 +1,175 @@
+package com.togglecover.userservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togglecover.userservice.model.UserImportCheckpoint;
+import com.togglecover.userservice.model.dto.UserImportResult;
+import com.togglecover.userservice.repository.UserImportCheckpointRepository;
+import com.togglecover.userservice.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Imports run against the test database with a chunk of two, so a few rows already span
+ * several chunks. Emails carry a per-test prefix to keep the tests apart.
+ */
+@SpringBootTest(properties = "users.import.chunk-size=2")
+@ActiveProfiles("test")
+class UserImportServiceTest {
+
+    private static final String HEADER = "name,email,password,phoneNumber,address\n";
+
+    @Autowired
+    private UserImportService userImportService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserImportCheckpointRepository checkpointRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void insertsEachChunkAsOneBatch() throws IOException {
+        String prefix = "chunk" + System.nanoTime();
+        clearInvocations(jdbcTemplate);
+
+        List<UserImportResult> results = importCsv(prefix, rows(prefix, 1, 5));
+
+        assertEquals(List.of("CREATED", "CREATED", "CREATED", "CREATED", "CREATED"), statuses(results));
+        ArgumentCaptor<BatchPreparedStatementSetter> batches =
+                ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), batches.capture());
+        assertEquals(List.of(2, 2, 1), batches.getAllValues().stream()
+                .map(BatchPreparedStatementSetter::getBatchSize)
+                .toList());
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(userRepository.existsByEmail(email(prefix, i)));
+        }
+    }
+
+    @Test
+    void reportsDuplicateAndInvalidRowsWithoutInsertingThem() throws IOException {
+        String prefix = "dupes" + System.nanoTime();
+        importCsv(prefix, rows(prefix, 1, 1));
+
+        List<UserImportResult> results = importCsv(prefix + "-second", rows(prefix, 1, 2)
+                + "Bad Row," + email(prefix, 3) + ",short\n"
+                + rows(prefix, 2, 2));
+
+        assertEquals(List.of("DUPLICATE", "CREATED", "INVALID", "DUPLICATE"), statuses(results));
+        UserImportCheckpoint checkpoint = checkpointRepository.findById(prefix + "-second").orElseThrow();
+        assertEquals(4L, checkpoint.getLastCommittedLine());
+        assertEquals(1L, checkpoint.getCreatedCount());
+        assertEquals(2L, checkpoint.getDuplicateCount());
+        assertEquals(1L, checkpoint.getInvalidCount());
+    }
+
+    @Test
+    void resumesAfterTheLastCommittedChunk() throws IOException {
+        String prefix = "resume" + System.nanoTime();
+        // The upload breaks off while the third row's chunk is still being read
+        List<UserImportResult> broken = runImport(prefix, breaksAfter(HEADER + rows(prefix, 1, 3)));
+
+        UserImportResult failure = broken.get(broken.size() - 1);
+        assertEquals("FAILED", failure.getStatus());
+        assertEquals(2L, failure.getLine());
+        assertEquals(2L, checkpointRepository.findById(prefix).orElseThrow().getLastCommittedLine());
+
+        List<UserImportResult> resumed = importCsv(prefix, rows(prefix, 1, 5));
+
+        assertEquals(List.of(3L, 4L, 5L), resumed.stream().map(UserImportResult::getLine).toList());
+        assertEquals(List.of("CREATED", "CREATED", "CREATED"), statuses(resumed));
+        UserImportCheckpoint checkpoint = checkpointRepository.findById(prefix).orElseThrow();
+        assertEquals(5L, checkpoint.getLastCommittedLine());
+        assertEquals(5L, checkpoint.getCreatedCount());
+        assertEquals(0L, checkpoint.getDuplicateCount());
+    }
+
+    private List<UserImportResult> importCsv(String importId, String rows) throws IOException {
+        return runImport(importId, new ByteArrayInputStream((HEADER + rows).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<UserImportResult> runImport(String importId, InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userImportService.importUsers(importId, input, true, output);
+
+        List<UserImportResult> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readValue(line, UserImportResult.class));
+            }
+        }
+        return results;
+    }
+
+    private static String rows(String prefix, int from, int to) {
+        StringBuilder rows = new StringBuilder();
+        for (int i = from; i <= to; i++) {
+            rows.append("User ").append(i).append(',').append(email(prefix, i)).append(",secret").append(i)
+                    .append(",+100000").append(i).append(",\"1 Main St, Apt ").append(i).append("\"\n");
+        }
+        return rows.toString();
+    }
+
+    private static String email(String prefix, int i) {
+        return prefix + "-" + i + "@example.com";
+    }
+
+    private static List<String> statuses(List<UserImportResult> results) {
+        return results.stream().map(UserImportResult::getStatus).toList();
+    }
+
+    /**
+     * Serves the given content, then fails the way a dropped upload surfaces while reading
+     */
+    private static InputStream breaksAfter(String content) {
+        InputStream data = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                int next = data.read();
+                if (next < 0) {
+                    throw new UncheckedIOException(new IOException("Connection reset"));
+                }
+                return next;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = data.read(buffer, offset, length);
+                if (read < 0) {
+                    throw new UncheckedIOException(new IOException("Connection reset"));
+                }
+                return read;
+            }
+
+            @Override
+            public int available() {
+                return data.available();
+            }
+        };
+    }
+}
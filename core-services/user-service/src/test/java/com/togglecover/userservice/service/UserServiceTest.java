@@ -0,0 +1,107 @@
+package com.togglecover.userservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.togglecover.common.models.UserDTO;
+import com.togglecover.userservice.model.User;
+import com.togglecover.userservice.model.dto.UserPageResponse;
+import com.togglecover.userservice.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keyset pages and the NDJSON export over users saved by each test. Other tests' users may
+ * share the database, so assertions are about ordering and about the test's own ids.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void keysetPagesVisitEveryUserOnceInIdOrder() {
+        List<Long> saved = saveUsers("page", 7);
+
+        List<Long> seen = new ArrayList<>();
+        Long cursor = null;
+        UserPageResponse page;
+        do {
+            page = userService.getUsersPage(cursor, 3);
+            assertTrue(page.getUsers().size() <= 3);
+            page.getUsers().forEach(user -> seen.add(user.getId()));
+            if (page.getHasMore()) {
+                assertEquals(page.getUsers().get(page.getUsers().size() - 1).getId(), page.getNextCursor());
+            } else {
+                assertNull(page.getNextCursor());
+            }
+            cursor = page.getNextCursor();
+        } while (page.getHasMore());
+
+        assertEquals(seen.stream().sorted().distinct().toList(), seen);
+        assertTrue(seen.containsAll(saved));
+        assertEquals(userRepository.count(), seen.size());
+    }
+
+    @Test
+    void aPageStartsAfterTheCursor() {
+        List<Long> saved = saveUsers("cursor", 4);
+
+        UserPageResponse page = userService.getUsersPage(saved.get(1), 2);
+
+        assertEquals(List.of(saved.get(2), saved.get(3)), page.getUsers().stream().map(UserDTO::getId).toList());
+    }
+
+    @Test
+    void exportWritesEveryUserAsOneLineInIdOrder() throws IOException {
+        List<Long> saved = saveUsers("export", 5);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long exported = userService.exportUsers(output);
+
+        List<Long> ids = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode user = objectMapper.readTree(line);
+            assertTrue(user.path("password").isNull() || user.path("password").isMissingNode());
+            ids.add(user.get("id").asLong());
+        }
+        assertEquals(exported, ids.size());
+        assertEquals(userRepository.count(), exported);
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertTrue(ids.containsAll(saved));
+    }
+
+    private List<Long> saveUsers(String prefix, int count) {
+        String unique = prefix + System.nanoTime();
+        return userRepository.saveAll(IntStream.range(0, count)
+                        .mapToObj(i -> {
+                            User user = new User();
+                            user.setName("User " + i);
+                            user.setEmail(unique + "-" + i + "@example.com");
+                            user.setPassword("not-a-real-hash");
+                            return user;
+                        })
+                        .toList())
+                .stream()
+                .map(User::getId)
+                .toList();
+    }
+}
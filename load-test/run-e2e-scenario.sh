@@ -0,0 +1,108 @@
+#!/usr/bin/env bash
+# End-to-end rider scenario through api-gateway -> auth-service -> insurance-service on a
+# laptop. Starts the services as local processes on in-memory H2, waits for them, then
+# runs ScenarioLoadTest (open-loop, coordinated-omission-corrected HdrHistogram latencies).
+#
+#   mvn -B package -DskipTests && load-test/run-e2e-scenario.sh
+#   RATE=500 DURATION=120 load-test/run-e2e-scenario.sh
+#
+# DISCOVERY=stub (default) runs without Eureka: every service gets the others' addresses
+# through Spring Cloud's simple discovery client, so lb:// routes and Feign clients
+# resolve immediately. DISCOVERY=eureka also starts service-discovery and lets services
+# register as they would in production (allow ~30s for registry propagation).
+# Extra service flags go in SERVICE_ARGS, e.g. SERVICE_ARGS=--spring.threads.virtual.enabled=true.
+# The JDBC pools of auth-service and insurance-service are sampled during the daily phase;
+# the run fails (exit 2) if either had waiting threads in more than MAX_QUEUED_SHARE of
+# the samples, i.e. the shipped pool sizes do not carry RATE. It fails (exit 3) if
+# insurance-service's Hibernate cache hit ratio stays below MIN_CACHE_HIT_RATIO.
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+# One insurance-service instance, so it can take policy-number node id 0
+export NODE_ID=${NODE_ID:-0}
+DISCOVERY=${DISCOVERY:-stub}
+DISCOVERY_JAR=${DISCOVERY_JAR:-$ROOT/service-discovery/target/service-discovery-1.0.0.jar}
+GATEWAY_JAR=${GATEWAY_JAR:-$ROOT/api-gateway/target/api-gateway-1.0.0.jar}
+AUTH_JAR=${AUTH_JAR:-$ROOT/core-services/auth-service/target/auth-service-1.0.0.jar}
+INSURANCE_JAR=${INSURANCE_JAR:-$ROOT/core-services/insurance-service/target/insurance-service-1.0.0.jar}
+SERVICE_ARGS=${SERVICE_ARGS:-}
+RIDERS=${RIDERS:-500}
+ONBOARD_RATE=${ONBOARD_RATE:-20}
+RATE=${RATE:-200}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+TOGGLE_SHARE=${TOGGLE_SHARE:-0.2}
+MAX_QUEUED_SHARE=${MAX_QUEUED_SHARE:-0.01}
+MIN_CACHE_HIT_RATIO=${MIN_CACHE_HIT_RATIO:-0.95}
+LOAD_JAR=${LOAD_JAR:-$ROOT/load-test/target/load-test.jar}
+LOG_DIR=${LOG_DIR:-$ROOT/logs/load-test}
+RESULT_DIR=${RESULT_DIR:-$LOG_DIR/e2e-$(date +%Y%m%d-%H%M%S)}
+
+mkdir -p "$LOG_DIR" "$RESULT_DIR"
+
+COMMON_ARGS=(
+    --spring.jpa.show-sql=false
+    --logging.level.root=WARN
+    --logging.level.org.hibernate.SQL=WARN
+    --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN
+)
+if [ "$DISCOVERY" = stub ]; then
+    COMMON_ARGS+=(
+        --eureka.client.enabled=false
+        "--spring.cloud.discovery.client.simple.instances.AUTH-SERVICE[0].uri=http://localhost:8083"
+        "--spring.cloud.discovery.client.simple.instances.INSURANCE-SERVICE[0].uri=http://localhost:8082"
+    )
+fi
+
+pids=()
+cleanup() {
+    for pid in "${pids[@]}"; do
+        kill "$pid" 2>/dev/null || true
+    done
+    wait 2>/dev/null || true
+}
+trap cleanup EXIT
+
+start() {
+    local name=$1 jar=$2
+    shift 2
+    # shellcheck disable=SC2086
+    java -Xms512m -Xmx512m -jar "$jar" "$@" $SERVICE_ARGS > "$LOG_DIR/e2e-$name.log" 2>&1 &
+    pids+=($!)
+}
+
+await() {
+    local name=$1 url=$2
+    for _ in $(seq 1 120); do
+        curl -sf -o /dev/null "$url" && return 0
+        sleep 1
+    done
+    echo "$name did not become healthy, see $LOG_DIR/e2e-$name.log" >&2
+    exit 1
+}
+
+if [ "$DISCOVERY" = eureka ]; then
+    start service-discovery "$DISCOVERY_JAR"
+    await service-discovery http://localhost:8761/actuator/health
+fi
+start auth-service "$AUTH_JAR" "${COMMON_ARGS[@]}"
+start insurance-service "$INSURANCE_JAR" "${COMMON_ARGS[@]}" --insurance.policy-expiry.enabled=false
+start api-gateway "$GATEWAY_JAR" "${COMMON_ARGS[@]}"
+
+await auth-service http://localhost:8083/auth/actuator/health
+await insurance-service http://localhost:8082/insurance/actuator/health
+await api-gateway http://localhost:8080/actuator/health
+if [ "$DISCOVERY" = eureka ]; then
+    sleep 30
+fi
+
+java -cp "$LOAD_JAR" com.togglecover.loadtest.ScenarioLoadTest \
+    --gateway=http://localhost:8080 \
+    --riders="$RIDERS" --onboard-rate="$ONBOARD_RATE" \
+    --rate="$RATE" --duration="$DURATION" --warmup="$WARMUP" \
+    --toggle-share="$TOGGLE_SHARE" \
+    --pools=auth=http://localhost:8083/auth,insurance=http://localhost:8082/insurance \
+    --max-queued-share="$MAX_QUEUED_SHARE" \
+    --cache=http://localhost:8082/insurance --min-cache-hit-ratio="$MIN_CACHE_HIT_RATIO" \
+    --hgrm="$RESULT_DIR" | tee "$RESULT_DIR/summary.txt"
+echo "Percentile distributions and summary in $RESULT_DIR"
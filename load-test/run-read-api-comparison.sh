@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+# Compares the blocking (Tomcat + JPA) and reactive (Netty + R2DBC) read APIs of
+# insurance-service on the same endpoint. Starts the service once with both enabled,
+# runs ConcurrencyLoadTest against each at every client count and prints throughput,
+# latency, the server's peak RSS and thread count, and RSS growth per connection.
+#
+#   POLICY=<existing policy number> load-test/run-read-api-comparison.sh
+#
+# The in-memory database starts empty: create a policy first (or point SERVICE_ARGS at
+# a seeded PostgreSQL with --spring.profiles.active=postgres). Raise the open-file limit
+# (ulimit -n 65536) before running 10k clients. Both APIs are called with the service
+# token, so no auth-service round trip is part of the measurement.
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+# One insurance-service instance, so it can take policy-number node id 0
+export NODE_ID=${NODE_ID:-0}
+export INSURANCE_SERVICE_TOKEN=${INSURANCE_SERVICE_TOKEN:-$(od -An -N16 -tx1 /dev/urandom | tr -d ' \n')}
+AUTHORIZATION="Service $INSURANCE_SERVICE_TOKEN"
+SERVICE_JAR=${SERVICE_JAR:-$ROOT/core-services/insurance-service/target/insurance-service-1.0.0.jar}
+SERVICE_ARGS=${SERVICE_ARGS:-}
+POLICY=${POLICY:?set POLICY to an existing policy number}
+ENDPOINT=${ENDPOINT:-/insurance/api/insurance/coverage/status/$POLICY}
+BLOCKING_PORT=${BLOCKING_PORT:-8082}
+REACTIVE_PORT=${REACTIVE_PORT:-8092}
+CLIENTS=${CLIENTS:-"100 1000 10000"}
+DURATION=${DURATION:-60}
+LOAD_CP=${LOAD_CP:-$ROOT/load-test/target/classes}
+LOG_DIR=${LOG_DIR:-$ROOT/logs/load-test}
+
+mkdir -p "$LOG_DIR"
+
+# shellcheck disable=SC2086
+REACTIVE_READS=true java -Xms1g -Xmx1g -jar "$SERVICE_JAR" \
+    --eureka.client.enabled=false \
+    --spring.jpa.show-sql=false \
+    --logging.level.root=WARN \
+    --logging.level.org.hibernate.SQL=WARN \
+    --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN \
+    $SERVICE_ARGS > "$LOG_DIR/service-read-api.log" 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null || true' EXIT
+
+for _ in $(seq 1 120); do
+    curl -fs "http://localhost:$BLOCKING_PORT/insurance/actuator/health" > /dev/null && break
+    sleep 1
+done
+for port in "$BLOCKING_PORT" "$REACTIVE_PORT"; do
+    curl -fs -H "Authorization: $AUTHORIZATION" "http://localhost:$port$ENDPOINT" > /dev/null \
+        || { echo "GET http://localhost:$port$ENDPOINT failed; is POLICY seeded?" >&2; exit 1; }
+done
+
+status_kb() { awk -v key="$1:" '$1 == key { print $2 }' "/proc/$pid/status"; }
+
+printf '%-9s %6s %9s %10s %8s %8s %8s %8s %8s %7s %9s %8s %10s\n' \
+    api clients requests req/s p50 p90 p99 p99.9 max errors peakRSS_MB threads KB/conn
+
+for api in blocking reactive; do
+    port=$BLOCKING_PORT
+    [ "$api" = reactive ] && port=$REACTIVE_PORT
+
+    for clients in $CLIENTS; do
+        idle_rss=$(status_kb VmRSS)
+        peak_file=$(mktemp)
+        echo "0 0" > "$peak_file"
+        (
+            peak_rss=0; peak_threads=0
+            while kill -0 "$pid" 2>/dev/null; do
+                rss=$(status_kb VmRSS); threads=$(status_kb Threads)
+                [ "$rss" -gt "$peak_rss" ] && peak_rss=$rss
+                [ "$threads" -gt "$peak_threads" ] && peak_threads=$threads
+                echo "$peak_rss $peak_threads" > "$peak_file"
+                sleep 1
+            done
+        ) &
+        sampler=$!
+
+        line=$(java -cp "$LOAD_CP" com.togglecover.loadtest.ConcurrencyLoadTest \
+            --url="http://localhost:$port$ENDPOINT" --authorization="$AUTHORIZATION" --clients="$clients" \
+            --duration="$DURATION" --label="$api")
+
+        kill "$sampler" 2>/dev/null || true
+        wait "$sampler" 2>/dev/null || true
+        read -r peak_rss peak_threads < "$peak_file"
+        rm -f "$peak_file"
+        awk -v line="$line" -v peak="$peak_rss" -v idle="$idle_rss" -v threads="$peak_threads" -v clients="$clients" \
+            'BEGIN { printf "%s %9.0f %8d %10.1f\n", line, peak / 1024, threads, (peak - idle) / clients }'
+    done
+done
+
+kill "$pid"
+wait "$pid" 2>/dev/null || true
+trap - EXIT
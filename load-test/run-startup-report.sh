@@ -0,0 +1,125 @@
+#!/usr/bin/env bash
+# Startup time and time-to-first-request for each core service, as built by the
+# startup profile (thin jar + target/lib, Spring AOT classes included):
+#
+#   mvn -B -Pstartup -DskipTests package
+#   load-test/run-startup-report.sh
+#
+# Every service is started (without Eureka) in four modes:
+#   jar           plain java -jar
+#   cds           with an AppCDS archive from a training run
+#   cds+lazy      plus the fast-start profile (springdoc deferred, H2 console off,
+#                 repositories bootstrapped in the background)
+#   cds+lazy+aot  plus the Spring AOT bean definitions (-Dspring.aot.enabled=true)
+# A training run starts the context with -Dspring.context.exit=onRefresh and writes the
+# archive on exit, once per service and mode, to the service's target/*.jsa. "started"
+# is Spring's own "Started ... in" figure; "first request" is wall time from launching
+# the JVM to the first successful response on the service's URL.
+#
+# SERVICES limits the run, e.g. SERVICES="insurance auth"; RUNS sets timed runs per mode.
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+# One insurance-service instance, so it can take policy-number node id 0
+export NODE_ID=${NODE_ID:-0}
+SERVICES=${SERVICES:-"auth claim health insurance user"}
+MODES=${MODES:-"jar cds cds+lazy cds+lazy+aot"}
+RUNS=${RUNS:-3}
+JAVA_OPTS=${JAVA_OPTS:-"-Xms512m -Xmx512m"}
+LOG_DIR=${LOG_DIR:-$ROOT/logs/startup}
+
+# The URL whose first successful response counts as the first request, per service
+first_request_url() {
+    case "$1" in
+        auth) echo "http://localhost:8083/auth/actuator/health" ;;
+        claim) echo "http://localhost:8084/claims/actuator/health" ;;
+        health) echo "http://localhost:8085/health/actuator/health" ;;
+        insurance) echo "http://localhost:8082/insurance/api/insurance/plans" ;;
+        user) echo "http://localhost:8081/actuator/health" ;;
+        *) echo "unknown service $1" >&2; exit 1 ;;
+    esac
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+# JVM and application arguments for a mode, without the archive flags
+mode_jvm_args() {
+    case "$1" in
+        *aot*) echo "-Dspring.aot.enabled=true" ;;
+    esac
+}
+
+mode_app_args() {
+    case "$1" in
+        *lazy*) echo "--spring.profiles.active=fast-start" ;;
+    esac
+}
+
+app_args=(
+    --eureka.client.enabled=false
+    --spring.jpa.show-sql=false
+    --logging.level.root=INFO
+    --logging.level.org.hibernate.SQL=WARN
+    --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN
+)
+
+mkdir -p "$LOG_DIR"
+printf '%-10s %-13s %4s %12s %12s %16s\n' service mode run started-s process-s first-request-ms
+
+for service in $SERVICES; do
+    jar=$ROOT/core-services/$service-service/target/$service-service-1.0.0.jar
+    if [ ! -d "$(dirname "$jar")/lib" ]; then
+        echo "$service: $(dirname "$jar")/lib missing, build with mvn -Pstartup package" >&2
+        continue
+    fi
+    url=$(first_request_url "$service")
+
+    for mode in $MODES; do
+        # shellcheck disable=SC2207
+        jvm_args=($JAVA_OPTS $(mode_jvm_args "$mode"))
+        # shellcheck disable=SC2207
+        args=("${app_args[@]}" $(mode_app_args "$mode"))
+        archive=$ROOT/core-services/$service-service/target/$service-service-${mode//+/-}.jsa
+
+        if [[ $mode == cds* ]]; then
+            rm -f "$archive"
+            java "${jvm_args[@]}" -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh \
+                -jar "$jar" "${args[@]}" > "$LOG_DIR/$service-$mode-training.log" 2>&1 || true
+            if [ ! -f "$archive" ]; then
+                echo "$service $mode: no archive written, see $LOG_DIR/$service-$mode-training.log" >&2
+                continue
+            fi
+            jvm_args+=(-XX:SharedArchiveFile="$archive")
+        fi
+
+        for run in $(seq 1 "$RUNS"); do
+            log=$LOG_DIR/$service-$mode-$run.log
+            launched=$(now_ms)
+            java "${jvm_args[@]}" -jar "$jar" "${args[@]}" > "$log" 2>&1 &
+            pid=$!
+            trap 'kill $pid 2>/dev/null || true' EXIT
+
+            first_request=-
+            for _ in $(seq 1 1200); do
+                if curl -fs -o /dev/null "$url"; then
+                    first_request=$(($(now_ms) - launched))
+                    break
+                fi
+                kill -0 "$pid" 2>/dev/null || break
+                sleep 0.1
+            done
+
+            kill "$pid" 2>/dev/null || true
+            wait "$pid" 2>/dev/null || true
+            trap - EXIT
+
+            # Started InsuranceServiceApplication in 6.1 seconds (process running for 6.7)
+            started=$(sed -nE 's/.*Started .* in ([0-9.]+) seconds \(process running for ([0-9.]+)\).*/\1 \2/p' \
+                "$log" | head -1)
+            printf '%-10s %-13s %4s %12s %12s %16s\n' "$service" "$mode" "$run" \
+                "${started% *}" "${started#* }" "$first_request"
+        done
+    done
+done
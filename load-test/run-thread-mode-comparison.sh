@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread Tomcat for one service at 1k and 10k
+# concurrent clients. Starts the service once per mode (without Eureka), runs
+# ConcurrencyLoadTest against it and prints one result line per run.
+#
+#   SERVICE_JAR=<executable service jar> load-test/run-thread-mode-comparison.sh
+#
+# Raise the open-file limit first (ulimit -n 65536): 10k clients hold 10k sockets.
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+# One insurance-service instance, so it can take policy-number node id 0
+export NODE_ID=${NODE_ID:-0}
+SERVICE_JAR=${SERVICE_JAR:-$ROOT/core-services/insurance-service/target/insurance-service-1.0.0.jar}
+URL=${URL:-http://localhost:8082/insurance/api/insurance/plans}
+HEALTH_URL=${HEALTH_URL:-http://localhost:8082/insurance/actuator/health}
+CLIENTS=${CLIENTS:-"1000 10000"}
+DURATION=${DURATION:-60}
+LOAD_CP=${LOAD_CP:-$ROOT/load-test/target/classes}
+LOG_DIR=${LOG_DIR:-$ROOT/logs/load-test}
+
+mkdir -p "$LOG_DIR"
+printf '%-10s %6s %9s %10s %8s %8s %8s %8s %8s %7s\n' \
+    mode clients requests req/s p50 p90 p99 p99.9 max errors
+
+for mode in platform virtual; do
+    virtual=false
+    [ "$mode" = virtual ] && virtual=true
+
+    VIRTUAL_THREADS=$virtual java -Xms1g -Xmx1g -Djdk.tracePinnedThreads=short -jar "$SERVICE_JAR" \
+        --eureka.client.enabled=false \
+        --spring.jpa.show-sql=false \
+        --logging.level.root=WARN \
+        --logging.level.org.hibernate.SQL=WARN \
+        --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN \
+        > "$LOG_DIR/service-$mode.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    for _ in $(seq 1 120); do
+        curl -fs "$HEALTH_URL" > /dev/null && break
+        sleep 1
+    done
+
+    for clients in $CLIENTS; do
+        java -cp "$LOAD_CP" com.togglecover.loadtest.ConcurrencyLoadTest \
+            --url="$URL" --clients="$clients" --duration="$DURATION" --label="$mode"
+    done
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+    # Pinning reported by -Djdk.tracePinnedThreads ends up in the service log
+    if grep -q "<== monitors" "$LOG_DIR/service-$mode.log"; then
+        echo "  pinned-thread traces found in $LOG_DIR/service-$mode.log"
+    fi
+done
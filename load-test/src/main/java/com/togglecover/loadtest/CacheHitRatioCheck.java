@@ -0,0 +1,103 @@
+package com.togglecover.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache hit ratio of one service over the measured window, from
+ * the hibernate.* meters on its actuator metrics endpoint (the service must run with
+ * hibernate.generate_statistics=true and hibernate-micrometer on its classpath).
+ * <p>
+ * The base url includes the context path, e.g. http://localhost:8082/insurance.
+ */
+final class CacheHitRatioCheck {
+
+    private static final Map<String, String> CACHES = new LinkedHashMap<>();
+
+    static {
+        // All regions: entities, natural ids and query results
+        CACHES.put("second-level", "hibernate.second.level.cache.requests");
+        CACHES.put("natural-id", "hibernate.cache.natural.id.requests");
+    }
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Map<String, double[]> start = new LinkedHashMap<>();
+    private Thread snapshot;
+
+    CacheHitRatioCheck(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Takes the starting counts after the given delay, so warmup lookups are not counted
+     */
+    void start(Duration delay) {
+        snapshot = Thread.ofPlatform().name("cache-snapshot").daemon().start(() -> {
+            try {
+                Thread.sleep(delay);
+                CACHES.forEach((name, metric) -> start.put(name, counts(metric)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Prints one line per cache: <pre>cache hits misses hit%</pre>
+     *
+     * @return false when a cache had no lookups or a hit ratio below minHitRatio
+     */
+    boolean report(PrintStream out, double minHitRatio) throws InterruptedException {
+        snapshot.join();
+        out.printf("%-14s %10s %10s %7s%n", "cache", "hits", "misses", "hit%");
+        boolean ok = true;
+        for (Map.Entry<String, String> cache : CACHES.entrySet()) {
+            double[] before = start.get(cache.getKey());
+            double[] after = counts(cache.getValue());
+            double hits = after[0] - before[0];
+            double misses = after[1] - before[1];
+            double ratio = hits + misses > 0 ? hits / (hits + misses) : Double.NaN;
+            out.printf("%-14s %10.0f %10.0f %6.1f%%%n", cache.getKey(), hits, misses, ratio * 100);
+            if (!(ratio >= minHitRatio)) {
+                ok = false;
+            }
+        }
+        return ok;
+    }
+
+    /**
+     * Hit and miss counts of a Hibernate cache counter, NaN when the service did not answer
+     */
+    private double[] counts(String metric) {
+        return new double[]{count(metric, "hit"), count(metric, "miss")};
+    }
+
+    private double count(String metric, String result) {
+        try {
+            URI uri = URI.create(baseUrl + "/actuator/metrics/" + metric + "?tag=result:" + result);
+            HttpResponse<byte[]> response = client.send(
+                    HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(2)).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                return objectMapper.readTree(response.body()).path("measurements").path(0).path("value").asDouble();
+            }
+        } catch (IOException e) {
+            // reported as NaN
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,152 @@
+package com.togglecover.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Closed-loop load: a fixed number of clients, each sending its next request as soon as
+ * the previous one answers. Clients are virtual threads, so 10k clients cost the driver
+ * little; the server's thread model is what is being measured.
+ * <p>
+ * Options: url, clients, duration (s), warmup (s), token (sent as a bearer token) or
+ * authorization (the whole Authorization header), label. Prints one result line:
+ * <pre>label clients requests throughput/s p50 p90 p99 p99.9 max(ms) errors</pre>
+ */
+public class ConcurrencyLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:8082/insurance/api/insurance/plans"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        String label = options.getOrDefault("label", "run");
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+        if (options.containsKey("authorization")) {
+            builder.header("Authorization", options.get("authorization"));
+        } else if (options.containsKey("token")) {
+            builder.header("Authorization", "Bearer " + options.get("token"));
+        }
+        HttpRequest request = builder.build();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(executor)
+                    .build();
+
+            if (warmup > 0) {
+                run(client, executor, request, clients, warmup);
+            }
+            Result result = run(client, executor, request, clients, duration);
+            result.print(label, clients, duration);
+        }
+    }
+
+    private static Result run(HttpClient client, ExecutorService executor, HttpRequest request,
+                              int clients, int seconds) throws InterruptedException {
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        List<ClientStats> stats = new ArrayList<>(clients);
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int i = 0; i < clients; i++) {
+            ClientStats clientStats = new ClientStats();
+            stats.add(clientStats);
+            executor.submit(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                clientStats.errors++;
+                            }
+                        } catch (Exception e) {
+                            clientStats.errors++;
+                        }
+                        clientStats.record(System.nanoTime() - start);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return new Result(stats);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Latencies of one client; only its own thread writes them
+     */
+    private static final class ClientStats {
+        long[] latencies = new long[256];
+        int count;
+        long errors;
+
+        void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+
+    private static final class Result {
+        final long[] sorted;
+        final long errors;
+
+        Result(List<ClientStats> stats) {
+            int total = stats.stream().mapToInt(s -> s.count).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            long errorCount = 0;
+            for (ClientStats s : stats) {
+                System.arraycopy(s.latencies, 0, all, offset, s.count);
+                offset += s.count;
+                errorCount += s.errors;
+            }
+            Arrays.sort(all);
+            this.sorted = all;
+            this.errors = errorCount;
+        }
+
+        void print(String label, int clients, int seconds) {
+            System.out.printf("%-10s %6d %9d %10.0f %8.1f %8.1f %8.1f %8.1f %8.1f %7d%n",
+                    label, clients, sorted.length, sorted.length / (double) seconds,
+                    percentile(0.50), percentile(0.90), percentile(0.99), percentile(0.999),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6, errors);
+        }
+
+        private double percentile(double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+}
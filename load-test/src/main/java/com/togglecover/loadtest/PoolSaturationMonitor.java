@@ -0,0 +1,153 @@
+package com.togglecover.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches each service's JDBC pool through its actuator metrics endpoint while load runs.
+ * Once a second it reads hikaricp.connections.pending (threads waiting for a connection)
+ * and hikaricp.connections.active; over the whole window it takes the mean acquire time
+ * from hikaricp.connections.acquire. A pool sized for the target rate has no waiters.
+ * <p>
+ * Services are given as name=base-url, the base url including the context path.
+ */
+final class PoolSaturationMonitor {
+
+    private static final String PENDING = "hikaricp.connections.pending";
+    private static final String ACTIVE = "hikaricp.connections.active";
+    private static final String MAX = "hikaricp.connections.max";
+    private static final String ACQUIRE = "hikaricp.connections.acquire";
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Pool> pools = new LinkedHashMap<>();
+    private volatile boolean running;
+    private Thread sampler;
+
+    PoolSaturationMonitor(HttpClient client, String services) {
+        this.client = client;
+        for (String service : services.split(",")) {
+            int eq = service.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected name=base-url, got " + service);
+            }
+            pools.put(service.substring(0, eq).trim(), new Pool(service.substring(eq + 1).trim()));
+        }
+    }
+
+    /**
+     * Starts sampling after the given delay, so warmup traffic is not counted
+     */
+    void start(Duration delay) {
+        running = true;
+        sampler = Thread.ofPlatform().name("pool-monitor").daemon().start(() -> {
+            try {
+                Thread.sleep(delay);
+                for (Pool pool : pools.values()) {
+                    pool.acquireCountStart = measurement(pool, ACQUIRE, "COUNT");
+                    pool.acquireTimeStart = measurement(pool, ACQUIRE, "TOTAL_TIME");
+                    pool.size = (long) measurement(pool, MAX, "VALUE");
+                }
+                while (running) {
+                    for (Pool pool : pools.values()) {
+                        double pending = measurement(pool, PENDING, "VALUE");
+                        double active = measurement(pool, ACTIVE, "VALUE");
+                        if (!Double.isNaN(pending) && !Double.isNaN(active)) {
+                            pool.sample((long) pending, (long) active);
+                        }
+                    }
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(1));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Stops sampling and prints one line per pool:
+     * <pre>pool size samples queued% max-pending max-active acquire-mean(ms)</pre>
+     *
+     * @return false when any pool had waiters in more than maxQueuedShare of its samples
+     */
+    boolean report(PrintStream out, double maxQueuedShare) throws InterruptedException {
+        running = false;
+        sampler.join();
+
+        out.printf("%-12s %5s %8s %8s %11s %10s %13s%n",
+                "pool", "size", "samples", "queued%", "max-pending", "max-active", "acquire(ms)");
+        boolean ok = true;
+        for (Map.Entry<String, Pool> entry : pools.entrySet()) {
+            Pool pool = entry.getValue();
+            double count = measurement(pool, ACQUIRE, "COUNT") - pool.acquireCountStart;
+            double seconds = measurement(pool, ACQUIRE, "TOTAL_TIME") - pool.acquireTimeStart;
+            double queuedShare = pool.samples == 0 ? 0 : (double) pool.queuedSamples / pool.samples;
+            out.printf("%-12s %5d %8d %7.1f%% %11d %10d %13.3f%n",
+                    entry.getKey(), pool.size, pool.samples, queuedShare * 100, pool.maxPending,
+                    pool.maxActive, count > 0 ? seconds * 1000 / count : 0);
+            if (pool.samples == 0 || queuedShare > maxQueuedShare) {
+                ok = false;
+            }
+        }
+        return ok;
+    }
+
+    /**
+     * One statistic of an actuator metric, or NaN when the service did not answer
+     */
+    private double measurement(Pool pool, String metric, String statistic) {
+        try {
+            HttpResponse<byte[]> response = client.send(
+                    HttpRequest.newBuilder(URI.create(pool.baseUrl + "/actuator/metrics/" + metric))
+                            .timeout(Duration.ofSeconds(2)).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+                    if (statistic.equals(measurement.path("statistic").asText())) {
+                        return measurement.path("value").asDouble();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // counted as a missed sample
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Double.NaN;
+    }
+
+    private static final class Pool {
+        final String baseUrl;
+        long size;
+        double acquireCountStart;
+        double acquireTimeStart;
+        long samples;
+        long queuedSamples;
+        long maxPending;
+        long maxActive;
+
+        Pool(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        void sample(long pending, long active) {
+            samples++;
+            if (pending > 0) {
+                queuedSamples++;
+            }
+            maxPending = Math.max(maxPending, pending);
+            maxActive = Math.max(maxActive, active);
+        }
+    }
+}
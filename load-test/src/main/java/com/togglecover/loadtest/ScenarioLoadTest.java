@@ -0,0 +1,374 @@
+package com.togglecover.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop rider scenario through the api-gateway: riders sign up (register, login,
+ * create policy, top up wallet) and then toggle daily coverage and poll its status.
+ * Work is started on a fixed schedule whatever the response times, and latency is taken
+ * from each request's intended start time, so a stalled server shows up as queueing
+ * delay instead of being hidden by fewer requests (coordinated omission).
+ * <p>
+ * Options: gateway, riders, onboard-rate (riders/s), rate (requests/s), duration (s),
+ * warmup (s), toggle-share (0..1), plan, hgrm (directory for percentile distributions),
+ * pools (name=base-url,... of services whose JDBC pools are watched during the daily phase),
+ * max-queued-share (0..1, default 0.01), cache (base url of the service whose Hibernate
+ * cache is checked) and min-cache-hit-ratio (0..1, default 0.95). Prints one line per
+ * operation:
+ * <pre>phase operation count errors rate/s p50 p90 p99 p99.9 max(ms) service-p99(ms)</pre>
+ * With pools set, the run fails when a pool had waiting threads in more than
+ * max-queued-share of its samples, see {@link PoolSaturationMonitor}; with cache set, when
+ * a cache hit ratio stays below min-cache-hit-ratio, see {@link CacheHitRatioCheck}.
+ */
+public class ScenarioLoadTest {
+
+    private static final String[] LOCATIONS = {"Mumbai Andheri", "Pune Kothrud", "Delhi Saket", "Nagpur", "Jaipur"};
+    private static final String[] PLATFORMS = {"SWIGGY", "ZOMATO", "ZEPTO", "UBER", "DUNZO"};
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final String gateway;
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+
+    ScenarioLoadTest(HttpClient client, String gateway) {
+        this.client = client;
+        this.gateway = gateway;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String gateway = options.getOrDefault("gateway", "http://localhost:8080");
+        int riders = Integer.parseInt(options.getOrDefault("riders", "500"));
+        double onboardRate = Double.parseDouble(options.getOrDefault("onboard-rate", "20"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        double toggleShare = Double.parseDouble(options.getOrDefault("toggle-share", "0.2"));
+        String plan = options.getOrDefault("plan", "LOADTEST_DAILY");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(executor)
+                    .build();
+            ScenarioLoadTest test = new ScenarioLoadTest(client, gateway);
+            test.ensurePlan(plan);
+
+            System.out.printf("%-8s %-14s %8s %7s %9s %8s %8s %8s %8s %8s %8s%n",
+                    "phase", "operation", "count", "errors", "rate/s", "p50", "p90", "p99", "p99.9", "max", "svc-p99");
+
+            List<Rider> onboarded = test.onboard(executor, plan, riders, onboardRate);
+            test.report("onboard", riders / onboardRate, options.get("hgrm"));
+            if (onboarded.isEmpty()) {
+                System.err.println("No rider completed onboarding; check the service logs");
+                System.exit(1);
+            }
+
+            PoolSaturationMonitor pools = options.containsKey("pools")
+                    ? new PoolSaturationMonitor(client, options.get("pools")) : null;
+            CacheHitRatioCheck cache = options.containsKey("cache")
+                    ? new CacheHitRatioCheck(client, options.get("cache")) : null;
+            if (pools != null) {
+                pools.start(Duration.ofSeconds(warmup));
+            }
+            if (cache != null) {
+                cache.start(Duration.ofSeconds(warmup));
+            }
+            test.daily(executor, onboarded, rate, warmup, duration, toggleShare);
+            test.report("daily", duration, options.get("hgrm"));
+            if (pools != null && !pools.report(System.out,
+                    Double.parseDouble(options.getOrDefault("max-queued-share", "0.01")))) {
+                System.err.println("Connection pools queued at " + rate + " requests/s");
+                System.exit(2);
+            }
+            if (cache != null && !cache.report(System.out,
+                    Double.parseDouble(options.getOrDefault("min-cache-hit-ratio", "0.95")))) {
+                System.err.println("Hibernate cache hit ratio below target");
+                System.exit(3);
+            }
+        }
+    }
+
+    /**
+     * Starts one rider sign-up every 1/rate seconds. The steps of a sign-up run back to back,
+     * so each step is timed from when the previous one finished (the first from its arrival).
+     */
+    List<Rider> onboard(ExecutorService executor, String plan, int riders, double rate) {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        ConcurrentLinkedQueue<Rider> onboarded = new ConcurrentLinkedQueue<>();
+        track("register", "login", "create-policy", "wallet-topup");
+        schedule(executor, rate, riders, (index, intended) -> {
+            String username = "lt" + run + "r" + index;
+            String email = username + "@loadtest.togglecover.local";
+            String password = "Loadtest#" + index;
+
+            long start = intended;
+            JsonNode registered = call("register", start, post("/api/auth/register", null, Map.of(
+                    "username", username, "email", email, "password", password,
+                    "firstName", "Load", "lastName", "Rider" + index, "phone", "9" + (100000000L + index))));
+            if (registered == null) {
+                return;
+            }
+            start = System.nanoTime();
+            JsonNode login = call("login", start, post("/api/auth/login", null,
+                    Map.of("email", email, "password", password)));
+            if (login == null) {
+                return;
+            }
+            String token = login.path("accessToken").asText();
+            start = System.nanoTime();
+            JsonNode policy = call("create-policy", start, post("/api/insurance/policies", token,
+                    Map.of("planCode", plan, "autoRenew", true)));
+            if (policy == null) {
+                return;
+            }
+            String policyNumber = policy.path("policyNumber").asText();
+            start = System.nanoTime();
+            if (call("wallet-topup", start, post("/api/insurance/policies/" + policyNumber
+                    + "/wallet/topup?amount=5000", token, null)) != null) {
+                onboarded.add(new Rider(token, policyNumber));
+            }
+        });
+        return new ArrayList<>(onboarded);
+    }
+
+    /**
+     * Steady traffic from onboarded riders: toggle-share of requests flip a rider's coverage
+     * for today, the rest poll coverage status. Only requests scheduled after warmup count.
+     */
+    void daily(ExecutorService executor, List<Rider> riders, double rate, int warmup, int duration,
+               double toggleShare) {
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup);
+        long total = (long) (rate * (warmup + duration));
+        track("toggle", "status");
+        schedule(executor, rate, total, (index, intended) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Rider rider = riders.get(random.nextInt(riders.size()));
+            boolean measured = intended >= measureFrom;
+            if (random.nextDouble() < toggleShare) {
+                boolean activate = !rider.covered.get();
+                Map<String, Object> body = new HashMap<>();
+                body.put("policyNumber", rider.policyNumber);
+                body.put("coverageDate", LocalDate.now().toString());
+                body.put("toggleCoverage", activate);
+                body.put("location", LOCATIONS[random.nextInt(LOCATIONS.length)]);
+                body.put("gigPlatform", PLATFORMS[random.nextInt(PLATFORMS.length)]);
+                body.put("temperature", 28.0 + random.nextInt(15));
+                if (call(measured ? "toggle" : null, intended,
+                        post("/api/insurance/coverage/toggle", rider.token, body)) != null) {
+                    rider.covered.set(activate);
+                }
+            } else {
+                call(measured ? "status" : null, intended,
+                        get("/api/insurance/coverage/status/" + rider.policyNumber, rider.token));
+            }
+        });
+    }
+
+    /**
+     * Registers the operations of the next phase, in the order they are reported
+     */
+    private void track(String... names) {
+        for (String name : names) {
+            operations.put(name, new Operation());
+        }
+    }
+
+    /**
+     * Submits count tasks at a fixed rate from one pacing thread and waits for all of them.
+     * The pacer never waits for responses, so a slow server cannot slow the arrivals down.
+     */
+    private void schedule(ExecutorService executor, double rate, long count, Task task) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        Phaser inFlight = new Phaser(1);
+        for (long i = 0; i < count; i++) {
+            long intended = start + i * interval;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long index = i;
+            inFlight.register();
+            executor.submit(() -> {
+                try {
+                    task.run(index, intended);
+                } finally {
+                    inFlight.arriveAndDeregister();
+                }
+            });
+        }
+        inFlight.arriveAndAwaitAdvance();
+    }
+
+    /**
+     * Sends the request and records its latency from intendedStart (response time) and
+     * from the actual send (service time). A null operation sends without recording.
+     *
+     * @return the response body, or null when the call failed
+     */
+    private JsonNode call(String operation, long intendedStart, HttpRequest request) {
+        Operation stats = operation == null ? null : operations.get(operation);
+        long sent = System.nanoTime();
+        JsonNode body = null;
+        boolean failed;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            failed = response.statusCode() >= 400;
+            if (!failed) {
+                body = response.body().length == 0 ? objectMapper.createObjectNode()
+                        : objectMapper.readTree(response.body());
+            }
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+        }
+        long now = System.nanoTime();
+        if (stats != null) {
+            stats.responseTime.recordValue(Math.min(now - intendedStart, HIGHEST_TRACKABLE_NANOS));
+            stats.serviceTime.recordValue(Math.min(now - sent, HIGHEST_TRACKABLE_NANOS));
+            if (failed) {
+                stats.errors.incrementAndGet();
+            }
+        }
+        return failed ? null : body;
+    }
+
+    /**
+     * Creates the plan riders sign up for unless it already exists
+     */
+    void ensurePlan(String planCode) throws IOException, InterruptedException {
+        HttpResponse<Void> existing = client.send(get("/api/insurance/plans/" + planCode, null),
+                HttpResponse.BodyHandlers.discarding());
+        if (existing.statusCode() == 200) {
+            return;
+        }
+        HttpResponse<String> created = client.send(post("/api/insurance/plans", null, Map.of(
+                        "planCode", planCode, "planName", "Load test daily cover",
+                        "description", "Created by ScenarioLoadTest", "dailyPremium", 12.50,
+                        "coverageAmount", 500000, "coverageType", "ACCIDENT",
+                        "minAge", 18, "maxAge", 65, "waitingPeriodDays", 0)),
+                HttpResponse.BodyHandlers.ofString());
+        if (created.statusCode() >= 400) {
+            throw new IllegalStateException("Could not create plan " + planCode + ": " + created.body());
+        }
+    }
+
+    private void report(String phase, double seconds, String hgrmDir) throws IOException {
+        for (Map.Entry<String, Operation> entry : operations.entrySet()) {
+            Histogram response = entry.getValue().responseTime.getIntervalHistogram();
+            Histogram service = entry.getValue().serviceTime.getIntervalHistogram();
+            long errors = entry.getValue().errors.getAndSet(0);
+            System.out.printf("%-8s %-14s %8d %7d %9.1f %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    phase, entry.getKey(), response.getTotalCount(), errors,
+                    response.getTotalCount() / seconds,
+                    millis(response, 50), millis(response, 90), millis(response, 99), millis(response, 99.9),
+                    response.getMaxValue() / 1e6, millis(service, 99));
+
+            if (hgrmDir != null) {
+                Path dir = Files.createDirectories(Path.of(hgrmDir));
+                try (PrintStream out = new PrintStream(
+                        Files.newOutputStream(dir.resolve(phase + "-" + entry.getKey() + ".hgrm")))) {
+                    // Same format as wrk2; plot with HdrHistogram's plotFiles.html
+                    response.outputPercentileDistribution(out, 1e6);
+                }
+            }
+        }
+        operations.clear();
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        try {
+            HttpRequest.Builder builder = request(path, token).header("Content-Type", "application/json");
+            return builder.POST(body == null ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))).build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialise request body for " + path, e);
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(gateway + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run(long index, long intendedStartNanos);
+    }
+
+    /**
+     * Latencies of one operation; Recorder takes concurrent writers without locking
+     */
+    private static final class Operation {
+        final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        final AtomicLong errors = new AtomicLong();
+    }
+
+    private static final class Rider {
+        final String token;
+        final String policyNumber;
+        final AtomicBoolean covered = new AtomicBoolean();
+
+        Rider(String token, String policyNumber) {
+            this.token = token;
+            this.policyNumber = policyNumber;
+        }
+    }
+}